@@ -0,0 +1,68 @@
+package com.example.sepm_assignment;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Boots the application against an embedded H2 database and seeds it through the
+ * "seed" profile with a realistic volume of users, courses and enrollments.
+ * Course popularity is skewed: a few courses hold most of the enrollments.
+ */
+@State(Scope.Benchmark)
+public class SeededApplicationState {
+
+    @Param({"20000"})
+    public int students;
+
+    @Param({"1000"})
+    public int courses;
+
+    @Param({"100000"})
+    public int enrollments;
+
+    public ConfigurableApplicationContext context;
+
+    /** Id of the most popular course. */
+    public long popularCourseId;
+
+    /** Id of a course with an average number of enrollments. */
+    public long typicalCourseId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // Command-line arguments outrank the test application.properties on the classpath
+        context = new SpringApplicationBuilder(SepmAssignmentApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=bench,seed",
+                        "--app.seed.students=" + students,
+                        "--app.seed.teachers=" + Math.max(1, courses / 5),
+                        "--app.seed.courses=" + courses,
+                        "--app.seed.enrollments=" + enrollments,
+                        "--spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.docker.compose.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework=WARN",
+                        "--logging.level.com.example.sepm_assignment=WARN");
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        popularCourseId = jdbc.queryForObject("SELECT id FROM courses WHERE course_code = ?", Long.class, "SEED-0");
+        typicalCourseId = jdbc.queryForObject("SELECT id FROM courses WHERE course_code = ?", Long.class, "SEED-" + courses / 3);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.sepm_assignment.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logins per second per core at each BCrypt cost.
+ * Runs the same provider and encoder chain as SecurityConfig on a single thread,
+ * so the score is the per-core rate; multiply by cores for a node's login capacity.
+ * The user store is in memory so only the hashing cost is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(1)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "student123";
+
+    @Param({"8", "10", "12"})
+    public int strength;
+
+    private DaoAuthenticationProvider provider;
+    private PasswordEncoder passwordEncoder;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = TunableBCryptPasswordEncoder.delegating(new PasswordHashingPolicy(strength));
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager(User.withUsername("student")
+                .password(passwordEncoder.encode(PASSWORD))
+                .roles("STUDENT")
+                .build());
+        provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(users);
+        provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserDetailsPasswordService(users);
+    }
+
+    @Benchmark
+    public Authentication login() {
+        return provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("student", PASSWORD));
+    }
+
+    @Benchmark
+    public String hashNewPassword() {
+        return passwordEncoder.encode(PASSWORD);
+    }
+}
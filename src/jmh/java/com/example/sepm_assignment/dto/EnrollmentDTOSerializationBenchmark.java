@@ -0,0 +1,58 @@
+package com.example.sepm_assignment.dto;
+
+import com.example.sepm_assignment.model.Enrollment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for Jackson serialization of a course roster, as returned by
+ * GET /api/enrollments/course/{courseId}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnrollmentDTOSerializationBenchmark {
+
+    @Param({"30", "500"})
+    public int rosterSize;
+
+    private ObjectMapper objectMapper;
+    private List<EnrollmentDTO> roster;
+
+    @Setup
+    public void setUp() {
+        // Same module set as the ObjectMapper Spring MVC uses
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        roster = new ArrayList<>(rosterSize);
+        LocalDateTime enrolledAt = LocalDateTime.now();
+        for (int i = 0; i < rosterSize; i++) {
+            roster.add(new EnrollmentDTO((long) i, 1000L + i, "Student " + i, 1L,
+                    "Introduction to Programming", "CS101", enrolledAt,
+                    Enrollment.EnrollmentStatus.ACTIVE, i % 3 == 0 ? null : 70.0 + i % 30, "2026-spring"));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeRoster() throws Exception {
+        return objectMapper.writeValueAsBytes(roster);
+    }
+}
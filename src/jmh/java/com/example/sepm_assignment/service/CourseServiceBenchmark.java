@@ -0,0 +1,64 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.SeededApplicationState;
+import com.example.sepm_assignment.dto.CourseDTO;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.AopTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for CourseService.getAllCourses and the course DTO mapping
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseServiceBenchmark {
+
+    private CourseService courseService;
+    private CourseService courseServiceTarget;
+    private Course course;
+
+    @Setup
+    public void setUp(SeededApplicationState state) {
+        courseService = state.context.getBean(CourseService.class);
+        courseServiceTarget = AopTestUtils.getUltimateTargetObject(courseService);
+
+        User teacher = new User();
+        teacher.setId(1L);
+        teacher.setFullName("Dr. John Smith");
+        course = new Course();
+        course.setId(1L);
+        course.setCourseCode("CS101");
+        course.setCourseName("Introduction to Programming");
+        course.setDescription("Learn the fundamentals of programming using Java");
+        course.setCredits(3);
+        course.setTeacher(teacher);
+    }
+
+    @Benchmark
+    public List<CourseDTO> getAllCourses() {
+        return courseService.getAllCourses();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public CourseDTO convertToDTO() {
+        return courseServiceTarget.convertToDTO(course);
+    }
+}
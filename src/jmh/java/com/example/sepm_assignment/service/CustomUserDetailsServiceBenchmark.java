@@ -0,0 +1,43 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.SeededApplicationState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for CustomUserDetailsService.loadUserByUsername over random seeded students
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomUserDetailsServiceBenchmark {
+
+    private CustomUserDetailsService userDetailsService;
+    private int students;
+
+    @Setup
+    public void setUp(SeededApplicationState state) {
+        userDetailsService = state.context.getBean(CustomUserDetailsService.class);
+        students = state.students;
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        return userDetailsService.loadUserByUsername("seed-student-" + ThreadLocalRandom.current().nextInt(students));
+    }
+}
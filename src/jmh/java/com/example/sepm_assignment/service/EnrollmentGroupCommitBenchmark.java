@@ -0,0 +1,90 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.SeededApplicationState;
+import com.example.sepm_assignment.dto.EnrollmentDTO;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import com.example.sepm_assignment.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Enrollment throughput with many concurrent callers: one transaction per request
+ * ({@code groupCommit=false}) against micro-batched group commit ({@code groupCommit=true}).
+ * Every call enrolls a fresh (student, course) pair; the odd pair the seeder already
+ * enrolled fails fast and still counts as an operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 3)
+@Threads(32)
+@Fork(1)
+public class EnrollmentGroupCommitBenchmark {
+
+    @Param({"false", "true"})
+    public boolean groupCommit;
+
+    private EnrollmentGroupCommitter committer;
+    private long[] studentIds;
+    private long[] courseIds;
+    private final AtomicLong next = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplicationState state) {
+        JdbcTemplate jdbc = state.context.getBean(JdbcTemplate.class);
+        studentIds = jdbc.queryForList("SELECT id FROM users WHERE role = 'STUDENT' ORDER BY id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+        courseIds = jdbc.queryForList("SELECT id FROM courses ORDER BY id", Long.class)
+                .stream().mapToLong(Long::longValue).toArray();
+        committer = new EnrollmentGroupCommitter(
+                state.context.getBean(EnrollmentService.class),
+                state.context.getBean(EnrollmentRepository.class),
+                state.context.getBean(UserRepository.class),
+                state.context.getBean(CourseRepository.class),
+                state.context.getBean(WaitlistService.class),
+                state.context.getBean(TransactionTemplate.class),
+                state.context,
+                new SimpleMeterRegistry(),
+                groupCommit, 64, Duration.ofMillis(2), 2, 10000, Duration.ofSeconds(30));
+        committer.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        committer.shutdown();
+    }
+
+    @Benchmark
+    public EnrollmentDTO enroll() {
+        long n = next.getAndIncrement();
+        // Walk students fastest so concurrent calls rarely touch the same course row
+        long studentId = studentIds[(int) (n % studentIds.length)];
+        long courseId = courseIds[(int) ((n / studentIds.length + n) % courseIds.length)];
+        try {
+            return committer.enroll(studentId, courseId);
+        } catch (RuntimeException alreadyEnrolled) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.SeededApplicationState;
+import com.example.sepm_assignment.dto.EnrollmentDTO;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Enrollment;
+import com.example.sepm_assignment.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.AopTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for EnrollmentService.getEnrollmentsByCourse and the enrollment DTO mapping
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnrollmentServiceBenchmark {
+
+    private EnrollmentService enrollmentService;
+    private EnrollmentService enrollmentServiceTarget;
+    private Enrollment enrollment;
+
+    @Setup
+    public void setUp(SeededApplicationState state) {
+        enrollmentService = state.context.getBean(EnrollmentService.class);
+        enrollmentServiceTarget = AopTestUtils.getUltimateTargetObject(enrollmentService);
+
+        User student = new User();
+        student.setId(3L);
+        student.setFullName("Jane Doe");
+        Course course = new Course();
+        course.setId(1L);
+        course.setCourseCode("CS101");
+        course.setCourseName("Introduction to Programming");
+        enrollment = new Enrollment();
+        enrollment.setId(1L);
+        enrollment.setStudent(student);
+        enrollment.setCourse(course);
+        enrollment.setEnrollmentDate(LocalDateTime.now());
+        enrollment.setGrade(85.5);
+    }
+
+    @Benchmark
+    public List<EnrollmentDTO> getEnrollmentsByPopularCourse(SeededApplicationState state) {
+        return enrollmentService.getEnrollmentsByCourse(state.popularCourseId);
+    }
+
+    @Benchmark
+    public List<EnrollmentDTO> getEnrollmentsByTypicalCourse(SeededApplicationState state) {
+        return enrollmentService.getEnrollmentsByCourse(state.typicalCourseId);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public EnrollmentDTO convertToDTO() {
+        return enrollmentServiceTarget.convertToDTO(enrollment);
+    }
+}
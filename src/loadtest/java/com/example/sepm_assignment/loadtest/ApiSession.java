@@ -0,0 +1,120 @@
+package com.example.sepm_assignment.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One simulated browser/API client with its own cookie jar, or its own bearer token in token mode.
+ * Every call is timed and recorded against the step it belongs to.
+ */
+class ApiSession {
+
+    private static final Pattern CSRF_INPUT = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String baseUrl;
+    private final HttpClient client;
+    private final Metrics metrics;
+    private final boolean useToken;
+    private volatile String bearerToken;
+
+    ApiSession(String baseUrl, Metrics metrics, boolean useToken) {
+        this.baseUrl = baseUrl;
+        this.metrics = metrics;
+        this.useToken = useToken;
+        this.client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .connectTimeout(Duration.ofSeconds(5))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    /**
+     * Form login as in the collection's "Login" requests (fetching the CSRF token first),
+     * or in token mode a POST to /api/auth/token whose bearer token is sent on every later call.
+     */
+    boolean login(String username, String password) throws IOException, InterruptedException {
+        if (useToken) {
+            JsonNode token = post("login", "/api/auth/token", Map.of("username", username, "password", password));
+            bearerToken = token != null ? token.get("accessToken").asText() : null;
+            return bearerToken != null;
+        }
+        HttpResponse<String> page = send("login", HttpRequest.newBuilder(uri("/login")).GET());
+        Matcher matcher = CSRF_INPUT.matcher(page.body());
+        String csrf = matcher.find() ? matcher.group(1) : "";
+        String form = "username=" + encode(username) + "&password=" + encode(password) + "&_csrf=" + encode(csrf);
+        HttpResponse<String> response = send("login", HttpRequest.newBuilder(uri("/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form)));
+        String location = response.headers().firstValue("Location").orElse("");
+        return response.statusCode() == 302 && !location.contains("error");
+    }
+
+    JsonNode get(String step, String path) throws IOException, InterruptedException {
+        return json(send(step, HttpRequest.newBuilder(uri(path)).GET()));
+    }
+
+    JsonNode post(String step, String path, Map<String, ?> body) throws IOException, InterruptedException {
+        return json(send(step, HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)))));
+    }
+
+    JsonNode put(String step, String path, Map<String, ?> body) throws IOException, InterruptedException {
+        return json(send(step, HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)))));
+    }
+
+    void delete(String step, String path) throws IOException, InterruptedException {
+        send(step, HttpRequest.newBuilder(uri(path)).DELETE());
+    }
+
+    private HttpResponse<String> send(String step, HttpRequest.Builder request) throws IOException, InterruptedException {
+        LatencyStats stats = metrics.step(step);
+        long start = System.nanoTime();
+        if (bearerToken != null) {
+            request.header("Authorization", "Bearer " + bearerToken);
+        }
+        try {
+            HttpResponse<String> response = client.send(request.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            stats.record(System.nanoTime() - start);
+            if (response.statusCode() >= 400) {
+                stats.recordError();
+            }
+            return response;
+        } catch (IOException e) {
+            stats.recordError();
+            throw e;
+        }
+    }
+
+    private JsonNode json(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() >= 300 || response.body().isEmpty()) {
+            return null;
+        }
+        return MAPPER.readTree(response.body());
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
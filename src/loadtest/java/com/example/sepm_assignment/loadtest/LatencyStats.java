@@ -0,0 +1,58 @@
+package com.example.sepm_assignment.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records every latency sample of one step so percentiles are exact.
+ * A run of a few million requests costs a few tens of megabytes, which is fine for a load generator.
+ */
+class LatencyStats {
+
+    private final String step;
+    private final AtomicLong errors = new AtomicLong();
+    private long[] samples = new long[1024];
+    private int count;
+
+    LatencyStats(String step) {
+        this.step = step;
+    }
+
+    String getStep() {
+        return step;
+    }
+
+    synchronized void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    void recordError() {
+        errors.incrementAndGet();
+    }
+
+    synchronized int count() {
+        return count;
+    }
+
+    long errors() {
+        return errors.get();
+    }
+
+    /** Returns a sorted copy of the samples taken so far. */
+    synchronized long[] snapshot() {
+        long[] copy = Arrays.copyOf(samples, count);
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.sepm_assignment.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Open-loop load generator for a locally running application.
+ * <p>
+ * Scenarios start at a fixed rate regardless of how fast the server answers, so queueing
+ * in the server shows up in the latency percentiles instead of silently lowering the load.
+ * <p>
+ * Usage (all arguments optional):
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--base-url=http://localhost:8081 --rate=200
+ *     --duration=60 --users=200 --threads=64 --courses=20 --mix=browse:50,enroll:20,grade:15,drop:5,register:5,login:5"
+ * </pre>
+ * {@code --auth=token} makes every client log in through /api/auth/token and send a bearer
+ * token instead of a session cookie.
+ */
+public class LoadTest {
+
+    static final String STUDENT_PASSWORD = "password123";
+
+    private final Map<String, String> options;
+    private final String baseUrl;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final Metrics metrics = new Metrics();
+    private final LinkedBlockingQueue<VirtualStudent> idleStudents = new LinkedBlockingQueue<>();
+    private final IdPool enrollments = new IdPool();
+    private final List<Long> courseIds = new ArrayList<>();
+    private final AtomicLong registered = new AtomicLong();
+    private ApiSession teacher;
+    private ApiSession admin;
+
+    LoadTest(Map<String, String> options) {
+        this.options = options;
+        this.baseUrl = options.getOrDefault("base-url", "http://localhost:8081");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "true");
+        }
+        new LoadTest(options).run();
+    }
+
+    void run() throws Exception {
+        int rate = intOption("rate", 100);
+        int durationSeconds = intOption("duration", 60);
+        int threads = intOption("threads", 64);
+        Map<Scenario, Integer> mix = parseMix(options.get("mix"));
+
+        setUp();
+
+        System.out.printf("Running %s for %ds at %d scenarios/s against %s with %d students%n",
+                mix, durationSeconds, rate, baseUrl, idleStudents.size());
+
+        // Bounded hand-off: if the workers can't keep up, the generator itself is the bottleneck
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 4));
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+        AtomicLong skipped = new AtomicLong();
+        List<Scenario> wheel = buildWheel(mix);
+
+        // Issue scenarios in 10 ms ticks, carrying the fractional remainder between ticks
+        long startNanos = System.nanoTime();
+        double perTick = rate / 100.0;
+        double[] carry = {0};
+        ticker.scheduleAtFixedRate(() -> {
+            carry[0] += perTick;
+            int toStart = (int) carry[0];
+            carry[0] -= toStart;
+            for (int i = 0; i < toStart; i++) {
+                Scenario scenario = wheel.get(ThreadLocalRandom.current().nextInt(wheel.size()));
+                try {
+                    workers.execute(() -> execute(scenario));
+                } catch (RejectedExecutionException e) {
+                    skipped.incrementAndGet();
+                }
+            }
+        }, 0, 10, TimeUnit.MILLISECONDS);
+
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor();
+        progress.scheduleAtFixedRate(() -> System.out.printf("[%3ds] %s%n",
+                (System.nanoTime() - startNanos) / 1_000_000_000, metrics.progress()), 10, 10, TimeUnit.SECONDS);
+
+        Thread.sleep(durationSeconds * 1000L);
+        ticker.shutdownNow();
+        progress.shutdownNow();
+        workers.shutdown();
+        workers.awaitTermination(60, TimeUnit.SECONDS);
+        double elapsed = (System.nanoTime() - startNanos) / 1e9;
+
+        metrics.report(System.out, elapsed);
+        if (skipped.get() > 0) {
+            System.out.printf("%nWARNING: %d scenarios were not started because all %d workers were busy; "
+                    + "raise --threads or lower --rate%n", skipped.get(), threads);
+        }
+    }
+
+    private void setUp() throws Exception {
+        admin = newSession();
+        if (!admin.login(options.getOrDefault("admin", "admin"), options.getOrDefault("admin-password", "admin123"))) {
+            throw new IllegalStateException("Admin login failed against " + baseUrl);
+        }
+        teacher = newSession();
+        String teacherName = options.getOrDefault("teacher", "teacher");
+        if (!teacher.login(teacherName, options.getOrDefault("teacher-password", "teacher123"))) {
+            throw new IllegalStateException("Teacher login failed against " + baseUrl);
+        }
+
+        Long teacherId = null;
+        for (JsonNode user : admin.get("setup", "/api/users/role/TEACHER")) {
+            if (teacherName.equals(user.get("username").asText())) {
+                teacherId = user.get("id").asLong();
+            }
+        }
+        int courses = intOption("courses", 20);
+        for (int i = 0; i < courses; i++) {
+            Map<String, Object> course = new HashMap<>();
+            course.put("courseCode", "LT-" + runId + "-" + i);
+            course.put("courseName", "Load Test Course " + i);
+            course.put("description", "Created by the load test harness");
+            course.put("credits", 3);
+            course.put("teacherId", teacherId);
+            JsonNode created = teacher.post("setup", "/api/courses", course);
+            if (created == null) {
+                throw new IllegalStateException("Could not create load test courses");
+            }
+            courseIds.add(created.get("id").asLong());
+        }
+
+        int users = intOption("users", 200);
+        for (int i = 0; i < users; i++) {
+            releaseStudent(registerStudent(newSession()));
+        }
+        // Only the measured phase goes into the report
+        metrics.clear();
+    }
+
+    private void execute(Scenario scenario) {
+        try {
+            scenario.run(this);
+        } catch (Exception e) {
+            metrics.step(scenario.name().toLowerCase()).recordError();
+        }
+    }
+
+    /** Registers and logs in a new student, as the collection's "Register Student" and "Login" requests do. */
+    VirtualStudent registerStudent(ApiSession session) throws Exception {
+        String username = "lt" + runId + "-" + registered.incrementAndGet();
+        Map<String, Object> request = new HashMap<>();
+        request.put("username", username);
+        request.put("password", STUDENT_PASSWORD);
+        request.put("email", username + "@loadtest.local");
+        request.put("fullName", "Load Test " + username);
+        request.put("role", "STUDENT");
+        JsonNode user = session.post("register", "/api/auth/register", request);
+        if (user == null) {
+            throw new IllegalStateException("Registration failed for " + username);
+        }
+        session.login(username, STUDENT_PASSWORD);
+        return new VirtualStudent(username, user.get("id").asLong(), session);
+    }
+
+    VirtualStudent acquireStudent() throws InterruptedException {
+        return idleStudents.take();
+    }
+
+    void releaseStudent(VirtualStudent student) {
+        idleStudents.add(student);
+    }
+
+    long randomCourseId() {
+        return courseIds.get(ThreadLocalRandom.current().nextInt(courseIds.size()));
+    }
+
+    /** New client using session cookies, or bearer tokens with --auth=token. */
+    ApiSession newSession() {
+        return new ApiSession(baseUrl, metrics, "token".equals(options.get("auth")));
+    }
+
+    Metrics metrics() {
+        return metrics;
+    }
+
+    IdPool enrollments() {
+        return enrollments;
+    }
+
+    ApiSession teacher() {
+        return teacher;
+    }
+
+    ApiSession admin() {
+        return admin;
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+    }
+
+    private static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        if (mix == null) {
+            for (Scenario scenario : Scenario.values()) {
+                weights.put(scenario, scenario.defaultWeight());
+            }
+            return weights;
+        }
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.split(":");
+            weights.put(Scenario.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+
+    /** Expands the weights into a list so picking a scenario is a single random index. */
+    private static List<Scenario> buildWheel(Map<Scenario, Integer> mix) {
+        List<Scenario> wheel = new ArrayList<>();
+        mix.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                wheel.add(scenario);
+            }
+        });
+        return wheel;
+    }
+}
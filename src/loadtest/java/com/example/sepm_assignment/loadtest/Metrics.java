@@ -0,0 +1,46 @@
+package com.example.sepm_assignment.loadtest;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Per-step latency statistics and the throughput/percentile report.
+ */
+class Metrics {
+
+    private final Map<String, LatencyStats> steps = new ConcurrentSkipListMap<>();
+
+    LatencyStats step(String name) {
+        return steps.computeIfAbsent(name, LatencyStats::new);
+    }
+
+    void clear() {
+        steps.clear();
+    }
+
+    void report(PrintStream out, double elapsedSeconds) {
+        out.printf("%n%-12s %9s %7s %10s %9s %9s %9s %9s%n",
+                "step", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        long total = 0;
+        for (LatencyStats stats : steps.values()) {
+            long[] sorted = stats.snapshot();
+            total += sorted.length;
+            out.printf("%-12s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    stats.getStep(), sorted.length, stats.errors(), sorted.length / elapsedSeconds,
+                    LatencyStats.percentileMillis(sorted, 50),
+                    LatencyStats.percentileMillis(sorted, 99),
+                    LatencyStats.percentileMillis(sorted, 99.9),
+                    LatencyStats.percentileMillis(sorted, 100));
+        }
+        out.printf("%-12s %9d %7s %10.1f%n", "total", total, "", total / elapsedSeconds);
+    }
+
+    /** Shorter line printed while the test is running. */
+    String progress() {
+        Map<String, Integer> counts = new TreeMap<>();
+        steps.forEach((name, stats) -> counts.put(name, stats.count()));
+        return counts.toString();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.sepm_assignment.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The API flows from SEPM_Assignment_API.postman_collection.json, as weighted scenarios.
+ * Each scenario records its HTTP calls under its own step name.
+ */
+enum Scenario {
+
+    REGISTER(5) {
+        @Override
+        void run(LoadTest test) throws Exception {
+            test.releaseStudent(test.registerStudent(test.newSession()));
+        }
+    },
+
+    LOGIN(5) {
+        @Override
+        void run(LoadTest test) throws Exception {
+            VirtualStudent student = test.acquireStudent();
+            try {
+                // A fresh cookie jar, as a new browser would have
+                student.session = test.newSession();
+                student.session.login(student.username, LoadTest.STUDENT_PASSWORD);
+            } finally {
+                test.releaseStudent(student);
+            }
+        }
+    },
+
+    BROWSE(50) {
+        @Override
+        void run(LoadTest test) throws Exception {
+            VirtualStudent student = test.acquireStudent();
+            try {
+                student.session.get("browse", "/api/courses");
+                student.session.get("course", "/api/courses/" + test.randomCourseId());
+            } finally {
+                test.releaseStudent(student);
+            }
+        }
+    },
+
+    ENROLL(20) {
+        @Override
+        void run(LoadTest test) throws Exception {
+            VirtualStudent student = test.acquireStudent();
+            try {
+                JsonNode enrollment = student.session.post("enroll", "/api/enrollments",
+                        Map.of("studentId", student.id, "courseId", test.randomCourseId()));
+                if (enrollment != null) {
+                    test.enrollments().add(enrollment.get("id").asLong());
+                }
+            } finally {
+                test.releaseStudent(student);
+            }
+        }
+    },
+
+    GRADE(15) {
+        @Override
+        void run(LoadTest test) throws Exception {
+            Long enrollmentId = test.enrollments().random();
+            if (enrollmentId != null) {
+                double grade = 50 + ThreadLocalRandom.current().nextInt(50);
+                test.teacher().put("grade", "/api/enrollments/" + enrollmentId + "/grade", Map.of("grade", grade));
+            }
+        }
+    },
+
+    DROP(5) {
+        @Override
+        void run(LoadTest test) throws Exception {
+            Long enrollmentId = test.enrollments().take();
+            if (enrollmentId != null) {
+                test.admin().delete("drop", "/api/enrollments/" + enrollmentId);
+            }
+        }
+    };
+
+    private final int defaultWeight;
+
+    Scenario(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    int defaultWeight() {
+        return defaultWeight;
+    }
+
+    abstract void run(LoadTest test) throws Exception;
+}
@@ -0,0 +1,17 @@
+package com.example.sepm_assignment.loadtest;
+
+/**
+ * A registered student account driven by the load test.
+ */
+class VirtualStudent {
+
+    final String username;
+    final long id;
+    ApiSession session;
+
+    VirtualStudent(String username, long id, ApiSession session) {
+        this.username = username;
+        this.id = id;
+        this.session = session;
+    }
+}
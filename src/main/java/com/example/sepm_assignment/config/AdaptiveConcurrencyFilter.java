@@ -0,0 +1,131 @@
+package com.example.sepm_assignment.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Sheds requests with 503 once the adaptive concurrency limit is reached, instead of letting
+ * them queue in Tomcat while the database is slow. Runs after Spring Security so priority can
+ * depend on the user: admins and grading routes are critical, the catalog and anonymous
+ * requests are low priority, everything else is normal.
+ * <p>
+ * A 503 or 504 from below counts as overload and cuts the limit, unless the node shed the
+ * request itself (a full bulkhead, an overloaded login, the stream subscriber cap) and marked
+ * it with {@link #markLocallyShed}. Those say nothing about the database and are not sampled.
+ */
+@Slf4j
+public class AdaptiveConcurrencyFilter extends OncePerRequestFilter {
+
+    private static final String LOCALLY_SHED_ATTRIBUTE = AdaptiveConcurrencyFilter.class.getName() + ".locallyShed";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final MeterRegistry meterRegistry;
+    private final int retryAfterSeconds;
+    private final List<PathPattern> criticalPaths;
+    private final List<PathPattern> lowPaths;
+    private final List<PathPattern> excludedPaths;
+
+    public AdaptiveConcurrencyFilter(AdaptiveConcurrencyLimiter limiter, AdaptiveConcurrencyProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.meterRegistry = meterRegistry;
+        this.retryAfterSeconds = properties.getRetryAfterSeconds();
+        this.criticalPaths = parse(properties.getCriticalPaths());
+        this.lowPaths = parse(properties.getLowPaths());
+        this.excludedPaths = parse(properties.getExcludedPaths());
+        Gauge.builder("concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit).register(meterRegistry);
+        Gauge.builder("concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInflight).register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        if (matches(excludedPaths, path)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AdaptiveConcurrencyLimiter.Priority priority = priority(path);
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(priority);
+        if (permit == null) {
+            meterRegistry.counter("concurrency.requests", "priority", priority.name(), "result", "shed").increment();
+            log.debug("Shed {} {} ({}, limit {})", request.getMethod(), request.getRequestURI(), priority, limiter.getLimit());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("Server is busy, try again shortly");
+            return;
+        }
+
+        meterRegistry.counter("concurrency.requests", "priority", priority.name(), "result", "admitted").increment();
+        boolean failed = true;
+        boolean shedLocally = false;
+        try {
+            filterChain.doFilter(request, response);
+            shedLocally = request.getAttribute(LOCALLY_SHED_ATTRIBUTE) != null;
+            // Application errors are ordinary samples; only overload from below means back off
+            failed = response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                    || response.getStatus() == HttpStatus.GATEWAY_TIMEOUT.value();
+        } finally {
+            if (shedLocally) {
+                permit.discard();
+            } else {
+                permit.release(failed);
+            }
+        }
+    }
+
+    /** Marks a response the node rejected on its own, so it doesn't lower the global limit. */
+    public static void markLocallyShed(HttpServletRequest request) {
+        request.setAttribute(LOCALLY_SHED_ATTRIBUTE, Boolean.TRUE);
+    }
+
+    private AdaptiveConcurrencyLimiter.Priority priority(PathContainer path) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean anonymous = authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken;
+        if (!anonymous && authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()))) {
+            return AdaptiveConcurrencyLimiter.Priority.CRITICAL;
+        }
+        if (matches(criticalPaths, path)) {
+            return AdaptiveConcurrencyLimiter.Priority.CRITICAL;
+        }
+        if (anonymous || matches(lowPaths, path)) {
+            return AdaptiveConcurrencyLimiter.Priority.LOW;
+        }
+        return AdaptiveConcurrencyLimiter.Priority.NORMAL;
+    }
+
+    private static boolean matches(List<PathPattern> patterns, PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<PathPattern> parse(List<String> paths) {
+        return paths.stream().map(PathPatternParser.defaultInstance::parse).toList();
+    }
+}
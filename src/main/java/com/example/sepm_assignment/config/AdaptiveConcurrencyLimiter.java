@@ -0,0 +1,166 @@
+package com.example.sepm_assignment.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that is learned from request latency, in the style of the gradient
+ * algorithm. Samples are collected in windows at least one round trip long; each window's
+ * average latency is compared with a slow moving baseline, and their ratio shrinks the limit
+ * when requests start queueing or lets it grow by roughly its square root when they don't.
+ * Requests that fail from overload (503/504 from downstream, or an exception escaping the
+ * filter) cut the limit multiplicatively, as in AIMD, at most once per baseline round trip.
+ * <p>
+ * Lower priorities may only use part of the limit, so when the limit drops the remaining
+ * capacity goes to critical traffic first.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Priority { CRITICAL, NORMAL, LOW }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final double backoffRatio;
+    private final double baselineAlpha;
+    private final long minWindowNanos;
+    private final int minWindowSamples;
+    private final double normalShare;
+    private final double lowShare;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private volatile double limit;
+    // Guarded by this
+    private double baselineRtt;
+    private double lastWindowRtt;
+    private long lastBackoffNanos;
+    private long windowStartNanos = -1;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInflight;
+
+    public AdaptiveConcurrencyLimiter(AdaptiveConcurrencyProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(AdaptiveConcurrencyProperties properties, LongSupplier nanoClock) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.smoothing = properties.getSmoothing();
+        this.rttTolerance = properties.getRttTolerance();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.baselineAlpha = 2.0 / (properties.getBaselineWindows() + 1);
+        this.minWindowNanos = TimeUnit.MILLISECONDS.toNanos(properties.getMinWindowMillis());
+        this.minWindowSamples = properties.getMinWindowSamples();
+        this.normalShare = properties.getNormalShare();
+        this.lowShare = properties.getLowShare();
+        this.nanoClock = nanoClock;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, properties.getInitialLimit()));
+    }
+
+    /**
+     * Admits a request if the priority's share of the limit is not used up.
+     *
+     * @return a permit that must be released when the request finishes, or null to shed it
+     */
+    public Permit tryAcquire(Priority priority) {
+        int allowed = Math.max(1, (int) (limit * share(priority)));
+        while (true) {
+            int current = inflight.get();
+            if (current >= allowed) {
+                return null;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return new Permit(nanoClock.getAsLong(), current + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private double share(Priority priority) {
+        return switch (priority) {
+            case CRITICAL -> 1.0;
+            case NORMAL -> normalShare;
+            case LOW -> lowShare;
+        };
+    }
+
+    private synchronized void onSample(long startNanos, long endNanos, int inflightAtStart, boolean failed) {
+        if (failed) {
+            // A burst of failures reflects one overload event, not one per request
+            if (endNanos - lastBackoffNanos >= baselineRtt) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastBackoffNanos = endNanos;
+            }
+            return;
+        }
+
+        if (windowStartNanos < 0) {
+            windowStartNanos = startNanos;
+        }
+        windowRttSum += endNanos - startNanos;
+        windowSamples++;
+        windowMaxInflight = Math.max(windowMaxInflight, inflightAtStart);
+        // One adjustment per round trip; adjusting per sample overreacts at high request rates
+        if (windowSamples < minWindowSamples
+                || endNanos - windowStartNanos < Math.max(minWindowNanos, lastWindowRtt)) {
+            return;
+        }
+        double windowRtt = (double) windowRttSum / windowSamples;
+        int maxInflight = windowMaxInflight;
+        windowStartNanos = endNanos;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInflight = 0;
+        lastWindowRtt = windowRtt;
+
+        if (baselineRtt == 0) {
+            baselineRtt = windowRtt;
+        } else {
+            baselineRtt += baselineAlpha * (windowRtt - baselineRtt);
+        }
+        // Latency has dropped well below the baseline (e.g. the database recovered): catch up
+        if (baselineRtt > 2 * windowRtt) {
+            baselineRtt *= 0.95;
+        }
+        // With most of the limit unused the latency says nothing about a higher limit
+        if (maxInflight < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * baselineRtt / windowRtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + target * smoothing));
+    }
+
+    /** One admitted request; release it exactly once. */
+    public final class Permit {
+
+        private final long startNanos;
+        private final int inflightAtStart;
+
+        private Permit(long startNanos, int inflightAtStart) {
+            this.startNanos = startNanos;
+            this.inflightAtStart = inflightAtStart;
+        }
+
+        public void release(boolean failed) {
+            inflight.decrementAndGet();
+            onSample(startNanos, nanoClock.getAsLong(), inflightAtStart, failed);
+        }
+
+        /** Releases without a sample, for requests rejected before doing any real work. */
+        public void discard() {
+            inflight.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.sepm_assignment.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for {@link AdaptiveConcurrencyLimiter} and the paths {@link AdaptiveConcurrencyFilter}
+ * treats as critical, low priority or exempt.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.concurrency")
+@Data
+public class AdaptiveConcurrencyProperties {
+
+    private boolean enabled = true;
+
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    /** Should not exceed the Tomcat thread pool (server.tomcat.threads.max). */
+    private int maxLimit = 200;
+
+    /** How far each sample moves the limit towards its new target (0-1). */
+    private double smoothing = 0.2;
+    /** Latency may grow by this factor over the baseline before the limit shrinks. */
+    private double rttTolerance = 1.5;
+    /** Limit multiplier after a failed request. */
+    private double backoffRatio = 0.9;
+    /** Number of sample windows the baseline latency averages over. */
+    private int baselineWindows = 50;
+    /** A sample window lasts at least this long, and at least one round trip. */
+    private long minWindowMillis = 100;
+    private int minWindowSamples = 10;
+
+    /** Fraction of the limit that normal and low priority requests may use. */
+    private double normalShare = 0.9;
+    private double lowShare = 0.6;
+
+    private int retryAfterSeconds = 1;
+
+    /** Served first: administration and grading. Admins are always critical. */
+    private List<String> criticalPaths = new ArrayList<>(List.of(
+            "/admin/**", "/api/admin/**", "/api/users/**",
+            "/api/enrollments/*/grade", "/api/enrollments/*/status", "/teacher/**"));
+
+    /** Shed first, together with every anonymous request: the course catalog. */
+    private List<String> lowPaths = new ArrayList<>(List.of("/courses", "/courses/*", "/api/courses/**"));
+
+    /** Never limited: health checks and static assets. */
+    private List<String> excludedPaths = new ArrayList<>(List.of("/actuator/health", "/css/**", "/js/**", "/error"));
+}
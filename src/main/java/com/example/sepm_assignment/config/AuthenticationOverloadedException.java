@@ -0,0 +1,14 @@
+package com.example.sepm_assignment.config;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Thrown when the password-verification executor is saturated and a login is shed
+ * instead of queued. Mapped to 503 with Retry-After by {@link OverloadAwareAuthenticationFailureHandler}.
+ */
+public class AuthenticationOverloadedException extends AuthenticationServiceException {
+
+    public AuthenticationOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.sepm_assignment.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password verification of the wrapped provider on a small fixed pool instead of the
+ * request thread. At most {@code threads} BCrypt checks burn CPU at once, at most
+ * {@code queueCapacity} logins wait for them, and anything beyond that fails immediately
+ * with {@link AuthenticationOverloadedException}.
+ */
+@Slf4j
+public class BoundedAuthenticationProvider implements AuthenticationProvider, DisposableBean {
+
+    private final AuthenticationProvider delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMillis;
+    private final Timer verificationTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+
+    public BoundedAuthenticationProvider(AuthenticationProvider delegate, int threads, int queueCapacity,
+                                         long maxWaitMillis, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxWaitMillis = maxWaitMillis;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "auth-verify-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.executor.queue.depth", executor, e -> e.getQueue().size())
+                .description("Logins waiting for a password-verification thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.executor.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password verifications in progress")
+                .register(meterRegistry);
+        this.verificationTimer = Timer.builder("auth.verification")
+                .description("Time spent verifying a login on the executor")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("auth.executor.queue.wait")
+                .description("Time a login waited in the queue before verification started")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.executor.rejected")
+                .description("Logins shed because the executor was saturated")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        long enqueuedAt = System.nanoTime();
+        Future<Authentication> result;
+        try {
+            result = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return verificationTimer.recordCallable(() -> delegate.authenticate(authentication));
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new AuthenticationOverloadedException("Too many logins in progress, try again shortly");
+        }
+
+        try {
+            return result.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            rejectedCounter.increment();
+            throw new AuthenticationOverloadedException("Login timed out waiting for verification");
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Interrupted while verifying login", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof AuthenticationException authenticationException) {
+                throw authenticationException;
+            }
+            throw new AuthenticationServiceException("Login verification failed", e.getCause());
+        }
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
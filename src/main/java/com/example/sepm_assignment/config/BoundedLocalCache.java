@@ -0,0 +1,175 @@
+package com.example.sepm_assignment.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * In-process LRU cache of at most {@code maxEntries} entries, each kept for at most {@code ttl}.
+ * <p>
+ * Keys are compared by their string form, so an eviction for {@code "42"} received from another
+ * node removes the entry cached under {@code 42L}. Calls made inside an existing transaction
+ * neither read nor fill the cache: they may need to see, or may have seen, that transaction's
+ * own uncommitted writes.
+ * <p>
+ * Every eviction bumps a generation and remembers it per key. {@link #get(Object, Callable)}
+ * notes the generation before it loads and drops the loaded value if the key was evicted in the
+ * meantime: the load may have read the row before the write that evicted it committed, and
+ * caching it would serve the old value until the ttl ran out. Only the last {@code maxEntries}
+ * evictions are remembered per key; a load that began before an older one is not cached either.
+ * Metrics: cache.gets tagged result=hit|miss, cache.stale_loads, and cache.size.
+ */
+public class BoundedLocalCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Map<String, Entry> entries;
+    // Generation of each key's last eviction, guarded by entries
+    private final Map<String, Long> evictedAt;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter staleLoads;
+    private long generation;
+    // Loads that began before this generation may have missed an eviction that is no longer remembered
+    private long forgottenBefore;
+
+    public BoundedLocalCache(String name, int maxEntries, Duration ttl, MeterRegistry meterRegistry) {
+        this(name, maxEntries, ttl, meterRegistry, Clock.systemUTC());
+    }
+
+    BoundedLocalCache(String name, int maxEntries, Duration ttl, MeterRegistry meterRegistry, Clock clock) {
+        super(true);
+        this.name = name;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.evictedAt = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                if (size() > maxEntries) {
+                    forgottenBefore = Math.max(forgottenBefore, eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.hits = meterRegistry.counter("cache.gets", "cache", name, "result", "hit");
+        this.misses = meterRegistry.counter("cache.gets", "cache", name, "result", "miss");
+        this.staleLoads = meterRegistry.counter("cache.stale_loads", "cache", name);
+        Gauge.builder("cache.size", this, BoundedLocalCache::size).tag("cache", name).register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return entries;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return null;
+        }
+        String id = String.valueOf(key);
+        long now = clock.millis();
+        synchronized (entries) {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                if (entry.expiresAt() > now) {
+                    hits.increment();
+                    return entry.value();
+                }
+                entries.remove(id);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        long loadStartedAt;
+        synchronized (entries) {
+            loadStartedAt = generation;
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        store(key, value, loadStartedAt);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        // The caller vouches that the value is current
+        store(key, value, Long.MAX_VALUE);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String id = String.valueOf(key);
+        synchronized (entries) {
+            evictedAt.put(id, ++generation);
+            entries.remove(id);
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (entries) {
+            forgottenBefore = ++generation;
+            evictedAt.clear();
+            entries.clear();
+        }
+    }
+
+    private void store(Object key, Object value, long loadStartedAt) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        String id = String.valueOf(key);
+        Entry entry = new Entry(toStoreValue(value), clock.millis() + ttlMillis);
+        synchronized (entries) {
+            if (loadStartedAt < evictedAt.getOrDefault(id, forgottenBefore)) {
+                staleLoads.increment();
+                return;
+            }
+            entries.put(id, entry);
+        }
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Entry(Object value, long expiresAt) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.sepm_assignment.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Local read caches for courses, users and student enrollment lists. Every replica keeps its
+ * own copy; writes evict it on all of them through {@code CacheInvalidationService}.
+ * The caching advice runs just inside {@link SingleFlight} and outside the transaction
+ * interceptor, so a hit never opens a transaction. Cached methods use {@code sync = true}: the
+ * miss is loaded through {@link BoundedLocalCache#get(Object, java.util.concurrent.Callable)},
+ * which won't cache a value when the key was evicted while it loaded.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "app.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CacheConfig {
+
+    /** Course id -> CourseDTO */
+    public static final String COURSES = "courses";
+    /** Single entry holding the full course catalog */
+    public static final String COURSE_LIST = "course-list";
+    /** Username -> UserDTO */
+    public static final String USERS = "users";
+    /** Student id -> that student's EnrollmentDTOs */
+    public static final String STUDENT_ENROLLMENTS = "student-enrollments";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${app.cache.max-entries:10000}") int maxEntries,
+                                     @Value("${app.cache.ttl:10m}") Duration ttl,
+                                     MeterRegistry meterRegistry) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(COURSES, COURSE_LIST, USERS, STUDENT_ENROLLMENTS).stream()
+                .map(name -> new BoundedLocalCache(name, maxEntries, ttl, meterRegistry))
+                .toList());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.sepm_assignment.config;
+
+import jakarta.persistence.Entity;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Rejects any view model that carries a JPA entity.
+ * With open-in-view disabled, templates must only see fully built DTOs;
+ * an entity reaching the view would trigger lazy loads after the transaction closed.
+ */
+public class DtoOnlyModelInterceptor implements HandlerInterceptor {
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response,
+                           Object handler, ModelAndView modelAndView) {
+        if (modelAndView == null) {
+            return;
+        }
+        for (Map.Entry<String, Object> entry : modelAndView.getModel().entrySet()) {
+            if (containsEntity(entry.getValue())) {
+                throw new IllegalStateException("Model attribute '" + entry.getKey()
+                        + "' for view '" + modelAndView.getViewName() + "' is a JPA entity; map it to a DTO in the service layer");
+            }
+        }
+    }
+
+    private boolean containsEntity(Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Collection<?> collection) {
+            return collection.stream().anyMatch(this::containsEntity);
+        }
+        if (value instanceof Map<?, ?> map) {
+            return map.values().stream().anyMatch(this::containsEntity);
+        }
+        return value.getClass().isAnnotationPresent(Entity.class);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.sepm_assignment.config;
+
+import com.example.sepm_assignment.repository.IdempotencyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Idempotency-Key support for the POST endpoints in {@code app.idempotency.paths}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.idempotency.ttl:24h}") Duration ttl,
+            @Value("${app.idempotency.pending-ttl:2m}") Duration pendingTtl,
+            @Value("${app.idempotency.max-cached-entries:10000}") int maxCachedEntries) {
+        return new IdempotencyStore(jdbcTemplate, ttl, pendingTtl, maxCachedEntries, meterRegistry);
+    }
+
+    // After the rate limiter, before the concurrency limiter: replays and waiting duplicates take no slot
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyStore idempotencyStore,
+            MeterRegistry meterRegistry,
+            @Value("${app.idempotency.paths:/api/enrollments,/api/auth/register}") List<String> paths,
+            @Value("${app.idempotency.wait-timeout:10s}") Duration waitTimeout) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(idempotencyStore, paths, waitTimeout, meterRegistry));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 2);
+        return registration;
+    }
+}
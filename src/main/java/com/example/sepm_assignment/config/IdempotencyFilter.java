@@ -0,0 +1,266 @@
+package com.example.sepm_assignment.config;
+
+import com.example.sepm_assignment.repository.IdempotencyStore;
+import com.example.sepm_assignment.repository.IdempotencyStore.StoredResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Honours the {@code Idempotency-Key} header on the configured POST endpoints. The first
+ * response for a key (per user, method and path) is stored and replayed for every retry
+ * without running the controller again; a retry with a different body gets 422. The key is
+ * claimed in the store before the request runs, so a duplicate that arrives while the first
+ * request is still running, on this replica or another, waits for its response up to
+ * {@code wait-timeout} and then gets 409. Server errors and rate-limit or overload rejections
+ * release the claim instead of being stored, so retrying them runs the request again. A replay carries the stored
+ * status, body and result headers such as {@code Location}.
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    // Waiting duplicates poll the stored row, backing off between these bounds
+    private static final long MIN_POLL_MILLIS = 10;
+    private static final long MAX_POLL_MILLIS = 200;
+    // Headers that describe the result and go out again on a replay; not cookies or per-request ones
+    private static final List<String> REPLAYED_HEADERS = List.of(HttpHeaders.LOCATION, HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL, HttpHeaders.CONTENT_LANGUAGE);
+
+    private final IdempotencyStore store;
+    private final List<PathPattern> paths;
+    private final long waitTimeoutMillis;
+    private final MeterRegistry meterRegistry;
+
+    public IdempotencyFilter(IdempotencyStore store, List<String> paths, Duration waitTimeout,
+                             MeterRegistry meterRegistry) {
+        this.store = store;
+        this.paths = paths.stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.waitTimeoutMillis = waitTimeout.toMillis();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null) {
+            return true;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        return paths.stream().noneMatch(pattern -> pattern.matches(path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String id = sha256((principal() + "\n" + request.getMethod() + "\n" + request.getRequestURI() + "\n" + key)
+                .getBytes(StandardCharsets.UTF_8));
+        String requestHash = sha256(cachedRequest.body);
+
+        long deadline = System.currentTimeMillis() + waitTimeoutMillis;
+        long pollMillis = MIN_POLL_MILLIS;
+        boolean waited = false;
+        while (true) {
+            Optional<StoredResponse> stored = store.find(id);
+            if (stored.isEmpty()) {
+                if (store.claim(id, requestHash)) {
+                    execute(id, requestHash, cachedRequest, response, filterChain);
+                    return;
+                }
+                // Claimed or stored by another request since the lookup
+                continue;
+            }
+            if (!stored.get().pending() || !stored.get().requestHash().equals(requestHash)) {
+                replay(stored.get(), requestHash, response);
+                return;
+            }
+
+            // The first request is still running here or on another replica
+            if (!waited) {
+                count("waited");
+                waited = true;
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                count("conflict");
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                reject(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is still being processed");
+                return;
+            }
+            try {
+                Thread.sleep(Math.min(pollMillis, remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException(e);
+            }
+            pollMillis = Math.min(pollMillis * 2, MAX_POLL_MILLIS);
+        }
+    }
+
+    private void execute(String id, String requestHash, CachedBodyRequest request, HttpServletResponse response,
+                         FilterChain filterChain) throws ServletException, IOException {
+        count("executed");
+        ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, captured);
+            if (isStorable(captured.getStatus())) {
+                store.complete(id, requestHash, captured.getStatus(), captured.getContentType(),
+                        replayedHeaders(captured), captured.getContentAsByteArray());
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                // Not worth replaying: let a retry run the request again
+                store.release(id);
+            }
+        }
+        captured.copyBodyToResponse();
+    }
+
+    private void replay(StoredResponse stored, String requestHash, HttpServletResponse response) throws IOException {
+        if (!stored.requestHash().equals(requestHash)) {
+            count("mismatch");
+            reject(response, HttpStatus.UNPROCESSABLE_ENTITY, HEADER + " was already used with a different request body");
+            return;
+        }
+        count("replayed");
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        stored.headers().forEach(response::setHeader);
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.body() != null) {
+            response.setContentLength(stored.body().length);
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    private static Map<String, String> replayedHeaders(HttpServletResponse response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : REPLAYED_HEADERS) {
+            Collection<String> values = response.getHeaders(name);
+            if (!values.isEmpty()) {
+                headers.put(name, String.join(", ", values));
+            }
+        }
+        return headers;
+    }
+
+    private static boolean isStorable(int status) {
+        return status < 500 && status != HttpStatus.TOO_MANY_REQUESTS.value()
+                && status != HttpStatus.REQUEST_TIMEOUT.value();
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(message);
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("idempotency.requests", "result", result).increment();
+    }
+
+    private static String principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : "";
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /** Reads the body up front so it can be hashed and still be read by the controller. */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
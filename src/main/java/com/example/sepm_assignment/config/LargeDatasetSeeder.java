@@ -0,0 +1,195 @@
+package com.example.sepm_assignment.config;
+
+import com.example.sepm_assignment.service.TermService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Loads a large synthetic dataset for performance testing.
+ * Activated with the "seed" profile; sizes come from {@link SeedProperties}.
+ * <p>
+ * On PostgreSQL rows are streamed with COPY, elsewhere (H2) with JDBC batches.
+ * Every account shares one password hash, so BCrypt runs once instead of once per user.
+ * Runs once the application is ready, after {@link DataInitializer} has created the default accounts.
+ */
+@Component
+@Profile("seed")
+@RequiredArgsConstructor
+@Slf4j
+public class LargeDatasetSeeder {
+
+    static final String STUDENT_PREFIX = "seed-student-";
+    static final String TEACHER_PREFIX = "seed-teacher-";
+    static final String COURSE_PREFIX = "SEED-";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final SeedProperties properties;
+    private final TermService termService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() throws SQLException {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM courses WHERE course_code = ?", Integer.class, COURSE_PREFIX + 0);
+        if (existing != null && existing > 0) {
+            log.info("Synthetic dataset already present. Skipping seeding.");
+            return;
+        }
+
+        long start = System.nanoTime();
+        String hash = passwordEncoder.encode(properties.getPassword());
+        Random random = new Random(properties.getRandomSeed());
+
+        load("users", "username, password, email, full_name, role, enabled", properties.getTeachers(),
+                i -> new Object[]{TEACHER_PREFIX + i, hash, TEACHER_PREFIX + i + "@seed.local", "Teacher " + i, "TEACHER", true});
+        load("users", "username, password, email, full_name, role, enabled", properties.getStudents(),
+                i -> new Object[]{STUDENT_PREFIX + i, hash, STUDENT_PREFIX + i + "@seed.local", "Student " + i, "STUDENT", true});
+        long[] teacherIds = ids("SELECT id FROM users WHERE username LIKE ? ORDER BY id", TEACHER_PREFIX + "%");
+        long[] studentIds = ids("SELECT id FROM users WHERE username LIKE ? ORDER BY id", STUDENT_PREFIX + "%");
+
+        String term = termService.currentTerm();
+        load("courses", "course_code, course_name, description, credits, term, teacher_id", properties.getCourses(),
+                i -> new Object[]{COURSE_PREFIX + i, "Seeded Course " + i, "Synthetic course for load testing",
+                        2 + random.nextInt(4), term, teacherIds[i % teacherIds.length]});
+        // Course codes sort as text, so order by id to keep index i == SEED-i
+        long[] courseIds = ids("SELECT id FROM courses WHERE course_code LIKE ? ORDER BY id", COURSE_PREFIX + "%");
+
+        long enrollments = seedEnrollments(studentIds, courseIds, term, random);
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("Seeded {} students, {} teachers, {} courses and {} enrollments in {} s",
+                studentIds.length, teacherIds.length, courseIds.length, enrollments, String.format("%.1f", seconds));
+    }
+
+    /**
+     * Gives every student a distinct set of courses. The number per student averages
+     * enrollments/students; which courses they pick follows the configured popularity skew.
+     */
+    private long seedEnrollments(long[] studentIds, long[] courseIds, String term, Random random) throws SQLException {
+        double perStudent = (double) properties.getEnrollments() / studentIds.length;
+        int maxPerStudent = Math.min(courseIds.length, (int) Math.ceil(perStudent * 2));
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> rows = new ArrayList<>(properties.getBatchSize());
+        long total = 0;
+        long[] picked = new long[maxPerStudent];
+        for (long studentId : studentIds) {
+            // Uniform in [0.5, 1.5) * average keeps the requested total on average
+            int count = Math.min(maxPerStudent, (int) Math.round(perStudent * (0.5 + random.nextDouble())));
+            int taken = 0;
+            while (taken < count) {
+                int index = (int) (courseIds.length * Math.pow(random.nextDouble(), properties.getSkew()));
+                long courseId = courseIds[index];
+                if (!contains(picked, taken, courseId)) {
+                    picked[taken++] = courseId;
+                    Timestamp enrolledAt = Timestamp.valueOf(now.minusMinutes(random.nextInt(2 * 365 * 24 * 60)));
+                    String status = pickStatus(random);
+                    Double grade = "COMPLETED".equals(status) ? 40.0 + random.nextInt(61) : null;
+                    rows.add(new Object[]{studentId, courseId, enrolledAt, status, grade, term});
+                }
+            }
+            if (rows.size() >= properties.getBatchSize()) {
+                total += write("enrollments", "student_id, course_id, enrollment_date, status, grade, term", rows);
+                rows.clear();
+            }
+        }
+        total += write("enrollments", "student_id, course_id, enrollment_date, status, grade, term", rows);
+        return total;
+    }
+
+    private static boolean contains(long[] values, int length, long value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void load(String table, String columns, int count, RowFactory factory) throws SQLException {
+        List<Object[]> rows = new ArrayList<>(Math.min(count, properties.getBatchSize()));
+        for (int i = 0; i < count; i++) {
+            rows.add(factory.row(i));
+            if (rows.size() == properties.getBatchSize()) {
+                write(table, columns, rows);
+                rows.clear();
+            }
+        }
+        write(table, columns, rows);
+        log.info("Seeded {} rows into {}", count, table);
+    }
+
+    private long write(String table, String columns, List<Object[]> rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Long copied = jdbcTemplate.execute((Connection connection) -> {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                return null;
+            }
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn("COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv)",
+                                new StringReader(toCsv(rows)));
+            } catch (IOException e) {
+                throw new SQLException("COPY into " + table + " failed", e);
+            }
+        });
+        if (copied != null) {
+            return copied;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(rows.get(0).length, "?"));
+        jdbcTemplate.batchUpdate("INSERT INTO " + table + " (" + columns + ") VALUES (" + placeholders + ")", rows);
+        return rows.size();
+    }
+
+    private static String toCsv(List<Object[]> rows) {
+        StringBuilder csv = new StringBuilder(rows.size() * 64);
+        for (Object[] row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    csv.append(',');
+                }
+                if (row[i] != null) {
+                    // Seeded values never contain quotes, commas or newlines
+                    csv.append(row[i]);
+                }
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+
+    private long[] ids(String sql, String pattern) {
+        return jdbcTemplate.queryForList(sql, Long.class, pattern).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @FunctionalInterface
+    private interface RowFactory {
+        Object[] row(int index);
+    }
+
+    /** Roughly 70% active, 25% completed, 5% dropped. */
+    private static String pickStatus(Random random) {
+        int roll = random.nextInt(100);
+        return roll < 70 ? "ACTIVE" : roll < 95 ? "COMPLETED" : "DROPPED";
+    }
+}
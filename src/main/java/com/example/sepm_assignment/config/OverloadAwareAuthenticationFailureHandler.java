@@ -0,0 +1,38 @@
+package com.example.sepm_assignment.config;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+
+import java.io.IOException;
+
+/**
+ * Shed logins get a cheap 503 with Retry-After; every other failure goes back to the login page.
+ */
+public class OverloadAwareAuthenticationFailureHandler extends SimpleUrlAuthenticationFailureHandler {
+
+    private final int retryAfterSeconds;
+
+    public OverloadAwareAuthenticationFailureHandler(String failureUrl, int retryAfterSeconds) {
+        super(failureUrl);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public void onAuthenticationFailure(HttpServletRequest request, HttpServletResponse response,
+                                        AuthenticationException exception) throws IOException, ServletException {
+        if (exception instanceof AuthenticationOverloadedException) {
+            AdaptiveConcurrencyFilter.markLocallyShed(request);
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write(exception.getMessage());
+            return;
+        }
+        super.onAuthenticationFailure(request, response, exception);
+    }
+}
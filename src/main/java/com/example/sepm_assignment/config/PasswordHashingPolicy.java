@@ -0,0 +1,93 @@
+package com.example.sepm_assignment.config;
+
+import com.example.sepm_assignment.model.AppSetting;
+import com.example.sepm_assignment.repository.AppSettingRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Target BCrypt cost for new password hashes. Adjustable at runtime; stored hashes
+ * with a different cost are rehashed the next time their owner logs in.
+ * <p>
+ * A change is stored in {@code app_settings} and every node polls it, so all of them hash with
+ * the same cost within {@code app.security.bcrypt-strength-poll-ms}, including nodes started
+ * later. {@code app.security.bcrypt-strength} applies until a cost has been stored.
+ */
+@Component
+@Slf4j
+public class PasswordHashingPolicy {
+
+    public static final int MIN_STRENGTH = 4;
+    // Each step doubles the cost; 16 is already several seconds per login
+    public static final int MAX_STRENGTH = 16;
+    static final String SETTING = "security.bcrypt-strength";
+
+    private final AppSettingRepository appSettingRepository;
+    private volatile int strength;
+
+    @Autowired
+    public PasswordHashingPolicy(@Value("${app.security.bcrypt-strength:10}") int strength,
+                                 AppSettingRepository appSettingRepository) {
+        this.strength = validate(strength);
+        this.appSettingRepository = appSettingRepository;
+    }
+
+    // This node only, for tests and benchmarks
+    PasswordHashingPolicy(int strength) {
+        this(strength, null);
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public void setStrength(int strength) {
+        validate(strength);
+        if (appSettingRepository != null) {
+            appSettingRepository.save(new AppSetting(SETTING, Integer.toString(strength), LocalDateTime.now()));
+        }
+        apply(strength);
+    }
+
+    /** Picks up a cost stored by any node. */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${app.security.bcrypt-strength-poll-ms:5000}")
+    public void loadStrength() {
+        if (appSettingRepository == null) {
+            return;
+        }
+        Optional<AppSetting> stored = appSettingRepository.findById(SETTING);
+        if (stored.isEmpty()) {
+            return;
+        }
+        try {
+            int storedStrength = validate(Integer.parseInt(stored.get().getValue()));
+            if (storedStrength != strength) {
+                apply(storedStrength);
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring stored BCrypt strength '{}': {}", stored.get().getValue(), e.getMessage());
+        }
+    }
+
+    private void apply(int strength) {
+        int previous = this.strength;
+        this.strength = strength;
+        log.info("BCrypt strength changed from {} to {}", previous, strength);
+    }
+
+    private static int validate(int strength) {
+        if (strength < MIN_STRENGTH || strength > MAX_STRENGTH) {
+            throw new IllegalArgumentException(
+                    "BCrypt strength must be between " + MIN_STRENGTH + " and " + MAX_STRENGTH);
+        }
+        return strength;
+    }
+}
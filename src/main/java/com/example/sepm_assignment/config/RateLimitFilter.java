@@ -0,0 +1,138 @@
+package com.example.sepm_assignment.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the per-user and per-IP token buckets configured in {@link RateLimitProperties}.
+ * Runs after Spring Security so the authenticated user is known; the first matching route wins.
+ * Limited requests get 429 with Retry-After before reaching a controller or the database.
+ * A request rejected by either bucket takes no token from the other.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final List<LimitedRoute> routes = new ArrayList<>();
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (Map.Entry<String, RateLimitProperties.Route> entry : properties.getRoutes().entrySet()) {
+            RateLimitProperties.Route route = entry.getValue();
+            if (route.getPath() == null || route.getPath().isBlank()) {
+                throw new IllegalArgumentException("app.rate-limit.routes." + entry.getKey() + ".path is required");
+            }
+            LimitedRoute limited = new LimitedRoute(entry.getKey(), route.getMethod(),
+                    PathPatternParser.defaultInstance.parse(route.getPath()),
+                    limiter(route.getUser(), properties), limiter(route.getIp(), properties));
+            routes.add(limited);
+            registerGauge(limited.name(), "user", limited.userLimiter());
+            registerGauge(limited.name(), "ip", limited.ipLimiter());
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        LimitedRoute route = match(request);
+        if (route != null) {
+            String username = authenticatedUsername();
+            long waitNanos = 0;
+            String limitedBy = null;
+            if (route.userLimiter() != null && username != null) {
+                waitNanos = route.userLimiter().tryAcquire(username);
+                limitedBy = "user";
+            }
+            if (waitNanos == 0 && route.ipLimiter() != null) {
+                waitNanos = route.ipLimiter().tryAcquire(request.getRemoteAddr());
+                if (waitNanos > 0 && limitedBy != null) {
+                    // Rejected by the IP bucket: this request must not use up the user's allowance
+                    route.userLimiter().refund(username);
+                }
+                limitedBy = "ip";
+            }
+            if (waitNanos > 0) {
+                meterRegistry.counter("rate_limit.requests", "route", route.name(), "result", "limited",
+                        "key", limitedBy).increment();
+                log.debug("Rate limited {} {} ({}: {})", request.getMethod(), request.getRequestURI(), limitedBy,
+                        "user".equals(limitedBy) ? username : request.getRemoteAddr());
+                long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+                response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+                response.getWriter().write("Too many requests, try again in " + retryAfterSeconds + "s");
+                return;
+            }
+            meterRegistry.counter("rate_limit.requests", "route", route.name(), "result", "allowed",
+                    "key", "none").increment();
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private LimitedRoute match(HttpServletRequest request) {
+        PathContainer path = null;
+        for (LimitedRoute route : routes) {
+            if (!route.method().equalsIgnoreCase(request.getMethod())) {
+                continue;
+            }
+            if (path == null) {
+                path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+            }
+            if (route.pattern().matches(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static String authenticatedUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static TokenBucketRateLimiter limiter(RateLimitProperties.Limit limit, RateLimitProperties properties) {
+        if (limit == null) {
+            return null;
+        }
+        return new TokenBucketRateLimiter(limit.getCapacity(), limit.getRefillPerSecond(),
+                properties.getMaxKeys(), properties.getStripes());
+    }
+
+    private void registerGauge(String route, String key, TokenBucketRateLimiter limiter) {
+        if (limiter != null) {
+            Gauge.builder("rate_limit.keys", limiter, TokenBucketRateLimiter::trackedKeys)
+                    .tag("route", route)
+                    .tag("key", key)
+                    .register(meterRegistry);
+        }
+    }
+
+    private record LimitedRoute(String name, String method, PathPattern pattern,
+                                TokenBucketRateLimiter userLimiter, TokenBucketRateLimiter ipLimiter) {
+    }
+}
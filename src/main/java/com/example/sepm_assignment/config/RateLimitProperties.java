@@ -0,0 +1,47 @@
+package com.example.sepm_assignment.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-route token-bucket limits applied by {@link RateLimitFilter}.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Data
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Buckets kept per route and key type; the least recently used are evicted beyond this. */
+    private int maxKeys = 100_000;
+
+    /** Independently locked partitions of each bucket table. */
+    private int stripes = 64;
+
+    /** Route name (used as the metrics tag) to its limits. */
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    @Data
+    public static class Route {
+        private String method = "POST";
+        /** Spring path pattern, e.g. /api/enrollments or /enrollments/** */
+        private String path;
+        /** Limit per authenticated user; not applied to anonymous requests. */
+        private Limit user;
+        /** Limit per client IP address. */
+        private Limit ip;
+    }
+
+    @Data
+    public static class Limit {
+        /** Burst size. */
+        private int capacity;
+        /** Sustained rate. */
+        private double refillPerSecond;
+    }
+}
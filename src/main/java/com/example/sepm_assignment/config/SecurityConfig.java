@@ -1,7 +1,11 @@
 package com.example.sepm_assignment.config;
 
+import com.example.sepm_assignment.service.ApiTokenService;
 import com.example.sepm_assignment.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,9 +15,9 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
@@ -22,11 +26,15 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
+    private final ApiTokenService apiTokenService;
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   OverloadAwareAuthenticationFailureHandler authenticationFailureHandler) throws Exception {
         http
                 .authorizeHttpRequests(auth -> auth
+                        // Completion of an event stream; the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/", "/register", "/login", "/css/**", "/js/**").permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/courses/**").hasAnyRole("STUDENT", "TEACHER", "ADMIN")
@@ -34,7 +42,10 @@ public class SecurityConfig {
                         .requestMatchers("/api/enrollments/create").hasRole("STUDENT")
                         .requestMatchers("/api/enrollments/*/grade", "/api/enrollments/*/status").hasAnyRole("TEACHER", "ADMIN")
                         .requestMatchers("/api/users/**").hasRole("ADMIN")
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         .requestMatchers("/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/teacher/**").hasRole("TEACHER")
                         .requestMatchers("/student/**").hasRole("STUDENT")
                         .anyRequest().authenticated()
@@ -42,6 +53,7 @@ public class SecurityConfig {
                 .formLogin(form -> form
                         .loginPage("/login")
                         .defaultSuccessUrl("/dashboard", true)
+                        .failureHandler(authenticationFailureHandler)
                         .permitAll()
                 )
                 .logout(logout -> logout
@@ -51,22 +63,41 @@ public class SecurityConfig {
                 )
                 .csrf(csrf -> csrf
                         .ignoringRequestMatchers("/api/**")
-                );
+                )
+                // Bearer tokens on /api/** are verified locally and never create a session
+                .addFilterBefore(new ApiTokenAuthenticationFilter(apiTokenService),
+                        UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingPolicy passwordHashingPolicy) {
+        return TunableBCryptPasswordEncoder.delegating(passwordHashingPolicy);
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${app.security.auth-executor.threads:0}") int threads,
+            @Value("${app.security.auth-executor.queue-capacity:200}") int queueCapacity,
+            @Value("${app.security.auth-executor.max-wait-ms:5000}") long maxWaitMillis) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
-        return authProvider;
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Stores the new hash when the stored one was made with a different cost
+        authProvider.setUserDetailsPasswordService(userDetailsService);
+        // BCrypt runs on its own bounded pool so a login storm can't take every request thread
+        return new BoundedAuthenticationProvider(authProvider,
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                queueCapacity, maxWaitMillis, meterRegistry);
+    }
+
+    @Bean
+    public OverloadAwareAuthenticationFailureHandler authenticationFailureHandler(
+            @Value("${app.security.auth-executor.retry-after-seconds:2}") int retryAfterSeconds) {
+        return new OverloadAwareAuthenticationFailureHandler("/login?error", retryAfterSeconds);
     }
 
     @Bean
@@ -0,0 +1,33 @@
+package com.example.sepm_assignment.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Size and shape of the synthetic dataset loaded by {@link LargeDatasetSeeder}.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.seed")
+@Data
+public class SeedProperties {
+
+    private int students = 100_000;
+    private int teachers = 1_000;
+    private int courses = 5_000;
+    private long enrollments = 2_000_000;
+
+    /**
+     * Popularity skew: a course index is drawn as courses * u^skew for uniform u.
+     * 1.0 is uniform; higher values pile enrollments onto the first courses.
+     */
+    private double skew = 2.0;
+
+    /** Plain-text password shared by every seeded account; hashed once. */
+    private String password = "password123";
+
+    /** Rows per COPY chunk or JDBC batch. */
+    private int batchSize = 50_000;
+
+    private long randomSeed = 42;
+}
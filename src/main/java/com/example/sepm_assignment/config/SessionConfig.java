@@ -0,0 +1,60 @@
+package com.example.sepm_assignment.config;
+
+import com.example.sepm_assignment.repository.JdbcSessionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+
+import java.time.Duration;
+
+/**
+ * Stores HTTP sessions in the database instead of Tomcat memory, so replicas can sit behind a
+ * plain round-robin proxy. Set {@code app.session.store=memory} to go back to container sessions.
+ */
+@Configuration
+@EnableSpringHttpSession
+@ConditionalOnProperty(name = "app.session.store", havingValue = "jdbc", matchIfMissing = true)
+public class SessionConfig {
+
+    private JdbcSessionRepository sessionRepository;
+
+    @Value("${app.session.touch-flush-interval-ms:10000}")
+    private long touchFlushIntervalMillis;
+
+    @Bean
+    public JdbcSessionRepository sessionRepository(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${server.servlet.session.timeout:30m}") Duration sessionTimeout,
+            @Value("${app.session.near-cache-ttl:30s}") Duration nearCacheTtl,
+            @Value("${app.session.near-cache-max-entries:10000}") int nearCacheMaxEntries,
+            @Value("${app.session.revalidate:true}") boolean revalidate) {
+        sessionRepository = new JdbcSessionRepository(jdbcTemplate, sessionTimeout, nearCacheTtl,
+                nearCacheMaxEntries, revalidate, meterRegistry);
+        return sessionRepository;
+    }
+
+    @Scheduled(fixedDelayString = "${app.session.touch-flush-interval-ms:10000}")
+    public void flushTouches() {
+        sessionRepository.flushTouches();
+    }
+
+    @Scheduled(fixedDelayString = "${app.session.cleanup-interval-ms:60000}")
+    public void cleanUpExpiredSessions() {
+        sessionRepository.cleanUp(Duration.ofMillis(touchFlushIntervalMillis));
+    }
+
+    // Don't lose the last few seconds of activity on a rolling restart
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (sessionRepository != null) {
+            sessionRepository.flushTouches();
+        }
+    }
+}
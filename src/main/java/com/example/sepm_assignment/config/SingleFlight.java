@@ -0,0 +1,20 @@
+package com.example.sepm_assignment.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Collapses concurrent identical calls of a read method into one. While a call with the same
+ * arguments is in flight, further callers wait for it and receive the same result (or the same
+ * exception) instead of querying the database again. Nothing is cached after the call returns.
+ * <p>
+ * Only for reads whose result callers do not modify: every waiter gets the same instance.
+ * Calls made inside an existing transaction are never coalesced, since they may need to see
+ * that transaction's own writes.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SingleFlight {
+}
@@ -0,0 +1,90 @@
+package com.example.sepm_assignment.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Implements {@link SingleFlight}. Runs outside the transaction interceptor, so waiting callers
+ * never open a transaction or borrow a connection. Metrics: singleflight.calls tagged with the
+ * method and result=executed|shared (shared calls are the database calls saved), and
+ * singleflight.inflight for the number of keys currently running.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SingleFlightAspect {
+
+    private final Map<Key, CompletableFuture<Object>> inflight = new ConcurrentHashMap<>();
+    private final Map<Method, Counter[]> counters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlightAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("singleflight.inflight", inflight, Map::size).register(meterRegistry);
+    }
+
+    @Around("@annotation(com.example.sepm_assignment.config.SingleFlight)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Counter[] methodCounters = counters.computeIfAbsent(method, this::newCounters);
+        Key key = new Key(method, Arrays.asList(joinPoint.getArgs()));
+
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inflight.putIfAbsent(key, call);
+        if (existing != null) {
+            methodCounters[1].increment();
+            return await(existing);
+        }
+
+        methodCounters[0].increment();
+        try {
+            Object result = joinPoint.proceed();
+            call.complete(result);
+            return result;
+        } catch (Throwable e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inflight.remove(key, call);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> call) throws Throwable {
+        try {
+            return call.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Counter[] newCounters(Method method) {
+        String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        return new Counter[]{
+                meterRegistry.counter("singleflight.calls", "method", name, "result", "executed"),
+                meterRegistry.counter("singleflight.calls", "method", name, "result", "shared")
+        };
+    }
+
+    private record Key(Method method, List<Object> args) {
+    }
+}
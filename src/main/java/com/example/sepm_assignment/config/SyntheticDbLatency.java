@@ -0,0 +1,55 @@
+package com.example.sepm_assignment.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fault injection for load tests: delays every statement Hibernate prepares while holding its
+ * connection, which looks to the application like a slow database. Only present when
+ * {@code app.chaos.enabled=true}; the delay starts at zero and is set through
+ * {@code PUT /api/admin/chaos/db-latency}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.chaos.enabled", havingValue = "true")
+@Slf4j
+public class SyntheticDbLatency implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private volatile long delayMillis;
+
+    @Override
+    public String inspect(String sql) {
+        long delay = delayMillis;
+        if (delay > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    public long getDelayMillis() {
+        return delayMillis;
+    }
+
+    public void setDelayMillis(long delayMillis) {
+        if (delayMillis < 0 || delayMillis > 60_000) {
+            throw new IllegalArgumentException("Delay must be between 0 and 60000 ms");
+        }
+        log.warn("Synthetic database latency set to {} ms per statement", delayMillis);
+        this.delayMillis = delayMillis;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.sepm_assignment.config;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder that hashes with the cost currently set on {@link PasswordHashingPolicy}
+ * and reports any hash with a different cost (higher or lower) as needing an upgrade.
+ */
+public class TunableBCryptPasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_HASH = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+    private final PasswordHashingPolicy policy;
+    // Cost is read from the stored hash, so one instance can verify hashes of any cost
+    private final BCryptPasswordEncoder verifier = new BCryptPasswordEncoder();
+    private volatile CostedEncoder encoder;
+
+    public TunableBCryptPasswordEncoder(PasswordHashingPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Versioned encoder used by the application: new hashes are stored as {@code {bcrypt}...},
+     * and legacy hashes without an id prefix are still verified as BCrypt and upgraded on login.
+     */
+    public static PasswordEncoder delegating(PasswordHashingPolicy policy) {
+        PasswordEncoder bcrypt = new TunableBCryptPasswordEncoder(policy);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encoderFor(policy.getStrength()).encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return verifier.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_HASH.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != policy.getStrength();
+    }
+
+    private BCryptPasswordEncoder encoderFor(int strength) {
+        CostedEncoder current = encoder;
+        if (current == null || current.strength() != strength) {
+            current = new CostedEncoder(strength, new BCryptPasswordEncoder(strength));
+            encoder = current;
+        }
+        return current.encoder();
+    }
+
+    private record CostedEncoder(int strength, BCryptPasswordEncoder encoder) {
+    }
+}
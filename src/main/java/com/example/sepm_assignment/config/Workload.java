@@ -0,0 +1,17 @@
+package com.example.sepm_assignment.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Assigns a controller, or a single handler method, to a {@link WorkloadClass}.
+ * A method annotation overrides the class; handlers without one are {@link WorkloadClass#INTERACTIVE}.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Workload {
+
+    WorkloadClass value();
+}
@@ -0,0 +1,112 @@
+package com.example.sepm_assignment.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Execution bulkhead per {@link WorkloadClass}: each class has its own number of concurrent
+ * requests, declared with {@link Workload} on the controller. A request that finds its class
+ * full waits up to the class's max-wait and then gets 503, while the other classes keep
+ * running. The class is also published to {@link WorkloadContext} so database work uses the
+ * class's own connection pool. A request that goes asynchronous, such as an event stream,
+ * gives its permit back once the handler returns instead of holding it for the whole stream.
+ */
+@Slf4j
+public class WorkloadBulkheadInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = WorkloadBulkheadInterceptor.class.getName() + ".permit";
+
+    private final Map<WorkloadClass, Semaphore> semaphores = new EnumMap<>(WorkloadClass.class);
+    private final Map<WorkloadClass, Long> maxWaitMillis = new EnumMap<>(WorkloadClass.class);
+    private final Map<WorkloadClass, Counter> rejected = new EnumMap<>(WorkloadClass.class);
+    private final int retryAfterSeconds;
+
+    public WorkloadBulkheadInterceptor(WorkloadProperties properties, MeterRegistry meterRegistry) {
+        this.retryAfterSeconds = properties.getRetryAfterSeconds();
+        for (WorkloadClass workload : WorkloadClass.values()) {
+            WorkloadProperties.Bulkhead bulkhead = properties.bulkhead(workload);
+            Semaphore semaphore = new Semaphore(bulkhead.getMaxConcurrent());
+            semaphores.put(workload, semaphore);
+            maxWaitMillis.put(workload, bulkhead.getMaxWaitMillis());
+            rejected.put(workload, meterRegistry.counter("workload.rejected", "workload", workload.name()));
+            Gauge.builder("workload.active", semaphore, s -> bulkhead.getMaxConcurrent() - s.availablePermits())
+                    .tag("workload", workload.name())
+                    .register(meterRegistry);
+            Gauge.builder("workload.waiting", semaphore, Semaphore::getQueueLength)
+                    .tag("workload", workload.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        WorkloadClass workload = workloadOf(handler);
+        boolean acquired;
+        try {
+            acquired = semaphores.get(workload).tryAcquire(maxWaitMillis.get(workload), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.get(workload).increment();
+            log.debug("Bulkhead {} full, rejecting {} {}", workload, request.getMethod(), request.getRequestURI());
+            AdaptiveConcurrencyFilter.markLocallyShed(request);
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("Too many " + workload.name().toLowerCase() + " requests, try again shortly");
+            return false;
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, workload);
+        WorkloadContext.set(workload);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        afterCompletion(request, response, handler, null);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        WorkloadClass workload = (WorkloadClass) request.getAttribute(PERMIT_ATTRIBUTE);
+        if (workload != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            semaphores.get(workload).release();
+        }
+        WorkloadContext.clear();
+    }
+
+    static WorkloadClass workloadOf(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            Workload workload = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), Workload.class);
+            if (workload == null) {
+                workload = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), Workload.class);
+            }
+            if (workload != null) {
+                return workload.value();
+            }
+        }
+        return WorkloadClass.INTERACTIVE;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.sepm_assignment.config;
+
+/**
+ * Workload classes that get their own request and database connection bulkheads,
+ * so a heavy admin report cannot starve student enrollment.
+ */
+public enum WorkloadClass {
+
+    /** Students and everything not annotated: catalog, enrollment, registration, login. */
+    INTERACTIVE,
+
+    /** Teacher work: grading, rosters and course management. */
+    GRADING,
+
+    /** Admin pages, user listings, imports and other reports. */
+    REPORTING,
+
+    /** Background jobs such as the semester rollover and the user purge; no request runs as it. */
+    BATCH
+}
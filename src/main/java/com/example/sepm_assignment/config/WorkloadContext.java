@@ -0,0 +1,41 @@
+package com.example.sepm_assignment.config;
+
+/**
+ * The workload class of the request on the current thread. Set by
+ * {@link WorkloadBulkheadInterceptor} and read by the routing data source to pick a pool.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<WorkloadClass> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static WorkloadClass current() {
+        WorkloadClass workload = CURRENT.get();
+        return workload != null ? workload : WorkloadClass.INTERACTIVE;
+    }
+
+    /** Runs background work, such as a batch job, on the given workload's connection pool. */
+    public static void runAs(WorkloadClass workload, Runnable work) {
+        WorkloadClass previous = CURRENT.get();
+        CURRENT.set(workload);
+        try {
+            work.run();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    static void set(WorkloadClass workload) {
+        CURRENT.set(workload);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.sepm_assignment.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Connection-pool bulkheads: one Hikari pool per {@link WorkloadClass}, behind a routing data
+ * source that picks the pool of the current request's class. Reports can exhaust their own
+ * pool without taking connections from enrollment. Pools are sized by
+ * {@code app.workload.classes.*.pool-size} and report hikaricp.* metrics tagged with their name.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.workload.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class WorkloadDataSourceConfig {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties,
+                                 ObjectProvider<JdbcConnectionDetails> connectionDetails,
+                                 WorkloadProperties workloadProperties,
+                                 MeterRegistry meterRegistry) {
+        Map<WorkloadClass, HikariDataSource> pools = new EnumMap<>(WorkloadClass.class);
+        for (WorkloadClass workload : WorkloadClass.values()) {
+            HikariDataSource pool = newPool(dataSourceProperties, connectionDetails.getIfAvailable());
+            pool.setPoolName("workload-" + workload.name().toLowerCase());
+            pool.setMaximumPoolSize(workloadProperties.bulkhead(workload).getPoolSize());
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.put(workload, pool);
+            log.info("Connection pool {} with {} connections", pool.getPoolName(), pool.getMaximumPoolSize());
+        }
+        return new WorkloadRoutingDataSource(pools);
+    }
+
+    private static HikariDataSource newPool(DataSourceProperties properties, JdbcConnectionDetails details) {
+        // Docker Compose and other service connections supply their own connection details
+        if (details == null) {
+            return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        }
+        return DataSourceBuilder.create(properties.getClassLoader())
+                .type(HikariDataSource.class)
+                .url(details.getJdbcUrl())
+                .username(details.getUsername())
+                .password(details.getPassword())
+                .driverClassName(details.getDriverClassName())
+                .build();
+    }
+
+    static class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+        private final Map<WorkloadClass, HikariDataSource> pools;
+
+        WorkloadRoutingDataSource(Map<WorkloadClass, HikariDataSource> pools) {
+            this.pools = pools;
+            setTargetDataSources(new HashMap<>(pools));
+            setDefaultTargetDataSource(pools.get(WorkloadClass.INTERACTIVE));
+            afterPropertiesSet();
+        }
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return WorkloadContext.current();
+        }
+
+        @Override
+        public void destroy() {
+            pools.values().forEach(HikariDataSource::close);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.sepm_assignment.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Per-{@link WorkloadClass} limits: concurrent requests, how long a request may wait for a
+ * slot, and the size of the class's own connection pool.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.workload")
+@Data
+public class WorkloadProperties {
+
+    private boolean enabled = true;
+
+    private int retryAfterSeconds = 1;
+
+    private Map<WorkloadClass, Bulkhead> classes = new EnumMap<>(Map.of(
+            WorkloadClass.INTERACTIVE, new Bulkhead(150, 100, 10),
+            WorkloadClass.GRADING, new Bulkhead(30, 500, 4),
+            WorkloadClass.REPORTING, new Bulkhead(4, 2000, 2),
+            WorkloadClass.BATCH, new Bulkhead(0, 0, 5)));
+
+    public Bulkhead bulkhead(WorkloadClass workload) {
+        Bulkhead bulkhead = classes.get(workload);
+        if (bulkhead == null) {
+            throw new IllegalStateException("No app.workload.classes." + workload + " configured");
+        }
+        return bulkhead;
+    }
+
+    @Data
+    public static class Bulkhead {
+        private int maxConcurrent;
+        private long maxWaitMillis;
+        private int poolSize;
+
+        public Bulkhead() {
+        }
+
+        public Bulkhead(int maxConcurrent, long maxWaitMillis, int poolSize) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxWaitMillis = maxWaitMillis;
+            this.poolSize = poolSize;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.example.sepm_assignment.controller;
 
+import com.example.sepm_assignment.config.Workload;
+import com.example.sepm_assignment.config.WorkloadClass;
 import com.example.sepm_assignment.dto.RegistrationRequest;
 import com.example.sepm_assignment.dto.UserDTO;
+import com.example.sepm_assignment.dto.UserImportResult;
 import com.example.sepm_assignment.model.User;
+import com.example.sepm_assignment.service.UserImportService;
 import com.example.sepm_assignment.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -11,15 +15,20 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.util.ArrayList;
+
 @Controller
 @RequestMapping("/admin")
+@Workload(WorkloadClass.REPORTING)
 @PreAuthorize("hasRole('ADMIN')")
 @RequiredArgsConstructor
 public class AdminController {
 
     private final UserService userService;
+    private final UserImportService userImportService;
 
     @GetMapping("/users/create")
     public String showCreateUserForm(Model model) {
@@ -42,6 +51,29 @@ public class AdminController {
         return "redirect:/admin/dashboard";
     }
 
+    @PostMapping("/users/import")
+    public String importUsers(@RequestParam("file") MultipartFile file,
+                              RedirectAttributes redirectAttributes) {
+        if (file.isEmpty()) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Please choose a CSV file to import");
+            return "redirect:/admin/users/create";
+        }
+        try {
+            UserImportResult result = userImportService.importUsers(file.getInputStream());
+            redirectAttributes.addFlashAttribute("successMessage", String.format(
+                "Import finished: %d of %d rows imported, %d failed",
+                result.getImported(), result.getTotalRows(), result.getFailed()));
+            // Only the first few errors fit on the page; the API returns the full list.
+            // Copied because flash attributes are serialized into the shared session store
+            redirectAttributes.addFlashAttribute("importErrors",
+                new ArrayList<>(result.getErrors().subList(0, Math.min(20, result.getErrors().size()))));
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage",
+                "Failed to import users: " + e.getMessage());
+        }
+        return "redirect:/admin/users/create";
+    }
+
     @PostMapping("/users/{id}/delete")
     public String deleteUser(@PathVariable Long id,
                              @AuthenticationPrincipal UserDetails currentUser,
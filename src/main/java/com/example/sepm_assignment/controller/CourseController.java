@@ -1,5 +1,7 @@
 package com.example.sepm_assignment.controller;
 
+import com.example.sepm_assignment.config.Workload;
+import com.example.sepm_assignment.config.WorkloadClass;
 import com.example.sepm_assignment.dto.CourseDTO;
 import com.example.sepm_assignment.model.User;
 import com.example.sepm_assignment.service.CourseService;
@@ -36,6 +38,7 @@ public class CourseController {
     }
 
     @GetMapping("/create")
+    @Workload(WorkloadClass.GRADING)
     @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
     public String showCreateForm(Model model) {
         model.addAttribute("course", new CourseDTO());
@@ -44,6 +47,7 @@ public class CourseController {
     }
 
     @PostMapping("/create")
+    @Workload(WorkloadClass.GRADING)
     @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
     public String createCourse(@ModelAttribute CourseDTO courseDTO, RedirectAttributes redirectAttributes) {
         try {
@@ -57,6 +61,7 @@ public class CourseController {
     }
 
     @GetMapping("/{id}/edit")
+    @Workload(WorkloadClass.GRADING)
     @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
     public String showEditForm(@PathVariable Long id, Model model) {
         model.addAttribute("course", courseService.getCourseById(id));
@@ -65,6 +70,7 @@ public class CourseController {
     }
 
     @PostMapping("/{id}/edit")
+    @Workload(WorkloadClass.GRADING)
     @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
     public String updateCourse(@PathVariable Long id, @ModelAttribute CourseDTO courseDTO, RedirectAttributes redirectAttributes) {
         try {
@@ -78,6 +84,7 @@ public class CourseController {
     }
 
     @PostMapping("/{id}/delete")
+    @Workload(WorkloadClass.GRADING)
     @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
     public String deleteCourse(@PathVariable Long id,
                                RedirectAttributes redirectAttributes,
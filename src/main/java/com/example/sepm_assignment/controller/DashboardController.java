@@ -1,9 +1,14 @@
 package com.example.sepm_assignment.controller;
 
+import com.example.sepm_assignment.config.Workload;
+import com.example.sepm_assignment.config.WorkloadClass;
+import com.example.sepm_assignment.dto.AdminDashboardQuery;
 import com.example.sepm_assignment.model.User;
+import com.example.sepm_assignment.service.AdminTableService;
 import com.example.sepm_assignment.service.CourseService;
 import com.example.sepm_assignment.service.EnrollmentService;
 import com.example.sepm_assignment.service.UserService;
+import com.example.sepm_assignment.service.WaitlistService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -19,6 +24,8 @@ public class DashboardController {
     private final UserService userService;
     private final CourseService courseService;
     private final EnrollmentService enrollmentService;
+    private final WaitlistService waitlistService;
+    private final AdminTableService adminTableService;
 
     @GetMapping("/dashboard")
     public String dashboard(Authentication authentication, Model model) {
@@ -31,12 +38,14 @@ public class DashboardController {
         // Role-based redirects
         if (authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_STUDENT"))) {
             model.addAttribute("enrollments", enrollmentService.getEnrollmentsByStudent(user.getId()));
+            model.addAttribute("waitlist", waitlistService.getWaitlistForStudent(user.getId()));
             return "student-dashboard";
         } else if (authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_TEACHER"))) {
             model.addAttribute("myCourses", courseService.getCoursesByTeacher(user.getId()));
             return "teacher-dashboard";
         } else if (authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"))) {
-            model.addAttribute("users", userService.getAllUsers());
+            addAdminTables(model, new AdminDashboardQuery(null, null, null, null, null, null, null,
+                    null, null, null, null, null));
             return "admin-dashboard";
         }
 
@@ -52,11 +61,13 @@ public class DashboardController {
         model.addAttribute("user", user);
         model.addAttribute("courses", courseService.getAllCourses());
         model.addAttribute("enrollments", enrollmentService.getEnrollmentsByStudent(user.getId()));
+        model.addAttribute("waitlist", waitlistService.getWaitlistForStudent(user.getId()));
 
         return "student-dashboard";
     }
 
     @GetMapping("/teacher/dashboard")
+    @Workload(WorkloadClass.GRADING)
     @PreAuthorize("hasRole('TEACHER')")
     public String teacherDashboard(Authentication authentication, Model model) {
         String username = authentication.getName();
@@ -70,15 +81,31 @@ public class DashboardController {
     }
 
     @GetMapping("/admin/dashboard")
+    @Workload(WorkloadClass.REPORTING)
     @PreAuthorize("hasRole('ADMIN')")
-    public String adminDashboard(Authentication authentication, Model model) {
+    public String adminDashboard(Authentication authentication, AdminDashboardQuery query, Model model) {
         String username = authentication.getName();
         var user = userService.getUserByUsername(username);
 
         model.addAttribute("user", user);
-        model.addAttribute("courses", courseService.getAllCourses());
-        model.addAttribute("users", userService.getAllUsers());
+        addAdminTables(model, query);
 
         return "admin-dashboard";
     }
+
+    // One page of each admin table; both can hold far too many rows to render at once
+    private void addAdminTables(Model model, AdminDashboardQuery query) {
+        model.addAttribute("query", query);
+        model.addAttribute("roles", User.Role.values());
+        model.addAttribute("users", adminTableService.getUsers(query.role(), query.enabled(), query.q(),
+                query.pageOrFirst(), query.sizeOrDefault(), query.sort(), query.dir()));
+        try {
+            model.addAttribute("courses", adminTableService.getCourses(query.cq(), query.cterm(),
+                    query.coursePageOrFirst(), query.sizeOrDefault(), query.csort(), query.cdir()));
+        } catch (IllegalArgumentException e) {
+            model.addAttribute("errorMessage", e.getMessage());
+            model.addAttribute("courses", adminTableService.getCourses(query.cq(), null,
+                    query.coursePageOrFirst(), query.sizeOrDefault(), query.csort(), query.cdir()));
+        }
+    }
 }
@@ -1,6 +1,10 @@
 package com.example.sepm_assignment.controller;
 
+import com.example.sepm_assignment.dto.WaitlistPositionDTO;
+import com.example.sepm_assignment.service.CourseFullException;
+import com.example.sepm_assignment.service.EnrollmentGroupCommitter;
 import com.example.sepm_assignment.service.EnrollmentService;
+import com.example.sepm_assignment.service.WaitlistService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
@@ -15,6 +19,8 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 public class EnrollmentController {
 
     private final EnrollmentService enrollmentService;
+    private final EnrollmentGroupCommitter enrollmentGroupCommitter;
+    private final WaitlistService waitlistService;
 
     @PostMapping("/enroll")
     @PreAuthorize("hasRole('STUDENT')")
@@ -22,14 +28,36 @@ public class EnrollmentController {
                                   @RequestParam Long courseId,
                                   RedirectAttributes redirectAttributes) {
         try {
-            enrollmentService.enrollStudent(studentId, courseId);
+            enrollmentGroupCommitter.enroll(studentId, courseId);
             redirectAttributes.addFlashAttribute("successMessage", "Successfully enrolled in the course!");
+        } catch (CourseFullException e) {
+            try {
+                WaitlistPositionDTO waitlisted = waitlistService.join(studentId, courseId);
+                redirectAttributes.addFlashAttribute("successMessage", "The course is full. You are #"
+                        + waitlisted.getPosition() + " on the waitlist and will be enrolled automatically when a seat opens.");
+            } catch (Exception joinFailure) {
+                redirectAttributes.addFlashAttribute("errorMessage", "Failed to join the waitlist: " + joinFailure.getMessage());
+            }
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", "Failed to enroll: " + e.getMessage());
         }
         return "redirect:/student/dashboard";
     }
 
+    @PostMapping("/waitlist/leave")
+    @PreAuthorize("hasRole('STUDENT')")
+    public String leaveWaitlist(@RequestParam Long studentId,
+                                @RequestParam Long courseId,
+                                RedirectAttributes redirectAttributes) {
+        try {
+            waitlistService.leave(studentId, courseId);
+            redirectAttributes.addFlashAttribute("successMessage", "You left the waitlist.");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Failed to leave the waitlist: " + e.getMessage());
+        }
+        return "redirect:/student/dashboard";
+    }
+
     @PostMapping("/drop")
     @PreAuthorize("hasRole('STUDENT') or hasRole('ADMIN')")
     public String dropCourse(@RequestParam Long enrollmentId,
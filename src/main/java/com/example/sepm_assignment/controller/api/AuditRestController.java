@@ -0,0 +1,38 @@
+package com.example.sepm_assignment.controller.api;
+
+import com.example.sepm_assignment.config.Workload;
+import com.example.sepm_assignment.config.WorkloadClass;
+import com.example.sepm_assignment.dto.AuditEntryDTO;
+import com.example.sepm_assignment.service.AuditLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/audit")
+@PreAuthorize("hasRole('ADMIN')")
+@Workload(WorkloadClass.REPORTING)
+@RequiredArgsConstructor
+public class AuditRestController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final AuditLog auditLog;
+
+    /** Newest first; {@code from} is inclusive and {@code to} exclusive. */
+    @GetMapping
+    public ResponseEntity<List<AuditEntryDTO>> getEntries(
+            @RequestParam(required = false) Long studentId,
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "100") int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return ResponseEntity.ok(auditLog.findEntries(studentId, courseId, from, to, boundedLimit));
+    }
+}
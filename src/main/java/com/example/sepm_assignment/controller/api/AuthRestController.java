@@ -1,27 +1,66 @@
 package com.example.sepm_assignment.controller.api;
 
+import com.example.sepm_assignment.config.AdaptiveConcurrencyFilter;
+import com.example.sepm_assignment.config.AuthenticationOverloadedException;
 import com.example.sepm_assignment.dto.RegistrationRequest;
+import com.example.sepm_assignment.dto.TokenRequest;
+import com.example.sepm_assignment.dto.TokenResponse;
 import com.example.sepm_assignment.dto.UserDTO;
+import com.example.sepm_assignment.service.ApiTokenService;
 import com.example.sepm_assignment.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 public class AuthRestController {
 
     private final UserService userService;
+    private final AuthenticationManager authenticationManager;
+    private final ApiTokenService apiTokenService;
+
+    @Value("${app.security.auth-executor.retry-after-seconds:2}")
+    private int retryAfterSeconds;
 
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody RegistrationRequest request) {
         try {
             UserDTO user = userService.registerUser(request);
-            return ResponseEntity.status(HttpStatus.CREATED).body(user);
+            return ResponseEntity.created(URI.create("/api/users/" + user.getId())).body(user);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+
+    // Exchanges credentials for a bearer token; later API calls need no session and no DB lookup
+    @PostMapping("/token")
+    public ResponseEntity<?> issueToken(@RequestBody TokenRequest request, HttpServletRequest httpRequest) {
+        try {
+            authenticationManager.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(request.getUsername(), request.getPassword()));
+        } catch (AuthenticationOverloadedException e) {
+            AdaptiveConcurrencyFilter.markLocallyShed(httpRequest);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .body(e.getMessage());
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid username or password");
+        }
+
+        UserDTO user = userService.getUserByUsername(request.getUsername());
+        String token = apiTokenService.issueToken(user.getId(), user.getUsername(), user.getRole().name());
+        return ResponseEntity.ok(new TokenResponse(token, "Bearer", apiTokenService.getTtl().toSeconds(),
+                user.getId(), user.getUsername(), user.getRole()));
+    }
 }
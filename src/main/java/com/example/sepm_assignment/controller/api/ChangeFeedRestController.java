@@ -0,0 +1,37 @@
+package com.example.sepm_assignment.controller.api;
+
+import com.example.sepm_assignment.config.Workload;
+import com.example.sepm_assignment.config.WorkloadClass;
+import com.example.sepm_assignment.service.ChangeFeedService;
+import com.example.sepm_assignment.service.ChangeTokenExpiredException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/changes")
+@PreAuthorize("hasRole('ADMIN')")
+@Workload(WorkloadClass.REPORTING)
+@RequiredArgsConstructor
+public class ChangeFeedRestController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final ChangeFeedService changeFeedService;
+
+    /** Courses, enrollments and users changed after {@code since}, oldest first. */
+    @GetMapping
+    public ResponseEntity<?> getChanges(@RequestParam(required = false) String since,
+                                        @RequestParam(defaultValue = "500") int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        try {
+            return ResponseEntity.ok(changeFeedService.getChanges(since, boundedLimit));
+        } catch (ChangeTokenExpiredException e) {
+            return ResponseEntity.status(HttpStatus.GONE).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
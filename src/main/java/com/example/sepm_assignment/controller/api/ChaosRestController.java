@@ -0,0 +1,38 @@
+package com.example.sepm_assignment.controller.api;
+
+import com.example.sepm_assignment.config.SyntheticDbLatency;
+import com.example.sepm_assignment.config.Workload;
+import com.example.sepm_assignment.config.WorkloadClass;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/chaos")
+@PreAuthorize("hasRole('ADMIN')")
+@Workload(WorkloadClass.REPORTING)
+@ConditionalOnProperty(name = "app.chaos.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ChaosRestController {
+
+    private final SyntheticDbLatency syntheticDbLatency;
+
+    @GetMapping("/db-latency")
+    public ResponseEntity<Map<String, Long>> getDbLatency() {
+        return ResponseEntity.ok(Map.of("millis", syntheticDbLatency.getDelayMillis()));
+    }
+
+    @PutMapping("/db-latency")
+    public ResponseEntity<?> setDbLatency(@RequestParam long millis) {
+        try {
+            syntheticDbLatency.setDelayMillis(millis);
+            return ResponseEntity.ok(Map.of("millis", syntheticDbLatency.getDelayMillis()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -1,12 +1,21 @@
 package com.example.sepm_assignment.controller.api;
 
+import com.example.sepm_assignment.config.AdaptiveConcurrencyFilter;
+import com.example.sepm_assignment.config.Workload;
+import com.example.sepm_assignment.config.WorkloadClass;
 import com.example.sepm_assignment.dto.CourseDTO;
+import com.example.sepm_assignment.service.CourseEventHub;
 import com.example.sepm_assignment.service.CourseService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -16,6 +25,7 @@ import java.util.List;
 public class CourseRestController {
 
     private final CourseService courseService;
+    private final CourseEventHub courseEventHub;
 
     @GetMapping
     public ResponseEntity<List<CourseDTO>> getAllCourses() {
@@ -27,12 +37,32 @@ public class CourseRestController {
         return ResponseEntity.ok(courseService.getCourseById(id));
     }
 
+    // Live seat counts; teachers and admins also get roster changes
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamCourseEvents(@PathVariable Long id, Authentication authentication,
+                                                          HttpServletRequest request) {
+        courseService.getCourseById(id);
+        boolean includeRoster = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_TEACHER".equals(authority.getAuthority())
+                        || "ROLE_ADMIN".equals(authority.getAuthority()));
+        return courseEventHub.subscribe(id, includeRoster)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> {
+                    AdaptiveConcurrencyFilter.markLocallyShed(request);
+                    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .header(HttpHeaders.RETRY_AFTER, "5")
+                            .build();
+                });
+    }
+
     @GetMapping("/teacher/{teacherId}")
+    @Workload(WorkloadClass.GRADING)
     public ResponseEntity<List<CourseDTO>> getCoursesByTeacher(@PathVariable Long teacherId) {
         return ResponseEntity.ok(courseService.getCoursesByTeacher(teacherId));
     }
 
     @PostMapping
+    @Workload(WorkloadClass.GRADING)
     @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
     public ResponseEntity<CourseDTO> createCourse(@RequestBody CourseDTO courseDTO) {
         CourseDTO created = courseService.createCourse(courseDTO);
@@ -40,6 +70,7 @@ public class CourseRestController {
     }
 
     @PutMapping("/{id}")
+    @Workload(WorkloadClass.GRADING)
     @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
     public ResponseEntity<CourseDTO> updateCourse(@PathVariable Long id, @RequestBody CourseDTO courseDTO) {
         CourseDTO updated = courseService.updateCourse(id, courseDTO);
@@ -47,6 +78,7 @@ public class CourseRestController {
     }
 
     @DeleteMapping("/{id}")
+    @Workload(WorkloadClass.GRADING)
     @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
     public ResponseEntity<Void> deleteCourse(@PathVariable Long id) {
         courseService.deleteCourse(id);
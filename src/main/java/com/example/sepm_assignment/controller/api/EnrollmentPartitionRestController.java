@@ -0,0 +1,52 @@
+package com.example.sepm_assignment.controller.api;
+
+import com.example.sepm_assignment.config.Workload;
+import com.example.sepm_assignment.config.WorkloadClass;
+import com.example.sepm_assignment.dto.EnrollmentPartitionDTO;
+import com.example.sepm_assignment.service.EnrollmentPartitionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/enrollment-partitions")
+@PreAuthorize("hasRole('ADMIN')")
+@Workload(WorkloadClass.REPORTING)
+@RequiredArgsConstructor
+public class EnrollmentPartitionRestController {
+
+    private final EnrollmentPartitionService partitionService;
+
+    @GetMapping
+    public ResponseEntity<List<EnrollmentPartitionDTO>> getPartitions() {
+        return ResponseEntity.ok(partitionService.getPartitions());
+    }
+
+    /** Converts the plain enrollments table into term partitions; blocks enrollments while it runs. */
+    @PostMapping("/convert")
+    public ResponseEntity<?> convert() {
+        try {
+            return ResponseEntity.ok(partitionService.convert());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    /** Moves a past term's enrollments to another tablespace and/or detaches them. */
+    @PostMapping("/{term}/archive")
+    public ResponseEntity<?> archive(@PathVariable String term,
+                                     @RequestParam(required = false) String tablespace,
+                                     @RequestParam(defaultValue = "false") boolean detach) {
+        try {
+            return ResponseEntity.ok(partitionService.archive(term, tablespace, detach));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -1,8 +1,16 @@
 package com.example.sepm_assignment.controller.api;
 
+import com.example.sepm_assignment.config.Workload;
+import com.example.sepm_assignment.config.WorkloadClass;
 import com.example.sepm_assignment.dto.EnrollmentDTO;
+import com.example.sepm_assignment.dto.EnrollmentUpdateRequest;
 import com.example.sepm_assignment.model.Enrollment;
+import com.example.sepm_assignment.dto.WaitlistPositionDTO;
+import com.example.sepm_assignment.service.CourseFullException;
+import com.example.sepm_assignment.service.EnrollmentBatchService;
+import com.example.sepm_assignment.service.EnrollmentGroupCommitter;
 import com.example.sepm_assignment.service.EnrollmentService;
+import com.example.sepm_assignment.service.WaitlistService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,28 +26,58 @@ import java.util.Map;
 public class EnrollmentRestController {
 
     private final EnrollmentService enrollmentService;
+    private final EnrollmentBatchService enrollmentBatchService;
+    private final EnrollmentGroupCommitter enrollmentGroupCommitter;
+    private final WaitlistService waitlistService;
 
     @PostMapping
     @PreAuthorize("hasRole('STUDENT') or hasRole('ADMIN')")
-    public ResponseEntity<EnrollmentDTO> enrollStudent(@RequestBody Map<String, Long> request) {
+    public ResponseEntity<?> enrollStudent(@RequestBody Map<String, Long> request) {
         Long studentId = request.get("studentId");
         Long courseId = request.get("courseId");
-        EnrollmentDTO enrollment = enrollmentService.enrollStudent(studentId, courseId);
-        return ResponseEntity.status(HttpStatus.CREATED).body(enrollment);
+        try {
+            EnrollmentDTO enrollment = enrollmentGroupCommitter.enroll(studentId, courseId);
+            return ResponseEntity.status(HttpStatus.CREATED).body(enrollment);
+        } catch (CourseFullException e) {
+            // Waitlisted: the student is enrolled automatically when a seat frees up
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(waitlistService.join(studentId, courseId));
+        }
+    }
+
+    @GetMapping("/waitlist/student/{studentId}")
+    public ResponseEntity<List<WaitlistPositionDTO>> getWaitlistByStudent(@PathVariable Long studentId) {
+        return ResponseEntity.ok(waitlistService.getWaitlistForStudent(studentId));
+    }
+
+    @DeleteMapping("/waitlist/{courseId}/student/{studentId}")
+    @PreAuthorize("hasRole('STUDENT') or hasRole('ADMIN')")
+    public ResponseEntity<Void> leaveWaitlist(@PathVariable Long courseId, @PathVariable Long studentId) {
+        waitlistService.leave(studentId, courseId);
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<List<EnrollmentDTO>> getEnrollmentsByStudent(@PathVariable Long studentId) {
-        return ResponseEntity.ok(enrollmentService.getEnrollmentsByStudent(studentId));
+    public ResponseEntity<?> getEnrollmentsByStudent(@PathVariable Long studentId,
+                                                     @RequestParam(required = false) String term) {
+        if (term == null) {
+            return ResponseEntity.ok(enrollmentService.getEnrollmentsByStudent(studentId));
+        }
+        try {
+            return ResponseEntity.ok(enrollmentService.getEnrollmentsByStudent(studentId, term));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     @GetMapping("/course/{courseId}")
+    @Workload(WorkloadClass.GRADING)
     @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
     public ResponseEntity<List<EnrollmentDTO>> getEnrollmentsByCourse(@PathVariable Long courseId) {
         return ResponseEntity.ok(enrollmentService.getEnrollmentsByCourse(courseId));
     }
 
     @PutMapping("/{id}/grade")
+    @Workload(WorkloadClass.GRADING)
     @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
     public ResponseEntity<EnrollmentDTO> updateGrade(@PathVariable Long id, @RequestBody Map<String, Double> request) {
         Double grade = request.get("grade");
@@ -48,6 +86,7 @@ public class EnrollmentRestController {
     }
 
     @PutMapping("/{id}/status")
+    @Workload(WorkloadClass.GRADING)
     @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
     public ResponseEntity<EnrollmentDTO> updateStatus(@PathVariable Long id, @RequestBody Map<String, String> request) {
         Enrollment.EnrollmentStatus status = Enrollment.EnrollmentStatus.valueOf(request.get("status"));
@@ -55,6 +94,18 @@ public class EnrollmentRestController {
         return ResponseEntity.ok(updated);
     }
 
+    /** Grade and status changes for many enrollments in one transaction, with a result per operation. */
+    @PutMapping("/batch")
+    @Workload(WorkloadClass.GRADING)
+    @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
+    public ResponseEntity<?> updateEnrollments(@RequestBody List<EnrollmentUpdateRequest> operations) {
+        try {
+            return ResponseEntity.ok(enrollmentBatchService.updateEnrollments(operations));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteEnrollment(@PathVariable Long id) {
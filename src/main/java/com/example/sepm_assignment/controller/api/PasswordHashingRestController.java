@@ -0,0 +1,37 @@
+package com.example.sepm_assignment.controller.api;
+
+import com.example.sepm_assignment.config.PasswordHashingPolicy;
+import com.example.sepm_assignment.config.Workload;
+import com.example.sepm_assignment.config.WorkloadClass;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/password-hashing")
+@PreAuthorize("hasRole('ADMIN')")
+@Workload(WorkloadClass.REPORTING)
+@RequiredArgsConstructor
+public class PasswordHashingRestController {
+
+    private final PasswordHashingPolicy passwordHashingPolicy;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Integer>> getStrength() {
+        return ResponseEntity.ok(Map.of("strength", passwordHashingPolicy.getStrength()));
+    }
+
+    // Existing hashes are migrated lazily, on each user's next successful login
+    @PutMapping
+    public ResponseEntity<?> setStrength(@RequestParam int strength) {
+        try {
+            passwordHashingPolicy.setStrength(strength);
+            return ResponseEntity.ok(Map.of("strength", passwordHashingPolicy.getStrength()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.sepm_assignment.controller.api;
+
+import com.example.sepm_assignment.config.Workload;
+import com.example.sepm_assignment.config.WorkloadClass;
+import com.example.sepm_assignment.service.RolloverJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/rollover")
+@PreAuthorize("hasRole('ADMIN')")
+@Workload(WorkloadClass.REPORTING)
+@RequiredArgsConstructor
+public class RolloverRestController {
+
+    private final RolloverJobService rolloverJobService;
+
+    /** Starts the term's rollover, or resumes it after a stop, failure or restart. */
+    @PostMapping
+    public ResponseEntity<?> start(@RequestParam String term) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(rolloverJobService.start(term));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<?> stop() {
+        try {
+            return ResponseEntity.ok(rolloverJobService.stop());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getStatus(@RequestParam String term) {
+        try {
+            return ResponseEntity.ok(rolloverJobService.getStatus(term));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -1,21 +1,31 @@
 package com.example.sepm_assignment.controller.api;
 
+import com.example.sepm_assignment.config.Workload;
+import com.example.sepm_assignment.config.WorkloadClass;
 import com.example.sepm_assignment.dto.UserDTO;
+import com.example.sepm_assignment.dto.UserImportResult;
 import com.example.sepm_assignment.model.User;
+import com.example.sepm_assignment.service.UserImportService;
 import com.example.sepm_assignment.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/users")
+@Workload(WorkloadClass.REPORTING)
 @RequiredArgsConstructor
 public class UserRestController {
 
     private final UserService userService;
+    private final UserImportService userImportService;
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -41,4 +51,17 @@ public class UserRestController {
         userService.deleteUser(id);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserImportResult> importUsers(@RequestParam("file") MultipartFile file) throws IOException {
+        return ResponseEntity.ok(userImportService.importUsers(file.getInputStream()));
+    }
+
+    // Raw CSV body; streamed straight from the request so large files are never buffered
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UserImportResult> importUsersCsv(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(userImportService.importUsers(request.getInputStream()));
+    }
 }
@@ -0,0 +1,68 @@
+package com.example.sepm_assignment.dto;
+
+import com.example.sepm_assignment.model.User;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Query parameters of the admin dashboard's user table (role, enabled, q, page, size, sort, dir)
+ * and course table (cq, cterm, cpage, csort, cdir). Links built with {@link #with} keep the
+ * other table's state.
+ */
+public record AdminDashboardQuery(User.Role role, Boolean enabled, String q, Integer page, Integer size,
+                                  String sort, String dir, String cq, String cterm, Integer cpage,
+                                  String csort, String cdir) {
+
+    public static final int DEFAULT_SIZE = 25;
+
+    public int pageOrFirst() {
+        return page != null ? page : 0;
+    }
+
+    public int coursePageOrFirst() {
+        return cpage != null ? cpage : 0;
+    }
+
+    public int sizeOrDefault() {
+        return size != null ? size : DEFAULT_SIZE;
+    }
+
+    /** The same query with a page or sort parameter changed; a new sort goes back to the first page. */
+    public AdminDashboardQuery with(String name, Object value) {
+        String text = value == null ? null : value.toString();
+        return switch (name) {
+            case "page" -> new AdminDashboardQuery(role, enabled, q, (Integer) value, size, sort, dir,
+                    cq, cterm, cpage, csort, cdir);
+            case "sort" -> new AdminDashboardQuery(role, enabled, q, null, size, text, dir, cq, cterm, cpage, csort, cdir);
+            case "dir" -> new AdminDashboardQuery(role, enabled, q, null, size, sort, text, cq, cterm, cpage, csort, cdir);
+            case "cpage" -> new AdminDashboardQuery(role, enabled, q, page, size, sort, dir, cq, cterm, (Integer) value,
+                    csort, cdir);
+            case "csort" -> new AdminDashboardQuery(role, enabled, q, page, size, sort, dir, cq, cterm, null, text, cdir);
+            case "cdir" -> new AdminDashboardQuery(role, enabled, q, page, size, sort, dir, cq, cterm, null, csort, text);
+            default -> throw new IllegalArgumentException("Unsupported dashboard parameter: " + name);
+        };
+    }
+
+    /** Dashboard URL for this query, without empty parameters. */
+    public String link() {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromPath("/admin/dashboard");
+        add(builder, "role", role);
+        add(builder, "enabled", enabled);
+        add(builder, "q", q);
+        add(builder, "page", page);
+        add(builder, "size", size);
+        add(builder, "sort", sort);
+        add(builder, "dir", dir);
+        add(builder, "cq", cq);
+        add(builder, "cterm", cterm);
+        add(builder, "cpage", cpage);
+        add(builder, "csort", csort);
+        add(builder, "cdir", cdir);
+        return builder.encode().build().toUriString();
+    }
+
+    private static void add(UriComponentsBuilder builder, String name, Object value) {
+        if (value != null && !value.toString().isEmpty()) {
+            builder.queryParam(name, value);
+        }
+    }
+}
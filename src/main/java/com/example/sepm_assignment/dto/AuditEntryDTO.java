@@ -0,0 +1,22 @@
+package com.example.sepm_assignment.dto;
+
+import com.example.sepm_assignment.model.AuditEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditEntryDTO {
+    private Long id;
+    private LocalDateTime occurredAt;
+    private AuditEntry.Action action;
+    private String actor;
+    private Long enrollmentId;
+    private Long studentId;
+    private Long courseId;
+    private String detail;
+}
@@ -0,0 +1,24 @@
+package com.example.sepm_assignment.dto;
+
+import com.example.sepm_assignment.model.ChangeLogEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the change feed. {@code data} is the record's current CourseDTO, EnrollmentDTO
+ * or UserDTO for an UPSERT, and null for a DELETE.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeDTO {
+    private Long seq;
+    private ChangeLogEntry.EntityType type;
+    private Long id;
+    private ChangeLogEntry.Operation operation;
+    private LocalDateTime changedAt;
+    private Object data;
+}
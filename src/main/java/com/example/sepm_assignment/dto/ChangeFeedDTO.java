@@ -0,0 +1,18 @@
+package com.example.sepm_assignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedDTO {
+    private List<ChangeDTO> changes;
+    // Pass as since= on the next call
+    private String next;
+    // Another page is ready now; otherwise poll again later
+    private boolean hasMore;
+}
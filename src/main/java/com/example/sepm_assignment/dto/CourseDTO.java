@@ -13,6 +13,8 @@ public class CourseDTO {
     private String courseName;
     private String description;
     private Integer credits;
+    private Integer capacity;
+    private String term;
     private Long teacherId;
     private String teacherName;
 }
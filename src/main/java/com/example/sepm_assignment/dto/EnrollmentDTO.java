@@ -20,4 +20,5 @@ public class EnrollmentDTO {
     private LocalDateTime enrollmentDate;
     private Enrollment.EnrollmentStatus status;
     private Double grade;
+    private String term;
 }
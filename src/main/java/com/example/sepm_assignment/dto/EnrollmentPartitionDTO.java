@@ -0,0 +1,18 @@
+package com.example.sepm_assignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentPartitionDTO {
+    private String name;
+    // e.g. FOR VALUES IN ('2026-spring'), or DEFAULT
+    private String bound;
+    // Planner estimate, as of the last ANALYZE
+    private long estimatedRows;
+    private long totalBytes;
+    private String tablespace;
+}
@@ -0,0 +1,16 @@
+package com.example.sepm_assignment.dto;
+
+import com.example.sepm_assignment.model.Enrollment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentUpdateRequest {
+    private Long enrollmentId;
+    // Either or both may be set; null leaves the field unchanged
+    private Double grade;
+    private Enrollment.EnrollmentStatus status;
+}
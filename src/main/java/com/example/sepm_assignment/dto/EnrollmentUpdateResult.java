@@ -0,0 +1,18 @@
+package com.example.sepm_assignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentUpdateResult {
+    // Position of the operation in the request
+    private int index;
+    private Long enrollmentId;
+    private boolean success;
+    private String error;
+    // State after the whole batch, when successful
+    private EnrollmentDTO enrollment;
+}
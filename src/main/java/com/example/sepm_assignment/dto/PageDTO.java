@@ -0,0 +1,30 @@
+package com.example.sepm_assignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageDTO<T> {
+    private List<T> content;
+    // 0-based
+    private int page;
+    private int size;
+    private boolean hasNext;
+    // Exact when totalExact; otherwise a planner estimate or, past the counting limit, a lower bound
+    private long total;
+    private boolean totalExact;
+    // e.g. 42, about 120,000, or 10,000+
+    private String totalLabel;
+    private String sort;
+    // asc or desc
+    private String direction;
+
+    public boolean isHasPrevious() {
+        return page > 0;
+    }
+}
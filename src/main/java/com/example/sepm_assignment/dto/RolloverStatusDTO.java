@@ -0,0 +1,24 @@
+package com.example.sepm_assignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RolloverStatusDTO {
+    private String term;
+    // NOT_STARTED, RUNNING, STOPPED, FAILED, INCOMPLETE or COMPLETED
+    private String state;
+    private int partitions;
+    private int partitionsDone;
+    // Over all runs of the term
+    private long rowsUpdated;
+    private double percentDone;
+    // Of the latest run on this node
+    private long chunks;
+    private double elapsedSeconds;
+    private long rowsPerSecond;
+    private String error;
+}
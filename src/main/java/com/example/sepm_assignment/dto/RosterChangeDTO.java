@@ -0,0 +1,17 @@
+package com.example.sepm_assignment.dto;
+
+import com.example.sepm_assignment.model.AuditEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RosterChangeDTO {
+    private Long enrollmentId;
+    private Long studentId;
+    private String studentName;
+    private AuditEntry.Action action;
+    private String detail;
+}
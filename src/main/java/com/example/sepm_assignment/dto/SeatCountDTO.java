@@ -0,0 +1,17 @@
+package com.example.sepm_assignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatCountDTO {
+    private Long courseId;
+    // Enrollments that have not been dropped
+    private long enrolled;
+    // Null when the course has no capacity limit
+    private Integer capacity;
+    private Integer available;
+}
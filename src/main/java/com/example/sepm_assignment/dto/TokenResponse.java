@@ -0,0 +1,19 @@
+package com.example.sepm_assignment.dto;
+
+import com.example.sepm_assignment.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenResponse {
+    private String accessToken;
+    private String tokenType;
+    // Seconds until the token expires
+    private long expiresIn;
+    private Long userId;
+    private String username;
+    private User.Role role;
+}
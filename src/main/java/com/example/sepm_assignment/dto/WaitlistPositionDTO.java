@@ -0,0 +1,17 @@
+package com.example.sepm_assignment.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistPositionDTO {
+    private Long studentId;
+    private Long courseId;
+    private String courseCode;
+    private String courseName;
+    // 1 is next in line
+    private int position;
+}
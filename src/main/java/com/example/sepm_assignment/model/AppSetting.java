@@ -0,0 +1,30 @@
+package com.example.sepm_assignment.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A setting changed at runtime that every node must apply, such as the BCrypt cost. Nodes poll
+ * the table, so a change made on one reaches the others within the poll interval.
+ */
+@Entity
+@Table(name = "app_settings")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppSetting {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(name = "setting_value", nullable = false)
+    private String value;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,55 @@
+package com.example.sepm_assignment.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the append-only audit trail of enrollment and grade changes. Rows are written
+ * in batches with plain JDBC by AuditLog and never updated; the entity mapping manages the
+ * schema and serves the filtered admin queries.
+ */
+@Entity
+@Table(name = "audit_log", indexes = {
+    @Index(name = "idx_audit_log_student_time", columnList = "student_id, occurred_at"),
+    @Index(name = "idx_audit_log_course_time", columnList = "course_id, occurred_at"),
+    @Index(name = "idx_audit_log_time", columnList = "occurred_at")
+})
+@Data
+@NoArgsConstructor
+public class AuditEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Action action;
+
+    // Username of whoever made the change; "system" for background work
+    @Column(nullable = false, length = 100)
+    private String actor;
+
+    // No foreign keys: the trail outlives the enrollments, students and courses it mentions
+    @Column(name = "enrollment_id")
+    private Long enrollmentId;
+
+    @Column(name = "student_id")
+    private Long studentId;
+
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(length = 255)
+    private String detail;
+
+    public enum Action {
+        ENROLLED, GRADE_CHANGED, STATUS_CHANGED, DELETED
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.sepm_assignment.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One insert, update or delete of a course, enrollment or user, for the change feed. The id
+ * orders the feed. Rows are written by ChangeLogListener in the transaction that made the
+ * change, and purged once older than the feed's retention.
+ */
+@Entity
+@Table(name = "change_log", indexes = {
+    @Index(name = "idx_change_log_time", columnList = "changed_at")
+})
+@Data
+@NoArgsConstructor
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private EntityType entityType;
+
+    // No foreign key: tombstones outlive the rows they describe
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Operation operation;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    public enum EntityType {
+        COURSE, ENROLLMENT, USER
+    }
+
+    public enum Operation {
+        UPSERT, DELETE
+    }
+}
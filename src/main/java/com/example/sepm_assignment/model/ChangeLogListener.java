@@ -0,0 +1,55 @@
+package com.example.sepm_assignment.model;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Appends a {@link ChangeLogEntry} for every insert, update and delete of a course,
+ * enrollment or user made through JPA, including cascaded deletes. Hibernate creates it
+ * through Spring, and the row is inserted on the connection of the transaction making the
+ * change, so it commits or rolls back with it.
+ */
+public class ChangeLogListener {
+
+    static final String INSERT_SQL =
+            "INSERT INTO change_log (entity_type, entity_id, operation, changed_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChangeLogListener(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void upserted(Object entity) {
+        record(entity, ChangeLogEntry.Operation.UPSERT);
+    }
+
+    @PostRemove
+    void removed(Object entity) {
+        record(entity, ChangeLogEntry.Operation.DELETE);
+    }
+
+    private void record(Object entity, ChangeLogEntry.Operation operation) {
+        ChangeLogEntry.EntityType type;
+        Long id;
+        if (entity instanceof Course course) {
+            type = ChangeLogEntry.EntityType.COURSE;
+            id = course.getId();
+        } else if (entity instanceof Enrollment enrollment) {
+            type = ChangeLogEntry.EntityType.ENROLLMENT;
+            id = enrollment.getId();
+        } else if (entity instanceof User user) {
+            type = ChangeLogEntry.EntityType.USER;
+            id = user.getId();
+        } else {
+            return;
+        }
+        jdbcTemplate.update(INSERT_SQL, type.name(), id, operation.name(), LocalDateTime.now());
+    }
+}
@@ -4,12 +4,19 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "courses")
+@Table(name = "courses", indexes = {
+    // Admin course table: search and sort by name, filter by term
+    @Index(name = "idx_courses_name", columnList = "course_name"),
+    @Index(name = "idx_courses_term", columnList = "term")
+})
+@EntityListeners(ChangeLogListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -31,6 +38,17 @@ public class Course {
     @Column(nullable = false)
     private Integer credits;
 
+    // Seats; null means no limit. Students past it go on the waitlist
+    private Integer capacity;
+
+    // Academic term, e.g. 2026-spring. On PostgreSQL enrollments are partitioned by it
+    @Column(length = 20)
+    private String term;
+
+    // Set on every insert and update
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
     // Many-to-One: Many Courses can be taught by one Teacher
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "teacher_id")
@@ -39,4 +57,9 @@ public class Course {
     // One-to-Many: One Course can have many Enrollments
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Enrollment> enrollments = new HashSet<>();
+
+    // Closed once its teacher is deleted: hidden from the catalog and open to no new students
+    public boolean isClosed() {
+        return teacher != null && teacher.isDeleted();
+    }
 }
@@ -4,13 +4,15 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "enrollments", uniqueConstraints = {
-    @UniqueConstraint(columnNames = {"student_id", "course_id"})
+    @UniqueConstraint(name = "uk_enrollments_student_course_term", columnNames = {"student_id", "course_id", "term"})
 })
+@EntityListeners(ChangeLogListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -38,6 +40,14 @@ public class Enrollment {
 
     private Double grade;
 
+    // Copied from the course on insert; the partition key on PostgreSQL
+    @Column(length = 20)
+    private String term;
+
+    // Set on every insert and update
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
     public enum EnrollmentStatus {
         ACTIVE, COMPLETED, DROPPED
     }
@@ -45,5 +55,8 @@ public class Enrollment {
     @PrePersist
     protected void onCreate() {
         enrollmentDate = LocalDateTime.now();
+        if (term == null && course != null) {
+            term = course.getTerm();
+        }
     }
 }
@@ -0,0 +1,43 @@
+package com.example.sepm_assignment.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Stored response for an Idempotency-Key. Mapped as an entity only so that the schema is
+ * managed like every other table; IdempotencyStore reads and writes it with plain JDBC.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+    @Index(name = "idx_idempotency_keys_expiry", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+public class IdempotencyRecord {
+
+    // SHA-256 of user, method, path and the client's key
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    // SHA-256 of the request body; a retry must send the same body
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    // Null while the first request is still running
+    private Integer status;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    // Replayed response headers such as Location, one "Name: value" per line
+    @Column(length = 4000)
+    private String headers;
+
+    @Column(length = 1_000_000)
+    private byte[] body;
+
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt;
+}
@@ -0,0 +1,51 @@
+package com.example.sepm_assignment.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of one partition of a batch job: the key range it covers and the last key done.
+ * Updated in the same transaction as each chunk, so a restarted job resumes after the last
+ * chunk that committed.
+ */
+@Entity
+@Table(name = "job_checkpoints", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"job_name", "partition_index"})
+})
+@Data
+@NoArgsConstructor
+public class JobCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    @Column(name = "partition_index", nullable = false)
+    private int partitionIndex;
+
+    // Keys in (rangeStart, rangeEnd]
+    @Column(name = "range_start", nullable = false)
+    private long rangeStart;
+
+    @Column(name = "range_end", nullable = false)
+    private long rangeEnd;
+
+    @Column(name = "last_processed_id", nullable = false)
+    private long lastProcessedId;
+
+    @Column(name = "rows_updated", nullable = false)
+    private long rowsUpdated;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public boolean isDone() {
+        return lastProcessedId >= rangeEnd;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.sepm_assignment.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Row of the shared HTTP session table. Mapped as an entity only so that the schema is
+ * managed like every other table; JdbcSessionRepository reads and writes it with plain JDBC.
+ */
+@Entity
+@Table(name = "http_sessions", indexes = {
+    @Index(name = "idx_http_sessions_expiry", columnList = "expiry_time")
+})
+@Data
+@NoArgsConstructor
+public class StoredSession {
+
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    @Column(name = "creation_time", nullable = false)
+    private long creationTime;
+
+    @Column(name = "last_accessed_time", nullable = false)
+    private long lastAccessedTime;
+
+    @Column(name = "max_inactive_seconds", nullable = false)
+    private int maxInactiveSeconds;
+
+    @Column(name = "expiry_time", nullable = false)
+    private long expiryTime;
+
+    // Random per write; lets a node check that its cached copy is current without loading attributes
+    @Column(nullable = false)
+    private long version;
+
+    @Column(length = 1_000_000)
+    private byte[] attributes;
+}
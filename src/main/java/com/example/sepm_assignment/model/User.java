@@ -4,12 +4,21 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    // Admin user table: filter by role and status, search and sort by name
+    @Index(name = "idx_users_role_enabled", columnList = "role, enabled"),
+    @Index(name = "idx_users_full_name", columnList = "full_name"),
+    // Every node polls recent token revocations
+    @Index(name = "idx_users_tokens_revoked_before", columnList = "tokens_revoked_before")
+})
+@EntityListeners(ChangeLogListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -38,6 +47,16 @@ public class User {
     @Column(nullable = false)
     private boolean enabled = true;
 
+    // Set on every insert and update
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    // Set when the user is deleted; the purge job removes the row and its dependents later
+    private LocalDateTime deletedAt;
+
+    // Epoch second; API tokens issued to the user at or before it are rejected on every node
+    private Long tokensRevokedBefore;
+
     // One-to-Many: One User (Student) can have many Enrollments
     @OneToMany(mappedBy = "student", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Enrollment> enrollments = new HashSet<>();
@@ -46,6 +65,10 @@ public class User {
     @OneToMany(mappedBy = "teacher", cascade = CascadeType.ALL)
     private Set<Course> taughtCourses = new HashSet<>();
 
+    public boolean isDeleted() {
+        return deletedAt != null;
+    }
+
     public enum Role {
         STUDENT, TEACHER, ADMIN
     }
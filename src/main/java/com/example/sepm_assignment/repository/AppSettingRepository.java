@@ -0,0 +1,9 @@
+package com.example.sepm_assignment.repository;
+
+import com.example.sepm_assignment.model.AppSetting;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AppSettingRepository extends JpaRepository<AppSetting, String> {
+}
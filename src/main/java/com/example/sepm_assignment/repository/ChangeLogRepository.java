@@ -0,0 +1,64 @@
+package com.example.sepm_assignment.repository;
+
+import com.example.sepm_assignment.model.ChangeLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    List<ChangeLogEntry> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    Optional<ChangeLogEntry> findFirstByChangedAtLessThanEqualOrderByIdDesc(LocalDateTime changedAt);
+
+    // For users inserted with plain JDBC, which the entity listener never sees
+    @Modifying
+    @Query(value = "INSERT INTO change_log (entity_type, entity_id, operation, changed_at) "
+            + "SELECT 'USER', u.id, 'UPSERT', :changedAt FROM users u WHERE u.username IN :usernames",
+            nativeQuery = true)
+    int recordUsersUpserted(@Param("usernames") Collection<String> usernames,
+                            @Param("changedAt") LocalDateTime changedAt);
+
+    // For enrollments updated with plain JDBC
+    @Modifying
+    @Query(value = "INSERT INTO change_log (entity_type, entity_id, operation, changed_at) "
+            + "SELECT 'ENROLLMENT', e.id, 'UPSERT', :changedAt FROM enrollments e WHERE e.id IN :ids",
+            nativeQuery = true)
+    int recordEnrollmentsUpserted(@Param("ids") Collection<Long> ids,
+                                  @Param("changedAt") LocalDateTime changedAt);
+
+    // For rows removed with bulk deletes; recorded before the rows go
+    @Modifying
+    @Query(value = "INSERT INTO change_log (entity_type, entity_id, operation, changed_at) "
+            + "SELECT 'ENROLLMENT', e.id, 'DELETE', :changedAt FROM enrollments e WHERE e.id IN :ids",
+            nativeQuery = true)
+    int recordEnrollmentsDeleted(@Param("ids") Collection<Long> ids,
+                                 @Param("changedAt") LocalDateTime changedAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO change_log (entity_type, entity_id, operation, changed_at) "
+            + "SELECT 'COURSE', c.id, 'DELETE', :changedAt FROM courses c WHERE c.id IN :ids",
+            nativeQuery = true)
+    int recordCoursesDeleted(@Param("ids") Collection<Long> ids,
+                             @Param("changedAt") LocalDateTime changedAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO change_log (entity_type, entity_id, operation, changed_at) "
+            + "SELECT 'USER', u.id, 'DELETE', :changedAt FROM users u WHERE u.id IN :ids",
+            nativeQuery = true)
+    int recordUsersDeleted(@Param("ids") Collection<Long> ids,
+                           @Param("changedAt") LocalDateTime changedAt);
+
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntry c WHERE c.changedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,15 +1,83 @@
 package com.example.sepm_assignment.repository;
 
 import com.example.sepm_assignment.model.Course;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Long> {
+public interface CourseRepository extends JpaRepository<Course, Long>, JpaSpecificationExecutor<Course> {
+
+    // Teacher is always rendered alongside the course, so fetch it in the same query
+    @Override
+    @EntityGraph(attributePaths = "teacher")
+    List<Course> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "teacher")
+    Optional<Course> findById(Long id);
+
     Optional<Course> findByCourseCode(String courseCode);
+
+    @EntityGraph(attributePaths = "teacher")
     List<Course> findByTeacherId(Long teacherId);
+
+    @EntityGraph(attributePaths = "teacher")
+    List<Course> findByIdIn(Collection<Long> ids);
+
     boolean existsByCourseCode(String courseCode);
+
+    // Serializes seat allocation for a course with a capacity
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Course c WHERE c.id = :id")
+    Optional<Course> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT c.id, c.capacity FROM Course c WHERE c.id IN :ids")
+    List<Object[]> findCapacities(@Param("ids") Collection<Long> ids);
+
+    // Admin course table; only the given filters become predicates. prefix is a LIKE pattern escaped with '!'
+    static Specification<Course> pageFilter(String prefix, String term) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (prefix != null) {
+                predicates.add(cb.or(cb.like(root.get("courseCode"), prefix, '!'),
+                        cb.like(root.get("courseName"), prefix, '!')));
+            }
+            if (term != null) {
+                predicates.add(cb.equal(root.get("term"), term));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    default Slice<Course> findPage(String prefix, String term, Pageable pageable) {
+        return PageQueries.slice(this, pageFilter(prefix, term), pageable, "teacher");
+    }
+
+    default long countPage(String prefix, String term, int limit) {
+        return PageQueries.countAtMost(this, pageFilter(prefix, term), limit);
+    }
+
+    @Query("SELECT c.id FROM Course c WHERE c.teacher.id = :teacherId ORDER BY c.id")
+    List<Long> findIdsByTeacherId(@Param("teacherId") Long teacherId);
+
+    // Bypasses the enrollment cascade; the purge job removes a course's enrollments first
+    @Modifying
+    @Query("DELETE FROM Course c WHERE c.id = :id")
+    int deleteWithoutCascade(@Param("id") Long id);
 }
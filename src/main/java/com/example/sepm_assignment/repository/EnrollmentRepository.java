@@ -1,19 +1,95 @@
 package com.example.sepm_assignment.repository;
 
 import com.example.sepm_assignment.model.Enrollment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+
+    // Student and course are always mapped into EnrollmentDTO, so fetch them in the same query
+    @EntityGraph(attributePaths = {"student", "course"})
     List<Enrollment> findByStudentId(Long studentId);
+
+    @EntityGraph(attributePaths = {"student", "course"})
     List<Enrollment> findByCourseId(Long courseId);
+
+    @EntityGraph(attributePaths = {"student", "course"})
+    List<Enrollment> findByIdIn(Collection<Long> ids);
+
+    // Row locks for a batch update, in id order so two batches can't deadlock
+    @Query(value = "SELECT id FROM enrollments WHERE id IN :ids ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Term-qualified lookups: on PostgreSQL they read only that term's partition
+    @EntityGraph(attributePaths = {"student", "course"})
+    List<Enrollment> findByStudentIdAndTerm(Long studentId, String term);
+
+    @EntityGraph(attributePaths = {"student", "course"})
+    List<Enrollment> findByCourseIdAndTerm(Long courseId, String term);
+
     Optional<Enrollment> findByStudentIdAndCourseId(Long studentId, Long courseId);
     boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
+    boolean existsByStudentIdAndCourseIdAndTerm(Long studentId, Long courseId, String term);
+    boolean existsByCourseIdAndTerm(Long courseId, String term);
+
+    // Enrollments in the course's current term; earlier terms hold no seat and don't count as enrolled
+    String IN_COURSE_TERM = "(e.term = e.course.term OR (e.term IS NULL AND e.course.term IS NULL))";
+
+    // Superset of the existing (studentId, courseId) pairs among the given ids, for batch duplicate checks
+    @Query("SELECT e.student.id, e.course.id FROM Enrollment e WHERE e.student.id IN :studentIds "
+            + "AND e.course.id IN :courseIds AND " + IN_COURSE_TERM)
+    List<Object[]> findStudentCoursePairs(@Param("studentIds") Collection<Long> studentIds,
+                                          @Param("courseIds") Collection<Long> courseIds);
+
+    // Enrollments holding a seat, i.e. not dropped
+    long countByCourseIdAndStatusNot(Long courseId, Enrollment.EnrollmentStatus status);
+    long countByCourseIdAndTermAndStatusNot(Long courseId, String term, Enrollment.EnrollmentStatus status);
+
+    @Query("SELECT e.course.id, COUNT(e) FROM Enrollment e WHERE e.course.id IN :courseIds AND e.status <> :status "
+            + "AND " + IN_COURSE_TERM + " GROUP BY e.course.id")
+    List<Object[]> countByCourseIdInAndStatusNot(@Param("courseIds") Collection<Long> courseIds,
+                                                 @Param("status") Enrollment.EnrollmentStatus status);
+
+    // Semester rollover: a term's graded enrollments in the given status, within one key range chunk
+    @Query("SELECT e.id FROM Enrollment e WHERE e.id > :fromId AND e.id <= :toId AND e.term = :term "
+            + "AND e.status = :status AND e.grade IS NOT NULL")
+    List<Long> findGradedIdsInRange(@Param("fromId") long fromId, @Param("toId") long toId, @Param("term") String term,
+                                    @Param("status") Enrollment.EnrollmentStatus status);
+
+    // Re-checks the condition, so an enrollment dropped meanwhile is left alone
+    @Modifying
+    @Query("UPDATE Enrollment e SET e.status = :to, e.updatedAt = :now "
+            + "WHERE e.id IN :ids AND e.term = :term AND e.status = :from AND e.grade IS NOT NULL")
+    int updateGradedStatus(@Param("ids") Collection<Long> ids, @Param("term") String term,
+                           @Param("from") Enrollment.EnrollmentStatus from,
+                           @Param("to") Enrollment.EnrollmentStatus to, @Param("now") LocalDateTime now);
+
+    @Query("SELECT MIN(e.id), MAX(e.id) FROM Enrollment e WHERE e.term = :term")
+    List<Object[]> findIdRange(@Param("term") String term);
 
     // Delete all enrollments for a specific course
     void deleteByCourseId(Long courseId);
+    void deleteByCourseIdAndTerm(Long courseId, String term);
+
+    // One purge chunk of a deleted student's enrollments: (id, courseId, status)
+    @Query("SELECT e.id, e.course.id, e.status FROM Enrollment e WHERE e.student.id = :studentId ORDER BY e.id")
+    List<Object[]> findChunkByStudentId(@Param("studentId") Long studentId, Pageable pageable);
+
+    @Query("SELECT e.id FROM Enrollment e WHERE e.course.id = :courseId ORDER BY e.id")
+    List<Long> findIdsByCourseId(@Param("courseId") Long courseId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Enrollment e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
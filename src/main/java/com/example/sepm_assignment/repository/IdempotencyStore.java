@@ -0,0 +1,178 @@
+package com.example.sepm_assignment.repository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * First responses to requests that carried an Idempotency-Key, kept for {@code ttl}.
+ * A request claims its key with a pending row (no status yet) before it runs, so a retry that
+ * lands on another replica while the first is still running finds the claim instead of running
+ * again. The claim lasts {@code pending-ttl}, in case its node dies, and becomes the stored
+ * response when the request finishes. Lookups of finished responses go to a bounded in-memory
+ * LRU first and fall back to the {@code idempotency_keys} table. Expired rows are deleted every
+ * {@code app.idempotency.cleanup-interval-ms}.
+ */
+@Slf4j
+public class IdempotencyStore {
+
+    private static final String SELECT_SQL =
+            "SELECT request_hash, status, content_type, headers, body, expires_at FROM idempotency_keys WHERE id = ?";
+    private static final String CLAIM_SQL =
+            "INSERT INTO idempotency_keys (id, request_hash, expires_at) VALUES (?, ?, ?)";
+    private static final String COMPLETE_SQL = "UPDATE idempotency_keys "
+            + "SET status = ?, content_type = ?, headers = ?, body = ?, expires_at = ? WHERE id = ? AND status IS NULL";
+    private static final String RELEASE_SQL = "DELETE FROM idempotency_keys WHERE id = ? AND status IS NULL";
+    private static final String DELETE_EXPIRED_KEY_SQL = "DELETE FROM idempotency_keys WHERE id = ? AND expires_at <= ?";
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM idempotency_keys WHERE expires_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlMillis;
+    private final long pendingTtlMillis;
+    private final Clock clock;
+    private final Map<String, StoredResponse> cache;
+
+    public IdempotencyStore(JdbcTemplate jdbcTemplate, Duration ttl, Duration pendingTtl, int maxCachedEntries,
+                            MeterRegistry meterRegistry) {
+        this(jdbcTemplate, ttl, pendingTtl, maxCachedEntries, meterRegistry, Clock.systemUTC());
+    }
+
+    IdempotencyStore(JdbcTemplate jdbcTemplate, Duration ttl, Duration pendingTtl, int maxCachedEntries,
+                     MeterRegistry meterRegistry, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlMillis = ttl.toMillis();
+        this.pendingTtlMillis = pendingTtl.toMillis();
+        this.clock = clock;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > maxCachedEntries;
+            }
+        };
+        Gauge.builder("idempotency.cache.size", this, IdempotencyStore::cachedEntries).register(meterRegistry);
+    }
+
+    /** The stored response for the key, or its pending claim while the first request is still running. */
+    public Optional<StoredResponse> find(String id) {
+        long now = clock.millis();
+        synchronized (cache) {
+            StoredResponse cached = cache.get(id);
+            if (cached != null) {
+                if (cached.expiresAt() > now) {
+                    return Optional.of(cached);
+                }
+                cache.remove(id);
+            }
+        }
+        List<StoredResponse> rows = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> new StoredResponse(
+                rs.getString("request_hash"), rs.getObject("status", Integer.class), rs.getString("content_type"),
+                decodeHeaders(rs.getString("headers")), rs.getBytes("body"), rs.getLong("expires_at")), id);
+        if (rows.isEmpty() || rows.get(0).expiresAt() <= now) {
+            return Optional.empty();
+        }
+        if (!rows.get(0).pending()) {
+            cache(id, rows.get(0));
+        }
+        return Optional.of(rows.get(0));
+    }
+
+    /**
+     * Claims the key for a request about to run. Returns false when another request, on any
+     * replica, holds the key or has already stored a response for it.
+     */
+    public boolean claim(String id, String requestHash) {
+        long now = clock.millis();
+        // An expired row left for the purge job must not block the key
+        jdbcTemplate.update(DELETE_EXPIRED_KEY_SQL, id, now);
+        try {
+            jdbcTemplate.update(CLAIM_SQL, id, requestHash, now + pendingTtlMillis);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /** Stores the response of the request holding the claim; it is replayed from then on. */
+    public StoredResponse complete(String id, String requestHash, int status, String contentType,
+                                   Map<String, String> headers, byte[] body) {
+        StoredResponse response = new StoredResponse(requestHash, status, contentType, Map.copyOf(headers), body,
+                clock.millis() + ttlMillis);
+        int updated = jdbcTemplate.update(COMPLETE_SQL, status, contentType, encodeHeaders(response.headers()), body,
+                response.expiresAt(), id);
+        if (updated == 0) {
+            // The claim outlived pending-ttl and another request took the key over
+            log.warn("Idempotency key claim expired before its response was stored");
+            return find(id).filter(stored -> !stored.pending()).orElse(response);
+        }
+        cache(id, response);
+        return response;
+    }
+
+    /** Gives the key up without a response, so that a retry runs the request again. */
+    public void release(String id) {
+        jdbcTemplate.update(RELEASE_SQL, id);
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.cleanup-interval-ms:600000}")
+    public void purgeExpired() {
+        int deleted = jdbcTemplate.update(DELETE_EXPIRED_SQL, clock.millis());
+        if (deleted > 0) {
+            log.debug("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    // One "Name: value" per line; servlet containers refuse header values with line breaks
+    private static String encodeHeaders(Map<String, String> headers) {
+        if (headers.isEmpty()) {
+            return null;
+        }
+        StringBuilder encoded = new StringBuilder();
+        headers.forEach((name, value) -> encoded.append(name).append(": ").append(value).append('\n'));
+        return encoded.toString();
+    }
+
+    private static Map<String, String> decodeHeaders(String encoded) {
+        if (encoded == null) {
+            return Map.of();
+        }
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String line : encoded.split("\n")) {
+            int colon = line.indexOf(": ");
+            if (colon > 0) {
+                headers.put(line.substring(0, colon), line.substring(colon + 2));
+            }
+        }
+        return headers;
+    }
+
+    private void cache(String id, StoredResponse response) {
+        synchronized (cache) {
+            cache.put(id, response);
+        }
+    }
+
+    private int cachedEntries() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    // status is null while the claiming request is still running
+    public record StoredResponse(String requestHash, Integer status, String contentType, Map<String, String> headers,
+                                 byte[] body, long expiresAt) {
+
+        public boolean pending() {
+            return status == null;
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package com.example.sepm_assignment.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * HTTP sessions in the shared {@code http_sessions} table, so any replica can serve any request.
+ * <ul>
+ *   <li>Each node keeps a near-cache of recently used sessions. Entries expire after
+ *       {@code nearCacheTtl}. With {@code revalidate} on, a hit costs only a primary-key probe
+ *       of the version column instead of loading and deserializing the attributes.</li>
+ *   <li>Attribute changes, new sessions and session-id changes are written through at once,
+ *       so the next request sees them whichever node it lands on. An update applies only to
+ *       the version it was loaded from. If another request wrote the session in the meantime,
+ *       only the attributes this request set or removed are merged into the stored ones.</li>
+ *   <li>A request that only refreshes the last-access time writes nothing. The touch is kept
+ *       in memory and flushed for all sessions in one JDBC batch by {@link #flushTouches()}.</li>
+ * </ul>
+ */
+@Slf4j
+public class JdbcSessionRepository implements SessionRepository<JdbcSessionRepository.JdbcSession> {
+
+    private static final String SELECT_SQL =
+            "SELECT creation_time, last_accessed_time, max_inactive_seconds, expiry_time, version, attributes "
+                    + "FROM http_sessions WHERE id = ?";
+    private static final String SELECT_VERSION_SQL = "SELECT version FROM http_sessions WHERE id = ?";
+    private static final String SELECT_ATTRIBUTES_SQL = "SELECT version, attributes FROM http_sessions WHERE id = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO http_sessions (id, creation_time, last_accessed_time, max_inactive_seconds, expiry_time, version, attributes) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE http_sessions SET id = ?, last_accessed_time = ?, max_inactive_seconds = ?, expiry_time = ?, "
+                    + "version = ?, attributes = ? WHERE id = ? AND version = ?";
+    // Never moves last-access backwards if another node wrote a newer one
+    private static final String TOUCH_SQL =
+            "UPDATE http_sessions SET last_accessed_time = ?, expiry_time = ? WHERE id = ? AND last_accessed_time < ?";
+    private static final String DELETE_SQL = "DELETE FROM http_sessions WHERE id = ?";
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM http_sessions WHERE expiry_time < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration defaultMaxInactiveInterval;
+    private final long nearCacheTtlMillis;
+    private final int nearCacheMaxEntries;
+    private final boolean revalidate;
+    private final SerializingConverter serializer = new SerializingConverter();
+    private final DeserializingConverter deserializer;
+
+    private final Map<String, CachedSession> nearCache = new ConcurrentHashMap<>();
+    // session id -> newest last-access time not yet written
+    private final Map<String, Touch> pendingTouches = new ConcurrentHashMap<>();
+
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Counter writes;
+    private final Counter mergedWrites;
+    private final Counter deferredTouches;
+
+    public JdbcSessionRepository(JdbcTemplate jdbcTemplate, Duration defaultMaxInactiveInterval,
+                                 Duration nearCacheTtl, int nearCacheMaxEntries, boolean revalidate,
+                                 MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+        this.nearCacheTtlMillis = nearCacheTtl.toMillis();
+        this.nearCacheMaxEntries = nearCacheMaxEntries;
+        this.revalidate = revalidate;
+        this.deserializer = new DeserializingConverter(getClass().getClassLoader());
+
+        this.cacheHits = meterRegistry.counter("sessions.near-cache", "result", "hit");
+        this.cacheMisses = meterRegistry.counter("sessions.near-cache", "result", "miss");
+        this.writes = meterRegistry.counter("sessions.writes");
+        this.mergedWrites = meterRegistry.counter("sessions.writes.merged");
+        this.deferredTouches = meterRegistry.counter("sessions.touches.deferred");
+        Gauge.builder("sessions.touches.pending", pendingTouches, Map::size).register(meterRegistry);
+        Gauge.builder("sessions.near-cache.size", nearCache, Map::size).register(meterRegistry);
+    }
+
+    @Override
+    public JdbcSession createSession() {
+        MapSession delegate = new MapSession();
+        delegate.setMaxInactiveInterval(defaultMaxInactiveInterval);
+        return new JdbcSession(delegate, true, 0L);
+    }
+
+    @Override
+    public void save(JdbcSession session) {
+        long now = System.currentTimeMillis();
+        if (session.isNew) {
+            long version = newVersion();
+            jdbcTemplate.update(INSERT_SQL, session.getId(), session.getCreationTime().toEpochMilli(),
+                    session.getLastAccessedTime().toEpochMilli(), maxInactiveSeconds(session),
+                    expiryTime(session), version, serialize(session));
+            writes.increment();
+            session.saved(version);
+            cache(session, now);
+        } else if (session.changed) {
+            long version = newVersion();
+            long expectedVersion = session.version;
+            while (jdbcTemplate.update(UPDATE_SQL, session.getId(), session.getLastAccessedTime().toEpochMilli(),
+                    maxInactiveSeconds(session), expiryTime(session), version, serialize(session), session.originalId,
+                    expectedVersion) == 0) {
+                List<StoredAttributes> current = jdbcTemplate.query(SELECT_ATTRIBUTES_SQL, (rs, rowNum) ->
+                        new StoredAttributes(rs.getLong("version"), deserialize(rs.getBytes("attributes"))),
+                        session.originalId);
+                if (current.isEmpty()) {
+                    // Deleted by another node (logout or expiry) while this request ran
+                    nearCache.remove(session.originalId);
+                    nearCache.remove(session.getId());
+                    return;
+                }
+                // Written by another request since this one loaded it: keep its other attributes
+                expectedVersion = current.get(0).version();
+                session.mergeInto(current.get(0).attributes());
+                mergedWrites.increment();
+            }
+            writes.increment();
+            if (!session.originalId.equals(session.getId())) {
+                nearCache.remove(session.originalId);
+                pendingTouches.remove(session.originalId);
+            }
+            pendingTouches.remove(session.getId());
+            session.saved(version);
+            cache(session, now);
+        } else if (session.touched) {
+            pendingTouches.merge(session.getId(),
+                    new Touch(session.getLastAccessedTime().toEpochMilli(), expiryTime(session)),
+                    (older, newer) -> newer.lastAccessedTime() >= older.lastAccessedTime() ? newer : older);
+            deferredTouches.increment();
+            CachedSession cached = nearCache.get(session.getId());
+            if (cached != null && cached.version() == session.version) {
+                cached.session().setLastAccessedTime(session.getLastAccessedTime());
+            }
+            session.touched = false;
+        }
+    }
+
+    @Override
+    public JdbcSession findById(String id) {
+        long now = System.currentTimeMillis();
+        CachedSession cached = nearCache.get(id);
+        if (cached != null && now - cached.cachedAt() < nearCacheTtlMillis && isCurrent(id, cached.version())) {
+            cacheHits.increment();
+            if (cached.session().isExpired()) {
+                deleteById(id);
+                return null;
+            }
+            return new JdbcSession(new MapSession(cached.session()), false, cached.version());
+        }
+        cacheMisses.increment();
+
+        List<JdbcSession> rows = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> {
+            MapSession delegate = new MapSession(id);
+            delegate.setCreationTime(Instant.ofEpochMilli(rs.getLong("creation_time")));
+            delegate.setLastAccessedTime(Instant.ofEpochMilli(rs.getLong("last_accessed_time")));
+            delegate.setMaxInactiveInterval(Duration.ofSeconds(rs.getInt("max_inactive_seconds")));
+            deserialize(rs.getBytes("attributes")).forEach(delegate::setAttribute);
+            return new JdbcSession(delegate, false, rs.getLong("version"));
+        }, id);
+        if (rows.isEmpty()) {
+            nearCache.remove(id);
+            return null;
+        }
+        JdbcSession session = rows.get(0);
+        // A touch this node has not flushed yet is newer than what the table holds
+        Touch pending = pendingTouches.get(id);
+        if (pending != null && pending.lastAccessedTime() > session.getLastAccessedTime().toEpochMilli()) {
+            session.delegate.setLastAccessedTime(Instant.ofEpochMilli(pending.lastAccessedTime()));
+        }
+        if (session.isExpired()) {
+            deleteById(id);
+            return null;
+        }
+        cache(session, now);
+        return session;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        nearCache.remove(id);
+        pendingTouches.remove(id);
+        jdbcTemplate.update(DELETE_SQL, id);
+    }
+
+    /** Writes all deferred last-access updates in one batch. */
+    public void flushTouches() {
+        if (pendingTouches.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(pendingTouches.size());
+        for (String id : Set.copyOf(pendingTouches.keySet())) {
+            Touch touch = pendingTouches.remove(id);
+            if (touch != null) {
+                batch.add(new Object[]{touch.lastAccessedTime(), touch.expiryTime(), id, touch.lastAccessedTime()});
+            }
+        }
+        jdbcTemplate.batchUpdate(TOUCH_SQL, batch);
+        log.debug("Flushed {} deferred session touches", batch.size());
+    }
+
+    /**
+     * Removes expired rows and stale near-cache entries. Rows get a grace period of one flush
+     * interval because their last-access time may lag behind a touch another node has not flushed.
+     */
+    public void cleanUp(Duration touchFlushInterval) {
+        long now = System.currentTimeMillis();
+        int deleted = jdbcTemplate.update(DELETE_EXPIRED_SQL, now - touchFlushInterval.toMillis());
+        nearCache.values().removeIf(cached -> now - cached.cachedAt() >= nearCacheTtlMillis);
+        if (deleted > 0) {
+            log.debug("Deleted {} expired sessions", deleted);
+        }
+    }
+
+    private boolean isCurrent(String id, long version) {
+        if (!revalidate) {
+            return true;
+        }
+        List<Long> versions = jdbcTemplate.queryForList(SELECT_VERSION_SQL, Long.class, id);
+        return !versions.isEmpty() && versions.get(0) == version;
+    }
+
+    private void cache(JdbcSession session, long now) {
+        if (nearCacheTtlMillis <= 0) {
+            return;
+        }
+        if (nearCache.size() >= nearCacheMaxEntries && !nearCache.containsKey(session.getId())) {
+            // Cheap bound: drop expired entries first, then everything if still full
+            nearCache.values().removeIf(cached -> now - cached.cachedAt() >= nearCacheTtlMillis);
+            if (nearCache.size() >= nearCacheMaxEntries) {
+                nearCache.clear();
+            }
+        }
+        nearCache.put(session.getId(), new CachedSession(new MapSession(session.delegate), session.version, now));
+    }
+
+    private byte[] serialize(JdbcSession session) {
+        Map<String, Object> attributes = new HashMap<>();
+        for (String name : session.getAttributeNames()) {
+            attributes.put(name, session.getAttribute(name));
+        }
+        return serializer.convert(attributes);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> deserialize(byte[] bytes) {
+        return bytes == null ? Map.of() : (Map<String, Object>) deserializer.convert(bytes);
+    }
+
+    private static int maxInactiveSeconds(Session session) {
+        return (int) session.getMaxInactiveInterval().toSeconds();
+    }
+
+    private static long expiryTime(Session session) {
+        return session.getLastAccessedTime().plus(session.getMaxInactiveInterval()).toEpochMilli();
+    }
+
+    private static long newVersion() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    private record CachedSession(MapSession session, long version, long cachedAt) {
+    }
+
+    private record Touch(long lastAccessedTime, long expiryTime) {
+    }
+
+    private record StoredAttributes(long version, Map<String, Object> attributes) {
+    }
+
+    /** Session that remembers whether its attributes or only its last-access time changed. */
+    public static final class JdbcSession implements Session {
+
+        private final MapSession delegate;
+        private boolean isNew;
+        private boolean changed;
+        private boolean touched;
+        private String originalId;
+        private long version;
+        // Attributes set or removed since the session was loaded
+        private final Set<String> changedAttributes = new HashSet<>();
+
+        JdbcSession(MapSession delegate, boolean isNew, long version) {
+            this.delegate = delegate;
+            this.isNew = isNew;
+            this.version = version;
+            this.originalId = delegate.getId();
+        }
+
+        void saved(long version) {
+            this.version = version;
+            this.isNew = false;
+            this.changed = false;
+            this.touched = false;
+            this.originalId = delegate.getId();
+            this.changedAttributes.clear();
+        }
+
+        // Takes the stored attributes, except the ones this request changed
+        void mergeInto(Map<String, Object> stored) {
+            for (String name : Set.copyOf(delegate.getAttributeNames())) {
+                if (!changedAttributes.contains(name) && !stored.containsKey(name)) {
+                    delegate.removeAttribute(name);
+                }
+            }
+            stored.forEach((name, value) -> {
+                if (!changedAttributes.contains(name)) {
+                    delegate.setAttribute(name, value);
+                }
+            });
+        }
+
+        @Override
+        public String getId() {
+            return delegate.getId();
+        }
+
+        @Override
+        public String changeSessionId() {
+            changed = true;
+            return delegate.changeSessionId();
+        }
+
+        @Override
+        public <T> T getAttribute(String attributeName) {
+            return delegate.getAttribute(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            return delegate.getAttributeNames();
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            changed = true;
+            changedAttributes.add(attributeName);
+            delegate.setAttribute(attributeName, attributeValue);
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            changed = true;
+            changedAttributes.add(attributeName);
+            delegate.removeAttribute(attributeName);
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return delegate.getCreationTime();
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            touched = true;
+            delegate.setLastAccessedTime(lastAccessedTime);
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return delegate.getLastAccessedTime();
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            changed = true;
+            delegate.setMaxInactiveInterval(interval);
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return delegate.getMaxInactiveInterval();
+        }
+
+        @Override
+        public boolean isExpired() {
+            return delegate.isExpired();
+        }
+    }
+}
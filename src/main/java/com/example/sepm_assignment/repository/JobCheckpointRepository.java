@@ -0,0 +1,23 @@
+package com.example.sepm_assignment.repository;
+
+import com.example.sepm_assignment.model.JobCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, Long> {
+
+    List<JobCheckpoint> findByJobNameOrderByPartitionIndex(String jobName);
+
+    // Held for one chunk, so two nodes running the same job take turns instead of doing it twice
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM JobCheckpoint c WHERE c.id = :id")
+    Optional<JobCheckpoint> findByIdForUpdate(@Param("id") Long id);
+}
@@ -0,0 +1,36 @@
+package com.example.sepm_assignment.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+/**
+ * Paged reads for the admin tables, whose filters are built as a {@link Specification} so that
+ * only the filters in use become predicates.
+ */
+final class PageQueries {
+
+    private PageQueries() {
+    }
+
+    // Sorted by the Pageable, reading one row past the page instead of counting; fetch names
+    // associations to load with the rows
+    static <T> Slice<T> slice(JpaSpecificationExecutor<T> repository, Specification<T> filter, Pageable pageable,
+                              String... fetch) {
+        Window<T> window = repository.findBy(filter, query -> query.sortBy(pageable.getSort()).project(fetch)
+                .limit(pageable.getPageSize()).scroll(ScrollPosition.offset(pageable.getOffset())));
+        return new SliceImpl<>(window.getContent(), pageable, window.hasNext());
+    }
+
+    // Matching rows, or limit + 1 when there are more than limit, so a big result is never counted
+    static <T> long countAtMost(JpaSpecificationExecutor<T> repository, Specification<T> filter, int limit) {
+        boolean atMost = repository.findBy(filter, query -> query.sortBy(Sort.by("id")).limit(1)
+                .scroll(ScrollPosition.offset(limit)).isEmpty());
+        return atMost ? repository.count(filter) : limit + 1;
+    }
+}
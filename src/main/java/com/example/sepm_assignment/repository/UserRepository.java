@@ -1,16 +1,91 @@
 package com.example.sepm_assignment.repository;
 
 import com.example.sepm_assignment.model.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
     List<User> findByRole(User.Role role);
+
+    // Set-based uniqueness checks for bulk imports: one query per batch instead of one per row
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    Set<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT u.id, u.fullName FROM User u WHERE u.id IN :ids")
+    List<Object[]> findFullNames(@Param("ids") Collection<Long> ids);
+
+    // Admin user table; only the given filters become predicates, so each combination gets a plan
+    // for its own index. prefix is a LIKE pattern escaped with '!'
+    static Specification<User> pageFilter(User.Role role, Boolean enabled, String prefix) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.isNull(root.get("deletedAt")));
+            if (role != null) {
+                predicates.add(cb.equal(root.get("role"), role));
+            }
+            if (enabled != null) {
+                predicates.add(cb.equal(root.get("enabled"), enabled));
+            }
+            if (prefix != null) {
+                predicates.add(cb.or(cb.like(root.get("username"), prefix, '!'),
+                        cb.like(root.get("fullName"), prefix, '!')));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    default Slice<User> findPage(User.Role role, Boolean enabled, String prefix, Pageable pageable) {
+        return PageQueries.slice(this, pageFilter(role, enabled, prefix), pageable);
+    }
+
+    // Counts small results without COUNT(*) on big ones
+    default long countPage(User.Role role, Boolean enabled, String prefix, int limit) {
+        return PageQueries.countAtMost(this, pageFilter(role, enabled, prefix), limit);
+    }
+
+    // Users deleted before the given time, waiting for the purge job, oldest deletion first
+    @Query("SELECT u.id FROM User u WHERE u.deletedAt < :deletedBefore ORDER BY u.deletedAt")
+    List<Long> findDeletedIds(@Param("deletedBefore") LocalDateTime deletedBefore);
+
+    // (user id, epoch second) of API token revocations after the given epoch second
+    @Query("SELECT u.id, u.tokensRevokedBefore FROM User u WHERE u.tokensRevokedBefore > :since")
+    List<Object[]> findTokenRevocationsSince(@Param("since") long since);
+
+    // Serializes purge chunks for one user across nodes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findByIdForUpdate(@Param("id") Long id);
+
+    // Bypasses the cascades on enrollments and taught courses; the purge job removes those first
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id = :id")
+    int deleteWithoutCascade(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
 }
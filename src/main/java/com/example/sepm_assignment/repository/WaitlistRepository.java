@@ -0,0 +1,43 @@
+package com.example.sepm_assignment.repository;
+
+import com.example.sepm_assignment.model.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    // (courseId, studentId) in queue order, to rebuild the in-memory waitlists at startup
+    @Query("SELECT w.course.id, w.student.id FROM WaitlistEntry w ORDER BY w.id")
+    List<Object[]> findAllCourseStudentPairs();
+
+    boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
+
+    boolean existsByCourseId(Long courseId);
+
+    @Query("SELECT DISTINCT w.course.id FROM WaitlistEntry w WHERE w.course.id IN :courseIds")
+    Set<Long> findCourseIdsWithEntries(@Param("courseIds") Collection<Long> courseIds);
+
+    // The course's waiting students in queue order, for promotion under the course lock
+    @Query("SELECT w.student.id FROM WaitlistEntry w WHERE w.course.id = :courseId ORDER BY w.id")
+    List<Long> findStudentIdsByCourseId(@Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.student.id = :studentId AND w.course.id = :courseId")
+    int deleteByStudentIdAndCourseId(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.student.id = :studentId")
+    int deleteByStudentId(@Param("studentId") Long studentId);
+
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.course.id = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+}
@@ -0,0 +1,166 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.dto.CourseDTO;
+import com.example.sepm_assignment.dto.PageDTO;
+import com.example.sepm_assignment.dto.UserDTO;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.User;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Server-side paged, sorted and filtered user and course tables for the admin dashboard.
+ * <p>
+ * Pages are read as slices, one row past the page, so no page needs a {@code COUNT(*)}. The
+ * total shown next to a table is exact when it is cheap: on the last page it follows from the
+ * page itself, and otherwise matching rows are counted up to {@code app.admin.exact-count-limit}.
+ * An unfiltered table bigger than that shows the PostgreSQL planner's row estimate instead; a
+ * filtered one shows the limit as a lower bound.
+ */
+@Service
+public class AdminTableService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final Set<String> USER_SORTS = Set.of("id", "username", "fullName", "email", "role", "enabled");
+    private static final Set<String> COURSE_SORTS = Set.of("id", "courseCode", "courseName", "credits", "capacity", "term");
+
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final UserService userService;
+    private final CourseService courseService;
+    private final JdbcTemplate jdbcTemplate;
+    private final int exactCountLimit;
+    private volatile Boolean postgres;
+
+    @Autowired
+    public AdminTableService(UserRepository userRepository,
+                             CourseRepository courseRepository,
+                             UserService userService,
+                             CourseService courseService,
+                             JdbcTemplate jdbcTemplate,
+                             @Value("${app.admin.exact-count-limit:10000}") int exactCountLimit) {
+        this(userRepository, courseRepository, userService, courseService, jdbcTemplate, exactCountLimit, null);
+    }
+
+    AdminTableService(UserRepository userRepository, CourseRepository courseRepository, UserService userService,
+                      CourseService courseService, JdbcTemplate jdbcTemplate, int exactCountLimit, Boolean postgres) {
+        this.userRepository = userRepository;
+        this.courseRepository = courseRepository;
+        this.userService = userService;
+        this.courseService = courseService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.exactCountLimit = Math.max(1, exactCountLimit);
+        this.postgres = postgres;
+    }
+
+    /** Users that aren't deleted, filtered by role, enabled flag and a username or full name prefix. */
+    @Transactional(readOnly = true)
+    public PageDTO<UserDTO> getUsers(User.Role role, Boolean enabled, String namePrefix,
+                                     int page, int size, String sort, String direction) {
+        Pageable pageable = pageable(page, size, sort, direction, USER_SORTS, "username");
+        String prefix = likePrefix(namePrefix);
+        Slice<User> slice = userRepository.findPage(role, enabled, prefix, pageable);
+        boolean filtered = role != null || enabled != null || prefix != null;
+        return toPage(slice, userService::convertToDTO, "users", filtered,
+                limit -> userRepository.countPage(role, enabled, prefix, limit));
+    }
+
+    /** Courses filtered by a course code or name prefix and a term. */
+    @Transactional(readOnly = true)
+    public PageDTO<CourseDTO> getCourses(String namePrefix, String term,
+                                         int page, int size, String sort, String direction) {
+        Pageable pageable = pageable(page, size, sort, direction, COURSE_SORTS, "courseCode");
+        String prefix = likePrefix(namePrefix);
+        String normalizedTerm = term == null || term.isBlank() ? null : TermService.normalize(term);
+        Slice<Course> slice = courseRepository.findPage(prefix, normalizedTerm, pageable);
+        boolean filtered = prefix != null || normalizedTerm != null;
+        return toPage(slice, courseService::convertToDTO, "courses", filtered,
+                limit -> courseRepository.countPage(prefix, normalizedTerm, limit));
+    }
+
+    private <E, D> PageDTO<D> toPage(Slice<E> slice, Function<E, D> mapper, String table, boolean filtered,
+                                     IntToLongFunction boundedCount) {
+        Pageable pageable = slice.getPageable();
+        PageDTO<D> page = new PageDTO<>();
+        page.setContent(slice.getContent().stream().map(mapper).toList());
+        page.setPage(pageable.getPageNumber());
+        page.setSize(pageable.getPageSize());
+        page.setHasNext(slice.hasNext());
+        Sort.Order order = pageable.getSort().iterator().next();
+        page.setSort(order.getProperty());
+        page.setDirection(order.isAscending() ? "asc" : "desc");
+
+        if (!slice.hasNext() && (slice.hasContent() || pageable.getPageNumber() == 0)) {
+            // The last page: everything before it was full
+            setTotal(page, pageable.getOffset() + slice.getNumberOfElements(), true);
+            return page;
+        }
+        long estimate = filtered ? -1 : estimateRows(table);
+        if (estimate > exactCountLimit) {
+            setTotal(page, estimate, false);
+            return page;
+        }
+        long matches = boundedCount.applyAsLong(exactCountLimit);
+        setTotal(page, Math.min(matches, exactCountLimit), matches <= exactCountLimit);
+        if (matches > exactCountLimit) {
+            page.setTotalLabel(String.format("%,d+", exactCountLimit));
+        }
+        return page;
+    }
+
+    private static void setTotal(PageDTO<?> page, long total, boolean exact) {
+        page.setTotal(total);
+        page.setTotalExact(exact);
+        page.setTotalLabel(exact ? String.format("%,d", total) : String.format("about %,d", total));
+    }
+
+    // Planner estimate as of the last ANALYZE; -1 where there is none, like on H2
+    private long estimateRows(String table) {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        if (!Boolean.TRUE.equals(postgres)) {
+            return -1;
+        }
+        List<Long> rows = jdbcTemplate.queryForList(
+                "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)", Long.class, table);
+        return rows.isEmpty() || rows.get(0) == null ? -1 : rows.get(0);
+    }
+
+    // Unknown sort keys fall back to the default; id breaks ties so pages don't overlap
+    private static Pageable pageable(int page, int size, String sort, String direction,
+                                     Set<String> sortable, String defaultSort) {
+        String property = sort != null && sortable.contains(sort) ? sort : defaultSort;
+        Sort.Direction dir = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort order = Sort.by(dir, property);
+        if (!"id".equals(property)) {
+            order = order.and(Sort.by(dir, "id"));
+        }
+        return PageRequest.of(Math.max(0, page), Math.min(Math.max(1, size), MAX_PAGE_SIZE), order);
+    }
+
+    // Prefix search as a LIKE pattern, with the wildcards in the input escaped by '!'
+    static String likePrefix(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        return prefix.trim().replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Issues and verifies short-lived bearer tokens for the REST API.
+ * <p>
+ * Tokens are HS256-signed JWTs carrying username, user id and role, so a request can be
+ * authenticated from the token alone without touching the database. Users who are disabled
+ * or deleted get {@code tokens_revoked_before} set on their row, and every token issued to
+ * them up to that moment is rejected. Each node keeps the revocations of the last token
+ * lifetime in memory: loaded at startup and polled every
+ * {@code app.security.api-token.revocation-poll-ms}, so another node's revocation takes
+ * effect here within one poll. Entries expire with the tokens they revoke.
+ */
+@Service
+@Slf4j
+public class ApiTokenService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder BASE64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = BASE64.encodeToString(
+            "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final Duration ttl;
+    private final Clock clock;
+    private final SecretKeySpec key;
+    // Mac is not thread-safe; one per request thread avoids a lock on every API call
+    private final ThreadLocal<Mac> macs;
+    // user id -> epoch second; tokens issued at or before it are rejected
+    private final Map<Long, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ApiTokenService(ObjectMapper objectMapper,
+                           UserRepository userRepository,
+                           @Value("${app.security.api-token.secret:}") String secret,
+                           @Value("${app.security.api-token.ttl:15m}") Duration ttl) {
+        this(objectMapper, userRepository, secret, ttl, Clock.systemUTC());
+    }
+
+    ApiTokenService(ObjectMapper objectMapper, UserRepository userRepository, String secret, Duration ttl,
+                    Clock clock) {
+        this.objectMapper = objectMapper;
+        this.userRepository = userRepository;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.key = new SecretKeySpec(secretBytes(secret), HMAC_ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public String issueToken(Long userId, String username, String role) {
+        long now = clock.instant().getEpochSecond();
+        Claims claims = new Claims(username, userId, role, now, now + ttl.toSeconds());
+        try {
+            String payload = HEADER + "." + BASE64.encodeToString(objectMapper.writeValueAsBytes(claims));
+            return payload + "." + BASE64.encodeToString(sign(payload));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not issue API token", e);
+        }
+    }
+
+    /** Returns the claims of a valid token, or empty if it is malformed, forged, expired or revoked. */
+    public Optional<Claims> verify(String token) {
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot < 0 || firstDot == lastDot || !HEADER.equals(token.substring(0, firstDot))) {
+            return Optional.empty();
+        }
+        try {
+            byte[] signature = BASE64_DECODER.decode(token.substring(lastDot + 1));
+            if (!MessageDigest.isEqual(signature, sign(token.substring(0, lastDot)))) {
+                return Optional.empty();
+            }
+            Claims claims = objectMapper.readValue(BASE64_DECODER.decode(token.substring(firstDot + 1, lastDot)), Claims.class);
+            long now = clock.instant().getEpochSecond();
+            if (claims.exp() <= now) {
+                return Optional.empty();
+            }
+            Long revoked = revokedBefore.get(claims.uid());
+            if (revoked != null && claims.iat() <= revoked) {
+                return Optional.empty();
+            }
+            return Optional.of(claims);
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Invalidates every token issued to this user so far, on this node at once. Returns the
+     * epoch second to store in the user's {@code tokensRevokedBefore}, which carries it to the
+     * other nodes.
+     */
+    public long revokeTokens(Long userId) {
+        long now = clock.instant().getEpochSecond();
+        revokedBefore.merge(userId, now, Math::max);
+        expireRevocations(now);
+        log.debug("Revoked API tokens for user id: {}", userId);
+        return now;
+    }
+
+    /** Picks up the revocations stored in the last token lifetime, including other nodes'. */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${app.security.api-token.revocation-poll-ms:5000}")
+    public void loadRevocations() {
+        long now = clock.instant().getEpochSecond();
+        for (Object[] row : userRepository.findTokenRevocationsSince(now - ttl.toSeconds())) {
+            revokedBefore.merge((Long) row[0], (Long) row[1], Math::max);
+        }
+        expireRevocations(now);
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    // Anything older than the token lifetime can no longer match a live token
+    private void expireRevocations(long now) {
+        revokedBefore.values().removeIf(revokedAt -> revokedAt < now - ttl.toSeconds());
+    }
+
+    private byte[] sign(String payload) {
+        return macs.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("app.security.api-token.secret is not set; using a random key. "
+                    + "API tokens will not survive a restart or work across replicas.");
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < 32) {
+            throw new IllegalArgumentException("app.security.api-token.secret must be at least 32 bytes");
+        }
+        return bytes;
+    }
+
+    /** Token payload: subject (username), user id, role, issued-at and expiry in epoch seconds. */
+    public record Claims(String sub, Long uid, String role, long iat, long exp) {
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.dto.AuditEntryDTO;
+import com.example.sepm_assignment.model.AuditEntry;
+import com.example.sepm_assignment.repository.AuditEntryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only audit trail of enrollment and grade changes, kept off the request's transaction.
+ * <p>
+ * Each {@link EnrollmentAuditEvent} is turned into a row once its transaction has committed and
+ * put in a bounded ring buffer ({@code app.audit.buffer-capacity}). A single writer thread
+ * inserts the rows in JDBC batches of up to {@code batch-size}, gathering for at most
+ * {@code flush-interval}. A batch that fails for a transient reason (a timeout, a lock, a lost
+ * connection) is retried until the database is back; one the database rejects is written row by
+ * row instead, and the rows it still rejects are logged and counted in {@code audit.dropped}. When the buffer
+ * is full, {@code overflow} decides: {@code caller-writes} (default) inserts the row on the
+ * request thread, so nothing is lost but that request pays for the insert; {@code drop} discards
+ * it and counts it in {@code audit.dropped}.
+ */
+@Service
+@Slf4j
+public class AuditLog {
+
+    static final String INSERT_SQL = "INSERT INTO audit_log "
+            + "(occurred_at, action, actor, enrollment_id, student_id, course_id, detail) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    static final String SYSTEM_ACTOR = EnrollmentAuditEvent.SYSTEM_ACTOR;
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    public enum OverflowPolicy {
+        CALLER_WRITES, DROP
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditEntryRepository auditEntryRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final Clock clock;
+    private final BlockingQueue<Object[]> buffer;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter callerWrites;
+    private Thread writer;
+    private volatile boolean running;
+
+    @Autowired
+    public AuditLog(JdbcTemplate jdbcTemplate,
+                    AuditEntryRepository auditEntryRepository,
+                    MeterRegistry meterRegistry,
+                    @Value("${app.audit.enabled:true}") boolean enabled,
+                    @Value("${app.audit.buffer-capacity:65536}") int bufferCapacity,
+                    @Value("${app.audit.batch-size:500}") int batchSize,
+                    @Value("${app.audit.flush-interval:1s}") Duration flushInterval,
+                    @Value("${app.audit.overflow:caller-writes}") String overflow) {
+        this(jdbcTemplate, auditEntryRepository, meterRegistry, enabled, bufferCapacity, batchSize, flushInterval,
+                OverflowPolicy.valueOf(overflow.toUpperCase().replace('-', '_')), Clock.systemDefaultZone());
+    }
+
+    AuditLog(JdbcTemplate jdbcTemplate, AuditEntryRepository auditEntryRepository, MeterRegistry meterRegistry,
+             boolean enabled, int bufferCapacity, int batchSize, Duration flushInterval,
+             OverflowPolicy overflowPolicy, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditEntryRepository = auditEntryRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.overflowPolicy = overflowPolicy;
+        this.clock = clock;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.written = meterRegistry.counter("audit.written");
+        this.dropped = meterRegistry.counter("audit.dropped");
+        this.callerWrites = meterRegistry.counter("audit.caller_writes");
+        meterRegistry.gauge("audit.buffered", buffer, BlockingQueue::size);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 5000);
+        }
+        // Whatever the writer left behind
+        flush();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuditEvent(EnrollmentAuditEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Object[] row = {LocalDateTime.now(clock), event.action().name(), event.actor(), event.enrollmentId(),
+                event.studentId(), event.courseId(), event.detail()};
+        if (buffer.offer(row)) {
+            return;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP) {
+            dropped.increment();
+            return;
+        }
+        try {
+            jdbcTemplate.update(INSERT_SQL, row);
+            callerWrites.increment();
+        } catch (DataAccessException e) {
+            dropped.increment();
+            log.error("Audit buffer full and direct write failed; audit entry lost: {}", event, e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<AuditEntryDTO> findEntries(Long studentId, Long courseId, LocalDateTime from, LocalDateTime to,
+                                           int limit) {
+        return auditEntryRepository.findBy(AuditEntryRepository.matching(studentId, courseId, from, to),
+                        query -> query.sortBy(Sort.by(Sort.Direction.DESC, "occurredAt", "id")).limit(limit).all())
+                .stream()
+                .map(AuditLog::convertToDTO)
+                .toList();
+    }
+
+    /** Writes everything currently buffered on the calling thread. */
+    void flush() {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            if (!writeBatch(batch)) {
+                dropped.increment(batch.size());
+                log.error("Database unavailable; {} audit entries lost", batch.size());
+            }
+            batch.clear();
+        }
+    }
+
+    private void runWriter() {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Object[] first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize && running) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Object[] next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+                while (!writeBatch(batch) && running) {
+                    Thread.sleep(RETRY_DELAY_MILLIS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        // Leave an unwritten batch for shutdown's flush
+        batch.forEach(buffer::offer);
+    }
+
+    // False when the database is unavailable and the batch should be retried; rows it is
+    // done with, written or rejected, are removed from the batch
+    private boolean writeBatch(List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+            written.increment(batch.size());
+            batch.clear();
+            return true;
+        } catch (DataAccessException e) {
+            if (isTransient(e)) {
+                log.warn("Could not write {} audit entries, will retry: {}", batch.size(), e.getMessage());
+                return false;
+            }
+            log.error("Batch of {} audit entries rejected, writing them one by one", batch.size(), e);
+        }
+        for (Iterator<Object[]> rows = batch.iterator(); rows.hasNext(); ) {
+            Object[] row = rows.next();
+            try {
+                jdbcTemplate.update(INSERT_SQL, row);
+                written.increment();
+            } catch (DataAccessException e) {
+                if (isTransient(e)) {
+                    log.warn("Could not write {} audit entries, will retry: {}", batch.size(), e.getMessage());
+                    return false;
+                }
+                dropped.increment();
+                log.error("Audit entry rejected and lost: {}", Arrays.toString(row), e);
+            }
+            rows.remove();
+        }
+        return true;
+    }
+
+    static boolean isTransient(DataAccessException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException;
+    }
+
+    private static AuditEntryDTO convertToDTO(AuditEntry entry) {
+        return new AuditEntryDTO(entry.getId(), entry.getOccurredAt(), entry.getAction(), entry.getActor(),
+                entry.getEnrollmentId(), entry.getStudentId(), entry.getCourseId(), entry.getDetail());
+    }
+}
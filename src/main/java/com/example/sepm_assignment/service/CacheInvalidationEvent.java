@@ -0,0 +1,16 @@
+package com.example.sepm_assignment.service;
+
+/**
+ * Published by a write that makes a cached entry stale. A null key means the whole cache.
+ * Applied locally once the write commits, and sent to the other replicas with it.
+ */
+public record CacheInvalidationEvent(String cache, String key) {
+
+    public static CacheInvalidationEvent of(String cache, Object key) {
+        return new CacheInvalidationEvent(cache, String.valueOf(key));
+    }
+
+    public static CacheInvalidationEvent all(String cache) {
+        return new CacheInvalidationEvent(cache, null);
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.sepm_assignment.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the local caches of all replicas coherent over Postgres {@code LISTEN/NOTIFY}, with no
+ * broker besides the database the application already uses.
+ * <p>
+ * A {@link CacheInvalidationEvent} is sent with {@code pg_notify} just before its transaction
+ * commits, so Postgres delivers it to the other nodes only if the write commits. The writing node
+ * evicts its own entry after the commit. Each node holds one extra connection, outside the pools,
+ * that listens on {@value #CHANNEL} and evicts what the others report. Anything sent while that
+ * connection is down is lost, so every node empties its caches after (re)connecting.
+ * <p>
+ * On other databases, such as H2 in tests, only the local eviction happens. Metrics:
+ * cache.invalidation.lag (sender commit to eviction here, subject to clock skew),
+ * cache.invalidation.received, cache.invalidation.reconnects, cache.invalidation.connected and
+ * cache.invalidation.queue_usage (fraction of the Postgres notification queue in use).
+ */
+@Service
+@Slf4j
+public class CacheInvalidationService {
+
+    static final String CHANNEL = "cache_invalidation";
+    static final String ALL_KEYS = "*";
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+    private static final String QUEUE_USAGE_SQL = "SELECT pg_notification_queue_usage()";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<CacheManager> cacheManager;
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+    private final boolean notifyEnabled;
+    private final Duration pollInterval;
+    private final Duration reconnectDelay;
+    private final Clock clock;
+    // Lets a node skip its own messages; it has already evicted after the commit
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final Timer lag;
+    private final Counter received;
+    private final Counter reconnects;
+    private Thread listener;
+    private volatile Connection listenConnection;
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile double queueUsage;
+
+    @Autowired
+    public CacheInvalidationService(JdbcTemplate jdbcTemplate,
+                                    ObjectProvider<CacheManager> cacheManager,
+                                    DataSourceProperties dataSourceProperties,
+                                    ObjectProvider<JdbcConnectionDetails> connectionDetails,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.cache.invalidation.enabled:true}") boolean enabled,
+                                    @Value("${app.cache.invalidation.poll-interval:10s}") Duration pollInterval,
+                                    @Value("${app.cache.invalidation.reconnect-delay:5s}") Duration reconnectDelay) {
+        this(jdbcTemplate, cacheManager, connectionDetails.getIfAvailable(() -> dataSourceDetails(dataSourceProperties)),
+                meterRegistry, enabled, pollInterval, reconnectDelay, Clock.systemUTC());
+    }
+
+    CacheInvalidationService(JdbcTemplate jdbcTemplate, ObjectProvider<CacheManager> cacheManager,
+                             JdbcConnectionDetails connectionDetails, MeterRegistry meterRegistry, boolean enabled,
+                             Duration pollInterval, Duration reconnectDelay, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheManager = cacheManager;
+        this.jdbcUrl = connectionDetails.getJdbcUrl();
+        this.username = connectionDetails.getUsername();
+        this.password = connectionDetails.getPassword();
+        this.notifyEnabled = enabled && jdbcUrl != null && jdbcUrl.startsWith("jdbc:postgresql:");
+        this.pollInterval = pollInterval;
+        this.reconnectDelay = reconnectDelay;
+        this.clock = clock;
+        this.lag = Timer.builder("cache.invalidation.lag").publishPercentiles(0.5, 0.99).register(meterRegistry);
+        this.received = meterRegistry.counter("cache.invalidation.received");
+        this.reconnects = meterRegistry.counter("cache.invalidation.reconnects");
+        Gauge.builder("cache.invalidation.connected", this, s -> s.connected ? 1 : 0).register(meterRegistry);
+        Gauge.builder("cache.invalidation.queue_usage", this, s -> s.queueUsage).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!notifyEnabled) {
+            log.info("Cache invalidation is local only; LISTEN/NOTIFY needs PostgreSQL");
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        closeQuietly(listenConnection);
+        if (listener != null) {
+            listener.interrupt();
+            listener.join(5000);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void notifyOtherNodes(CacheInvalidationEvent event) {
+        if (!notifyEnabled) {
+            return;
+        }
+        String payload = String.join("|", nodeId, Long.toString(clock.millis()), event.cache(),
+                event.key() == null ? ALL_KEYS : event.key());
+        jdbcTemplate.query(NOTIFY_SQL, (ResultSetExtractor<Void>) rs -> null, CHANNEL, payload);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void evictLocally(CacheInvalidationEvent event) {
+        evict(event.cache(), event.key());
+    }
+
+    /** Applies a message from the channel: {@code node|sentAtMillis|cache|key}. */
+    void handle(String payload) {
+        String[] parts = payload.split("\\|", 4);
+        if (parts.length != 4) {
+            log.warn("Ignoring malformed cache invalidation: {}", payload);
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+        evict(parts[2], ALL_KEYS.equals(parts[3]) ? null : parts[3]);
+        received.increment();
+        try {
+            lag.record(Math.max(0, clock.millis() - Long.parseLong(parts[1])), TimeUnit.MILLISECONDS);
+        } catch (NumberFormatException e) {
+            log.warn("Cache invalidation without a valid timestamp: {}", payload);
+        }
+    }
+
+    String getNodeId() {
+        return nodeId;
+    }
+
+    private void evict(String cacheName, String key) {
+        CacheManager manager = cacheManager.getIfAvailable();
+        Cache cache = manager == null ? null : manager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (key == null) {
+            cache.clear();
+        } else {
+            cache.evict(key);
+        }
+    }
+
+    private void clearAll() {
+        CacheManager manager = cacheManager.getIfAvailable();
+        if (manager != null) {
+            manager.getCacheNames().forEach(name -> manager.getCache(name).clear());
+        }
+    }
+
+    private void listen() {
+        boolean firstConnect = true;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(jdbcUrl, username, password);
+                 Statement statement = connection.createStatement()) {
+                listenConnection = connection;
+                statement.execute("LISTEN " + CHANNEL);
+                connected = true;
+                // Whatever was sent before LISTEN took effect was missed; start from empty caches
+                clearAll();
+                if (!firstConnect) {
+                    reconnects.increment();
+                    log.info("Cache invalidation listener reconnected; local caches cleared");
+                }
+                firstConnect = false;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollInterval.toMillis());
+                    if (notifications == null || notifications.length == 0) {
+                        // Idle: a query both detects a dead connection and samples the queue
+                        try (ResultSet rs = statement.executeQuery(QUEUE_USAGE_SQL)) {
+                            queueUsage = rs.next() ? rs.getDouble(1) : 0;
+                        }
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        handle(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener lost its connection ({}); retrying in {}",
+                            e.getMessage(), reconnectDelay);
+                }
+            } finally {
+                connected = false;
+                listenConnection = null;
+            }
+            if (running) {
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Closing the cache invalidation connection failed", e);
+        }
+    }
+
+    private static JdbcConnectionDetails dataSourceDetails(DataSourceProperties properties) {
+        return new JdbcConnectionDetails() {
+            @Override
+            public String getUsername() {
+                return properties.determineUsername();
+            }
+
+            @Override
+            public String getPassword() {
+                return properties.determinePassword();
+            }
+
+            @Override
+            public String getJdbcUrl() {
+                return properties.determineUrl();
+            }
+        };
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.dto.ChangeDTO;
+import com.example.sepm_assignment.dto.ChangeFeedDTO;
+import com.example.sepm_assignment.model.ChangeLogEntry;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Enrollment;
+import com.example.sepm_assignment.model.User;
+import com.example.sepm_assignment.repository.ChangeLogRepository;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import com.example.sepm_assignment.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serves the change log as a paged feed, so integrations can apply deltas instead of
+ * downloading every course and enrollment again.
+ * <p>
+ * Entries are read in id order. Ids are handed out when a change is written, not when it
+ * commits, so a later id can become visible while an earlier one is still in flight. A page
+ * therefore stops at the first entry younger than {@code settle}; transactions here are far
+ * shorter than that. Several changes to one record within a page collapse into its latest
+ * position, carrying the record's current state, or a tombstone if it is gone.
+ * <p>
+ * A token is {@code <last id>-<epoch second>}. The second is how far the client is known to
+ * be caught up; tokens older than {@code retention}, the age at which entries are purged,
+ * are refused with {@link ChangeTokenExpiredException}.
+ */
+@Service
+@Slf4j
+public class ChangeFeedService {
+
+    private final ChangeLogRepository changeLogRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final UserRepository userRepository;
+    private final CourseService courseService;
+    private final EnrollmentService enrollmentService;
+    private final UserService userService;
+    private final Duration settle;
+    private final Duration retention;
+    private final Clock clock;
+
+    @Autowired
+    public ChangeFeedService(ChangeLogRepository changeLogRepository,
+                             CourseRepository courseRepository,
+                             EnrollmentRepository enrollmentRepository,
+                             UserRepository userRepository,
+                             CourseService courseService,
+                             EnrollmentService enrollmentService,
+                             UserService userService,
+                             @Value("${app.changes.settle:5s}") Duration settle,
+                             @Value("${app.changes.retention:30d}") Duration retention) {
+        this(changeLogRepository, courseRepository, enrollmentRepository, userRepository, courseService,
+                enrollmentService, userService, settle, retention, Clock.systemDefaultZone());
+    }
+
+    ChangeFeedService(ChangeLogRepository changeLogRepository, CourseRepository courseRepository,
+                      EnrollmentRepository enrollmentRepository, UserRepository userRepository,
+                      CourseService courseService, EnrollmentService enrollmentService, UserService userService,
+                      Duration settle, Duration retention, Clock clock) {
+        this.changeLogRepository = changeLogRepository;
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.userRepository = userRepository;
+        this.courseService = courseService;
+        this.enrollmentService = enrollmentService;
+        this.userService = userService;
+        this.settle = settle;
+        this.retention = retention;
+        this.clock = clock;
+    }
+
+    /**
+     * Without {@code since}, returns no changes and a token for the current position: take it
+     * before a full download, then apply the changes after it.
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeedDTO getChanges(String since, int limit) {
+        LocalDateTime horizon = LocalDateTime.now(clock).minus(settle);
+        if (since == null || since.isBlank()) {
+            long head = changeLogRepository.findFirstByChangedAtLessThanEqualOrderByIdDesc(horizon)
+                    .map(ChangeLogEntry::getId)
+                    .orElse(0L);
+            return new ChangeFeedDTO(List.of(), token(head, horizon), false);
+        }
+
+        long[] token = parseToken(since);
+        if (token[1] < epochSecond(LocalDateTime.now(clock).minus(retention))) {
+            throw new ChangeTokenExpiredException();
+        }
+
+        List<ChangeLogEntry> entries = changeLogRepository.findByIdGreaterThanOrderByIdAsc(
+                token[0], PageRequest.of(0, limit + 1));
+        boolean hasMore = entries.size() > limit;
+        List<ChangeLogEntry> page = new ArrayList<>(Math.min(entries.size(), limit));
+        for (ChangeLogEntry entry : entries.subList(0, Math.min(entries.size(), limit))) {
+            if (entry.getChangedAt().isAfter(horizon)) {
+                // Earlier ids may still commit; pick this one up on a later call
+                hasMore = false;
+                break;
+            }
+            page.add(entry);
+        }
+        if (page.isEmpty()) {
+            return new ChangeFeedDTO(List.of(), token(token[0], horizon), hasMore);
+        }
+
+        ChangeLogEntry last = page.get(page.size() - 1);
+        String next = token(last.getId(), hasMore ? last.getChangedAt() : horizon);
+        return new ChangeFeedDTO(toChanges(page), next, hasMore);
+    }
+
+    @Scheduled(fixedDelayString = "${app.changes.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = changeLogRepository.deleteOlderThan(LocalDateTime.now(clock).minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} change log entries older than {}", purged, retention);
+        }
+    }
+
+    private List<ChangeDTO> toChanges(List<ChangeLogEntry> page) {
+        // Keep only the latest entry per record, in the position of that entry
+        Map<String, ChangeLogEntry> latest = new LinkedHashMap<>();
+        for (ChangeLogEntry entry : page) {
+            String key = entry.getEntityType() + ":" + entry.getEntityId();
+            latest.remove(key);
+            latest.put(key, entry);
+        }
+
+        Map<Long, Object> courses = current(latest.values(), ChangeLogEntry.EntityType.COURSE,
+                ids -> courseRepository.findByIdIn(ids).stream()
+                        .collect(Collectors.toMap(Course::getId, courseService::convertToDTO)));
+        Map<Long, Object> enrollments = current(latest.values(), ChangeLogEntry.EntityType.ENROLLMENT,
+                ids -> enrollmentRepository.findByIdIn(ids).stream()
+                        .collect(Collectors.toMap(Enrollment::getId, enrollmentService::convertToDTO)));
+        Map<Long, Object> users = current(latest.values(), ChangeLogEntry.EntityType.USER,
+                // A soft-deleted user is already a tombstone to clients
+                ids -> userRepository.findAllById(ids).stream()
+                        .filter(user -> !user.isDeleted())
+                        .collect(Collectors.toMap(User::getId, userService::convertToDTO)));
+
+        List<ChangeDTO> changes = new ArrayList<>(latest.size());
+        for (ChangeLogEntry entry : latest.values()) {
+            Map<Long, Object> states = switch (entry.getEntityType()) {
+                case COURSE -> courses;
+                case ENROLLMENT -> enrollments;
+                case USER -> users;
+            };
+            Object data = entry.getOperation() == ChangeLogEntry.Operation.UPSERT
+                    ? states.get(entry.getEntityId()) : null;
+            // An upsert of a record deleted since is reported as its tombstone
+            ChangeLogEntry.Operation operation = data == null
+                    ? ChangeLogEntry.Operation.DELETE : ChangeLogEntry.Operation.UPSERT;
+            changes.add(new ChangeDTO(entry.getId(), entry.getEntityType(), entry.getEntityId(),
+                    operation, entry.getChangedAt(), data));
+        }
+        return changes;
+    }
+
+    private static Map<Long, Object> current(Collection<ChangeLogEntry> entries, ChangeLogEntry.EntityType type,
+                                             Function<Set<Long>, Map<Long, Object>> loader) {
+        Set<Long> ids = entries.stream()
+                .filter(entry -> entry.getEntityType() == type
+                        && entry.getOperation() == ChangeLogEntry.Operation.UPSERT)
+                .map(ChangeLogEntry::getEntityId)
+                .collect(Collectors.toSet());
+        return ids.isEmpty() ? Map.of() : loader.apply(ids);
+    }
+
+    private static String token(long id, LocalDateTime caughtUpTo) {
+        return id + "-" + epochSecond(caughtUpTo);
+    }
+
+    private static long[] parseToken(String token) {
+        int dash = token.indexOf('-');
+        try {
+            if (dash > 0) {
+                return new long[]{Long.parseLong(token.substring(0, dash)), Long.parseLong(token.substring(dash + 1))};
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid change token: " + token);
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+}
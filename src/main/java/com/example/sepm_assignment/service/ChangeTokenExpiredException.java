@@ -0,0 +1,12 @@
+package com.example.sepm_assignment.service;
+
+/**
+ * Thrown when a change feed token is older than the feed's retention, so changes after it
+ * may have been purged. The client has to download everything again and start over.
+ */
+public class ChangeTokenExpiredException extends RuntimeException {
+
+    public ChangeTokenExpiredException() {
+        super("Change token has expired; run a full resync");
+    }
+}
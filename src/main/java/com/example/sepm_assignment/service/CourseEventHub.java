@@ -0,0 +1,438 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.config.CacheConfig;
+import com.example.sepm_assignment.dto.RosterChangeDTO;
+import com.example.sepm_assignment.dto.SeatCountDTO;
+import com.example.sepm_assignment.model.AuditEntry;
+import com.example.sepm_assignment.model.Enrollment;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import com.example.sepm_assignment.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans live seat counts and roster changes out to Server-Sent Events subscribers, per course.
+ * <p>
+ * Enrollment changes only mark their course dirty. Every {@code interval} one thread reads the
+ * seat counts of all dirty courses in two grouped queries and sends a {@code seats} event where
+ * the count changed, so a burst of enrollments and any number of subscribers cost the same two
+ * queries. The roster changes gathered in that interval go to teachers and admins as one
+ * {@code roster} event per course. Every {@code refresh-interval} all watched courses are
+ * re-read, which also picks up enrollments made on other nodes; roster changes are only seen by
+ * the node that made them.
+ * <p>
+ * Each subscriber has a queue of {@code queue-capacity} events, drained by a small pool of
+ * sender threads. A newer seat count replaces one still queued, so slow readers just see fewer
+ * updates; a subscriber whose queue still overflows with roster events is disconnected and can
+ * reconnect for a fresh count.
+ */
+@Service
+@Slf4j
+public class CourseEventHub {
+
+    static final String SEATS_EVENT = "seats";
+    static final String ROSTER_EVENT = "roster";
+    static final String ROSTER_RESET_EVENT = "roster-reset";
+    // More changes than this in one interval: clients reload the roster instead
+    private static final int MAX_ROSTER_BATCH = 200;
+
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final UserRepository userRepository;
+    private final Duration interval;
+    private final long refreshIntervalNanos;
+    private final long heartbeatNanos;
+    private final int maxSubscribers;
+    private final int queueCapacity;
+    private final Duration timeout;
+    private final Executor senders;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Queue<EnrollmentAuditEvent>> pendingRoster = new ConcurrentHashMap<>();
+    private final Map<Long, SeatCountDTO> lastSeats = new ConcurrentHashMap<>();
+    private final Counter dropped;
+    private final Counter rejected;
+    private final Counter refreshes;
+    private final Map<String, Counter> sent = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private ScheduledExecutorService ticker;
+    private long nextRefresh;
+    private long nextHeartbeat;
+
+    @Autowired
+    public CourseEventHub(CourseRepository courseRepository,
+                          EnrollmentRepository enrollmentRepository,
+                          UserRepository userRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.course-events.interval:500ms}") Duration interval,
+                          @Value("${app.course-events.refresh-interval:5s}") Duration refreshInterval,
+                          @Value("${app.course-events.heartbeat:30s}") Duration heartbeat,
+                          @Value("${app.course-events.max-subscribers:10000}") int maxSubscribers,
+                          @Value("${app.course-events.queue-capacity:32}") int queueCapacity,
+                          @Value("${app.course-events.sender-threads:4}") int senderThreads,
+                          @Value("${app.course-events.timeout:30m}") Duration timeout) {
+        this(courseRepository, enrollmentRepository, userRepository, meterRegistry, interval, refreshInterval,
+                heartbeat, maxSubscribers, queueCapacity, timeout, newSenderPool(senderThreads));
+    }
+
+    CourseEventHub(CourseRepository courseRepository, EnrollmentRepository enrollmentRepository,
+                   UserRepository userRepository, MeterRegistry meterRegistry, Duration interval,
+                   Duration refreshInterval, Duration heartbeat, int maxSubscribers, int queueCapacity,
+                   Duration timeout, Executor senders) {
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.userRepository = userRepository;
+        this.meterRegistry = meterRegistry;
+        this.interval = interval;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+        this.heartbeatNanos = heartbeat.toNanos();
+        this.maxSubscribers = maxSubscribers;
+        this.queueCapacity = queueCapacity;
+        this.timeout = timeout;
+        this.senders = senders;
+        this.dropped = meterRegistry.counter("course_events.dropped");
+        this.rejected = meterRegistry.counter("course_events.rejected");
+        this.refreshes = meterRegistry.counter("course_events.refreshes");
+        Gauge.builder("course_events.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+        long now = System.nanoTime();
+        this.nextRefresh = now + refreshIntervalNanos;
+        this.nextHeartbeat = now + heartbeatNanos;
+    }
+
+    @PostConstruct
+    void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "course-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(this::tick, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+        if (senders instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Empty when the node already serves {@code max-subscribers} streams. */
+    public Optional<SseEmitter> subscribe(Long courseId, boolean includeRoster) {
+        return subscribe(courseId, includeRoster, new SseEmitter(timeout.toMillis()));
+    }
+
+    Optional<SseEmitter> subscribe(Long courseId, boolean includeRoster, SseEmitter emitter) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            rejected.increment();
+            return Optional.empty();
+        }
+        Subscriber subscriber = new Subscriber(courseId, includeRoster, emitter);
+        subscribers.compute(courseId, (id, set) -> {
+            Set<Subscriber> course = set != null ? set : ConcurrentHashMap.newKeySet();
+            course.add(subscriber);
+            return course;
+        });
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        SeatCountDTO seats = lastSeats.get(courseId);
+        if (seats != null) {
+            offer(subscriber, new Message(SEATS_EVENT, seats));
+        } else {
+            // The next tick reads it once for everyone who subscribed in the meantime
+            dirty.add(courseId);
+        }
+        return Optional.of(emitter);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentAuditEvent event) {
+        if (!subscribers.containsKey(event.courseId())) {
+            return;
+        }
+        if (event.action() != AuditEntry.Action.GRADE_CHANGED) {
+            dirty.add(event.courseId());
+        }
+        pendingRoster.computeIfAbsent(event.courseId(), id -> new ConcurrentLinkedQueue<>()).add(event);
+    }
+
+    // Capacity changes and deletions arrive as course cache invalidations
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CacheInvalidationEvent event) {
+        if (!CacheConfig.COURSES.equals(event.cache())) {
+            return;
+        }
+        if (event.key() == null) {
+            dirty.addAll(subscribers.keySet());
+        } else {
+            Long courseId = Long.valueOf(event.key());
+            if (subscribers.containsKey(courseId)) {
+                dirty.add(courseId);
+            }
+        }
+    }
+
+    int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    void tick() {
+        try {
+            long now = System.nanoTime();
+            Set<Long> courses = new HashSet<>();
+            if (now - nextRefresh >= 0) {
+                courses.addAll(subscribers.keySet());
+                nextRefresh = now + refreshIntervalNanos;
+            }
+            for (Iterator<Long> it = dirty.iterator(); it.hasNext(); ) {
+                courses.add(it.next());
+                it.remove();
+            }
+            courses.retainAll(subscribers.keySet());
+            if (!courses.isEmpty()) {
+                publishSeats(courses);
+            }
+            publishRoster();
+            if (now - nextHeartbeat >= 0) {
+                nextHeartbeat = now + heartbeatNanos;
+                subscribers.values().forEach(set -> set.forEach(subscriber -> offer(subscriber, Message.HEARTBEAT)));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Publishing course events failed", e);
+        }
+    }
+
+    private void publishSeats(Set<Long> courses) {
+        refreshes.increment();
+        Map<Long, Integer> capacities = new HashMap<>();
+        for (Object[] row : courseRepository.findCapacities(courses)) {
+            capacities.put((Long) row[0], (Integer) row[1]);
+        }
+        Map<Long, Long> enrolled = new HashMap<>();
+        for (Object[] row : enrollmentRepository.countByCourseIdInAndStatusNot(courses, Enrollment.EnrollmentStatus.DROPPED)) {
+            enrolled.put((Long) row[0], (Long) row[1]);
+        }
+        for (Long courseId : courses) {
+            if (!capacities.containsKey(courseId)) {
+                // Deleted: nothing more will happen on this stream
+                closeCourse(courseId);
+                continue;
+            }
+            Integer capacity = capacities.get(courseId);
+            long count = enrolled.getOrDefault(courseId, 0L);
+            SeatCountDTO seats = new SeatCountDTO(courseId, count, capacity,
+                    capacity == null ? null : (int) Math.max(0, capacity - count));
+            if (!seats.equals(lastSeats.put(courseId, seats))) {
+                broadcast(courseId, new Message(SEATS_EVENT, seats), false);
+            }
+        }
+    }
+
+    private void publishRoster() {
+        Map<Long, List<EnrollmentAuditEvent>> changes = new HashMap<>();
+        Set<Long> studentIds = new HashSet<>();
+        pendingRoster.forEach((courseId, queue) -> {
+            List<EnrollmentAuditEvent> drained = new ArrayList<>();
+            EnrollmentAuditEvent event;
+            while ((event = queue.poll()) != null) {
+                drained.add(event);
+            }
+            if (!drained.isEmpty()) {
+                changes.put(courseId, drained);
+                if (drained.size() <= MAX_ROSTER_BATCH) {
+                    drained.forEach(change -> studentIds.add(change.studentId()));
+                }
+            }
+        });
+        if (changes.isEmpty()) {
+            return;
+        }
+        Map<Long, String> names = new HashMap<>();
+        if (!studentIds.isEmpty()) {
+            for (Object[] row : userRepository.findFullNames(studentIds)) {
+                names.put((Long) row[0], (String) row[1]);
+            }
+        }
+        changes.forEach((courseId, drained) -> {
+            if (drained.size() > MAX_ROSTER_BATCH) {
+                broadcast(courseId, new Message(ROSTER_RESET_EVENT, Map.of("courseId", courseId)), true);
+                return;
+            }
+            List<RosterChangeDTO> roster = drained.stream()
+                    .map(change -> new RosterChangeDTO(change.enrollmentId(), change.studentId(),
+                            names.get(change.studentId()), change.action(), change.detail()))
+                    .toList();
+            broadcast(courseId, new Message(ROSTER_EVENT, roster), true);
+        });
+    }
+
+    private void broadcast(Long courseId, Message message, boolean rosterOnly) {
+        Set<Subscriber> course = subscribers.get(courseId);
+        if (course == null) {
+            return;
+        }
+        for (Subscriber subscriber : course) {
+            if (!rosterOnly || subscriber.includeRoster) {
+                offer(subscriber, message);
+            }
+        }
+    }
+
+    private void offer(Subscriber subscriber, Message message) {
+        if (!subscriber.enqueue(message, queueCapacity)) {
+            dropped.increment();
+            log.debug("Disconnecting a slow course {} event subscriber", subscriber.courseId);
+            remove(subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            try {
+                Message message;
+                while (!subscriber.removed.get() && (message = subscriber.poll()) != null) {
+                    subscriber.emitter.send(message.toEvent());
+                    sent.computeIfAbsent(message.name(), name ->
+                            meterRegistry.counter("course_events.sent", "event", name)).increment();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away, or the emitter already completed
+                remove(subscriber);
+            } finally {
+                subscriber.scheduled.set(false);
+            }
+            // Something may have been queued after the last poll but before the flag was cleared
+        } while (!subscriber.removed.get() && subscriber.hasPending() && subscriber.scheduled.compareAndSet(false, true));
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.removed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.courseId, (id, set) -> {
+            set.remove(subscriber);
+            if (set.isEmpty()) {
+                lastSeats.remove(id);
+                pendingRoster.remove(id);
+                return null;
+            }
+            return set;
+        });
+    }
+
+    private void closeCourse(Long courseId) {
+        Set<Subscriber> course = subscribers.get(courseId);
+        if (course != null) {
+            for (Subscriber subscriber : List.copyOf(course)) {
+                remove(subscriber);
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    private static ExecutorService newSenderPool(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "course-events-sender-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    record Message(String name, Object data) {
+
+        static final Message HEARTBEAT = new Message("heartbeat", null);
+
+        // Only the newest of these matters to a client, so a queued one is replaced
+        boolean replaceable() {
+            return SEATS_EVENT.equals(name) || data == null;
+        }
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (data == null) {
+                return SseEmitter.event().comment("keepalive");
+            }
+            return SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final Long courseId;
+        private final boolean includeRoster;
+        private final SseEmitter emitter;
+        private final ArrayDeque<Message> queue = new ArrayDeque<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+
+        Subscriber(Long courseId, boolean includeRoster, SseEmitter emitter) {
+            this.courseId = courseId;
+            this.includeRoster = includeRoster;
+            this.emitter = emitter;
+        }
+
+        synchronized boolean enqueue(Message message, int capacity) {
+            if (message.replaceable()) {
+                queue.removeIf(queued -> queued.name().equals(message.name()));
+            }
+            if (queue.size() >= capacity) {
+                return false;
+            }
+            queue.add(message);
+            return true;
+        }
+
+        synchronized Message poll() {
+            return queue.poll();
+        }
+
+        synchronized boolean hasPending() {
+            return !queue.isEmpty();
+        }
+    }
+}
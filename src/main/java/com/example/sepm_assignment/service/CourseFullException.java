@@ -0,0 +1,12 @@
+package com.example.sepm_assignment.service;
+
+/**
+ * Thrown when a course has no free seat, or students are already waiting for one.
+ * Controllers answer it by putting the student on the course's waitlist.
+ */
+public class CourseFullException extends RuntimeException {
+
+    public CourseFullException() {
+        super("Course is full");
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.sepm_assignment.service;
 
+import com.example.sepm_assignment.config.CacheConfig;
+import com.example.sepm_assignment.config.SingleFlight;
 import com.example.sepm_assignment.dto.CourseDTO;
 import com.example.sepm_assignment.model.Course;
 import com.example.sepm_assignment.model.User;
@@ -7,6 +9,8 @@ import com.example.sepm_assignment.repository.CourseRepository;
 import com.example.sepm_assignment.repository.EnrollmentRepository;
 import com.example.sepm_assignment.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +24,8 @@ public class CourseService {
     private final CourseRepository courseRepository;
     private final UserRepository userRepository;
     private final EnrollmentRepository enrollmentRepository;
+    private final TermService termService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public CourseDTO createCourse(CourseDTO courseDTO) {
@@ -32,9 +38,13 @@ public class CourseService {
         course.setCourseName(courseDTO.getCourseName());
         course.setDescription(courseDTO.getDescription());
         course.setCredits(courseDTO.getCredits());
+        course.setCapacity(courseDTO.getCapacity());
+        course.setTerm(courseDTO.getTerm() == null || courseDTO.getTerm().isBlank()
+                ? termService.currentTerm() : TermService.normalize(courseDTO.getTerm()));
 
         if (courseDTO.getTeacherId() != null) {
             User teacher = userRepository.findById(courseDTO.getTeacherId())
+                    .filter(user -> !user.isDeleted())
                     .orElseThrow(() -> new RuntimeException("Teacher not found"));
             if (teacher.getRole() != User.Role.TEACHER) {
                 throw new RuntimeException("User is not a teacher");
@@ -43,21 +53,32 @@ public class CourseService {
         }
 
         Course savedCourse = courseRepository.save(course);
+        eventPublisher.publishEvent(CacheInvalidationEvent.all(CacheConfig.COURSE_LIST));
         return convertToDTO(savedCourse);
     }
 
+    // A course linked in an announcement gets thousands of identical concurrent reads
+    @SingleFlight
+    @Cacheable(cacheNames = CacheConfig.COURSES, sync = true)
+    @Transactional(readOnly = true)
     public CourseDTO getCourseById(Long id) {
         Course course = courseRepository.findById(id)
+                .filter(found -> !found.isClosed())
                 .orElseThrow(() -> new RuntimeException("Course not found"));
         return convertToDTO(course);
     }
 
+    @SingleFlight
+    @Cacheable(cacheNames = CacheConfig.COURSE_LIST, key = "'all'", sync = true)
+    @Transactional(readOnly = true)
     public List<CourseDTO> getAllCourses() {
         return courseRepository.findAll().stream()
+                .filter(course -> !course.isClosed())
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<CourseDTO> getCoursesByTeacher(Long teacherId) {
         return courseRepository.findByTeacherId(teacherId).stream()
                 .map(this::convertToDTO)
@@ -72,14 +93,29 @@ public class CourseService {
         course.setCourseName(courseDTO.getCourseName());
         course.setDescription(courseDTO.getDescription());
         course.setCredits(courseDTO.getCredits());
+        Integer previousCapacity = course.getCapacity();
+        course.setCapacity(courseDTO.getCapacity());
+        if (courseDTO.getTerm() != null && !courseDTO.getTerm().isBlank()) {
+            String term = TermService.normalize(courseDTO.getTerm());
+            // Enrollments carry the term as their partition key, so it is fixed once students enroll
+            if (!term.equals(course.getTerm()) && enrollmentRepository.existsByCourseIdAndTerm(id, course.getTerm())) {
+                throw new IllegalStateException("Cannot change the term of a course with enrollments");
+            }
+            course.setTerm(term);
+        }
 
         if (courseDTO.getTeacherId() != null) {
             User teacher = userRepository.findById(courseDTO.getTeacherId())
+                    .filter(user -> !user.isDeleted())
                     .orElseThrow(() -> new RuntimeException("Teacher not found"));
             course.setTeacher(teacher);
         }
 
         Course updatedCourse = courseRepository.save(course);
+        publishCourseChanged(id);
+        if (previousCapacity != null && (course.getCapacity() == null || course.getCapacity() > previousCapacity)) {
+            eventPublisher.publishEvent(new SeatReleasedEvent(id));
+        }
         return convertToDTO(updatedCourse);
     }
 
@@ -89,26 +125,37 @@ public class CourseService {
                 .orElseThrow(() -> new RuntimeException("Course not found with id: " + id));
 
         // Get enrollment count before deletion for logging
-        List<com.example.sepm_assignment.model.Enrollment> enrollments = enrollmentRepository.findByCourseId(id);
+        List<com.example.sepm_assignment.model.Enrollment> enrollments = enrollmentRepository.findByCourseIdAndTerm(id, course.getTerm());
         int enrollmentCount = enrollments.size();
 
         // Explicitly delete all enrollments for this course first
-        enrollmentRepository.deleteByCourseId(id);
+        enrollmentRepository.deleteByCourseIdAndTerm(id, course.getTerm());
 
         // Now delete the course (no foreign key constraint violation)
         courseRepository.delete(course);
+        publishCourseChanged(id);
 
         // Log for debugging
         System.out.println("Deleted course: " + course.getCourseName() + " (ID: " + id + ") and " + enrollmentCount + " enrollment(s)");
     }
 
-    private CourseDTO convertToDTO(Course course) {
+    // Enrollment lists carry the course name, so they are cleared along with the catalog
+    private void publishCourseChanged(Long id) {
+        eventPublisher.publishEvent(CacheInvalidationEvent.of(CacheConfig.COURSES, id));
+        eventPublisher.publishEvent(CacheInvalidationEvent.all(CacheConfig.COURSE_LIST));
+        eventPublisher.publishEvent(CacheInvalidationEvent.all(CacheConfig.STUDENT_ENROLLMENTS));
+    }
+
+    // Package-private so the mapping can be benchmarked in isolation
+    CourseDTO convertToDTO(Course course) {
         CourseDTO dto = new CourseDTO();
         dto.setId(course.getId());
         dto.setCourseCode(course.getCourseCode());
         dto.setCourseName(course.getCourseName());
         dto.setDescription(course.getDescription());
         dto.setCredits(course.getCredits());
+        dto.setCapacity(course.getCapacity());
+        dto.setTerm(course.getTerm());
         if (course.getTeacher() != null) {
             dto.setTeacherId(course.getTeacher().getId());
             dto.setTeacherName(course.getTeacher().getFullName());
@@ -0,0 +1,29 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.model.AuditEntry;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Published by the enrollment services for every change that belongs in the audit trail.
+ * {@link AuditLog} buffers it once the publishing transaction has committed.
+ * <p>
+ * The actor is taken when the event is created, so a listener on another thread still records
+ * who made the change; without an authenticated user it is {@value #SYSTEM_ACTOR}.
+ */
+public record EnrollmentAuditEvent(AuditEntry.Action action, Long enrollmentId, Long studentId, Long courseId,
+                                   String detail, String actor) {
+
+    public static final String SYSTEM_ACTOR = "system";
+
+    /** An event acting as the calling thread's user. */
+    public EnrollmentAuditEvent(AuditEntry.Action action, Long enrollmentId, Long studentId, Long courseId,
+                                String detail) {
+        this(action, enrollmentId, studentId, courseId, detail,
+                actorOf(SecurityContextHolder.getContext().getAuthentication()));
+    }
+
+    static String actorOf(Authentication authentication) {
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : SYSTEM_ACTOR;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.config.CacheConfig;
+import com.example.sepm_assignment.dto.EnrollmentDTO;
+import com.example.sepm_assignment.dto.EnrollmentUpdateRequest;
+import com.example.sepm_assignment.dto.EnrollmentUpdateResult;
+import com.example.sepm_assignment.model.AuditEntry;
+import com.example.sepm_assignment.model.Enrollment;
+import com.example.sepm_assignment.repository.ChangeLogRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies many grade and status changes in one transaction, e.g. a teacher grading a whole
+ * class. The enrollments are locked, then read with one query and written with one JDBC batch
+ * of UPDATEs, plus one statement for their change feed entries. Each UPDATE sets only the
+ * columns its operations changed, so a concurrent drop or grade is never written back over. An operation naming a missing enrollment,
+ * or changing nothing, fails on its own; the others are still applied. Audit entries, cache
+ * invalidations and waitlist promotions follow as for single updates.
+ */
+@Service
+@RequiredArgsConstructor
+public class EnrollmentBatchService {
+
+    static final int MAX_OPERATIONS = 1000;
+
+    // A null parameter keeps the column; the term lets PostgreSQL go straight to the partition
+    private static final String UPDATE_SQL = "UPDATE enrollments SET grade = COALESCE(?, grade), "
+            + "status = COALESCE(?, status), updated_at = ? WHERE id = ? AND term = ?";
+    // Enrollments from before terms were introduced
+    private static final String UPDATE_WITHOUT_TERM_SQL = "UPDATE enrollments SET grade = COALESCE(?, grade), "
+            + "status = COALESCE(?, status), updated_at = ? WHERE id = ? AND term IS NULL";
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final ChangeLogRepository changeLogRepository;
+    private final EnrollmentService enrollmentService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public List<EnrollmentUpdateResult> updateEnrollments(List<EnrollmentUpdateRequest> operations) {
+        if (operations.size() > MAX_OPERATIONS) {
+            throw new IllegalArgumentException("At most " + MAX_OPERATIONS + " operations per batch");
+        }
+        Set<Long> ids = operations.stream()
+                .map(EnrollmentUpdateRequest::getEnrollmentId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (!ids.isEmpty()) {
+            // What is read next stays current until commit
+            enrollmentRepository.lockByIdIn(ids);
+        }
+        Map<Long, Enrollment> enrollments = ids.isEmpty() ? Map.of() : enrollmentRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Enrollment::getId, Function.identity()));
+
+        // The loaded entities are left untouched; later operations on an id see earlier ones
+        Map<Long, Pending> pending = new LinkedHashMap<>();
+        List<EnrollmentUpdateResult> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            EnrollmentUpdateRequest operation = operations.get(i);
+            Long id = operation.getEnrollmentId();
+            Enrollment enrollment = id == null ? null : enrollments.get(id);
+            if (enrollment == null) {
+                results.add(new EnrollmentUpdateResult(i, id, false, "Enrollment not found", null));
+                continue;
+            }
+            if (operation.getGrade() == null && operation.getStatus() == null) {
+                results.add(new EnrollmentUpdateResult(i, enrollment.getId(), false, "Nothing to update", null));
+                continue;
+            }
+            Pending state = pending.computeIfAbsent(id, key -> new Pending(enrollment));
+            if (operation.getGrade() != null) {
+                audit(AuditEntry.Action.GRADE_CHANGED, enrollment, state.grade + " -> " + operation.getGrade());
+                state.grade = operation.getGrade();
+                state.gradeChanged = true;
+            }
+            if (operation.getStatus() != null) {
+                audit(AuditEntry.Action.STATUS_CHANGED, enrollment, state.status + " -> " + operation.getStatus());
+                state.status = operation.getStatus();
+                state.statusChanged = true;
+            }
+            results.add(new EnrollmentUpdateResult(i, enrollment.getId(), true, null, null));
+        }
+        if (pending.isEmpty()) {
+            return results;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        List<Object[]> rowsWithoutTerm = new ArrayList<>();
+        for (Pending state : pending.values()) {
+            Object grade = state.gradeChanged ? state.grade : null;
+            Object status = state.statusChanged ? state.status.name() : null;
+            String term = state.enrollment.getTerm();
+            if (term != null) {
+                rows.add(new Object[]{grade, status, now, state.enrollment.getId(), term});
+            } else {
+                rowsWithoutTerm.add(new Object[]{grade, status, now, state.enrollment.getId()});
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, rows);
+        }
+        if (!rowsWithoutTerm.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_WITHOUT_TERM_SQL, rowsWithoutTerm);
+        }
+        changeLogRepository.recordEnrollmentsUpserted(pending.keySet(), now);
+
+        // One invalidation per student and one promotion run per course, however many operations
+        Set<Long> students = new HashSet<>();
+        Set<Long> coursesWithFreedSeats = new HashSet<>();
+        for (Pending state : pending.values()) {
+            students.add(state.enrollment.getStudent().getId());
+            if (state.status == Enrollment.EnrollmentStatus.DROPPED
+                    && state.enrollment.getStatus() != Enrollment.EnrollmentStatus.DROPPED) {
+                coursesWithFreedSeats.add(state.enrollment.getCourse().getId());
+            }
+        }
+        students.forEach(studentId -> eventPublisher.publishEvent(
+                CacheInvalidationEvent.of(CacheConfig.STUDENT_ENROLLMENTS, studentId)));
+        coursesWithFreedSeats.forEach(courseId -> eventPublisher.publishEvent(new SeatReleasedEvent(courseId)));
+
+        for (EnrollmentUpdateResult result : results) {
+            if (result.isSuccess()) {
+                result.setEnrollment(pending.get(result.getEnrollmentId()).toDTO());
+            }
+        }
+        return results;
+    }
+
+    private void audit(AuditEntry.Action action, Enrollment enrollment, String detail) {
+        eventPublisher.publishEvent(new EnrollmentAuditEvent(action, enrollment.getId(),
+                enrollment.getStudent().getId(), enrollment.getCourse().getId(), detail));
+    }
+
+    private final class Pending {
+        private final Enrollment enrollment;
+        private Double grade;
+        private Enrollment.EnrollmentStatus status;
+        private boolean gradeChanged;
+        private boolean statusChanged;
+
+        private Pending(Enrollment enrollment) {
+            this.enrollment = enrollment;
+            this.grade = enrollment.getGrade();
+            this.status = enrollment.getStatus();
+        }
+
+        private EnrollmentDTO toDTO() {
+            EnrollmentDTO dto = enrollmentService.convertToDTO(enrollment);
+            dto.setGrade(grade);
+            dto.setStatus(status);
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.config.CacheConfig;
+import com.example.sepm_assignment.dto.EnrollmentDTO;
+import com.example.sepm_assignment.model.AuditEntry;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Enrollment;
+import com.example.sepm_assignment.model.User;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import com.example.sepm_assignment.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Registration-rush mode for enrollments.
+ * <p>
+ * When {@code app.enrollment.group-commit.enabled} is set, enrollment requests are queued and
+ * a few worker threads commit them in micro-batches: up to {@code max-batch-size} requests, or
+ * whatever arrived within {@code max-wait} of the first one, in a single transaction. Lookups
+ * and duplicate checks run once per batch, and each caller waits for its own outcome, which
+ * carries the same errors {@link EnrollmentService#enrollStudent} would throw, including
+ * {@link CourseFullException}. If a batch hits a constraint (a pair enrolled concurrently
+ * elsewhere), its requests are retried one by one.
+ * <p>
+ * When the mode is off, or the queue is full, requests go straight to
+ * {@link EnrollmentService#enrollStudent} on the caller's thread.
+ */
+@Service
+@Slf4j
+public class EnrollmentGroupCommitter {
+
+    private final EnrollmentService enrollmentService;
+    private final EnrollmentRepository enrollmentRepository;
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final WaitlistService waitlistService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final long callerTimeoutMillis;
+    private final int workerCount;
+    private final BlockingQueue<PendingEnrollment> queue;
+    private final DistributionSummary batchSizes;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    public EnrollmentGroupCommitter(EnrollmentService enrollmentService,
+                                    EnrollmentRepository enrollmentRepository,
+                                    UserRepository userRepository,
+                                    CourseRepository courseRepository,
+                                    WaitlistService waitlistService,
+                                    TransactionTemplate transactionTemplate,
+                                    ApplicationEventPublisher eventPublisher,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.enrollment.group-commit.enabled:false}") boolean enabled,
+                                    @Value("${app.enrollment.group-commit.max-batch-size:64}") int maxBatchSize,
+                                    @Value("${app.enrollment.group-commit.max-wait:5ms}") Duration maxWait,
+                                    @Value("${app.enrollment.group-commit.workers:2}") int workerCount,
+                                    @Value("${app.enrollment.group-commit.queue-capacity:10000}") int queueCapacity,
+                                    @Value("${app.enrollment.group-commit.caller-timeout:30s}") Duration callerTimeout) {
+        this.enrollmentService = enrollmentService;
+        this.enrollmentRepository = enrollmentRepository;
+        this.userRepository = userRepository;
+        this.courseRepository = courseRepository;
+        this.waitlistService = waitlistService;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.workerCount = workerCount;
+        this.callerTimeoutMillis = callerTimeout.toMillis();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSizes = DistributionSummary.builder("enrollment.group_commit.batch_size")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        meterRegistry.gauge("enrollment.group_commit.queued", queue, BlockingQueue::size);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::runWorker, "enrollment-commit-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        log.info("Enrollment group commit enabled: {} workers, batches of up to {} or {} ms",
+                workerCount, maxBatchSize, TimeUnit.NANOSECONDS.toMillis(maxWaitNanos));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        List<PendingEnrollment> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(pending -> pending.result().completeExceptionally(
+                new RuntimeException("Enrollment was not processed: the server is shutting down")));
+    }
+
+    public EnrollmentDTO enroll(Long studentId, Long courseId) {
+        if (!running || studentId == null || courseId == null) {
+            return enrollmentService.enrollStudent(studentId, courseId);
+        }
+        PendingEnrollment pending = new PendingEnrollment(studentId, courseId,
+                SecurityContextHolder.getContext(), new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            // Backlog is full: commit on the caller's thread rather than drop the request
+            return enrollmentService.enrollStudent(studentId, courseId);
+        }
+        try {
+            return pending.result().get(callerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("Timed out waiting for the enrollment to be committed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the enrollment to be committed");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private void runWorker() {
+        List<PendingEnrollment> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                PendingEnrollment first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    PendingEnrollment next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(pending -> pending.result().completeExceptionally(
+                        new RuntimeException("Enrollment was not processed: the server is shutting down")));
+                return;
+            } catch (RuntimeException e) {
+                log.error("Enrollment batch of {} failed", batch.size(), e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Package-private so tests can drive a batch without the worker threads
+    void commit(List<PendingEnrollment> batch) {
+        batchSizes.record(batch.size());
+        List<Outcome> outcomes;
+        try {
+            outcomes = transactionTemplate.execute(status -> enrollAll(batch));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Enrollment batch of {} hit a constraint, retrying one by one", batch.size());
+            for (PendingEnrollment pending : batch) {
+                // As the submitting user, so the audit trail names them
+                SecurityContextHolder.setContext(pending.securityContext());
+                try {
+                    pending.result().complete(enrollmentService.enrollStudent(pending.studentId(), pending.courseId()));
+                } catch (RuntimeException single) {
+                    pending.result().completeExceptionally(single);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            }
+            return;
+        }
+        // Completed only after the transaction has committed
+        for (int i = 0; i < batch.size(); i++) {
+            Outcome outcome = outcomes.get(i);
+            if (outcome.error() != null) {
+                batch.get(i).result().completeExceptionally(outcome.error());
+            } else {
+                batch.get(i).result().complete(outcome.enrollment());
+            }
+        }
+    }
+
+    // Same checks, in the same order, as EnrollmentService.enrollStudent, with one query per kind
+    private List<Outcome> enrollAll(List<PendingEnrollment> batch) {
+        Set<Long> studentIds = batch.stream().map(PendingEnrollment::studentId).collect(Collectors.toSet());
+        Set<Long> courseIds = batch.stream().map(PendingEnrollment::courseId).collect(Collectors.toSet());
+        Map<Long, User> students = userRepository.findAllById(studentIds).stream()
+                .filter(user -> !user.isDeleted())
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, Course> courses = courseRepository.findByIdIn(courseIds).stream()
+                .filter(course -> !course.isClosed())
+                .collect(Collectors.toMap(Course::getId, Function.identity()));
+        Set<List<Long>> enrolled = new HashSet<>();
+        for (Object[] pair : enrollmentRepository.findStudentCoursePairs(studentIds, courseIds)) {
+            enrolled.add(List.of((Long) pair[0], (Long) pair[1]));
+        }
+        Map<Long, Long> freeSeats = freeSeats(courses.values());
+
+        List<Outcome> outcomes = new ArrayList<>(batch.size());
+        List<Enrollment> created = new ArrayList<>(batch.size());
+        List<String> actors = new ArrayList<>(batch.size());
+        for (PendingEnrollment pending : batch) {
+            User student = students.get(pending.studentId());
+            Course course = courses.get(pending.courseId());
+            List<Long> pair = List.of(pending.studentId(), pending.courseId());
+            RuntimeException error = null;
+            if (course == null) {
+                error = new RuntimeException("Course not found");
+            } else if (enrolled.contains(pair)) {
+                error = new RuntimeException("Student already enrolled in this course");
+            } else if (student == null) {
+                error = new RuntimeException("Student not found");
+            } else if (student.getRole() != User.Role.STUDENT) {
+                error = new RuntimeException("User is not a student");
+            } else if (freeSeats.containsKey(course.getId()) && freeSeats.merge(course.getId(), -1L, Long::sum) < 0) {
+                error = new CourseFullException();
+            }
+            if (error != null) {
+                outcomes.add(new Outcome(null, error));
+                continue;
+            }
+            Enrollment enrollment = new Enrollment();
+            enrollment.setStudent(student);
+            enrollment.setCourse(course);
+            enrollment.setStatus(Enrollment.EnrollmentStatus.ACTIVE);
+            created.add(enrollment);
+            // Only an accepted request makes a later copy in the batch a duplicate
+            enrolled.add(pair);
+            actors.add(EnrollmentAuditEvent.actorOf(pending.securityContext().getAuthentication()));
+            outcomes.add(new Outcome(null, null));
+        }
+
+        enrollmentRepository.saveAllAndFlush(created);
+        for (int i = 0; i < created.size(); i++) {
+            Enrollment enrollment = created.get(i);
+            eventPublisher.publishEvent(new EnrollmentAuditEvent(AuditEntry.Action.ENROLLED, enrollment.getId(),
+                    enrollment.getStudent().getId(), enrollment.getCourse().getId(), null, actors.get(i)));
+            eventPublisher.publishEvent(CacheInvalidationEvent.of(CacheConfig.STUDENT_ENROLLMENTS,
+                    enrollment.getStudent().getId()));
+        }
+        int next = 0;
+        for (int i = 0; i < outcomes.size(); i++) {
+            if (outcomes.get(i).error() == null) {
+                outcomes.set(i, new Outcome(enrollmentService.convertToDTO(created.get(next++)), null));
+            }
+        }
+        return outcomes;
+    }
+
+    // Locks the courses that have a capacity, in id order so workers can't deadlock, and counts their seats
+    private Map<Long, Long> freeSeats(Collection<Course> courses) {
+        List<Course> limited = courses.stream()
+                .filter(course -> course.getCapacity() != null)
+                .sorted(Comparator.comparing(Course::getId))
+                .toList();
+        if (limited.isEmpty()) {
+            return Map.of();
+        }
+        limited.forEach(course -> courseRepository.findByIdForUpdate(course.getId()));
+        Map<Long, Long> taken = new HashMap<>();
+        for (Object[] count : enrollmentRepository.countByCourseIdInAndStatusNot(
+                limited.stream().map(Course::getId).toList(), Enrollment.EnrollmentStatus.DROPPED)) {
+            taken.put((Long) count[0], (Long) count[1]);
+        }
+        Set<Long> waited = waitlistService.coursesWithWaitingStudents(limited.stream().map(Course::getId).toList());
+        Map<Long, Long> free = new HashMap<>();
+        for (Course course : limited) {
+            // Students already waiting keep their turn
+            free.put(course.getId(), waited.contains(course.getId())
+                    ? 0L : course.getCapacity() - taken.getOrDefault(course.getId(), 0L));
+        }
+        return free;
+    }
+
+    // The submitter's security context, since the batch is committed on a worker thread
+    record PendingEnrollment(Long studentId, Long courseId, SecurityContext securityContext,
+                             CompletableFuture<EnrollmentDTO> result) {
+    }
+
+    private record Outcome(EnrollmentDTO enrollment, RuntimeException error) {
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.dto.EnrollmentPartitionDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps {@code enrollments} list-partitioned by term on PostgreSQL, so queries that name a
+ * term read only that term's partition, and old terms can be moved to cheaper storage or
+ * detached.
+ * <p>
+ * Hibernate creates {@code enrollments} as a plain table. Converting it is an explicit step,
+ * {@link #convert()}, run by an admin or at startup with {@code app.partitioning.convert-on-startup},
+ * because it copies every enrollment under an ACCESS EXCLUSIVE lock and so belongs in a
+ * maintenance window. It runs in one transaction: the plain table is renamed, a partitioned
+ * table with primary key (id, term) takes its name, with one partition per term found plus a
+ * default partition, and the rows are copied over. Checks every
+ * {@code app.partitioning.check-interval-ms} never convert; once the table is partitioned they
+ * give the current term a partition, and any term whose enrollments sit in the default
+ * partition (e.g. a new course's term). Rows parked there move into the new partition. All DDL
+ * runs under an advisory lock, so only one node does it. Other databases, like H2 in tests,
+ * keep the plain table.
+ */
+@Service
+@Slf4j
+public class EnrollmentPartitionService {
+
+    static final String DEFAULT_PARTITION = "enrollments_default";
+
+    private static final String UNPARTITIONED = "enrollments_unpartitioned";
+    private static final String SEQUENCE = "enrollments_partitioned_id_seq";
+    // Same name as the unique constraint mapped on Enrollment
+    private static final String UNIQUE_KEY = "uk_enrollments_student_course_term";
+    private static final long LOCK_KEY = 4_812_020_048L;
+    private static final Pattern TABLESPACE = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    private static final String PARTITIONS_SQL = "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid), "
+            + "GREATEST(c.reltuples, 0)::bigint, pg_total_relation_size(c.oid), COALESCE(t.spcname, 'pg_default') "
+            + "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+            + "LEFT JOIN pg_tablespace t ON t.oid = c.reltablespace "
+            + "WHERE i.inhparent = to_regclass('enrollments') ORDER BY c.relname";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TermService termService;
+    private final boolean enabled;
+    private final boolean convertOnStartup;
+    private volatile Boolean postgres;
+    private volatile boolean warnedUnpartitioned;
+
+    @Autowired
+    public EnrollmentPartitionService(JdbcTemplate jdbcTemplate,
+                                      TransactionTemplate transactionTemplate,
+                                      TermService termService,
+                                      @Value("${app.partitioning.enabled:true}") boolean enabled,
+                                      @Value("${app.partitioning.convert-on-startup:false}") boolean convertOnStartup) {
+        this(jdbcTemplate, transactionTemplate, termService, enabled, convertOnStartup, null);
+    }
+
+    EnrollmentPartitionService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                               TermService termService, boolean enabled, boolean convertOnStartup, Boolean postgres) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.termService = termService;
+        this.enabled = enabled;
+        this.convertOnStartup = convertOnStartup;
+        this.postgres = postgres;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void convertOnStartup() {
+        if (convertOnStartup && isActive() && "r".equals(relkind())) {
+            convert();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.partitioning.check-interval-ms:600000}")
+    public void maintain() {
+        if (!isActive()) {
+            return;
+        }
+        String kind = relkind();
+        if (kind == null) {
+            return;
+        }
+        if ("r".equals(kind)) {
+            if (!warnedUnpartitioned) {
+                warnedUnpartitioned = true;
+                log.warn("enrollments is not partitioned by term; convert it in a maintenance window with "
+                        + "POST /api/admin/enrollment-partitions/convert or app.partitioning.convert-on-startup=true");
+            }
+            return;
+        }
+        Set<String> terms = new TreeSet<>(jdbcTemplate.queryForList(
+                "SELECT DISTINCT term FROM " + DEFAULT_PARTITION, String.class));
+        terms.add(termService.currentTerm());
+        Set<String> existing = partitionNames();
+        for (String term : terms) {
+            if (!isValid(term) || existing.contains(partitionName(term))) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> addPartition(term));
+            } catch (DataAccessException e) {
+                log.warn("Could not add an enrollment partition for term {}: {}", term, e.getMessage());
+            }
+        }
+    }
+
+    public List<EnrollmentPartitionDTO> getPartitions() {
+        if (!isActive()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(PARTITIONS_SQL, (rs, rowNum) -> new EnrollmentPartitionDTO(
+                rs.getString(1), rs.getString(2), rs.getLong(3), rs.getLong(4), rs.getString(5)));
+    }
+
+    /**
+     * Moves a past term's partition to another tablespace, detaches it from {@code enrollments},
+     * or both. A detached partition keeps its rows as a standalone table named
+     * {@code <partition>_detached}; the application no longer sees them.
+     */
+    public List<EnrollmentPartitionDTO> archive(String term, String tablespace, boolean detach) {
+        if (!isActive()) {
+            throw new IllegalStateException("Enrollment partitioning needs PostgreSQL");
+        }
+        String normalized = TermService.normalize(term);
+        if (normalized.equals(termService.currentTerm())) {
+            throw new IllegalStateException("The current term can't be archived");
+        }
+        if (tablespace != null && !TABLESPACE.matcher(tablespace).matches()) {
+            throw new IllegalArgumentException("Invalid tablespace name");
+        }
+        if (tablespace == null && !detach) {
+            throw new IllegalArgumentException("Give a tablespace, detach=true, or both");
+        }
+        String name = partitionName(normalized);
+        transactionTemplate.executeWithoutResult(status -> {
+            lock();
+            if (!partitionNames().contains(name)) {
+                throw new IllegalArgumentException("No enrollment partition for term " + normalized);
+            }
+            if (tablespace != null) {
+                jdbcTemplate.execute("ALTER TABLE " + name + " SET TABLESPACE " + tablespace);
+            }
+            if (detach) {
+                jdbcTemplate.execute("ALTER TABLE enrollments DETACH PARTITION " + name);
+                // Frees the name, so enrollments added to the term later get a fresh partition
+                jdbcTemplate.execute("ALTER TABLE " + name + " RENAME TO " + name + "_detached");
+            }
+        });
+        log.info("Archived enrollment partition {} (tablespace {}, detached {})", name, tablespace, detach);
+        return getPartitions();
+    }
+
+    /**
+     * Converts the plain {@code enrollments} table into term partitions and gives the current
+     * term a partition. Enrollment reads and writes block until it commits, so run it in a
+     * maintenance window.
+     */
+    public List<EnrollmentPartitionDTO> convert() {
+        if (!isActive()) {
+            throw new IllegalStateException("Enrollment partitioning needs PostgreSQL");
+        }
+        if (!"r".equals(relkind())) {
+            throw new IllegalStateException("Enrollments are already partitioned");
+        }
+        transactionTemplate.executeWithoutResult(status -> convertTable());
+        maintain();
+        return getPartitions();
+    }
+
+    private void convertTable() {
+        lock();
+        // Another node may have converted it while this one waited for the lock
+        if (!"r".equals(relkind())) {
+            return;
+        }
+        long start = System.nanoTime();
+        jdbcTemplate.update("UPDATE courses SET term = ? WHERE term IS NULL", termService.currentTerm());
+        jdbcTemplate.update("UPDATE enrollments e SET term = c.term FROM courses c "
+                + "WHERE c.id = e.course_id AND e.term IS NULL");
+        jdbcTemplate.execute("ALTER TABLE enrollments RENAME TO " + UNPARTITIONED);
+        jdbcTemplate.execute("ALTER TABLE " + UNPARTITIONED + " RENAME CONSTRAINT enrollments_pkey TO "
+                + UNPARTITIONED + "_pkey");
+        jdbcTemplate.execute("ALTER TABLE " + UNPARTITIONED + " DROP CONSTRAINT IF EXISTS " + UNIQUE_KEY);
+
+        jdbcTemplate.execute("CREATE TABLE enrollments (LIKE " + UNPARTITIONED + " INCLUDING DEFAULTS) "
+                + "PARTITION BY LIST (term)");
+        jdbcTemplate.execute("ALTER TABLE enrollments ALTER COLUMN term SET NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE enrollments ADD CONSTRAINT enrollments_pkey PRIMARY KEY (id, term)");
+        jdbcTemplate.execute("ALTER TABLE enrollments ADD CONSTRAINT " + UNIQUE_KEY
+                + " UNIQUE (student_id, course_id, term)");
+        jdbcTemplate.execute("CREATE INDEX idx_enrollments_course ON enrollments (course_id)");
+        jdbcTemplate.execute("ALTER TABLE enrollments ADD CONSTRAINT fk_enrollments_student "
+                + "FOREIGN KEY (student_id) REFERENCES users (id)");
+        jdbcTemplate.execute("ALTER TABLE enrollments ADD CONSTRAINT fk_enrollments_course "
+                + "FOREIGN KEY (course_id) REFERENCES courses (id)");
+        // The identity sequence belongs to the old table; partitioned tables take a plain one
+        jdbcTemplate.execute("CREATE SEQUENCE " + SEQUENCE + " OWNED BY enrollments.id");
+        jdbcTemplate.execute("ALTER TABLE enrollments ALTER COLUMN id SET DEFAULT nextval('" + SEQUENCE + "')");
+
+        for (String term : jdbcTemplate.queryForList("SELECT DISTINCT term FROM " + UNPARTITIONED, String.class)) {
+            if (isValid(term)) {
+                jdbcTemplate.execute("CREATE TABLE " + partitionName(term) + " PARTITION OF enrollments "
+                        + "FOR VALUES IN (" + literal(term) + ")");
+            }
+        }
+        jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF enrollments DEFAULT");
+        int rows = jdbcTemplate.update("INSERT INTO enrollments SELECT * FROM " + UNPARTITIONED);
+        jdbcTemplate.queryForList("SELECT setval('" + SEQUENCE + "', COALESCE(MAX(id), 0) + 1, false) FROM enrollments");
+        jdbcTemplate.execute("DROP TABLE " + UNPARTITIONED);
+        log.info("Partitioned enrollments by term: {} rows copied in {} ms", rows, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Built standalone and attached, so rows parked in the default partition can move first
+    private void addPartition(String term) {
+        lock();
+        String name = partitionName(term);
+        if (partitionNames().contains(name)) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE enrollments INCLUDING DEFAULTS)");
+        // The advisory lock doesn't stop application inserts; this does until commit. Reads go on
+        jdbcTemplate.execute("LOCK TABLE " + DEFAULT_PARTITION + " IN EXCLUSIVE MODE");
+        // One statement, so no row can land between a copy and a delete and be lost
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                + " WHERE term = ? RETURNING *) INSERT INTO " + name + " SELECT * FROM moved", term);
+        jdbcTemplate.execute("ALTER TABLE enrollments ATTACH PARTITION " + name + " FOR VALUES IN ("
+                + literal(term) + ")");
+        log.info("Added enrollment partition {} ({} rows moved from the default partition)", name, moved);
+    }
+
+    private boolean isActive() {
+        if (!enabled) {
+            return false;
+        }
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return Boolean.TRUE.equals(postgres);
+    }
+
+    // r = plain table, p = partitioned, null = not created yet
+    private String relkind() {
+        List<String> kinds = jdbcTemplate.queryForList(
+                "SELECT relkind::text FROM pg_class WHERE oid = to_regclass('enrollments')", String.class);
+        return kinds.isEmpty() ? null : kinds.get(0);
+    }
+
+    private Set<String> partitionNames() {
+        return new TreeSet<>(jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i "
+                + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass('enrollments')", String.class));
+    }
+
+    private void lock() {
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", LOCK_KEY);
+    }
+
+    // Terms written by hand may not fit a table name; their rows stay in the default partition
+    private static boolean isValid(String term) {
+        try {
+            return term != null && TermService.normalize(term).equals(term);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    static String partitionName(String term) {
+        return "enrollments_" + term.replace('-', '_');
+    }
+
+    // Term names are validated, so quoting is all a literal needs
+    private static String literal(String term) {
+        return "'" + term.replace("'", "''") + "'";
+    }
+}
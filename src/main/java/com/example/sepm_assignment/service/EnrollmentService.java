@@ -1,6 +1,8 @@
 package com.example.sepm_assignment.service;
 
+import com.example.sepm_assignment.config.CacheConfig;
 import com.example.sepm_assignment.dto.EnrollmentDTO;
+import com.example.sepm_assignment.model.AuditEntry;
 import com.example.sepm_assignment.model.Course;
 import com.example.sepm_assignment.model.Enrollment;
 import com.example.sepm_assignment.model.User;
@@ -8,6 +10,8 @@ import com.example.sepm_assignment.repository.CourseRepository;
 import com.example.sepm_assignment.repository.EnrollmentRepository;
 import com.example.sepm_assignment.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,21 +25,34 @@ public class EnrollmentService {
     private final EnrollmentRepository enrollmentRepository;
     private final UserRepository userRepository;
     private final CourseRepository courseRepository;
+    private final WaitlistService waitlistService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public EnrollmentDTO enrollStudent(Long studentId, Long courseId) {
-        if (enrollmentRepository.existsByStudentIdAndCourseId(studentId, courseId)) {
+        // The course's term lets the checks below read only that term's enrollments
+        Course course = courseRepository.findById(courseId)
+                .filter(found -> !found.isClosed())
+                .orElseThrow(() -> new RuntimeException("Course not found"));
+        if (enrollmentRepository.existsByStudentIdAndCourseIdAndTerm(studentId, courseId, course.getTerm())) {
             throw new RuntimeException("Student already enrolled in this course");
         }
 
         User student = userRepository.findById(studentId)
+                .filter(user -> !user.isDeleted())
                 .orElseThrow(() -> new RuntimeException("Student not found"));
         if (student.getRole() != User.Role.STUDENT) {
             throw new RuntimeException("User is not a student");
         }
 
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
+        if (course.getCapacity() != null) {
+            // Lock the course so two requests can't both take the last seat
+            courseRepository.findByIdForUpdate(courseId);
+            if (waitlistService.hasWaitingStudents(courseId) || enrollmentRepository.countByCourseIdAndTermAndStatusNot(
+                    courseId, course.getTerm(), Enrollment.EnrollmentStatus.DROPPED) >= course.getCapacity()) {
+                throw new CourseFullException();
+            }
+        }
 
         Enrollment enrollment = new Enrollment();
         enrollment.setStudent(student);
@@ -43,17 +60,32 @@ public class EnrollmentService {
         enrollment.setStatus(Enrollment.EnrollmentStatus.ACTIVE);
 
         Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+        eventPublisher.publishEvent(new EnrollmentAuditEvent(AuditEntry.Action.ENROLLED,
+                savedEnrollment.getId(), studentId, courseId, null));
+        eventPublisher.publishEvent(CacheInvalidationEvent.of(CacheConfig.STUDENT_ENROLLMENTS, studentId));
         return convertToDTO(savedEnrollment);
     }
 
+    @Cacheable(cacheNames = CacheConfig.STUDENT_ENROLLMENTS, sync = true)
+    @Transactional(readOnly = true)
     public List<EnrollmentDTO> getEnrollmentsByStudent(Long studentId) {
         return enrollmentRepository.findByStudentId(studentId).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    /** One term of a student's enrollments, e.g. the current one, without reading older terms. */
+    @Transactional(readOnly = true)
+    public List<EnrollmentDTO> getEnrollmentsByStudent(Long studentId, String term) {
+        return enrollmentRepository.findByStudentIdAndTerm(studentId, TermService.normalize(term)).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
     public List<EnrollmentDTO> getEnrollmentsByCourse(Long courseId) {
-        return enrollmentRepository.findByCourseId(courseId).stream()
+        String term = courseRepository.findById(courseId).map(Course::getTerm).orElse(null);
+        return enrollmentRepository.findByCourseIdAndTerm(courseId, term).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
@@ -62,8 +94,10 @@ public class EnrollmentService {
     public EnrollmentDTO updateGrade(Long enrollmentId, Double grade) {
         Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
                 .orElseThrow(() -> new RuntimeException("Enrollment not found"));
+        Double previousGrade = enrollment.getGrade();
         enrollment.setGrade(grade);
         Enrollment updated = enrollmentRepository.save(enrollment);
+        publishChanged(AuditEntry.Action.GRADE_CHANGED, updated, previousGrade + " -> " + grade);
         return convertToDTO(updated);
     }
 
@@ -71,17 +105,42 @@ public class EnrollmentService {
     public EnrollmentDTO updateStatus(Long enrollmentId, Enrollment.EnrollmentStatus status) {
         Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
                 .orElseThrow(() -> new RuntimeException("Enrollment not found"));
+        Enrollment.EnrollmentStatus previousStatus = enrollment.getStatus();
+        boolean seatReleased = status == Enrollment.EnrollmentStatus.DROPPED
+                && previousStatus != Enrollment.EnrollmentStatus.DROPPED;
         enrollment.setStatus(status);
         Enrollment updated = enrollmentRepository.save(enrollment);
+        publishChanged(AuditEntry.Action.STATUS_CHANGED, updated, previousStatus + " -> " + status);
+        if (seatReleased) {
+            eventPublisher.publishEvent(new SeatReleasedEvent(enrollment.getCourse().getId()));
+        }
         return convertToDTO(updated);
     }
 
     @Transactional
     public void deleteEnrollment(Long id) {
-        enrollmentRepository.deleteById(id);
+        enrollmentRepository.findById(id).ifPresent(enrollment -> {
+            enrollmentRepository.delete(enrollment);
+            publishChanged(AuditEntry.Action.DELETED, enrollment, null);
+            if (enrollment.getStatus() != Enrollment.EnrollmentStatus.DROPPED) {
+                eventPublisher.publishEvent(new SeatReleasedEvent(enrollment.getCourse().getId()));
+            }
+        });
+    }
+
+    private void publishChanged(AuditEntry.Action action, Enrollment enrollment, String detail) {
+        eventPublisher.publishEvent(audit(action, enrollment, detail));
+        eventPublisher.publishEvent(CacheInvalidationEvent.of(CacheConfig.STUDENT_ENROLLMENTS,
+                enrollment.getStudent().getId()));
+    }
+
+    private static EnrollmentAuditEvent audit(AuditEntry.Action action, Enrollment enrollment, String detail) {
+        return new EnrollmentAuditEvent(action, enrollment.getId(), enrollment.getStudent().getId(),
+                enrollment.getCourse().getId(), detail);
     }
 
-    private EnrollmentDTO convertToDTO(Enrollment enrollment) {
+    // Package-private so the mapping can be benchmarked in isolation
+    EnrollmentDTO convertToDTO(Enrollment enrollment) {
         EnrollmentDTO dto = new EnrollmentDTO();
         dto.setId(enrollment.getId());
         dto.setStudentId(enrollment.getStudent().getId());
@@ -92,6 +151,7 @@ public class EnrollmentService {
         dto.setEnrollmentDate(enrollment.getEnrollmentDate());
         dto.setStatus(enrollment.getStatus());
         dto.setGrade(enrollment.getGrade());
+        dto.setTerm(enrollment.getTerm());
         return dto;
     }
 }
@@ -0,0 +1,317 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.config.CacheConfig;
+import com.example.sepm_assignment.config.WorkloadClass;
+import com.example.sepm_assignment.config.WorkloadContext;
+import com.example.sepm_assignment.config.WorkloadProperties;
+import com.example.sepm_assignment.dto.RolloverStatusDTO;
+import com.example.sepm_assignment.model.Enrollment;
+import com.example.sepm_assignment.model.JobCheckpoint;
+import com.example.sepm_assignment.repository.ChangeLogRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import com.example.sepm_assignment.repository.JobCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-of-term rollover: moves a term's ACTIVE enrollments that have a grade to COMPLETED.
+ * <p>
+ * The term's enrollment key range is split into {@code partitions} ranges when a term is first
+ * started, each with a row in {@code job_checkpoints}. Partitions run in parallel on the
+ * batch connection pool, on at most as many threads as that pool has connections, and walk
+ * their range in chunks of {@code chunk-size} keys. Each
+ * chunk is one short transaction: lock the checkpoint, select the matching ids in the chunk,
+ * update them with one set-based statement, record them in the change feed and advance the
+ * checkpoint. Only the rows of one chunk are locked at a time, and {@code chunk-pause} leaves
+ * room for live traffic. Starting a term again resumes after the last committed chunk, on any
+ * node; a term that has finished is not run again. Enrollments created after the first start
+ * are outside the ranges and are left alone.
+ * <p>
+ * Rows are not written to the audit trail one by one; the job logs a summary instead. Watch
+ * {@code rollover.rows} and {@code rollover.chunk}.
+ */
+@Service
+@Slf4j
+public class RolloverJobService {
+
+    static final String JOB_PREFIX = "rollover:";
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final ChangeLogRepository changeLogRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int partitions;
+    private final long chunkSize;
+    private final Duration chunkPause;
+    private final Executor workers;
+    private final Counter rows;
+    private final Timer chunkTimer;
+    private volatile Run current;
+
+    @Autowired
+    public RolloverJobService(EnrollmentRepository enrollmentRepository,
+                              ChangeLogRepository changeLogRepository,
+                              JobCheckpointRepository checkpointRepository,
+                              TransactionTemplate transactionTemplate,
+                              ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry,
+                              WorkloadProperties workloadProperties,
+                              @Value("${app.rollover.partitions:4}") int partitions,
+                              @Value("${app.rollover.chunk-size:1000}") long chunkSize,
+                              @Value("${app.rollover.chunk-pause:0ms}") Duration chunkPause) {
+        this(enrollmentRepository, changeLogRepository, checkpointRepository, transactionTemplate, eventPublisher,
+                meterRegistry, partitions, chunkSize, chunkPause,
+                Executors.newFixedThreadPool(workerThreads(partitions, workloadProperties), r -> {
+                    Thread thread = new Thread(r, "rollover-worker");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    RolloverJobService(EnrollmentRepository enrollmentRepository, ChangeLogRepository changeLogRepository,
+                       JobCheckpointRepository checkpointRepository, TransactionTemplate transactionTemplate,
+                       ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry, int partitions,
+                       long chunkSize, Duration chunkPause, Executor workers) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.changeLogRepository = changeLogRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.partitions = Math.max(1, partitions);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.chunkPause = chunkPause;
+        this.workers = workers;
+        this.rows = meterRegistry.counter("rollover.rows");
+        this.chunkTimer = Timer.builder("rollover.chunk").publishPercentiles(0.5, 0.99).register(meterRegistry);
+    }
+
+    // More workers than batch connections would only wait for a connection
+    static int workerThreads(int partitions, WorkloadProperties workloadProperties) {
+        int threads = Math.max(1, partitions);
+        if (workloadProperties.isEnabled()) {
+            threads = Math.min(threads, Math.max(1, workloadProperties.bulkhead(WorkloadClass.BATCH).getPoolSize()));
+        }
+        return threads;
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        Run run = current;
+        if (run != null) {
+            run.stopRequested = true;
+        }
+        if (workers instanceof ExecutorService executor) {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    /** Starts or resumes the rollover of a term in the background. */
+    public synchronized RolloverStatusDTO start(String requestedTerm) {
+        String term = TermService.normalize(requestedTerm);
+        if (current != null && current.state == State.RUNNING) {
+            throw new IllegalStateException("Rollover of term " + current.term + " is already running");
+        }
+        String jobName = JOB_PREFIX + term;
+        List<JobCheckpoint> checkpoints = plan(term, jobName);
+        List<JobCheckpoint> remaining = checkpoints.stream().filter(cp -> !cp.isDone()).toList();
+        if (remaining.isEmpty()) {
+            return getStatus(term);
+        }
+
+        Run run = new Run(term);
+        current = run;
+        log.info("Rollover of term {} started: {} of {} partitions to go", term, remaining.size(), checkpoints.size());
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (JobCheckpoint checkpoint : remaining) {
+            tasks.add(CompletableFuture.runAsync(() -> WorkloadContext.runAs(WorkloadClass.BATCH,
+                    () -> runPartition(run, checkpoint.getId())), workers));
+        }
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).whenComplete((ignored, error) -> {
+            run.finishedNanos = System.nanoTime();
+            if (error != null) {
+                run.error = error.getCause() != null ? error.getCause().getMessage() : error.getMessage();
+                run.state = State.FAILED;
+                log.error("Rollover of term {} failed after {} rows", term, run.rows.get(), error);
+            } else {
+                run.state = run.stopRequested ? State.STOPPED : State.COMPLETED;
+                log.info("Rollover of term {} {}: {} enrollments completed in {} chunks, {} rows/s", term,
+                        run.state.name().toLowerCase(), run.rows.get(), run.chunks.get(), run.rowsPerSecond());
+            }
+        });
+        return getStatus(term);
+    }
+
+    /** Asks a running rollover to stop after its current chunks; starting it again resumes it. */
+    public RolloverStatusDTO stop() {
+        Run run = current;
+        if (run == null || run.state != State.RUNNING) {
+            throw new IllegalStateException("No rollover is running");
+        }
+        run.stopRequested = true;
+        return getStatus(run.term);
+    }
+
+    public RolloverStatusDTO getStatus(String requestedTerm) {
+        String term = TermService.normalize(requestedTerm);
+        List<JobCheckpoint> checkpoints = checkpointRepository.findByJobNameOrderByPartitionIndex(JOB_PREFIX + term);
+        Run run = current != null && current.term.equals(term) ? current : null;
+
+        RolloverStatusDTO status = new RolloverStatusDTO();
+        status.setTerm(term);
+        status.setPartitions(checkpoints.size());
+        status.setPartitionsDone((int) checkpoints.stream().filter(JobCheckpoint::isDone).count());
+        status.setRowsUpdated(checkpoints.stream().mapToLong(JobCheckpoint::getRowsUpdated).sum());
+        long keys = checkpoints.stream().mapToLong(cp -> cp.getRangeEnd() - cp.getRangeStart()).sum();
+        long keysDone = checkpoints.stream().mapToLong(cp -> cp.getLastProcessedId() - cp.getRangeStart()).sum();
+        status.setPercentDone(keys == 0 ? (checkpoints.isEmpty() ? 0 : 100) : 100.0 * keysDone / keys);
+        if (run != null) {
+            status.setChunks(run.chunks.get());
+            status.setElapsedSeconds(run.elapsedNanos() / 1e9);
+            status.setRowsPerSecond(run.rowsPerSecond());
+            status.setError(run.error);
+        }
+        if (run != null && run.state == State.RUNNING) {
+            status.setState(State.RUNNING.name());
+        } else if (checkpoints.isEmpty()) {
+            status.setState("NOT_STARTED");
+        } else if (status.getPartitionsDone() == checkpoints.size()) {
+            status.setState(State.COMPLETED.name());
+        } else {
+            // Stopped, failed, or cut short by a restart; starting it again resumes it
+            status.setState(run != null ? run.state.name() : "INCOMPLETE");
+        }
+        return status;
+    }
+
+    private List<JobCheckpoint> plan(String term, String jobName) {
+        List<JobCheckpoint> existing = checkpointRepository.findByJobNameOrderByPartitionIndex(jobName);
+        if (!existing.isEmpty()) {
+            return existing;
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                List<Object[]> range = enrollmentRepository.findIdRange(term);
+                Object[] bounds = range.isEmpty() ? null : range.get(0);
+                // Keys in (start, end]; an empty table gets one partition that is already done
+                long start = bounds == null || bounds[0] == null ? 0 : ((Number) bounds[0]).longValue() - 1;
+                long end = bounds == null || bounds[1] == null ? 0 : ((Number) bounds[1]).longValue();
+                int count = end == start ? 1 : (int) Math.min(partitions, end - start);
+                long width = (end - start + count - 1) / Math.max(1, count);
+                List<JobCheckpoint> planned = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    JobCheckpoint checkpoint = new JobCheckpoint();
+                    checkpoint.setJobName(jobName);
+                    checkpoint.setPartitionIndex(i);
+                    checkpoint.setRangeStart(Math.min(end, start + i * width));
+                    checkpoint.setRangeEnd(i == count - 1 ? end : Math.min(end, start + (i + 1) * width));
+                    checkpoint.setLastProcessedId(checkpoint.getRangeStart());
+                    checkpoint.setUpdatedAt(LocalDateTime.now());
+                    planned.add(checkpoint);
+                }
+                return checkpointRepository.saveAll(planned);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another node planned the same term first
+            return checkpointRepository.findByJobNameOrderByPartitionIndex(jobName);
+        }
+    }
+
+    private void runPartition(Run run, Long checkpointId) {
+        while (!run.stopRequested) {
+            long started = System.nanoTime();
+            Integer updated = transactionTemplate.execute(status -> processChunk(checkpointId));
+            if (updated == null) {
+                return;
+            }
+            chunkTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            rows.increment(updated);
+            run.rows.addAndGet(updated);
+            run.chunks.incrementAndGet();
+            if (!chunkPause.isZero()) {
+                try {
+                    Thread.sleep(chunkPause.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /** One chunk of a partition, in the caller's transaction; null once the partition is done. */
+    Integer processChunk(Long checkpointId) {
+        JobCheckpoint checkpoint = checkpointRepository.findByIdForUpdate(checkpointId)
+                .orElseThrow(() -> new RuntimeException("Checkpoint not found"));
+        if (checkpoint.isDone()) {
+            return null;
+        }
+        String term = checkpoint.getJobName().substring(JOB_PREFIX.length());
+        long from = checkpoint.getLastProcessedId();
+        long to = Math.min(checkpoint.getRangeEnd(), from + chunkSize);
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+        List<Long> ids = enrollmentRepository.findGradedIdsInRange(from, to, term, Enrollment.EnrollmentStatus.ACTIVE);
+        if (!ids.isEmpty()) {
+            updated = enrollmentRepository.updateGradedStatus(ids, term, Enrollment.EnrollmentStatus.ACTIVE,
+                    Enrollment.EnrollmentStatus.COMPLETED, now);
+            changeLogRepository.recordEnrollmentsUpserted(ids, now);
+            eventPublisher.publishEvent(CacheInvalidationEvent.all(CacheConfig.STUDENT_ENROLLMENTS));
+        }
+        checkpoint.setLastProcessedId(to);
+        checkpoint.setRowsUpdated(checkpoint.getRowsUpdated() + updated);
+        checkpoint.setUpdatedAt(now);
+        checkpointRepository.save(checkpoint);
+        return updated;
+    }
+
+    enum State {
+        RUNNING, STOPPED, FAILED, COMPLETED
+    }
+
+    private static final class Run {
+        private final String term;
+        private final long startedNanos = System.nanoTime();
+        private final AtomicLong rows = new AtomicLong();
+        private final AtomicInteger chunks = new AtomicInteger();
+        private volatile State state = State.RUNNING;
+        private volatile boolean stopRequested;
+        private volatile long finishedNanos;
+        private volatile String error;
+
+        private Run(String term) {
+            this.term = term;
+        }
+
+        private long elapsedNanos() {
+            return (finishedNanos != 0 ? finishedNanos : System.nanoTime()) - startedNanos;
+        }
+
+        private long rowsPerSecond() {
+            long nanos = elapsedNanos();
+            return nanos <= 0 ? 0 : Math.round(rows.get() * 1e9 / nanos);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.sepm_assignment.service;
+
+/**
+ * Published when a course may have gained a free seat: an enrollment was deleted or dropped,
+ * or the capacity was raised. {@link WaitlistService} promotes waiting students after commit.
+ */
+public record SeatReleasedEvent(Long courseId) {
+}
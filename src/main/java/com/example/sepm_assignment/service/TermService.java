@@ -0,0 +1,52 @@
+package com.example.sepm_assignment.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Names the academic terms courses belong to, like {@code 2026-spring}. The current term is
+ * {@code app.terms.current} when set; otherwise January to June is spring and July to
+ * December is fall of the current year. Term names also name PostgreSQL partitions, so they
+ * are limited to lower-case letters, digits, '-' and '_'.
+ */
+@Service
+public class TermService {
+
+    private static final Pattern VALID = Pattern.compile("[a-z0-9][a-z0-9_-]{0,19}");
+
+    private final String configured;
+    private final Clock clock;
+
+    @Autowired
+    public TermService(@Value("${app.terms.current:}") String configured) {
+        this(configured, Clock.systemDefaultZone());
+    }
+
+    TermService(String configured, Clock clock) {
+        this.configured = configured == null || configured.isBlank() ? null : normalize(configured);
+        this.clock = clock;
+    }
+
+    public String currentTerm() {
+        if (configured != null) {
+            return configured;
+        }
+        LocalDate today = LocalDate.now(clock);
+        return today.getYear() + (today.getMonthValue() <= 6 ? "-spring" : "-fall");
+    }
+
+    /** Trims and lower-cases a term name; throws IllegalArgumentException if it can't be used. */
+    public static String normalize(String term) {
+        String normalized = term == null ? "" : term.trim().toLowerCase(Locale.ROOT);
+        if (!VALID.matcher(normalized).matches()) {
+            throw new IllegalArgumentException("Invalid term: use up to 20 letters, digits, '-' or '_'");
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,289 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.dto.UserImportResult;
+import com.example.sepm_assignment.model.User;
+import com.example.sepm_assignment.repository.ChangeLogRepository;
+import com.example.sepm_assignment.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Pattern;
+
+/**
+ * Streams a CSV of accounts into the users table.
+ * <p>
+ * Rows are processed in batches: validation and username/email uniqueness are checked
+ * once per batch, passwords are hashed in parallel on a bounded fork-join pool, and the
+ * batch is written with a single JDBC batch insert.
+ * <p>
+ * Expected header: {@code username,password,email,fullName,role} (role is optional, default STUDENT).
+ */
+@Service
+@Slf4j
+public class UserImportService {
+
+    static final String HEADER = "username,password,email,fullName,role";
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    // Same rules as the admin create-user form
+    private static final Pattern USERNAME = Pattern.compile("[a-zA-Z0-9_]{3,20}");
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+\\.[^@\\s]+");
+    private static final int MIN_PASSWORD_LENGTH = 6;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO users (username, password, email, full_name, role, enabled, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)";
+
+    private final UserRepository userRepository;
+    private final ChangeLogRepository changeLogRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool hashingPool;
+    private final int batchSize;
+
+    public UserImportService(UserRepository userRepository,
+                             ChangeLogRepository changeLogRepository,
+                             PasswordEncoder passwordEncoder,
+                             JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${app.import.batch-size:500}") int batchSize,
+                             @Value("${app.import.hashing-parallelism:0}") int hashingParallelism) {
+        this.userRepository = userRepository;
+        this.changeLogRepository = changeLogRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        // One pool for all imports, so concurrent uploads can't use more than this many cores
+        this.hashingPool = new ForkJoinPool(hashingParallelism > 0
+                ? hashingParallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    public UserImportResult importUsers(InputStream csv) throws IOException {
+        UserImportResult result = new UserImportResult();
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null || !normalizeHeader(header).startsWith("username,password,email,fullname")) {
+                throw new IllegalArgumentException("CSV header must be: " + HEADER);
+            }
+
+            List<ImportRow> batch = new ArrayList<>(batchSize);
+            String line;
+            int rowNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                rowNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                result.setTotalRows(result.getTotalRows() + 1);
+                batch.add(ImportRow.parse(rowNumber, line));
+                if (batch.size() == batchSize) {
+                    processBatch(batch, seenUsernames, seenEmails, result);
+                    batch.clear();
+                }
+            }
+            processBatch(batch, seenUsernames, seenEmails, result);
+        }
+
+        log.info("User import finished: {} rows, {} imported, {} failed",
+                result.getTotalRows(), result.getImported(), result.getFailed());
+        return result;
+    }
+
+    private void processBatch(List<ImportRow> batch, Set<String> seenUsernames, Set<String> seenEmails,
+                              UserImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<ImportRow> valid = new ArrayList<>(batch.size());
+        for (ImportRow row : batch) {
+            String error = row.validate();
+            if (error == null && !seenUsernames.add(row.username)) {
+                error = "Duplicate username in file";
+            }
+            if (error == null && !seenEmails.add(row.email)) {
+                error = "Duplicate email in file";
+            }
+            if (error != null) {
+                reject(result, row, error);
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        Set<String> existingUsernames = userRepository.findExistingUsernames(valid.stream().map(r -> r.username).toList());
+        Set<String> existingEmails = userRepository.findExistingEmails(valid.stream().map(r -> r.email).toList());
+        List<ImportRow> insertable = new ArrayList<>(valid.size());
+        for (ImportRow row : valid) {
+            if (existingUsernames.contains(row.username)) {
+                reject(result, row, "Username already exists");
+            } else if (existingEmails.contains(row.email)) {
+                reject(result, row, "Email already exists");
+            } else {
+                insertable.add(row);
+            }
+        }
+        if (insertable.isEmpty()) {
+            return;
+        }
+
+        // BCrypt dominates the cost of an import; spread it over the cores
+        List<Object[]> rows = hashingPool.submit(() -> insertable.parallelStream()
+                .map(row -> new Object[]{row.username, passwordEncoder.encode(row.password), row.email,
+                        row.fullName, row.role().name(), true})
+                .toList()).join();
+
+        try {
+            // Plain JDBC bypasses the entity listener, so the change feed entries are added here
+            List<String> usernames = insertable.stream().map(row -> row.username).toList();
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+                changeLogRepository.recordUsersUpserted(usernames, LocalDateTime.now());
+            });
+            result.setImported(result.getImported() + rows.size());
+        } catch (DataIntegrityViolationException e) {
+            // Someone registered one of these names since the uniqueness check; find out which row by row
+            for (int i = 0; i < rows.size(); i++) {
+                Object[] row = rows.get(i);
+                String username = insertable.get(i).username;
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        jdbcTemplate.update(INSERT_SQL, row);
+                        changeLogRepository.recordUsersUpserted(List.of(username), LocalDateTime.now());
+                    });
+                    result.setImported(result.getImported() + 1);
+                } catch (DataIntegrityViolationException rowFailure) {
+                    reject(result, insertable.get(i), "Username or email already exists");
+                }
+            }
+        }
+
+        log.info("User import progress: {} rows read, {} imported, {} failed",
+                result.getTotalRows(), result.getImported(), result.getFailed());
+    }
+
+    private static void reject(UserImportResult result, ImportRow row, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new UserImportResult.RowError(row.rowNumber, row.username, message));
+        }
+    }
+
+    private static String normalizeHeader(String header) {
+        return header.replace("\uFEFF", "").replace(" ", "").toLowerCase(Locale.ROOT);
+    }
+
+    /** One CSV line. Supports quoted fields with embedded commas and doubled quotes. */
+    static final class ImportRow {
+        final int rowNumber;
+        final String username;
+        final String password;
+        final String email;
+        final String fullName;
+        final String roleName;
+
+        private ImportRow(int rowNumber, List<String> fields) {
+            this.rowNumber = rowNumber;
+            this.username = field(fields, 0);
+            this.password = field(fields, 1);
+            this.email = field(fields, 2);
+            this.fullName = field(fields, 3);
+            this.roleName = field(fields, 4);
+        }
+
+        static ImportRow parse(int rowNumber, String line) {
+            List<String> fields = new ArrayList<>(5);
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        current.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            fields.add(current.toString());
+            return new ImportRow(rowNumber, fields);
+        }
+
+        /** Returns an error message, or null when the row can be imported. */
+        String validate() {
+            if (username.isEmpty() || password.isEmpty() || email.isEmpty() || fullName.isEmpty()) {
+                return "username, password, email and fullName are required";
+            }
+            if (!USERNAME.matcher(username).matches()) {
+                return "Username must be 3-20 characters, letters, numbers and underscores only";
+            }
+            if (password.length() < MIN_PASSWORD_LENGTH) {
+                return "Password must be at least " + MIN_PASSWORD_LENGTH + " characters";
+            }
+            if (!EMAIL.matcher(email).matches()) {
+                return "Invalid email address";
+            }
+            if (role() == null) {
+                return "Unknown role: " + roleName;
+            }
+            return null;
+        }
+
+        /** The role column, STUDENT when empty, or null when it names no role. */
+        User.Role role() {
+            if (roleName.isEmpty()) {
+                return User.Role.STUDENT;
+            }
+            try {
+                return User.Role.valueOf(roleName.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        private static String field(List<String> fields, int index) {
+            return index < fields.size() ? fields.get(index).trim() : "";
+        }
+    }
+}
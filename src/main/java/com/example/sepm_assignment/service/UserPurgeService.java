@@ -0,0 +1,185 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.config.CacheConfig;
+import com.example.sepm_assignment.config.WorkloadClass;
+import com.example.sepm_assignment.config.WorkloadContext;
+import com.example.sepm_assignment.model.Enrollment;
+import com.example.sepm_assignment.model.User;
+import com.example.sepm_assignment.repository.ChangeLogRepository;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import com.example.sepm_assignment.repository.UserRepository;
+import com.example.sepm_assignment.repository.WaitlistRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hard-deletes users that {@link UserService#deleteUser} soft-deleted.
+ * <p>
+ * Deleting a user through the entity would cascade into every enrollment, every taught course
+ * and each of those courses' enrollments, loaded and removed row by row in one transaction.
+ * Instead, every {@code app.purge.interval-ms} this job walks the deleted users, oldest first,
+ * and removes their dependents in chunks of {@code chunk-size} rows: the student's waitlist
+ * entries and enrollments, then each taught course's enrollments, waitlist and the course
+ * itself, and last the user row. Each chunk is one short transaction that locks the user row,
+ * so two nodes never purge the same user at once, and {@code chunk-pause} leaves room for live
+ * traffic. A purge cut short by a restart carries on from what is left. A user is purged only
+ * once their API tokens have expired, since the revocation is stored on the user row.
+ * <p>
+ * Removed rows go to the change feed as tombstones. They are not written to the audit trail one
+ * by one; the job logs a summary per user instead. Watch {@code users.purge.rows}.
+ */
+@Service
+@Slf4j
+public class UserPurgeService {
+
+    private final UserRepository userRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseRepository courseRepository;
+    private final WaitlistRepository waitlistRepository;
+    private final ChangeLogRepository changeLogRepository;
+    private final WaitlistService waitlistService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final Duration chunkPause;
+    private final Duration tokenTtl;
+    private final Counter rows;
+    private volatile boolean stopRequested;
+
+    public UserPurgeService(UserRepository userRepository,
+                            EnrollmentRepository enrollmentRepository,
+                            CourseRepository courseRepository,
+                            WaitlistRepository waitlistRepository,
+                            ChangeLogRepository changeLogRepository,
+                            WaitlistService waitlistService,
+                            TransactionTemplate transactionTemplate,
+                            ApplicationEventPublisher eventPublisher,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.purge.chunk-size:500}") int chunkSize,
+                            @Value("${app.purge.chunk-pause:0ms}") Duration chunkPause,
+                            @Value("${app.security.api-token.ttl:15m}") Duration tokenTtl) {
+        this.userRepository = userRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.courseRepository = courseRepository;
+        this.waitlistRepository = waitlistRepository;
+        this.changeLogRepository = changeLogRepository;
+        this.waitlistService = waitlistService;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.chunkPause = chunkPause;
+        this.tokenTtl = tokenTtl;
+        this.rows = meterRegistry.counter("users.purge.rows");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        stopRequested = true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.purge.interval-ms:60000}")
+    public void purgeDeletedUsers() {
+        WorkloadContext.runAs(WorkloadClass.BATCH, () -> {
+            for (Long userId : userRepository.findDeletedIds(LocalDateTime.now().minus(tokenTtl))) {
+                if (stopRequested) {
+                    return;
+                }
+                purge(userId);
+            }
+        });
+    }
+
+    /** Removes one deleted user and everything that hangs off them. Returns the rows removed. */
+    long purge(Long userId) {
+        long started = System.nanoTime();
+        long removed = 0;
+        int chunks = 0;
+        waitlistService.forgetStudent(userId);
+        while (!stopRequested) {
+            Integer count = transactionTemplate.execute(status -> purgeChunk(userId));
+            if (count == null) {
+                if (chunks > 0) {
+                    log.info("Purged deleted user {}: {} rows in {} chunks, {} ms", userId, removed, chunks,
+                            (System.nanoTime() - started) / 1_000_000);
+                }
+                return removed;
+            }
+            rows.increment(count);
+            removed += count;
+            chunks++;
+            if (!chunkPause.isZero()) {
+                try {
+                    Thread.sleep(chunkPause.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        log.info("Purge of deleted user {} paused after {} rows; the next run resumes it", userId, removed);
+        return removed;
+    }
+
+    /** One chunk of a user's purge, in the caller's transaction; null once the user is gone. */
+    Integer purgeChunk(Long userId) {
+        User user = userRepository.findByIdForUpdate(userId).orElse(null);
+        if (user == null || !user.isDeleted()) {
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int removed = waitlistRepository.deleteByStudentId(userId);
+
+        List<Object[]> enrollments = enrollmentRepository.findChunkByStudentId(userId, PageRequest.of(0, chunkSize));
+        if (!enrollments.isEmpty()) {
+            List<Long> ids = enrollments.stream().map(row -> (Long) row[0]).toList();
+            // Seats held by the student free up for the course's waitlist
+            Set<Long> coursesWithFreedSeats = new LinkedHashSet<>();
+            for (Object[] row : enrollments) {
+                if (row[2] != Enrollment.EnrollmentStatus.DROPPED) {
+                    coursesWithFreedSeats.add((Long) row[1]);
+                }
+            }
+            changeLogRepository.recordEnrollmentsDeleted(ids, now);
+            removed += enrollmentRepository.deleteByIdIn(ids);
+            eventPublisher.publishEvent(CacheInvalidationEvent.of(CacheConfig.STUDENT_ENROLLMENTS, userId));
+            coursesWithFreedSeats.forEach(courseId -> eventPublisher.publishEvent(new SeatReleasedEvent(courseId)));
+            return removed;
+        }
+
+        List<Long> courseIds = courseRepository.findIdsByTeacherId(userId);
+        if (!courseIds.isEmpty()) {
+            Long courseId = courseIds.get(0);
+            List<Long> ids = enrollmentRepository.findIdsByCourseId(courseId, PageRequest.of(0, chunkSize));
+            if (!ids.isEmpty()) {
+                changeLogRepository.recordEnrollmentsDeleted(ids, now);
+                removed += enrollmentRepository.deleteByIdIn(ids);
+                eventPublisher.publishEvent(CacheInvalidationEvent.all(CacheConfig.STUDENT_ENROLLMENTS));
+                return removed;
+            }
+            removed += waitlistRepository.deleteByCourseId(courseId);
+            changeLogRepository.recordCoursesDeleted(List.of(courseId), now);
+            removed += courseRepository.deleteWithoutCascade(courseId);
+            eventPublisher.publishEvent(CacheInvalidationEvent.of(CacheConfig.COURSES, courseId));
+            eventPublisher.publishEvent(CacheInvalidationEvent.all(CacheConfig.COURSE_LIST));
+            return removed;
+        }
+
+        changeLogRepository.recordUsersDeleted(List.of(userId), now);
+        return removed + userRepository.deleteWithoutCascade(userId);
+    }
+}
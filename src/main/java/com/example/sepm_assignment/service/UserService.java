@@ -1,14 +1,18 @@
 package com.example.sepm_assignment.service;
 
+import com.example.sepm_assignment.config.CacheConfig;
 import com.example.sepm_assignment.dto.UserDTO;
 import com.example.sepm_assignment.dto.RegistrationRequest;
 import com.example.sepm_assignment.model.User;
 import com.example.sepm_assignment.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,6 +22,8 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApiTokenService apiTokenService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public UserDTO registerUser(RegistrationRequest request) {
@@ -40,44 +46,77 @@ public class UserService {
         return convertToDTO(savedUser);
     }
 
+    @Transactional(readOnly = true)
     public UserDTO getUserById(Long id) {
         User user = userRepository.findById(id)
+                .filter(found -> !found.isDeleted())
                 .orElseThrow(() -> new RuntimeException("User not found"));
         return convertToDTO(user);
     }
 
+    @Cacheable(cacheNames = CacheConfig.USERS, sync = true)
+    @Transactional(readOnly = true)
     public UserDTO getUserByUsername(String username) {
         User user = userRepository.findByUsername(username)
+                .filter(found -> !found.isDeleted())
                 .orElseThrow(() -> new RuntimeException("User not found"));
         return convertToDTO(user);
     }
 
+    @Transactional(readOnly = true)
     public List<UserDTO> getAllUsers() {
         return userRepository.findAll().stream()
+                .filter(user -> !user.isDeleted())
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<UserDTO> getUsersByRole(User.Role role) {
         return userRepository.findByRole(role).stream()
+                .filter(user -> !user.isDeleted())
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Soft-deletes the user: they can no longer sign in and are gone from every lookup at once.
+     * {@link UserPurgeService} removes the row, with their enrollments and taught courses, later
+     * in small chunks.
+     */
     @Transactional
     public void deleteUser(Long id) {
-        userRepository.deleteById(id);
+        userRepository.findById(id).filter(user -> !user.isDeleted()).ifPresent(user -> {
+            user.setDeletedAt(LocalDateTime.now());
+            user.setEnabled(false);
+            user.setTokensRevokedBefore(apiTokenService.revokeTokens(id));
+            userRepository.save(user);
+            eventPublisher.publishEvent(CacheInvalidationEvent.of(CacheConfig.USERS, user.getUsername()));
+            eventPublisher.publishEvent(CacheInvalidationEvent.of(CacheConfig.STUDENT_ENROLLMENTS, id));
+            if (user.getRole() == User.Role.TEACHER) {
+                // Courses show their teacher's name, and enrollment lists their course
+                eventPublisher.publishEvent(CacheInvalidationEvent.all(CacheConfig.COURSES));
+                eventPublisher.publishEvent(CacheInvalidationEvent.all(CacheConfig.COURSE_LIST));
+                eventPublisher.publishEvent(CacheInvalidationEvent.all(CacheConfig.STUDENT_ENROLLMENTS));
+            }
+        });
     }
 
     @Transactional
     public void toggleUserStatus(Long id) {
         User user = userRepository.findById(id)
+                .filter(found -> !found.isDeleted())
                 .orElseThrow(() -> new RuntimeException("User not found"));
         user.setEnabled(!user.isEnabled());
+        if (!user.isEnabled()) {
+            user.setTokensRevokedBefore(apiTokenService.revokeTokens(id));
+        }
         userRepository.save(user);
+        eventPublisher.publishEvent(CacheInvalidationEvent.of(CacheConfig.USERS, user.getUsername()));
     }
 
-    private UserDTO convertToDTO(User user) {
+    // Package-private so the change feed maps users the same way
+    UserDTO convertToDTO(User user) {
         UserDTO dto = new UserDTO();
         dto.setId(user.getId());
         dto.setUsername(user.getUsername());
@@ -0,0 +1,278 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.config.CacheConfig;
+import com.example.sepm_assignment.dto.WaitlistPositionDTO;
+import com.example.sepm_assignment.model.AuditEntry;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Enrollment;
+import com.example.sepm_assignment.model.User;
+import com.example.sepm_assignment.model.WaitlistEntry;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import com.example.sepm_assignment.repository.UserRepository;
+import com.example.sepm_assignment.repository.WaitlistRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * First-come, first-served waitlists for courses with a capacity.
+ * <p>
+ * Entries are stored in {@code course_waitlist}, which decides who is waiting and who is
+ * promoted next on every node. When a seat is released, promotion runs on the
+ * {@code waitlistExecutor} thread after the releasing transaction commits, so the drop request
+ * does not wait for it. Promotion locks the course row, then fills the free seats from the
+ * table in queue order.
+ * <p>
+ * The entries are also mirrored in memory, only so a student's queue position is answered
+ * without a COUNT query. The mirror is rebuilt from the table at startup. With several
+ * replicas, each node only sees the joins and promotions it made itself until it restarts, so
+ * a position shown on one node can be off by the others' changes.
+ */
+@Service
+@Slf4j
+public class WaitlistService {
+
+    private final WaitlistRepository waitlistRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final UserRepository userRepository;
+    private final CourseRepository courseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter promotions;
+    // course id -> waiting student ids, in queue order
+    private final Map<Long, CourseQueue> queues = new ConcurrentHashMap<>();
+
+    public WaitlistService(WaitlistRepository waitlistRepository,
+                           EnrollmentRepository enrollmentRepository,
+                           UserRepository userRepository,
+                           CourseRepository courseRepository,
+                           TransactionTemplate transactionTemplate,
+                           ApplicationEventPublisher eventPublisher,
+                           MeterRegistry meterRegistry) {
+        this.waitlistRepository = waitlistRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.userRepository = userRepository;
+        this.courseRepository = courseRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.promotions = meterRegistry.counter("waitlist.promotions");
+        meterRegistry.gauge("waitlist.waiting", queues,
+                q -> q.values().stream().mapToInt(CourseQueue::size).sum());
+    }
+
+    @PostConstruct
+    void load() {
+        List<Object[]> entries = waitlistRepository.findAllCourseStudentPairs();
+        for (Object[] entry : entries) {
+            queue((Long) entry[0]).add((Long) entry[1]);
+        }
+        if (!entries.isEmpty()) {
+            log.info("Loaded {} waitlist entries for {} courses", entries.size(), queues.size());
+        }
+    }
+
+    /** Whether anyone waits for the course; call it holding the course row lock to keep the answer. */
+    public boolean hasWaitingStudents(Long courseId) {
+        return waitlistRepository.existsByCourseId(courseId);
+    }
+
+    /** The courses among these that someone waits for, in one query. */
+    public Set<Long> coursesWithWaitingStudents(Collection<Long> courseIds) {
+        return waitlistRepository.findCourseIdsWithEntries(courseIds);
+    }
+
+    /** Puts the student at the back of the course's waitlist, or keeps their place if already on it. */
+    public WaitlistPositionDTO join(Long studentId, Long courseId) {
+        Course course;
+        try {
+            course = saveEntry(studentId, courseId);
+        } catch (DataIntegrityViolationException e) {
+            // The same student joined concurrently; their entry now exists
+            course = saveEntry(studentId, courseId);
+        }
+        queue(courseId).add(studentId);
+        // A seat may have been freed and promoted past while this request was deciding to wait
+        eventPublisher.publishEvent(new SeatReleasedEvent(courseId));
+        return new WaitlistPositionDTO(studentId, courseId, course.getCourseCode(), course.getCourseName(),
+                getPosition(studentId, courseId));
+    }
+
+    public void leave(Long studentId, Long courseId) {
+        transactionTemplate.executeWithoutResult(status ->
+                waitlistRepository.deleteByStudentIdAndCourseId(studentId, courseId));
+        CourseQueue queue = queues.get(courseId);
+        if (queue != null) {
+            queue.remove(studentId);
+        }
+    }
+
+    /** Takes a deleted student out of every queue; the purge job removes their entries. */
+    public void forgetStudent(Long studentId) {
+        queues.values().forEach(queue -> queue.remove(studentId));
+    }
+
+    /** 1-based place in the queue, or 0 if the student is not waiting for this course. */
+    public int getPosition(Long studentId, Long courseId) {
+        CourseQueue queue = queues.get(courseId);
+        return queue == null ? 0 : queue.position(studentId);
+    }
+
+    public List<WaitlistPositionDTO> getWaitlistForStudent(Long studentId) {
+        Map<Long, Integer> positions = new LinkedHashMap<>();
+        queues.forEach((courseId, queue) -> {
+            int position = queue.position(studentId);
+            if (position > 0) {
+                positions.put(courseId, position);
+            }
+        });
+        if (positions.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Course> courses = courseRepository.findAllById(positions.keySet()).stream()
+                .collect(Collectors.toMap(Course::getId, Function.identity()));
+        List<WaitlistPositionDTO> waitlist = new ArrayList<>();
+        positions.forEach((courseId, position) -> {
+            Course course = courses.get(courseId);
+            if (course != null) {
+                waitlist.add(new WaitlistPositionDTO(studentId, courseId, course.getCourseCode(),
+                        course.getCourseName(), position));
+            }
+        });
+        return waitlist;
+    }
+
+    @Async("waitlistExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatReleased(SeatReleasedEvent event) {
+        promote(event.courseId());
+    }
+
+    private Course saveEntry(Long studentId, Long courseId) {
+        return transactionTemplate.execute(status -> {
+            User student = userRepository.findById(studentId)
+                    .filter(user -> !user.isDeleted())
+                    .orElseThrow(() -> new RuntimeException("Student not found"));
+            if (student.getRole() != User.Role.STUDENT) {
+                throw new RuntimeException("User is not a student");
+            }
+            Course course = courseRepository.findById(courseId)
+                    .filter(found -> !found.isClosed())
+                    .orElseThrow(() -> new RuntimeException("Course not found"));
+            if (!waitlistRepository.existsByStudentIdAndCourseId(studentId, courseId)) {
+                WaitlistEntry entry = new WaitlistEntry();
+                entry.setStudent(student);
+                entry.setCourse(course);
+                waitlistRepository.saveAndFlush(entry);
+            }
+            return course;
+        });
+    }
+
+    /** Enrolls waiting students into the course's free seats, in queue order. Returns how many. */
+    int promote(Long courseId) {
+        // Most releases have no one waiting; skip the course lock for them
+        if (!waitlistRepository.existsByCourseId(courseId)) {
+            return 0;
+        }
+        // Students leaving the queue: promoted, or whose entry is already gone
+        List<Long> settled = new ArrayList<>();
+        Integer promoted = transactionTemplate.execute(status -> {
+            Optional<Course> course = courseRepository.findByIdForUpdate(courseId);
+            if (course.isEmpty()) {
+                queues.remove(courseId);
+                return 0;
+            }
+            if (course.get().isClosed()) {
+                return 0;
+            }
+            Integer capacity = course.get().getCapacity();
+            long free = capacity == null ? Long.MAX_VALUE
+                    : capacity - enrollmentRepository.countByCourseIdAndTermAndStatusNot(courseId, course.get().getTerm(),
+                    Enrollment.EnrollmentStatus.DROPPED);
+            int count = 0;
+            for (Long studentId : waitlistRepository.findStudentIdsByCourseId(courseId)) {
+                if (free <= 0) {
+                    break;
+                }
+                settled.add(studentId);
+                if (waitlistRepository.deleteByStudentIdAndCourseId(studentId, courseId) == 0
+                        || enrollmentRepository.existsByStudentIdAndCourseIdAndTerm(studentId, courseId, course.get().getTerm())) {
+                    continue;
+                }
+                Enrollment enrollment = new Enrollment();
+                enrollment.setStudent(userRepository.getReferenceById(studentId));
+                enrollment.setCourse(course.get());
+                enrollment.setStatus(Enrollment.EnrollmentStatus.ACTIVE);
+                enrollmentRepository.save(enrollment);
+                eventPublisher.publishEvent(new EnrollmentAuditEvent(AuditEntry.Action.ENROLLED,
+                        enrollment.getId(), studentId, courseId, "promoted from waitlist"));
+                eventPublisher.publishEvent(CacheInvalidationEvent.of(CacheConfig.STUDENT_ENROLLMENTS, studentId));
+                free--;
+                count++;
+            }
+            return count;
+        });
+        CourseQueue queue = queues.get(courseId);
+        if (queue != null) {
+            settled.forEach(queue::remove);
+        }
+        if (promoted != null && promoted > 0) {
+            promotions.increment(promoted);
+            log.info("Promoted {} student(s) from the waitlist of course {}", promoted, courseId);
+        }
+        return promoted == null ? 0 : promoted;
+    }
+
+    private CourseQueue queue(Long courseId) {
+        return queues.computeIfAbsent(courseId, id -> new CourseQueue());
+    }
+
+    // Waitlists are short, so a scan for the position is cheap next to a database round trip
+    private static final class CourseQueue {
+
+        private final LinkedHashSet<Long> students = new LinkedHashSet<>();
+
+        synchronized void add(Long studentId) {
+            students.add(studentId);
+        }
+
+        synchronized void remove(Long studentId) {
+            students.remove(studentId);
+        }
+
+        synchronized int position(Long studentId) {
+            int position = 1;
+            for (Long waiting : students) {
+                if (waiting.equals(studentId)) {
+                    return position;
+                }
+                position++;
+            }
+            return 0;
+        }
+
+        synchronized int size() {
+            return students.size();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.sepm_assignment.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for AdaptiveConcurrencyFilter
+ * Follows AAA (Arrange-Act-Assert) pattern
+ */
+@DisplayName("AdaptiveConcurrencyFilter Unit Tests")
+class AdaptiveConcurrencyFilterTest {
+
+    private AdaptiveConcurrencyLimiter limiter;
+    private AdaptiveConcurrencyFilter filter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        AdaptiveConcurrencyProperties properties = new AdaptiveConcurrencyProperties();
+        properties.setInitialLimit(4);
+        properties.setMinLimit(4);
+        properties.setLowShare(0.5);
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter(properties);
+        filter = new AdaptiveConcurrencyFilter(limiter, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should shed catalog requests with 503 once their share is used")
+    void catalogShedFirst() throws Exception {
+        // Arrange: two requests already in flight use up the low-priority half
+        List<AdaptiveConcurrencyLimiter.Permit> held = new ArrayList<>();
+        held.add(limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.LOW));
+        held.add(limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.LOW));
+        authenticate("student", "ROLE_STUDENT");
+
+        // Act
+        MockHttpServletResponse catalog = run("GET", "/api/courses");
+        MockHttpServletResponse grading = run("PUT", "/api/enrollments/7/grade");
+
+        // Assert
+        assertEquals(503, catalog.getStatus());
+        assertEquals("1", catalog.getHeader("Retry-After"));
+        assertEquals(200, grading.getStatus());
+        assertEquals(1.0, meterRegistry.get("concurrency.requests")
+                .tags("priority", "LOW", "result", "shed").counter().count());
+        held.forEach(permit -> permit.release(false));
+    }
+
+    @Test
+    @DisplayName("Should admit admins and exempt health checks when the limit is full")
+    void adminAndHealthAdmitted() throws Exception {
+        // Arrange
+        List<AdaptiveConcurrencyLimiter.Permit> held = new ArrayList<>();
+        held.add(limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.NORMAL));
+        held.add(limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.NORMAL));
+        held.add(limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.NORMAL));
+        authenticate("admin", "ROLE_ADMIN");
+
+        // Act
+        MockHttpServletResponse admin = run("GET", "/api/courses");
+        SecurityContextHolder.clearContext();
+        MockHttpServletResponse health = run("GET", "/actuator/health");
+        MockHttpServletResponse anonymous = run("GET", "/");
+
+        // Assert
+        assertEquals(200, admin.getStatus());
+        assertEquals(200, health.getStatus());
+        assertEquals(503, anonymous.getStatus());
+        assertEquals(3, limiter.getInflight());
+        held.forEach(permit -> permit.release(false));
+    }
+
+    @Test
+    @DisplayName("Should cut the limit for a 503 from below but not for one the node shed itself")
+    void locallyShedKeepsLimit() throws Exception {
+        // Arrange: the bulkhead allows one reporting request, and one is in flight
+        WorkloadProperties workloads = new WorkloadProperties();
+        workloads.bulkhead(WorkloadClass.REPORTING).setMaxConcurrent(1);
+        workloads.bulkhead(WorkloadClass.REPORTING).setMaxWaitMillis(0);
+        WorkloadBulkheadInterceptor bulkhead = new WorkloadBulkheadInterceptor(workloads, meterRegistry);
+        Object reporting = new HandlerMethod(new ReportingHandler(), ReportingHandler.class.getMethod("report"));
+        MockHttpServletRequest first = new MockHttpServletRequest("GET", "/api/reports");
+        assertTrue(bulkhead.preHandle(first, new MockHttpServletResponse(), reporting));
+        authenticate("admin", "ROLE_ADMIN");
+        limiter = new AdaptiveConcurrencyLimiter(properties(32));
+        filter = new AdaptiveConcurrencyFilter(limiter, properties(32), meterRegistry);
+
+        // Act
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/reports"), rejected,
+                (req, res) -> bulkhead.preHandle((MockHttpServletRequest) req, (MockHttpServletResponse) res, reporting));
+        int afterRejection = limiter.getLimit();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/courses"), new MockHttpServletResponse(),
+                (req, res) -> ((MockHttpServletResponse) res).setStatus(503));
+
+        // Assert
+        assertEquals(503, rejected.getStatus());
+        assertEquals(32, afterRejection);
+        assertTrue(limiter.getLimit() < 32);
+        assertEquals(0, limiter.getInflight());
+        bulkhead.afterCompletion(first, new MockHttpServletResponse(), reporting, null);
+    }
+
+    private MockHttpServletResponse run(String method, String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> ((MockHttpServletResponse) res).setStatus(200);
+        filter.doFilter(new MockHttpServletRequest(method, uri), response, chain);
+        return response;
+    }
+
+    private static AdaptiveConcurrencyProperties properties(int initialLimit) {
+        AdaptiveConcurrencyProperties properties = new AdaptiveConcurrencyProperties();
+        properties.setInitialLimit(initialLimit);
+        return properties;
+    }
+
+    @Workload(WorkloadClass.REPORTING)
+    static class ReportingHandler {
+        public void report() {
+        }
+    }
+
+    private static void authenticate(String username, String role) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                username, null, AuthorityUtils.createAuthorityList(role)));
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.sepm_assignment.config;
+
+import com.example.sepm_assignment.config.AdaptiveConcurrencyLimiter.Permit;
+import com.example.sepm_assignment.config.AdaptiveConcurrencyLimiter.Priority;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for AdaptiveConcurrencyLimiter
+ * Drives the limiter with a fake clock so latency is exact
+ * Follows AAA (Arrange-Act-Assert) pattern
+ */
+@DisplayName("AdaptiveConcurrencyLimiter Unit Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private AdaptiveConcurrencyProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdaptiveConcurrencyProperties();
+        properties.setInitialLimit(10);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(100);
+        properties.setNormalShare(0.8);
+        properties.setLowShare(0.5);
+    }
+
+    @Test
+    @DisplayName("Should reserve part of the limit for higher priorities")
+    void tryAcquire_PriorityShares() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, now::get);
+
+        // Act
+        int low = acquireAll(limiter, Priority.LOW).size();
+        int normal = acquireAll(limiter, Priority.NORMAL).size();
+        int critical = acquireAll(limiter, Priority.CRITICAL).size();
+
+        // Assert
+        assertEquals(5, low);
+        assertEquals(3, normal);
+        assertEquals(2, critical);
+        assertEquals(10, limiter.getInflight());
+    }
+
+    @Test
+    @DisplayName("Should raise the limit while latency stays flat and the limit is in use")
+    void release_GrowsAtSteadyLatency() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, now::get);
+
+        // Act
+        runRounds(limiter, 200, 10);
+
+        // Assert
+        assertTrue(limiter.getLimit() > 10, "limit " + limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should cut the limit when latency rises well above the baseline")
+    void release_ShrinksWhenLatencyRises() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, now::get);
+        runRounds(limiter, 200, 10);
+        int before = limiter.getLimit();
+
+        // Act: the database gets ten times slower
+        runRounds(limiter, 10, 100);
+
+        // Assert
+        assertTrue(limiter.getLimit() < before * 0.75, before + " -> " + limiter.getLimit());
+        assertTrue(limiter.getLimit() >= properties.getMinLimit());
+    }
+
+    @Test
+    @DisplayName("Should back off once for a burst of failures")
+    void release_OneBackoffPerBurst() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, now::get);
+        runRounds(limiter, 20, 10);
+        int before = limiter.getLimit();
+        List<Permit> permits = acquireAll(limiter, Priority.CRITICAL);
+
+        // Act
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+        permits.forEach(permit -> permit.release(true));
+
+        // Assert
+        assertTrue(limiter.getLimit() < before);
+        assertTrue(limiter.getLimit() >= (int) (before * properties.getBackoffRatio()), before + " -> " + limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should back off on failed requests and never go below the minimum")
+    void release_BacksOffOnFailure() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties, now::get);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            Permit permit = limiter.tryAcquire(Priority.CRITICAL);
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+            permit.release(true);
+        }
+
+        // Assert
+        assertEquals(properties.getMinLimit(), limiter.getLimit());
+        assertEquals(0, limiter.getInflight());
+    }
+
+    private void runRounds(AdaptiveConcurrencyLimiter limiter, int rounds, long latencyMillis) {
+        for (int round = 0; round < rounds; round++) {
+            List<Permit> permits = acquireAll(limiter, Priority.CRITICAL);
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+            permits.forEach(permit -> permit.release(false));
+        }
+    }
+
+    private static List<Permit> acquireAll(AdaptiveConcurrencyLimiter limiter, Priority priority) {
+        List<Permit> permits = new ArrayList<>();
+        Permit permit;
+        while ((permit = limiter.tryAcquire(priority)) != null) {
+            permits.add(permit);
+        }
+        return permits;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.sepm_assignment.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for BoundedAuthenticationProvider and its failure handler
+ * Follows AAA (Arrange-Act-Assert) pattern
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BoundedAuthenticationProvider Unit Tests")
+class BoundedAuthenticationProviderTest {
+
+    @Mock
+    private AuthenticationProvider delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BoundedAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        provider = new BoundedAuthenticationProvider(delegate, 1, 1, 2000, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        provider.destroy();
+    }
+
+    @Test
+    @DisplayName("Should return the delegate's result and record verification latency")
+    void authenticate_Success() {
+        // Arrange
+        Authentication authenticated = UsernamePasswordAuthenticationToken.authenticated("student", null, List.of());
+        when(delegate.authenticate(any())).thenReturn(authenticated);
+
+        // Act
+        Authentication result = provider.authenticate(token());
+
+        // Assert
+        assertSame(authenticated, result);
+        assertEquals(1, meterRegistry.get("auth.verification").timer().count());
+        assertEquals(1, meterRegistry.get("auth.executor.queue.wait").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should rethrow the delegate's authentication failure unchanged")
+    void authenticate_BadCredentials() {
+        // Arrange
+        when(delegate.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        // Act & Assert
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(token()));
+    }
+
+    @Test
+    @DisplayName("Should shed logins beyond the queue limit without calling the delegate")
+    void authenticate_Overloaded() throws Exception {
+        // Arrange: one login running, one queued
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.authenticate(any())).thenAnswer(inv -> {
+            running.countDown();
+            release.await();
+            return inv.getArgument(0);
+        });
+        CompletableFuture<Authentication> first = CompletableFuture.supplyAsync(() -> provider.authenticate(token()));
+        assertTrue(running.await(2, TimeUnit.SECONDS));
+        CompletableFuture<Authentication> second = CompletableFuture.supplyAsync(() -> provider.authenticate(token()));
+        waitForQueueDepth(1);
+
+        // Act & Assert
+        assertThrows(AuthenticationOverloadedException.class, () -> provider.authenticate(token()));
+        assertEquals(1.0, meterRegistry.get("auth.executor.rejected").counter().count());
+
+        release.countDown();
+        assertNotNull(first.get(2, TimeUnit.SECONDS));
+        assertNotNull(second.get(2, TimeUnit.SECONDS));
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("Should answer shed logins with 503 and Retry-After")
+    void failureHandler_Overloaded() throws Exception {
+        // Arrange
+        OverloadAwareAuthenticationFailureHandler handler = new OverloadAwareAuthenticationFailureHandler("/login?error", 3);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        handler.onAuthenticationFailure(new MockHttpServletRequest(), response,
+                new AuthenticationOverloadedException("busy"));
+
+        // Assert
+        assertEquals(503, response.getStatus());
+        assertEquals("3", response.getHeader("Retry-After"));
+    }
+
+    @Test
+    @DisplayName("Should redirect other login failures to the login page")
+    void failureHandler_BadCredentials() throws Exception {
+        // Arrange
+        OverloadAwareAuthenticationFailureHandler handler = new OverloadAwareAuthenticationFailureHandler("/login?error", 3);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        handler.onAuthenticationFailure(new MockHttpServletRequest(), response,
+                new BadCredentialsException("Bad credentials"));
+
+        // Assert
+        assertEquals("/login?error", response.getRedirectedUrl());
+    }
+
+    private static Authentication token() {
+        return UsernamePasswordAuthenticationToken.unauthenticated("student", "secret");
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (meterRegistry.get("auth.executor.queue.depth").gauge().value() < depth) {
+            assertTrue(System.nanoTime() < deadline, "queue never reached depth " + depth);
+            Thread.sleep(5);
+        }
+    }
+}
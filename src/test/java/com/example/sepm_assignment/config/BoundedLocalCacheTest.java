@@ -0,0 +1,85 @@
+package com.example.sepm_assignment.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for BoundedLocalCache
+ * Tests that a value loaded across an eviction is not cached
+ * Follows AAA (Arrange-Act-Assert) pattern
+ */
+@DisplayName("BoundedLocalCache Unit Tests")
+class BoundedLocalCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BoundedLocalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new BoundedLocalCache("courses", 2, Duration.ofMinutes(10), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should not cache a value when the key is evicted while it loads")
+    void get_EvictedDuringLoad() {
+        // Act
+        String loaded = cache.get(1L, () -> {
+            // A write commits and evicts after this load read the old row
+            cache.evict(1L);
+            return "old";
+        });
+
+        // Assert
+        assertEquals("old", loaded);
+        assertNull(cache.get(1L));
+        assertEquals(1.0, meterRegistry.get("cache.stale_loads").counter().count());
+        assertEquals("new", cache.get(1L, () -> "new"));
+        assertEquals("new", cache.get(1L).get());
+    }
+
+    @Test
+    @DisplayName("Should cache loads of other keys and loads after a clear")
+    void get_OtherKeysAndClear() {
+        // Act
+        String other = cache.get(2L, () -> {
+            cache.evict(1L);
+            return "two";
+        });
+        String cleared = cache.get(3L, () -> {
+            cache.clear();
+            return "three";
+        });
+        String afterClear = cache.get(3L, () -> "three again");
+
+        // Assert
+        assertEquals("two", other);
+        assertNull(cache.get(2L), "the clear removed it");
+        assertEquals("three", cleared);
+        assertEquals("three again", cache.get(3L).get());
+        assertEquals("three again", afterClear);
+    }
+
+    @Test
+    @DisplayName("Should not cache a load that began before an eviction it no longer remembers")
+    void get_ForgottenEviction() {
+        // Act
+        cache.get(1L, () -> {
+            for (long key = 10; key < 15; key++) {
+                cache.evict(key);
+            }
+            return "maybe stale";
+        });
+
+        // Assert
+        assertNull(cache.get(1L));
+        assertEquals("fresh", cache.get(1L, () -> "fresh"));
+        assertEquals("fresh", cache.get(1L).get());
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.sepm_assignment.config;
+
+import com.example.sepm_assignment.repository.IdempotencyStore;
+import com.example.sepm_assignment.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration Tests for IdempotencyFilter
+ * Replays, body mismatches and concurrent duplicates against the real registration endpoint,
+ * and duplicates split across two replicas that share the idempotency_keys table
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("IdempotencyFilter Integration Tests")
+class IdempotencyFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should replay the first response and its Location for a retried key without registering twice")
+    void register_RetryIsReplayed() throws Exception {
+        // Arrange
+        String body = registration("idem_user", "idem@example.com");
+        MvcResult first = register("key-replay", body)
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andReturn();
+
+        // Act & Assert
+        register("key-replay", body)
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(header().string(HttpHeaders.LOCATION, first.getResponse().getHeader(HttpHeaders.LOCATION)))
+                .andExpect(content().string(first.getResponse().getContentAsString()));
+        assertTrue(userRepository.findByUsername("idem_user").isPresent());
+        // Without the header the duplicate reaches the service and is refused there
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return 422 when a key is reused with a different body")
+    void register_DifferentBodyRejected() throws Exception {
+        // Arrange
+        register("key-mismatch", registration("idem_first", "idem_first@example.com"))
+                .andExpect(status().isCreated());
+
+        // Act & Assert
+        register("key-mismatch", registration("idem_second", "idem_second@example.com"))
+                .andExpect(status().isUnprocessableEntity());
+        assertTrue(userRepository.findByUsername("idem_second").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should run concurrent duplicates once and replay the result to the others")
+    void register_ConcurrentDuplicatesRunOnce() throws Exception {
+        // Arrange
+        String body = registration("idem_race", "idem_race@example.com");
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        List<Callable<MvcResult>> calls = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            calls.add(() -> register("key-race", body).andReturn());
+        }
+
+        // Act
+        List<MvcResult> results = new ArrayList<>();
+        for (Future<MvcResult> future : executor.invokeAll(calls)) {
+            results.add(future.get());
+        }
+        executor.shutdown();
+
+        // Assert
+        assertTrue(results.stream().allMatch(result -> result.getResponse().getStatus() == 201));
+        assertEquals(5, results.stream()
+                .filter(result -> "true".equals(result.getResponse().getHeader(IdempotencyFilter.REPLAYED_HEADER)))
+                .count());
+    }
+
+    @Test
+    @DisplayName("Should make a duplicate on another replica wait for the first request and replay it")
+    void duplicateOnOtherReplica_WaitsAndReplays() throws Exception {
+        // Arrange
+        IdempotencyFilter nodeA = replica(Duration.ofSeconds(10));
+        IdempotencyFilter nodeB = replica(Duration.ofSeconds(10));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        FilterChain enroll = (request, response) -> {
+            runs.incrementAndGet();
+            started.countDown();
+            try {
+                finish.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            HttpServletResponse http = (HttpServletResponse) response;
+            http.setStatus(201);
+            http.setHeader(HttpHeaders.LOCATION, "/api/enrollments/7");
+            http.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            http.getWriter().write("{\"id\":7}");
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+
+        // Act
+        Future<?> running = executor.submit(() -> {
+            nodeA.doFilter(enrollment("key-replicas"), first, enroll);
+            return null;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<?> duplicate = executor.submit(() -> {
+            nodeB.doFilter(enrollment("key-replicas"), retry, enroll);
+            return null;
+        });
+        Thread.sleep(100);
+        finish.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        duplicate.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Assert
+        assertEquals(1, runs.get());
+        assertEquals(201, retry.getStatus());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals("/api/enrollments/7", retry.getHeader(HttpHeaders.LOCATION));
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Should give 409 to a duplicate that outwaits the other replica, and run the retry after a server error")
+    void duplicateOnOtherReplica_ConflictThenRetryAfterError() throws Exception {
+        // Arrange
+        IdempotencyFilter nodeA = replica(Duration.ofSeconds(10));
+        IdempotencyFilter nodeB = replica(Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        FilterChain failing = (request, response) -> {
+            started.countDown();
+            try {
+                finish.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ((HttpServletResponse) response).setStatus(500);
+        };
+        AtomicInteger retries = new AtomicInteger();
+        FilterChain succeeding = (request, response) -> {
+            retries.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(201);
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        MockHttpServletResponse early = new MockHttpServletResponse();
+        MockHttpServletResponse late = new MockHttpServletResponse();
+
+        // Act
+        Future<?> running = executor.submit(() -> {
+            nodeA.doFilter(enrollment("key-replicas-error"), new MockHttpServletResponse(), failing);
+            return null;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        nodeB.doFilter(enrollment("key-replicas-error"), early, succeeding);
+        finish.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+        nodeB.doFilter(enrollment("key-replicas-error"), late, succeeding);
+
+        // Assert
+        assertEquals(409, early.getStatus());
+        assertEquals(201, late.getStatus());
+        assertNull(late.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(1, retries.get());
+    }
+
+    @Test
+    @DisplayName("Should reject an over-long key")
+    void register_KeyTooLong() throws Exception {
+        // Act & Assert
+        register("k".repeat(256), registration("idem_long", "idem_long@example.com"))
+                .andExpect(status().isBadRequest());
+        assertTrue(userRepository.findByUsername("idem_long").isEmpty());
+    }
+
+    // Each replica has its own store and in-memory cache; they share only the table
+    private IdempotencyFilter replica(Duration waitTimeout) {
+        IdempotencyStore store = new IdempotencyStore(jdbcTemplate, Duration.ofHours(1), Duration.ofMinutes(1), 100,
+                new SimpleMeterRegistry());
+        return new IdempotencyFilter(store, List.of("/api/enrollments"), waitTimeout, new SimpleMeterRegistry());
+    }
+
+    private static MockHttpServletRequest enrollment(String key) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/enrollments");
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent("{\"studentId\":1,\"courseId\":2}".getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private ResultActions register(String key, String body) throws Exception {
+        return mockMvc.perform(post("/api/auth/register").header(IdempotencyFilter.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON).content(body));
+    }
+
+    private static String registration(String username, String email) {
+        return "{\"username\":\"" + username + "\",\"password\":\"secret1\",\"email\":\"" + email
+                + "\",\"fullName\":\"Idem User\"}";
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.sepm_assignment.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration Tests for LargeDatasetSeeder
+ * Seeds a small dataset into its own H2 database through the JDBC batch path
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:seedtest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "app.seed.students=500",
+        "app.seed.teachers=10",
+        "app.seed.courses=50",
+        "app.seed.enrollments=5000",
+        "app.seed.batch-size=1000"
+})
+@ActiveProfiles({"test", "seed"})
+@DisplayName("LargeDatasetSeeder Integration Tests")
+class LargeDatasetSeederTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    @DisplayName("Should seed configured number of users and courses next to the default accounts")
+    void seedsConfiguredVolume() {
+        assertEquals(500, count("SELECT COUNT(*) FROM users WHERE role = 'STUDENT' AND username LIKE 'seed-student-%'"));
+        assertEquals(10, count("SELECT COUNT(*) FROM users WHERE role = 'TEACHER' AND username LIKE 'seed-teacher-%'"));
+        assertEquals(50, count("SELECT COUNT(*) FROM courses WHERE course_code LIKE 'SEED-%'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM users WHERE username = 'admin'"));
+    }
+
+    @Test
+    @DisplayName("Should seed roughly the requested number of unique enrollments")
+    void seedsUniqueEnrollments() {
+        long enrollments = count("SELECT COUNT(*) FROM enrollments");
+        assertTrue(enrollments > 4000 && enrollments < 6000, "enrollments: " + enrollments);
+        assertEquals(enrollments, count("SELECT COUNT(*) FROM (SELECT DISTINCT student_id, course_id FROM enrollments) pairs"));
+    }
+
+    @Test
+    @DisplayName("Should skew enrollments toward the first courses")
+    void skewsCoursePopularity() {
+        long first = count("SELECT COUNT(*) FROM enrollments e JOIN courses c ON c.id = e.course_id WHERE c.course_code = 'SEED-0'");
+        long last = count("SELECT COUNT(*) FROM enrollments e JOIN courses c ON c.id = e.course_id WHERE c.course_code = 'SEED-49'");
+        assertTrue(first > 3 * last, "SEED-0: " + first + ", SEED-49: " + last);
+    }
+
+    @Test
+    @DisplayName("Should give every seeded account the same valid password hash")
+    void sharesOnePasswordHash() {
+        assertEquals(1, count("SELECT COUNT(DISTINCT password) FROM users WHERE username LIKE 'seed-%'"));
+        String hash = jdbcTemplate.queryForObject("SELECT password FROM users WHERE username = 'seed-student-0'", String.class);
+        assertTrue(passwordEncoder.matches("password123", hash));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
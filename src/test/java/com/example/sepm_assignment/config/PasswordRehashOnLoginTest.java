@@ -0,0 +1,154 @@
+package com.example.sepm_assignment.config;
+
+import com.example.sepm_assignment.model.AppSetting;
+import com.example.sepm_assignment.model.User;
+import com.example.sepm_assignment.repository.AppSettingRepository;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import com.example.sepm_assignment.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.authenticated;
+import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.unauthenticated;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration Tests for transparent password rehashing on login
+ * Uses H2 in-memory database
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Password Rehash On Login Integration Tests")
+class PasswordRehashOnLoginTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private PasswordHashingPolicy passwordHashingPolicy;
+
+    @Autowired
+    private AppSettingRepository appSettingRepository;
+
+    private int originalStrength;
+
+    @BeforeEach
+    void setUp() {
+        // Clean database
+        enrollmentRepository.deleteAll();
+        courseRepository.deleteAll();
+        userRepository.deleteAll();
+        originalStrength = passwordHashingPolicy.getStrength();
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingPolicy.setStrength(originalStrength);
+    }
+
+    @Test
+    @DisplayName("Should rehash a legacy hash with the current strength on successful login")
+    void login_RehashesLegacyHash() throws Exception {
+        // Arrange
+        saveUser("legacy_user", new BCryptPasswordEncoder(4).encode("secret1"));
+        passwordHashingPolicy.setStrength(5);
+
+        // Act
+        mockMvc.perform(formLogin("/login").user("legacy_user").password("secret1"))
+                .andExpect(authenticated());
+
+        // Assert
+        String stored = userRepository.findByUsername("legacy_user").orElseThrow().getPassword();
+        assertTrue(stored.startsWith("{bcrypt}$2a$05$"), stored);
+        mockMvc.perform(formLogin("/login").user("legacy_user").password("secret1"))
+                .andExpect(authenticated());
+    }
+
+    @Test
+    @DisplayName("Should not touch the stored hash when login fails")
+    void failedLogin_KeepsHash() throws Exception {
+        // Arrange
+        String legacy = new BCryptPasswordEncoder(4).encode("secret1");
+        saveUser("legacy_user", legacy);
+
+        // Act
+        mockMvc.perform(formLogin("/login").user("legacy_user").password("wrong"))
+                .andExpect(unauthenticated());
+
+        // Assert
+        assertEquals(legacy, userRepository.findByUsername("legacy_user").orElseThrow().getPassword());
+    }
+
+    @Test
+    @DisplayName("Should change the target strength through the admin API")
+    @WithMockUser(roles = "ADMIN")
+    void adminApi_SetsStrength() throws Exception {
+        // Act & Assert
+        mockMvc.perform(put("/api/admin/password-hashing").param("strength", "6"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.strength").value(6));
+        assertEquals(6, passwordHashingPolicy.getStrength());
+        assertEquals("6", appSettingRepository.findById(PasswordHashingPolicy.SETTING).orElseThrow().getValue());
+
+        mockMvc.perform(put("/api/admin/password-hashing").param("strength", "40"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should apply a strength stored by another node")
+    void loadStrength_FromOtherNode() {
+        // Arrange
+        appSettingRepository.save(new AppSetting(PasswordHashingPolicy.SETTING, "7", LocalDateTime.now()));
+
+        // Act
+        passwordHashingPolicy.loadStrength();
+
+        // Assert
+        assertEquals(7, passwordHashingPolicy.getStrength());
+    }
+
+    @Test
+    @DisplayName("Should deny strength changes for non-admin")
+    @WithMockUser(roles = "TEACHER")
+    void adminApi_AccessDenied() throws Exception {
+        // Act & Assert
+        mockMvc.perform(put("/api/admin/password-hashing").param("strength", "6"))
+                .andExpect(status().isForbidden());
+    }
+
+    private void saveUser(String username, String passwordHash) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword(passwordHash);
+        user.setEmail(username + "@example.com");
+        user.setFullName("Legacy User");
+        user.setRole(User.Role.STUDENT);
+        user.setEnabled(true);
+        userRepository.save(user);
+    }
+}
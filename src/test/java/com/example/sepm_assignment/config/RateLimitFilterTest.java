@@ -0,0 +1,120 @@
+package com.example.sepm_assignment.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration Tests for RateLimitFilter
+ * Limits are shrunk so a handful of requests trips them; the separate context gets its own
+ * database so its create-drop schema does not disappear from under the shared test context
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ratelimit;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "app.rate-limit.enabled=true",
+        "app.rate-limit.routes.api-enroll.path=/api/enrollments",
+        "app.rate-limit.routes.api-enroll.user.capacity=2",
+        "app.rate-limit.routes.api-enroll.user.refill-per-second=0.01",
+        "app.rate-limit.routes.api-enroll.ip.capacity=100",
+        "app.rate-limit.routes.api-enroll.ip.refill-per-second=0.01",
+        "app.rate-limit.routes.grade.path=/api/enrollments/{id}/grade",
+        "app.rate-limit.routes.grade.method=PUT",
+        "app.rate-limit.routes.grade.user.capacity=2",
+        "app.rate-limit.routes.grade.user.refill-per-second=0.01",
+        "app.rate-limit.routes.grade.ip.capacity=1",
+        "app.rate-limit.routes.grade.ip.refill-per-second=0.01",
+        "app.rate-limit.routes.register.path=/api/auth/register",
+        "app.rate-limit.routes.register.ip.capacity=1",
+        "app.rate-limit.routes.register.ip.refill-per-second=0.01"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("RateLimitFilter Integration Tests")
+class RateLimitFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should return 429 with Retry-After once a user's bucket is empty")
+    void enroll_PerUserLimit() throws Exception {
+        // Arrange: two requests drain the bucket whatever the controller answers
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/enrollments").with(user("limited_student").roles("STUDENT"))
+                            .contentType(MediaType.APPLICATION_JSON).content("{}"))
+                    .andExpect(status().is(not(429)));
+        }
+
+        // Act & Assert
+        mockMvc.perform(post("/api/enrollments").with(user("limited_student").roles("STUDENT"))
+                        .contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+
+        // Another user on the same IP still gets through
+        mockMvc.perform(post("/api/enrollments").with(user("other_student").roles("STUDENT"))
+                        .contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().is(not(429)));
+        assertEquals(1.0, meterRegistry.get("rate_limit.requests")
+                .tags("route", "api-enroll", "result", "limited", "key", "user").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should limit anonymous registration by IP")
+    void register_PerIpLimit() throws Exception {
+        // Arrange
+        String body = "{\"username\":\"rl_user\",\"password\":\"secret1\",\"email\":\"rl@example.com\",\"fullName\":\"RL\"}";
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON).content(body)
+                        .with(request -> { request.setRemoteAddr("10.0.0.7"); return request; }))
+                .andExpect(status().is(not(429)));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/register").contentType(MediaType.APPLICATION_JSON).content(body)
+                        .with(request -> { request.setRemoteAddr("10.0.0.7"); return request; }))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    @DisplayName("Should not take a user token for a request the IP bucket rejects")
+    void grade_IpRejectionKeepsUserToken() throws Exception {
+        // Arrange: the first request empties the IP bucket, the second is rejected by it
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(put("/api/enrollments/1/grade").with(user("rl_teacher").roles("TEACHER"))
+                    .with(request -> { request.setRemoteAddr("10.0.0.8"); return request; }));
+        }
+
+        // Act & Assert: one of the user's two tokens is left for another address
+        mockMvc.perform(put("/api/enrollments/1/grade").with(user("rl_teacher").roles("TEACHER"))
+                        .with(request -> { request.setRemoteAddr("10.0.0.9"); return request; }))
+                .andExpect(status().is(not(429)));
+        assertEquals(1.0, meterRegistry.get("rate_limit.requests")
+                .tags("route", "grade", "result", "limited", "key", "ip").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not limit routes without a configured bucket")
+    void unlimitedRoute() throws Exception {
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/api/courses").with(user("browser").roles("STUDENT")))
+                    .andExpect(status().isOk());
+        }
+    }
+}
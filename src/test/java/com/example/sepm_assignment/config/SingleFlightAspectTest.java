@@ -0,0 +1,132 @@
+package com.example.sepm_assignment.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for SingleFlightAspect
+ * Follows AAA (Arrange-Act-Assert) pattern
+ */
+@DisplayName("SingleFlightAspect Unit Tests")
+class SingleFlightAspectTest {
+
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SlowReads target;
+    private SlowReads proxy;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        target = new SlowReads();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new SingleFlightAspect(meterRegistry));
+        proxy = factory.getProxy();
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should run concurrent identical calls once and share the result")
+    void concurrentCalls_Coalesced() throws Exception {
+        // Act
+        List<Future<String>> results = callConcurrently(() -> proxy.read(7L));
+        target.release.countDown();
+
+        // Assert
+        String first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<String> result : results) {
+            assertSame(first, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, target.calls.get());
+        assertEquals(CALLERS - 1, meterRegistry.get("singleflight.calls")
+                .tags("method", "SlowReads.read", "result", "shared").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not coalesce calls with different arguments or calls that don't overlap")
+    void distinctOrSequentialCalls_NotCoalesced() throws Exception {
+        // Arrange
+        target.release.countDown();
+
+        // Act
+        proxy.read(1L);
+        proxy.read(1L);
+        proxy.read(2L);
+
+        // Assert
+        assertEquals(3, target.calls.get());
+    }
+
+    @Test
+    @DisplayName("Should pass the leader's exception to every waiter")
+    void concurrentCalls_ShareFailure() throws Exception {
+        // Arrange
+        target.fail = true;
+
+        // Act
+        List<Future<String>> results = callConcurrently(() -> proxy.read(7L));
+        target.release.countDown();
+
+        // Assert
+        for (Future<String> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertEquals("Course not found", e.getCause().getMessage());
+        }
+        assertEquals(1, target.calls.get());
+    }
+
+    private List<Future<String>> callConcurrently(Callable<String> call) throws InterruptedException {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(call));
+        }
+        // Wait until the leader is inside the method and the rest are queued behind it
+        assertTrue(target.entered.await(5, TimeUnit.SECONDS));
+        while (meterRegistry.get("singleflight.calls").tag("result", "shared").counter().count() < CALLERS - 1) {
+            Thread.sleep(5);
+        }
+        return results;
+    }
+
+    static class SlowReads {
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile boolean fail;
+
+        @SingleFlight
+        public String read(Long id) throws InterruptedException {
+            calls.incrementAndGet();
+            entered.countDown();
+            release.await();
+            if (fail) {
+                throw new RuntimeException("Course not found");
+            }
+            return new String("course-" + id);
+        }
+    }
+}
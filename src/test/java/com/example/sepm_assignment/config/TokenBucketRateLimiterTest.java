@@ -0,0 +1,93 @@
+package com.example.sepm_assignment.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for TokenBucketRateLimiter
+ * Follows AAA (Arrange-Act-Assert) pattern
+ */
+@DisplayName("TokenBucketRateLimiter Unit Tests")
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    @DisplayName("Should allow a burst up to capacity, then report the wait for the next token")
+    void tryAcquire_BurstThenLimited() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 1.0, 100, 4, now::get);
+
+        // Act & Assert
+        assertEquals(0, limiter.tryAcquire("alice"));
+        assertEquals(0, limiter.tryAcquire("alice"));
+        assertEquals(0, limiter.tryAcquire("alice"));
+        long wait = limiter.tryAcquire("alice");
+        assertEquals(TimeUnit.SECONDS.toNanos(1), wait);
+    }
+
+    @Test
+    @DisplayName("Should refill at the configured rate, never above capacity")
+    void tryAcquire_Refills() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 2.0, 100, 4, now::get);
+        limiter.tryAcquire("alice");
+        limiter.tryAcquire("alice");
+
+        // Act
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        // Assert: only two tokens despite ten seconds idle
+        assertEquals(0, limiter.tryAcquire("alice"));
+        assertEquals(0, limiter.tryAcquire("alice"));
+        assertTrue(limiter.tryAcquire("alice") > 0);
+    }
+
+    @Test
+    @DisplayName("Should give back a refunded token, never above capacity")
+    void refund_ReturnsToken() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 0.1, 100, 4, now::get);
+        assertEquals(0, limiter.tryAcquire("alice"));
+
+        // Act
+        limiter.refund("alice");
+        limiter.refund("alice");
+
+        // Assert
+        assertEquals(0, limiter.tryAcquire("alice"));
+        assertTrue(limiter.tryAcquire("alice") > 0);
+    }
+
+    @Test
+    @DisplayName("Should keep separate buckets per key")
+    void tryAcquire_KeysAreIndependent() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 0.1, 100, 4, now::get);
+
+        // Act & Assert
+        assertEquals(0, limiter.tryAcquire("alice"));
+        assertTrue(limiter.tryAcquire("alice") > 0);
+        assertEquals(0, limiter.tryAcquire("bob"));
+    }
+
+    @Test
+    @DisplayName("Should bound memory by evicting least recently used keys")
+    void trackedKeys_Bounded() {
+        // Arrange
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1.0, 64, 4, now::get);
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("client-" + i);
+        }
+
+        // Assert
+        assertTrue(limiter.trackedKeys() <= 64, "tracked " + limiter.trackedKeys());
+    }
+}
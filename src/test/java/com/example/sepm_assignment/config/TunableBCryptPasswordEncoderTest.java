@@ -0,0 +1,76 @@
+package com.example.sepm_assignment.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for TunableBCryptPasswordEncoder
+ * Follows AAA (Arrange-Act-Assert) pattern
+ */
+@DisplayName("TunableBCryptPasswordEncoder Unit Tests")
+class TunableBCryptPasswordEncoderTest {
+
+    private PasswordHashingPolicy policy;
+    private PasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        policy = new PasswordHashingPolicy(4);
+        encoder = TunableBCryptPasswordEncoder.delegating(policy);
+    }
+
+    @Test
+    @DisplayName("Should encode with the current strength and a bcrypt id prefix")
+    void encode_UsesCurrentStrength() {
+        // Act
+        String hash = encoder.encode("secret");
+        policy.setStrength(5);
+        String strongerHash = encoder.encode("secret");
+
+        // Assert
+        assertTrue(hash.startsWith("{bcrypt}$2a$04$"));
+        assertTrue(strongerHash.startsWith("{bcrypt}$2a$05$"));
+        assertTrue(encoder.matches("secret", hash));
+        assertTrue(encoder.matches("secret", strongerHash));
+        assertFalse(encoder.matches("wrong", hash));
+    }
+
+    @Test
+    @DisplayName("Should flag hashes made with a different strength for upgrade")
+    void upgradeEncoding_WhenStrengthChanges() {
+        // Arrange
+        String hash = encoder.encode("secret");
+
+        // Act & Assert
+        assertFalse(encoder.upgradeEncoding(hash));
+        policy.setStrength(6);
+        assertTrue(encoder.upgradeEncoding(hash));
+        policy.setStrength(4);
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    @DisplayName("Should verify legacy unprefixed hashes and flag them for upgrade")
+    void legacyHash_MatchesAndNeedsUpgrade() {
+        // Arrange
+        String legacy = new BCryptPasswordEncoder(4).encode("secret");
+
+        // Act & Assert
+        assertTrue(encoder.matches("secret", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+    }
+
+    @Test
+    @DisplayName("Should reject strengths outside the supported range")
+    void setStrength_OutOfRange() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> policy.setStrength(3));
+        assertThrows(IllegalArgumentException.class, () -> policy.setStrength(17));
+        assertEquals(4, policy.getStrength());
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.sepm_assignment.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit Tests for WorkloadBulkheadInterceptor
+ * Follows AAA (Arrange-Act-Assert) pattern
+ */
+@DisplayName("WorkloadBulkheadInterceptor Unit Tests")
+class WorkloadBulkheadInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private WorkloadBulkheadInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        WorkloadProperties properties = new WorkloadProperties();
+        properties.getClasses().put(WorkloadClass.REPORTING, new WorkloadProperties.Bulkhead(1, 0, 1));
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new WorkloadBulkheadInterceptor(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        WorkloadContext.clear();
+    }
+
+    @Test
+    @DisplayName("Should resolve the workload from the method, then the class, then default to interactive")
+    void workloadOf_Resolution() throws Exception {
+        // Arrange
+        ReportsController controller = new ReportsController();
+
+        // Act & Assert
+        assertEquals(WorkloadClass.REPORTING, WorkloadBulkheadInterceptor.workloadOf(handler(controller, "export")));
+        assertEquals(WorkloadClass.GRADING, WorkloadBulkheadInterceptor.workloadOf(handler(controller, "roster")));
+        assertEquals(WorkloadClass.INTERACTIVE, WorkloadBulkheadInterceptor.workloadOf(handler(new PlainController(), "home")));
+        assertEquals(WorkloadClass.INTERACTIVE, WorkloadBulkheadInterceptor.workloadOf(new Object()));
+    }
+
+    @Test
+    @DisplayName("Should reject a full class with 503 while other classes still run")
+    void preHandle_FullClassRejected() throws Exception {
+        // Arrange
+        MockHttpServletRequest firstReport = new MockHttpServletRequest("GET", "/admin/report");
+        HandlerMethod export = handler(new ReportsController(), "export");
+        assertTrue(interceptor.preHandle(firstReport, new MockHttpServletResponse(), export));
+        assertEquals(WorkloadClass.REPORTING, WorkloadContext.current());
+
+        // Act
+        MockHttpServletResponse secondReport = new MockHttpServletResponse();
+        boolean secondAdmitted = interceptor.preHandle(new MockHttpServletRequest(), secondReport, export);
+        boolean studentAdmitted = interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                handler(new PlainController(), "home"));
+
+        // Assert
+        assertFalse(secondAdmitted);
+        assertEquals(503, secondReport.getStatus());
+        assertNotNull(secondReport.getHeader("Retry-After"));
+        assertTrue(studentAdmitted);
+        assertEquals(1.0, meterRegistry.get("workload.rejected").tag("workload", "REPORTING").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should free the slot and clear the context when the request completes")
+    void afterCompletion_Releases() throws Exception {
+        // Arrange
+        HandlerMethod export = handler(new ReportsController(), "export");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        interceptor.preHandle(request, new MockHttpServletResponse(), export);
+
+        // Act
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), export, null);
+
+        // Assert
+        assertEquals(WorkloadClass.INTERACTIVE, WorkloadContext.current());
+        assertEquals(0.0, meterRegistry.get("workload.active").tag("workload", "REPORTING").gauge().value());
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), export));
+    }
+
+    private static HandlerMethod handler(Object controller, String method) throws NoSuchMethodException {
+        return new HandlerMethod(controller, controller.getClass().getDeclaredMethod(method));
+    }
+
+    @Workload(WorkloadClass.REPORTING)
+    static class ReportsController {
+        void export() {
+        }
+
+        @Workload(WorkloadClass.GRADING)
+        void roster() {
+        }
+    }
+
+    static class PlainController {
+        void home() {
+        }
+    }
+}
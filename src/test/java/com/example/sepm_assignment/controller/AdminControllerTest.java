@@ -2,20 +2,27 @@ package com.example.sepm_assignment.controller;
 
 import com.example.sepm_assignment.model.User;
 import com.example.sepm_assignment.repository.UserRepository;
+import com.example.sepm_assignment.service.UserPurgeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
+
 import static org.hamcrest.Matchers.containsString;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -39,6 +46,9 @@ class AdminControllerTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserPurgeService userPurgeService;
+
     private User adminUser;
     private User testStudent;
 
@@ -171,7 +181,16 @@ class AdminControllerTest {
                 .andExpect(flash().attribute("successMessage",
                     containsString("User deleted successfully")));
 
-        // Verify user was deleted
+        // Verify user was soft-deleted, then removed by the purge job
+        User deleted = userRepository.findById(userId).orElseThrow();
+        assertTrue(deleted.isDeleted());
+        assertNotNull(deleted.getTokensRevokedBefore());
+        // The purge waits until the user's API tokens have expired
+        userPurgeService.purgeDeletedUsers();
+        assertTrue(userRepository.existsById(userId));
+        deleted.setDeletedAt(LocalDateTime.now().minusHours(1));
+        userRepository.save(deleted);
+        userPurgeService.purgeDeletedUsers();
         assert(!userRepository.existsById(userId));
     }
 
@@ -251,5 +270,26 @@ class AdminControllerTest {
                 .andExpect(redirectedUrl("/admin/dashboard"))
                 .andExpect(flash().attributeExists("errorMessage"));
     }
-}
 
+    @Test
+    @DisplayName("Should import users from an uploaded CSV")
+    @WithMockUser(roles = "ADMIN")
+    void importUsers() throws Exception {
+        // Arrange
+        String csv = "username,password,email,fullName,role\n"
+                + "imported_1,secret1,imported1@example.com,Imported One,STUDENT\n"
+                + "imported_2,secret2,imported2@example.com,Imported Two,TEACHER\n"
+                + "x,secret3,bad@example.com,Bad Row,STUDENT\n";
+        MockMultipartFile file = new MockMultipartFile("file", "users.csv", "text/csv", csv.getBytes());
+
+        // Act & Assert
+        mockMvc.perform(multipart("/admin/users/import").file(file).with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/admin/users/create"))
+                .andExpect(flash().attribute("successMessage", containsString("2 of 3 rows imported, 1 failed")))
+                .andExpect(flash().attributeExists("importErrors"));
+
+        assertTrue(userRepository.existsByUsername("imported_1"));
+        assertTrue(userRepository.existsByUsername("imported_2"));
+    }
+}
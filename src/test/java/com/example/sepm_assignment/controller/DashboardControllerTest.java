@@ -0,0 +1,149 @@
+package com.example.sepm_assignment.controller;
+
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Enrollment;
+import com.example.sepm_assignment.model.User;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import com.example.sepm_assignment.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Rendering Tests for dashboards and course detail
+ * Deliberately NOT @Transactional: with open-in-view disabled, any lazy load
+ * while a template renders fails with LazyInitializationException
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Dashboard Rendering Tests (open-in-view disabled)")
+class DashboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    private User teacher;
+    private User student;
+    private User admin;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        // Clean database
+        enrollmentRepository.deleteAll();
+        courseRepository.deleteAll();
+        userRepository.deleteAll();
+
+        teacher = saveUser("dash-teacher", "Dash Teacher", User.Role.TEACHER);
+        student = saveUser("dash-student", "Dash Student", User.Role.STUDENT);
+        admin = saveUser("dash-admin", "Dash Admin", User.Role.ADMIN);
+
+        course = new Course();
+        course.setCourseCode("DASH101");
+        course.setCourseName("Rendering Without Sessions");
+        course.setDescription("Views only see DTOs");
+        course.setCredits(3);
+        course.setTeacher(teacher);
+        course = courseRepository.save(course);
+
+        Enrollment enrollment = new Enrollment();
+        enrollment.setStudent(student);
+        enrollment.setCourse(course);
+        enrollmentRepository.save(enrollment);
+    }
+
+    @Test
+    @DisplayName("Should render student dashboard with enrollments and teacher names")
+    void studentDashboard() throws Exception {
+        mockMvc.perform(get("/student/dashboard").with(user(student.getUsername()).roles("STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(view().name("student-dashboard"))
+                .andExpect(content().string(containsString("Rendering Without Sessions")))
+                .andExpect(content().string(containsString("Dash Teacher")));
+    }
+
+    @Test
+    @DisplayName("Should render teacher dashboard with own courses")
+    void teacherDashboard() throws Exception {
+        mockMvc.perform(get("/teacher/dashboard").with(user(teacher.getUsername()).roles("TEACHER")))
+                .andExpect(status().isOk())
+                .andExpect(view().name("teacher-dashboard"))
+                .andExpect(content().string(containsString("DASH101")));
+    }
+
+    @Test
+    @DisplayName("Should render admin dashboard with users and courses")
+    void adminDashboard() throws Exception {
+        mockMvc.perform(get("/admin/dashboard").with(user(admin.getUsername()).roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(view().name("admin-dashboard"))
+                .andExpect(content().string(containsString("Dash Student")))
+                .andExpect(content().string(containsString("Dash Teacher")));
+    }
+
+    @Test
+    @DisplayName("Should filter, sort and page the admin tables on the server")
+    void adminDashboard_FiltersAndPages() throws Exception {
+        mockMvc.perform(get("/admin/dashboard").param("role", "TEACHER")
+                        .with(user(admin.getUsername()).roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("dash-teacher")))
+                .andExpect(content().string(not(containsString("dash-student"))));
+        mockMvc.perform(get("/admin/dashboard").param("q", "Dash S").param("cq", "NOPE")
+                        .with(user(admin.getUsername()).roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("dash-student")))
+                .andExpect(content().string(not(containsString("dash-teacher"))))
+                .andExpect(content().string(containsString("No courses match.")));
+        mockMvc.perform(get("/admin/dashboard").param("size", "1").param("sort", "username").param("dir", "desc")
+                        .with(user(admin.getUsername()).roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("dash-teacher")))
+                .andExpect(content().string(not(containsString("dash-admin"))))
+                .andExpect(content().string(containsString("page=1")))
+                .andExpect(content().string(containsString("3 users")));
+    }
+
+    @Test
+    @DisplayName("Should render course detail with enrolled students")
+    void courseDetail() throws Exception {
+        mockMvc.perform(get("/courses/" + course.getId()).with(user(teacher.getUsername()).roles("TEACHER")))
+                .andExpect(status().isOk())
+                .andExpect(view().name("course-detail"))
+                .andExpect(content().string(containsString("Dash Student")))
+                .andExpect(content().string(containsString("Dash Teacher")));
+    }
+
+    private User saveUser(String username, String fullName, User.Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("password");
+        user.setEmail(username + "@example.com");
+        user.setFullName(fullName);
+        user.setRole(role);
+        user.setEnabled(true);
+        return userRepository.save(user);
+    }
+}
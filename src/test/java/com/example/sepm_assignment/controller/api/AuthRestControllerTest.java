@@ -0,0 +1,136 @@
+package com.example.sepm_assignment.controller.api;
+
+import com.example.sepm_assignment.model.User;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import com.example.sepm_assignment.repository.UserRepository;
+import com.example.sepm_assignment.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration Tests for bearer-token authentication on the REST API
+ * Uses H2 in-memory database
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("AuthRestController Token Integration Tests")
+class AuthRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserService userService;
+
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        // Clean database
+        enrollmentRepository.deleteAll();
+        courseRepository.deleteAll();
+        userRepository.deleteAll();
+
+        admin = new User();
+        admin.setUsername("token_admin");
+        admin.setPassword(passwordEncoder.encode("admin123"));
+        admin.setEmail("token_admin@example.com");
+        admin.setFullName("Token Admin");
+        admin.setRole(User.Role.ADMIN);
+        admin.setEnabled(true);
+        admin = userRepository.save(admin);
+    }
+
+    @Test
+    @DisplayName("Should issue a token and accept it without creating a session")
+    void issueToken_ThenCallApi() throws Exception {
+        // Arrange
+        String token = obtainToken("token_admin", "admin123");
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username").value("token_admin"))
+                .andReturn();
+
+        // Assert
+        assertNull(result.getRequest().getSession(false));
+    }
+
+    @Test
+    @DisplayName("Should reject token requests with bad credentials")
+    void issueToken_BadCredentials() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"token_admin\",\"password\":\"wrong\"}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should answer 401 for a forged token")
+    void invalidToken_Unauthorized() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/users").header("Authorization", "Bearer abc.def.ghi"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string("WWW-Authenticate", "Bearer error=\"invalid_token\""));
+    }
+
+    @Test
+    @DisplayName("Should revoke tokens of a user who gets disabled")
+    void disabledUser_TokenRevoked() throws Exception {
+        // Arrange
+        String token = obtainToken("token_admin", "admin123");
+
+        // Act
+        userService.toggleUserStatus(admin.getId());
+
+        // Assert
+        mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String obtainToken(String username, String password) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/auth/token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tokenType").value("Bearer"))
+                .andReturn();
+        JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+        return body.get("accessToken").asText();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.sepm_assignment.controller.api;
+
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.User;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration Tests for the change feed API
+ * Uses H2 in-memory database; changes are recorded by the entity listener as they are written
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Change Feed Integration Tests")
+class ChangeFeedRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllById(userIds);
+    }
+
+    @Test
+    @DisplayName("Should return inserts and updates after the token and a tombstone for a deleted course")
+    void getChanges_ReturnsDeltaAfterToken() throws Exception {
+        // Arrange
+        String token = changes(null).get("next").asText();
+        User teacher = new User();
+        teacher.setUsername("feed" + System.nanoTime() % 1_000_000);
+        teacher.setPassword("password");
+        teacher.setEmail(teacher.getUsername() + "@example.com");
+        teacher.setFullName("Feed Teacher");
+        teacher.setRole(User.Role.TEACHER);
+        teacher = userRepository.save(teacher);
+        userIds.add(teacher.getId());
+        Course course = new Course();
+        course.setCourseCode("FEED-" + System.nanoTime());
+        course.setCourseName("Change Feed");
+        course.setCredits(3);
+        course = courseRepository.save(course);
+        course.setCourseName("Change Feed, Revised");
+        course = courseRepository.save(course);
+        courseRepository.deleteById(course.getId());
+        teacher.setFullName("Feed Teacher, PhD");
+        userRepository.save(teacher);
+
+        // Act
+        JsonNode feed = changes(token);
+
+        // Assert
+        List<String> changes = new ArrayList<>();
+        for (JsonNode change : feed.get("changes")) {
+            changes.add(change.get("type").asText() + ":" + change.get("id").asLong() + ":" + change.get("operation").asText());
+        }
+        assertEquals(List.of("COURSE:" + course.getId() + ":DELETE", "USER:" + teacher.getId() + ":UPSERT"), changes);
+        assertEquals("Feed Teacher, PhD", feed.get("changes").get(1).get("data").get("fullName").asText());
+        assertFalse(feed.get("hasMore").asBoolean());
+        assertTrue(changes(feed.get("next").asText()).get("changes").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed token and non-admin callers")
+    void getChanges_RejectsBadTokenAndNonAdmins() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/changes").param("since", "yesterday").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/changes").with(user("teacher").roles("TEACHER")))
+                .andExpect(status().isForbidden());
+    }
+
+    private JsonNode changes(String since) throws Exception {
+        String body = mockMvc.perform(get("/api/changes").param("since", since == null ? "" : since)
+                        .with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
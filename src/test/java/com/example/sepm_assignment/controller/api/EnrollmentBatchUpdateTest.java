@@ -0,0 +1,118 @@
+package com.example.sepm_assignment.controller.api;
+
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Enrollment;
+import com.example.sepm_assignment.model.User;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import com.example.sepm_assignment.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration Tests for batch grade and status updates on the enrollment API
+ * Uses H2 in-memory database
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Enrollment Batch Update Integration Tests")
+class EnrollmentBatchUpdateTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    private Course course;
+    private final List<User> students = new ArrayList<>();
+    private final List<Enrollment> enrollments = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        course = new Course();
+        course.setCourseCode("BATCH-" + System.nanoTime());
+        course.setCourseName("Graded Seminar");
+        course.setCredits(3);
+        course = courseRepository.save(course);
+        for (int i = 0; i < 3; i++) {
+            User student = new User();
+            student.setUsername("batch" + i + "_" + System.nanoTime() % 100_000);
+            student.setPassword("password");
+            student.setEmail(student.getUsername() + "@example.com");
+            student.setFullName("Batch Student " + i);
+            student.setRole(User.Role.STUDENT);
+            students.add(userRepository.save(student));
+            Enrollment enrollment = new Enrollment();
+            enrollment.setStudent(student);
+            enrollment.setCourse(course);
+            enrollments.add(enrollmentRepository.save(enrollment));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        enrollmentRepository.deleteAll(enrollmentRepository.findByCourseId(course.getId()));
+        courseRepository.deleteById(course.getId());
+        userRepository.deleteAll(students);
+    }
+
+    @Test
+    @DisplayName("Should apply grades and statuses in one call and report missing enrollments")
+    void updateEnrollments_AppliesBatch() throws Exception {
+        // Arrange
+        String body = "[" +
+                "{\"enrollmentId\":" + enrollments.get(0).getId() + ",\"grade\":1.3}," +
+                "{\"enrollmentId\":" + enrollments.get(1).getId() + ",\"grade\":2.7,\"status\":\"COMPLETED\"}," +
+                "{\"enrollmentId\":" + enrollments.get(2).getId() + ",\"status\":\"DROPPED\"}," +
+                "{\"enrollmentId\":999999,\"grade\":4.0}]";
+
+        // Act & Assert
+        mockMvc.perform(put("/api/enrollments/batch").with(user("teacher").roles("TEACHER"))
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].enrollment.grade").value(2.7))
+                .andExpect(jsonPath("$[3].success").value(false))
+                .andExpect(jsonPath("$[3].error").value("Enrollment not found"));
+
+        assertEquals(1.3, enrollmentRepository.findById(enrollments.get(0).getId()).orElseThrow().getGrade());
+        Enrollment completed = enrollmentRepository.findById(enrollments.get(1).getId()).orElseThrow();
+        assertEquals(2.7, completed.getGrade());
+        assertEquals(Enrollment.EnrollmentStatus.COMPLETED, completed.getStatus());
+        assertNotNull(completed.getUpdatedAt());
+        assertEquals(Enrollment.EnrollmentStatus.DROPPED,
+                enrollmentRepository.findById(enrollments.get(2).getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should not let students update enrollments in batch")
+    void updateEnrollments_ForbiddenForStudents() throws Exception {
+        // Act & Assert
+        mockMvc.perform(put("/api/enrollments/batch").with(user("student").roles("STUDENT"))
+                        .contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isForbidden());
+    }
+}
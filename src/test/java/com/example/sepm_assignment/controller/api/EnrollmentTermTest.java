@@ -0,0 +1,120 @@
+package com.example.sepm_assignment.controller.api;
+
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Enrollment;
+import com.example.sepm_assignment.model.User;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import com.example.sepm_assignment.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration Tests for course terms on enrollments and the enrollment partition API
+ * Uses H2 in-memory database, where enrollments are not partitioned
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Enrollment Term Integration Tests")
+class EnrollmentTermTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    private final List<Course> courses = new ArrayList<>();
+    private User student;
+
+    @BeforeEach
+    void setUp() {
+        student = new User();
+        student.setUsername("term_" + System.nanoTime() % 100_000);
+        student.setPassword("password");
+        student.setEmail(student.getUsername() + "@example.com");
+        student.setFullName("Term Student");
+        student.setRole(User.Role.STUDENT);
+        student = userRepository.save(student);
+        courses.add(course("2025-fall"));
+        courses.add(course("2026-spring"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        enrollmentRepository.deleteAll(enrollmentRepository.findByStudentId(student.getId()));
+        courseRepository.deleteAll(courses);
+        userRepository.delete(student);
+    }
+
+    @Test
+    @DisplayName("Should copy the course term onto enrollments and list one term of a student's enrollments")
+    void enrollments_CarryCourseTerm() throws Exception {
+        // Arrange
+        for (Course course : courses) {
+            mockMvc.perform(post("/api/enrollments").with(user(student.getUsername()).roles("STUDENT"))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"studentId\":" + student.getId() + ",\"courseId\":" + course.getId() + "}"))
+                    .andExpect(status().isCreated());
+        }
+
+        // Act & Assert
+        mockMvc.perform(get("/api/enrollments/student/" + student.getId()).param("term", "2026-Spring")
+                        .with(user(student.getUsername()).roles("STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].courseId").value(courses.get(1).getId()))
+                .andExpect(jsonPath("$[0].term").value("2026-spring"));
+        mockMvc.perform(get("/api/enrollments/student/" + student.getId()).param("term", "no term!")
+                        .with(user(student.getUsername()).roles("STUDENT")))
+                .andExpect(status().isBadRequest());
+        assertEquals(List.of("2025-fall", "2026-spring"), enrollmentRepository.findByStudentId(student.getId()).stream()
+                .map(Enrollment::getTerm).sorted().toList());
+    }
+
+    @Test
+    @DisplayName("Should report no partitions and refuse to archive without PostgreSQL")
+    void partitions_NeedPostgres() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/enrollment-partitions").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(post("/api/admin/enrollment-partitions/2025-fall/archive").param("detach", "true")
+                        .with(user("admin").roles("ADMIN")))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/api/admin/enrollment-partitions").with(user("teacher").roles("TEACHER")))
+                .andExpect(status().isForbidden());
+    }
+
+    private Course course(String term) {
+        Course course = new Course();
+        course.setCourseCode("TERM-" + System.nanoTime());
+        course.setCourseName("Course in " + term);
+        course.setCredits(3);
+        course.setTerm(term);
+        return courseRepository.save(course);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.sepm_assignment.controller.api;
+
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Enrollment;
+import com.example.sepm_assignment.model.User;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import com.example.sepm_assignment.repository.UserRepository;
+import com.example.sepm_assignment.service.WaitlistService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration Tests for course waitlists on the enrollment API
+ * Uses H2 in-memory database; promotion runs on the waitlist executor, so tests poll for it
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Enrollment Waitlist Integration Tests")
+class EnrollmentWaitlistTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    private Course course;
+    private User first;
+    private User second;
+    private User third;
+
+    @BeforeEach
+    void setUp() {
+        course = new Course();
+        course.setCourseCode("WAIT-" + System.nanoTime());
+        course.setCourseName("Small Seminar");
+        course.setCredits(3);
+        course.setCapacity(1);
+        course = courseRepository.save(course);
+        first = student("first");
+        second = student("second");
+        third = student("third");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        // Let any promotion still running finish before removing its rows
+        Thread.sleep(100);
+        enrollmentRepository.deleteAll(enrollmentRepository.findByCourseId(course.getId()));
+        courseRepository.deleteById(course.getId());
+        userRepository.deleteAllById(List.of(first.getId(), second.getId(), third.getId()));
+    }
+
+    @Test
+    @DisplayName("Should waitlist students once the course is full and promote the first one on delete")
+    void fullCourse_WaitlistThenPromoteOnDelete() throws Exception {
+        // Arrange
+        enroll(first).andExpect(status().isCreated());
+        enroll(second).andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.position").value(1));
+        enroll(third).andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.position").value(2));
+        Long enrollmentId = enrollmentRepository.findByStudentIdAndCourseId(first.getId(), course.getId())
+                .orElseThrow().getId();
+
+        // Act
+        mockMvc.perform(delete("/api/enrollments/" + enrollmentId).with(user("admin").roles("ADMIN")))
+                .andExpect(status().isNoContent());
+
+        // Assert
+        awaitEnrolled(second);
+        assertFalse(enrollmentRepository.existsByStudentIdAndCourseId(third.getId(), course.getId()));
+        assertEquals(1, waitlistService.getPosition(third.getId(), course.getId()));
+    }
+
+    @Test
+    @DisplayName("Should promote the next student when an enrollment is dropped")
+    void fullCourse_PromoteOnDrop() throws Exception {
+        // Arrange
+        String created = enroll(first).andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+        long enrollmentId = objectMapper.readTree(created).get("id").asLong();
+        enroll(second).andExpect(status().isAccepted());
+
+        // Act
+        mockMvc.perform(put("/api/enrollments/" + enrollmentId + "/status").with(user("teacher").roles("TEACHER"))
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"status\":\"DROPPED\"}"))
+                .andExpect(status().isOk());
+
+        // Assert
+        awaitEnrolled(second);
+        assertEquals(0, waitlistService.getPosition(second.getId(), course.getId()));
+    }
+
+    @Test
+    @DisplayName("Should let a student leave the waitlist")
+    void leaveWaitlist() throws Exception {
+        // Arrange
+        enroll(first).andExpect(status().isCreated());
+        enroll(second).andExpect(status().isAccepted());
+
+        // Act
+        mockMvc.perform(delete("/api/enrollments/waitlist/" + course.getId() + "/student/" + second.getId())
+                        .with(user("second").roles("STUDENT")))
+                .andExpect(status().isNoContent());
+
+        // Assert
+        assertEquals(0, waitlistService.getPosition(second.getId(), course.getId()));
+        assertTrue(waitlistService.getWaitlistForStudent(second.getId()).isEmpty());
+    }
+
+    private ResultActions enroll(User student) throws Exception {
+        return mockMvc.perform(post("/api/enrollments").with(user(student.getUsername()).roles("STUDENT"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"studentId\":" + student.getId() + ",\"courseId\":" + course.getId() + "}"));
+    }
+
+    private void awaitEnrolled(User student) throws InterruptedException {
+        for (int i = 0; i < 100 && !enrollmentRepository.existsByStudentIdAndCourseId(student.getId(), course.getId()); i++) {
+            Thread.sleep(50);
+        }
+        assertEquals(Enrollment.EnrollmentStatus.ACTIVE, enrollmentRepository
+                .findByStudentIdAndCourseId(student.getId(), course.getId()).orElseThrow().getStatus());
+    }
+
+    private User student(String name) {
+        User student = new User();
+        student.setUsername("wl_" + name + "_" + System.nanoTime() % 100000);
+        student.setPassword("password");
+        student.setEmail(student.getUsername() + "@example.com");
+        student.setFullName("Waitlist " + name);
+        student.setRole(User.Role.STUDENT);
+        student.setEnabled(true);
+        return userRepository.save(student);
+    }
+}
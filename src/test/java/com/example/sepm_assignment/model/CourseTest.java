@@ -41,7 +41,7 @@ class CourseTest {
 
         // Act
         Course newCourse = new Course(1L, "CS101", "Introduction to CS",
-                "Basic concepts", 3, teacher, null);
+                "Basic concepts", 3, null, null, null, teacher, null);
 
         // Assert
         assertNotNull(newCourse);
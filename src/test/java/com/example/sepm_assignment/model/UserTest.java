@@ -37,7 +37,7 @@ class UserTest {
     void allArgsConstructor() {
         // Act
         User newUser = new User(1L, "testuser", "password", "test@example.com",
-                "Test User", User.Role.STUDENT, true, null, null);
+                "Test User", User.Role.STUDENT, true, null, null, null, null, null);
 
         // Assert
         assertNotNull(newUser);
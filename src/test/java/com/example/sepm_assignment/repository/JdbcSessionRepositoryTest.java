@@ -0,0 +1,176 @@
+package com.example.sepm_assignment.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Repository Tests for JdbcSessionRepository
+ * Two repository instances over one database stand in for two application replicas
+ * Uses @DataJpaTest so the http_sessions table is created from its entity
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("JdbcSessionRepository Tests")
+class JdbcSessionRepositoryTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JdbcSessionRepository nodeA;
+    private JdbcSessionRepository nodeB;
+
+    @BeforeEach
+    void setUp() {
+        // Clean database
+        jdbcTemplate.update("DELETE FROM http_sessions");
+
+        nodeA = newNode();
+        nodeB = newNode();
+    }
+
+    @Test
+    @DisplayName("Should make a new session and its attributes visible to another node")
+    void save_NewSession_VisibleOnOtherNode() {
+        // Arrange
+        JdbcSessionRepository.JdbcSession session = nodeA.createSession();
+        session.setAttribute("user", "student1");
+
+        // Act
+        nodeA.save(session);
+        JdbcSessionRepository.JdbcSession loaded = nodeB.findById(session.getId());
+
+        // Assert
+        assertNotNull(loaded);
+        assertEquals("student1", loaded.getAttribute("user"));
+    }
+
+    @Test
+    @DisplayName("Should defer last-access updates until the touches are flushed")
+    void save_TouchOnly_IsDeferred() {
+        // Arrange
+        JdbcSessionRepository.JdbcSession session = nodeA.createSession();
+        nodeA.save(session);
+        long stored = lastAccessed(session.getId());
+
+        // Act
+        JdbcSessionRepository.JdbcSession current = nodeA.findById(session.getId());
+        current.setLastAccessedTime(Instant.ofEpochMilli(stored).plusSeconds(60));
+        nodeA.save(current);
+
+        // Assert
+        assertEquals(stored, lastAccessed(session.getId()));
+        nodeA.flushTouches();
+        assertEquals(stored + 60_000, lastAccessed(session.getId()));
+    }
+
+    @Test
+    @DisplayName("Should not serve a stale near-cache entry after another node changed the session")
+    void findById_RevalidatesNearCache() {
+        // Arrange
+        JdbcSessionRepository.JdbcSession session = nodeA.createSession();
+        session.setAttribute("flash", "before");
+        nodeA.save(session);
+        assertEquals("before", nodeB.findById(session.getId()).getAttribute("flash"));
+
+        // Act
+        JdbcSessionRepository.JdbcSession onA = nodeA.findById(session.getId());
+        onA.setAttribute("flash", "after");
+        nodeA.save(onA);
+
+        // Assert
+        assertEquals("after", nodeB.findById(session.getId()).getAttribute("flash"));
+    }
+
+    @Test
+    @DisplayName("Should keep both nodes' attribute changes when they write the same session concurrently")
+    void save_ConcurrentChanges_AreMerged() {
+        // Arrange
+        JdbcSessionRepository.JdbcSession session = nodeA.createSession();
+        session.setAttribute("cart", "empty");
+        session.setAttribute("flash", "welcome");
+        nodeA.save(session);
+        JdbcSessionRepository.JdbcSession onA = nodeA.findById(session.getId());
+        JdbcSessionRepository.JdbcSession onB = nodeB.findById(session.getId());
+
+        // Act
+        onA.setAttribute("cart", "CS101");
+        nodeA.save(onA);
+        onB.removeAttribute("flash");
+        onB.setAttribute("locale", "en");
+        nodeB.save(onB);
+
+        // Assert
+        JdbcSessionRepository.JdbcSession stored = nodeA.findById(session.getId());
+        assertEquals("CS101", stored.getAttribute("cart"));
+        assertEquals("en", stored.getAttribute("locale"));
+        assertNull(stored.getAttribute("flash"));
+        assertEquals("CS101", onB.getAttribute("cart"));
+    }
+
+    @Test
+    @DisplayName("Should move the row when the session id changes on login")
+    void save_ChangedSessionId() {
+        // Arrange
+        JdbcSessionRepository.JdbcSession session = nodeA.createSession();
+        nodeA.save(session);
+        String oldId = session.getId();
+
+        // Act
+        JdbcSessionRepository.JdbcSession loaded = nodeA.findById(oldId);
+        String newId = loaded.changeSessionId();
+        nodeA.save(loaded);
+
+        // Assert
+        assertNull(nodeB.findById(oldId));
+        assertNotNull(nodeB.findById(newId));
+    }
+
+    @Test
+    @DisplayName("Should not return a session deleted on another node")
+    void deleteById_VisibleOnOtherNode() {
+        // Arrange
+        JdbcSessionRepository.JdbcSession session = nodeA.createSession();
+        nodeA.save(session);
+        assertNotNull(nodeB.findById(session.getId()));
+
+        // Act
+        nodeA.deleteById(session.getId());
+
+        // Assert
+        assertNull(nodeB.findById(session.getId()));
+    }
+
+    @Test
+    @DisplayName("Should drop expired sessions on read")
+    void findById_Expired() {
+        // Arrange
+        JdbcSessionRepository.JdbcSession session = nodeA.createSession();
+        session.setMaxInactiveInterval(Duration.ofSeconds(1));
+        session.setLastAccessedTime(Instant.now().minusSeconds(10));
+        nodeA.save(session);
+
+        // Act & Assert
+        assertNull(nodeB.findById(session.getId()));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM http_sessions", Integer.class));
+    }
+
+    private JdbcSessionRepository newNode() {
+        return new JdbcSessionRepository(jdbcTemplate, Duration.ofMinutes(30), Duration.ofSeconds(30),
+                100, true, new SimpleMeterRegistry());
+    }
+
+    private long lastAccessed(String id) {
+        return jdbcTemplate.queryForObject("SELECT last_accessed_time FROM http_sessions WHERE id = ?", Long.class, id);
+    }
+}
@@ -6,6 +6,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
@@ -222,4 +225,36 @@ class UserRepositoryTest {
         // Assert
         assertEquals(initialCount + 1, userRepository.count());
     }
+
+    @Test
+    @DisplayName("Should page filtered users one row past the page and count only up to the limit")
+    void findPage_FiltersPagesAndCounts() {
+        // Arrange
+        for (int i = 1; i <= 3; i++) {
+            User user = new User();
+            user.setUsername("page_student" + i);
+            user.setPassword("password");
+            user.setEmail("page_student" + i + "@example.com");
+            user.setFullName("Paged Student " + i);
+            user.setRole(User.Role.STUDENT);
+            user.setEnabled(i != 3);
+            userRepository.save(user);
+        }
+        Sort byUsername = Sort.by("username");
+
+        // Act
+        Slice<User> first = userRepository.findPage(User.Role.STUDENT, null, "page!_%", PageRequest.of(0, 2, byUsername));
+        Slice<User> second = userRepository.findPage(User.Role.STUDENT, null, "page!_%", PageRequest.of(1, 2, byUsername));
+        Slice<User> enabled = userRepository.findPage(null, true, "Paged%", PageRequest.of(0, 10, byUsername));
+
+        // Assert
+        assertEquals(List.of("page_student1", "page_student2"), first.map(User::getUsername).getContent());
+        assertTrue(first.hasNext());
+        assertEquals(List.of("page_student3"), second.map(User::getUsername).getContent());
+        assertFalse(second.hasNext());
+        assertEquals(2, enabled.getNumberOfElements());
+        assertEquals(4, userRepository.countPage(User.Role.STUDENT, null, null, 10));
+        assertEquals(4, userRepository.countPage(User.Role.STUDENT, null, null, 4));
+        assertEquals(4, userRepository.countPage(User.Role.STUDENT, null, null, 3), "limit + 1 past the limit");
+    }
 }
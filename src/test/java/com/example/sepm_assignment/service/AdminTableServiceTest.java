@@ -0,0 +1,126 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.dto.PageDTO;
+import com.example.sepm_assignment.dto.UserDTO;
+import com.example.sepm_assignment.model.User;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for AdminTableService
+ * Tests sort and page limits, prefix escaping and how the table totals are counted or estimated
+ * Follows AAA (Arrange-Act-Assert) pattern
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("AdminTableService Unit Tests")
+class AdminTableServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final UserService userService = new UserService(null, null, null, null);
+
+    @Test
+    @DisplayName("Should take the total from the last page and fall back to a safe sort and page size")
+    void getUsers_LastPageIsExact() {
+        // Arrange
+        when(userRepository.findPage(any(), any(), any(), any())).thenAnswer(inv ->
+                new SliceImpl<>(List.of(user(1L), user(2L)), inv.getArgument(3), false));
+
+        // Act
+        PageDTO<UserDTO> page = service(false).getUsers(null, null, "50%_off", 0, 500, "password; --", "DESC");
+
+        // Assert
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(userRepository).findPage(isNull(), isNull(), eq("50!%!_off%"), pageable.capture());
+        assertEquals(AdminTableService.MAX_PAGE_SIZE, pageable.getValue().getPageSize());
+        assertEquals(Sort.by(Sort.Direction.DESC, "username").and(Sort.by(Sort.Direction.DESC, "id")),
+                pageable.getValue().getSort());
+        assertEquals(2, page.getTotal());
+        assertTrue(page.isTotalExact());
+        assertEquals("username", page.getSort());
+        assertEquals("desc", page.getDirection());
+        verify(userRepository, never()).countPage(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should show the planner estimate for a big unfiltered table instead of counting")
+    void getUsers_BigTableUsesEstimate() {
+        // Arrange
+        when(userRepository.findPage(any(), any(), any(), any())).thenAnswer(inv ->
+                new SliceImpl<>(List.of(user(1L)), inv.getArgument(3), true));
+        when(jdbcTemplate.queryForList(contains("reltuples"), eq(Long.class), eq("users")))
+                .thenReturn(List.of(120_000L));
+
+        // Act
+        PageDTO<UserDTO> page = service(true).getUsers(null, null, null, 0, 1, null, null);
+
+        // Assert
+        assertEquals(120_000, page.getTotal());
+        assertFalse(page.isTotalExact());
+        assertTrue(page.getTotalLabel().startsWith("about "));
+        assertTrue(page.isHasNext());
+        verify(userRepository, never()).countPage(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should count filtered matches only up to the limit")
+    void getUsers_FilteredCountIsBounded() {
+        // Arrange
+        when(userRepository.findPage(any(), any(), any(), any())).thenAnswer(inv ->
+                new SliceImpl<>(List.of(user(1L)), inv.getArgument(3), true));
+        when(userRepository.countPage(eq(User.Role.STUDENT), eq(true), isNull(), anyInt()))
+                .thenAnswer(inv -> inv.<Integer>getArgument(3) + 1L);
+        when(userRepository.countPage(eq(User.Role.TEACHER), isNull(), isNull(), anyInt())).thenReturn(7L);
+        AdminTableService service = service(true);
+
+        // Act
+        PageDTO<UserDTO> students = service.getUsers(User.Role.STUDENT, true, " ", 0, 1, null, null);
+        PageDTO<UserDTO> teachers = service.getUsers(User.Role.TEACHER, null, null, 0, 1, null, null);
+
+        // Assert
+        assertEquals(100, students.getTotal());
+        assertFalse(students.isTotalExact());
+        assertEquals("100+", students.getTotalLabel());
+        assertEquals(7, teachers.getTotal());
+        assertTrue(teachers.isTotalExact());
+        verify(jdbcTemplate, never()).queryForList(contains("reltuples"), eq(Long.class), any());
+    }
+
+    private AdminTableService service(boolean postgres) {
+        return new AdminTableService(userRepository, courseRepository, userService, null, jdbcTemplate, 100, postgres);
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setRole(User.Role.STUDENT);
+        return user;
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for ApiTokenService
+ * Follows AAA (Arrange-Act-Assert) pattern
+ */
+@DisplayName("ApiTokenService Unit Tests")
+class ApiTokenServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private MutableClock clock;
+    private ApiTokenService apiTokenService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T10:00:00Z"));
+        apiTokenService = new ApiTokenService(new ObjectMapper(), userRepository, SECRET, Duration.ofMinutes(15), clock);
+    }
+
+    @Test
+    @DisplayName("Should verify its own token and return the claims")
+    void issueAndVerify_Success() {
+        // Act
+        String token = apiTokenService.issueToken(7L, "student1", "STUDENT");
+        Optional<ApiTokenService.Claims> claims = apiTokenService.verify(token);
+
+        // Assert
+        assertTrue(claims.isPresent());
+        assertEquals("student1", claims.get().sub());
+        assertEquals(7L, claims.get().uid());
+        assertEquals("STUDENT", claims.get().role());
+    }
+
+    @Test
+    @DisplayName("Should reject a token whose payload was altered")
+    void verify_TamperedToken() {
+        // Arrange
+        String token = apiTokenService.issueToken(7L, "student1", "STUDENT");
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                "{\"sub\":\"student1\",\"uid\":7,\"role\":\"ADMIN\",\"iat\":1704103200,\"exp\":1999999999}".getBytes());
+
+        // Act & Assert
+        assertTrue(apiTokenService.verify(parts[0] + "." + forgedPayload + "." + parts[2]).isEmpty());
+        assertTrue(apiTokenService.verify("not-a-token").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with another secret")
+    void verify_OtherSecret() {
+        // Arrange
+        ApiTokenService other = new ApiTokenService(new ObjectMapper(), userRepository, "another-secret-another-secret-xx", Duration.ofMinutes(15), clock);
+
+        // Act & Assert
+        assertTrue(apiTokenService.verify(other.issueToken(7L, "student1", "STUDENT")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token")
+    void verify_Expired() {
+        // Arrange
+        String token = apiTokenService.issueToken(7L, "student1", "STUDENT");
+
+        // Act
+        clock.advance(Duration.ofMinutes(16));
+
+        // Assert
+        assertTrue(apiTokenService.verify(token).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject tokens issued before revocation but accept newer ones")
+    void revokeTokens() {
+        // Arrange
+        String oldToken = apiTokenService.issueToken(7L, "student1", "STUDENT");
+        String otherUser = apiTokenService.issueToken(8L, "student2", "STUDENT");
+
+        // Act
+        apiTokenService.revokeTokens(7L);
+        clock.advance(Duration.ofSeconds(1));
+        String newToken = apiTokenService.issueToken(7L, "student1", "STUDENT");
+
+        // Assert
+        assertTrue(apiTokenService.verify(oldToken).isEmpty());
+        assertTrue(apiTokenService.verify(otherUser).isPresent());
+        assertTrue(apiTokenService.verify(newToken).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should reject tokens revoked on another node once the stored revocations are loaded")
+    void loadRevocations_FromOtherNode() {
+        // Arrange
+        String token = apiTokenService.issueToken(7L, "student1", "STUDENT");
+        String otherUser = apiTokenService.issueToken(8L, "student2", "STUDENT");
+        long revokedAt = clock.instant().getEpochSecond();
+        when(userRepository.findTokenRevocationsSince(revokedAt - 900)).thenReturn(List.<Object[]>of(new Object[]{7L, revokedAt}));
+
+        // Act
+        boolean validBefore = apiTokenService.verify(token).isPresent();
+        apiTokenService.loadRevocations();
+
+        // Assert
+        assertTrue(validBefore);
+        assertTrue(apiTokenService.verify(token).isEmpty());
+        assertTrue(apiTokenService.verify(otherUser).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should refuse a secret shorter than 32 bytes")
+    void shortSecret_Rejected() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new ApiTokenService(new ObjectMapper(), userRepository, "too-short", Duration.ofMinutes(15), clock));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.model.AuditEntry;
+import com.example.sepm_assignment.repository.AuditEntryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for AuditLog
+ * Tests batched writes of buffered entries, failed batches and both overflow policies
+ * Follows AAA (Arrange-Act-Assert) pattern
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("AuditLog Unit Tests")
+class AuditLogTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private AuditEntryRepository auditEntryRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private final Clock clock = Clock.fixed(Instant.parse("2026-01-15T10:00:00Z"), ZoneOffset.UTC);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should write buffered entries in batches with the acting user")
+    void flush_WritesInBatches() {
+        // Arrange
+        AuditLog auditLog = auditLog(100, AuditLog.OverflowPolicy.DROP);
+        // The writer reuses its batch list, so keep a copy of each one
+        List<List<Object[]>> batches = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(eq(AuditLog.INSERT_SQL), anyList())).thenAnswer(inv -> {
+            batches.add(new ArrayList<>(inv.<List<Object[]>>getArgument(1)));
+            return new int[0];
+        });
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "teacher1", null, List.of(new SimpleGrantedAuthority("ROLE_TEACHER"))));
+        for (long id = 1; id <= 5; id++) {
+            auditLog.onAuditEvent(new EnrollmentAuditEvent(AuditEntry.Action.GRADE_CHANGED, id, 2L, 3L, "null -> 90.0"));
+        }
+
+        // Act
+        auditLog.flush();
+
+        // Assert
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+        Object[] first = batches.get(0).get(0);
+        assertEquals("GRADE_CHANGED", first[1]);
+        assertEquals("teacher1", first[2]);
+        assertEquals(1L, first[3]);
+        assertEquals(5.0, meterRegistry.get("audit.written").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should count and discard entries that do not fit when overflow is drop")
+    void onAuditEvent_DropOverflow() {
+        // Arrange
+        AuditLog auditLog = auditLog(1, AuditLog.OverflowPolicy.DROP);
+
+        // Act
+        auditLog.onAuditEvent(new EnrollmentAuditEvent(AuditEntry.Action.ENROLLED, 1L, 2L, 3L, null));
+        auditLog.onAuditEvent(new EnrollmentAuditEvent(AuditEntry.Action.ENROLLED, 2L, 2L, 4L, null));
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("audit.dropped").counter().count());
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Should insert on the calling thread when the buffer is full and overflow is caller-writes")
+    void onAuditEvent_CallerWritesOverflow() {
+        // Arrange
+        AuditLog auditLog = auditLog(1, AuditLog.OverflowPolicy.CALLER_WRITES);
+
+        // Act
+        auditLog.onAuditEvent(new EnrollmentAuditEvent(AuditEntry.Action.ENROLLED, 1L, 2L, 3L, null));
+        auditLog.onAuditEvent(new EnrollmentAuditEvent(AuditEntry.Action.DELETED, 2L, 2L, 4L, null));
+
+        // Assert
+        ArgumentCaptor<Object[]> row = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(1)).update(eq(AuditLog.INSERT_SQL), row.capture());
+        assertEquals("DELETED", row.getValue()[1]);
+        assertEquals(AuditLog.SYSTEM_ACTOR, row.getValue()[2]);
+        assertEquals(1.0, meterRegistry.get("audit.caller_writes").counter().count());
+        assertEquals(0.0, meterRegistry.get("audit.dropped").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should write a rejected batch row by row and drop only the rows the database rejects")
+    void flush_RejectedBatchFallsBackToRows() {
+        // Arrange
+        AuditLog auditLog = auditLog(100, AuditLog.OverflowPolicy.DROP);
+        when(jdbcTemplate.batchUpdate(eq(AuditLog.INSERT_SQL), anyList()))
+                .thenThrow(new DataIntegrityViolationException("value too long for detail"));
+        // Only the entry for enrollment 2 is bad
+        when(jdbcTemplate.update(eq(AuditLog.INSERT_SQL), any(), any(), any(), eq(2L), any(), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("value too long for detail"));
+        auditLog.onAuditEvent(new EnrollmentAuditEvent(AuditEntry.Action.ENROLLED, 1L, 2L, 3L, null));
+        auditLog.onAuditEvent(new EnrollmentAuditEvent(AuditEntry.Action.ENROLLED, 2L, 2L, 4L, "x".repeat(600)));
+
+        // Act
+        auditLog.flush();
+
+        // Assert
+        verify(jdbcTemplate, times(2)).update(eq(AuditLog.INSERT_SQL), any(Object[].class));
+        assertEquals(1.0, meterRegistry.get("audit.written").counter().count());
+        assertEquals(1.0, meterRegistry.get("audit.dropped").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep retrying a batch while the database is unavailable")
+    void runWriter_RetriesTransientFailures() throws Exception {
+        // Arrange
+        AuditLog auditLog = auditLog(100, AuditLog.OverflowPolicy.DROP);
+        when(jdbcTemplate.batchUpdate(eq(AuditLog.INSERT_SQL), anyList()))
+                .thenThrow(new CannotGetJdbcConnectionException("connection refused"))
+                .thenReturn(new int[0]);
+        auditLog.onAuditEvent(new EnrollmentAuditEvent(AuditEntry.Action.ENROLLED, 1L, 2L, 3L, null));
+
+        // Act
+        auditLog.start();
+        try {
+            verify(jdbcTemplate, timeout(5000).times(2)).batchUpdate(eq(AuditLog.INSERT_SQL), anyList());
+        } finally {
+            auditLog.shutdown();
+        }
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("audit.written").counter().count());
+        assertEquals(0.0, meterRegistry.get("audit.dropped").counter().count());
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    // The writer thread is not started, so entries stay buffered until flush()
+    private AuditLog auditLog(int bufferCapacity, AuditLog.OverflowPolicy overflowPolicy) {
+        return new AuditLog(jdbcTemplate, auditEntryRepository, meterRegistry, true, bufferCapacity, 2,
+                Duration.ofMillis(10), overflowPolicy, clock);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.config.BoundedLocalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for CacheInvalidationService
+ * Tests how channel messages and local invalidations evict cache entries
+ * Follows AAA (Arrange-Act-Assert) pattern
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("CacheInvalidationService Unit Tests")
+class CacheInvalidationServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ObjectProvider<CacheManager> cacheManagerProvider;
+
+    @Mock
+    private JdbcConnectionDetails connectionDetails;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-01-15T10:00:00Z"), ZoneOffset.UTC);
+    private SimpleMeterRegistry meterRegistry;
+    private Cache courses;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(new BoundedLocalCache("courses", 100, Duration.ofMinutes(10), meterRegistry)));
+        cacheManager.afterPropertiesSet();
+        when(cacheManagerProvider.getIfAvailable()).thenReturn(cacheManager);
+        courses = cacheManager.getCache("courses");
+        courses.put(1L, "CS101");
+        courses.put(2L, "CS102");
+    }
+
+    @Test
+    @DisplayName("Should evict the key named by another node and record the delivery lag")
+    void handle_OtherNodeEvictsKey() {
+        // Arrange
+        CacheInvalidationService service = service("jdbc:postgresql://localhost:5432/db");
+        long sentAt = clock.millis() - 40;
+
+        // Act
+        service.handle("othernode|" + sentAt + "|courses|1");
+
+        // Assert
+        assertNull(courses.get(1L));
+        assertNotNull(courses.get(2L));
+        assertEquals(1.0, meterRegistry.get("cache.invalidation.received").counter().count());
+        assertEquals(40.0, meterRegistry.get("cache.invalidation.lag").timer().max(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Should clear the whole cache for a wildcard key and skip its own messages")
+    void handle_WildcardAndOwnMessages() {
+        // Arrange
+        CacheInvalidationService service = service("jdbc:postgresql://localhost:5432/db");
+
+        // Act
+        service.handle(service.getNodeId() + "|" + clock.millis() + "|courses|*");
+        boolean keptAfterOwnMessage = courses.get(1L) != null;
+        service.handle("othernode|" + clock.millis() + "|courses|*");
+
+        // Assert
+        assertTrue(keptAfterOwnMessage);
+        assertNull(courses.get(1L));
+        assertNull(courses.get(2L));
+    }
+
+    @Test
+    @DisplayName("Should only evict locally when the database is not PostgreSQL")
+    void invalidation_LocalOnlyWithoutPostgres() {
+        // Arrange
+        CacheInvalidationService service = service("jdbc:h2:mem:testdb");
+        CacheInvalidationEvent event = CacheInvalidationEvent.of("courses", 2L);
+
+        // Act
+        service.notifyOtherNodes(event);
+        service.evictLocally(event);
+
+        // Assert
+        assertNull(courses.get(2L));
+        assertNotNull(courses.get(1L));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private CacheInvalidationService service(String jdbcUrl) {
+        when(connectionDetails.getJdbcUrl()).thenReturn(jdbcUrl);
+        return new CacheInvalidationService(jdbcTemplate, cacheManagerProvider, connectionDetails, meterRegistry,
+                true, Duration.ofSeconds(10), Duration.ofSeconds(5), clock);
+    }
+}
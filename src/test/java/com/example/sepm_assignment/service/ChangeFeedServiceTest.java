@@ -0,0 +1,166 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.dto.ChangeDTO;
+import com.example.sepm_assignment.dto.ChangeFeedDTO;
+import com.example.sepm_assignment.dto.CourseDTO;
+import com.example.sepm_assignment.model.ChangeLogEntry;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.repository.ChangeLogRepository;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import com.example.sepm_assignment.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for ChangeFeedService
+ * Tests paging, coalescing, tombstones and token handling of the change feed
+ * Follows AAA (Arrange-Act-Assert) pattern
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ChangeFeedService Unit Tests")
+class ChangeFeedServiceTest {
+
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CourseService courseService;
+
+    @Mock
+    private EnrollmentService enrollmentService;
+
+    @Mock
+    private UserService userService;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-01-15T10:00:00Z"), ZoneOffset.UTC);
+    private final LocalDateTime now = LocalDateTime.now(clock);
+    private ChangeFeedService changeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        changeFeedService = new ChangeFeedService(changeLogRepository, courseRepository, enrollmentRepository,
+                userRepository, courseService, enrollmentService, userService, Duration.ofSeconds(5), Duration.ofDays(30),
+                clock);
+    }
+
+    @Test
+    @DisplayName("Should collapse repeated changes and report a deleted record as a tombstone")
+    void getChanges_CoalescesAndTombstones() {
+        // Arrange
+        Course course = new Course();
+        course.setId(1L);
+        when(changeLogRepository.findByIdGreaterThanOrderByIdAsc(eq(10L), any(Pageable.class))).thenReturn(List.of(
+                entry(11L, ChangeLogEntry.EntityType.COURSE, 1L, ChangeLogEntry.Operation.UPSERT, now.minusMinutes(3)),
+                entry(12L, ChangeLogEntry.EntityType.COURSE, 2L, ChangeLogEntry.Operation.UPSERT, now.minusMinutes(2)),
+                entry(13L, ChangeLogEntry.EntityType.COURSE, 1L, ChangeLogEntry.Operation.UPSERT, now.minusMinutes(1))));
+        CourseDTO courseDTO = new CourseDTO();
+        courseDTO.setCourseCode("CS101");
+        when(courseRepository.findByIdIn(anyCollection())).thenReturn(List.of(course));
+        when(courseService.convertToDTO(course)).thenReturn(courseDTO);
+
+        // Act
+        ChangeFeedDTO feed = changeFeedService.getChanges(token(10L, now.minusMinutes(10)), 10);
+
+        // Assert
+        assertEquals(List.of(12L, 13L), feed.getChanges().stream().map(ChangeDTO::getSeq).toList());
+        ChangeDTO deleted = feed.getChanges().get(0);
+        assertEquals(ChangeLogEntry.Operation.DELETE, deleted.getOperation());
+        assertNull(deleted.getData());
+        ChangeDTO updated = feed.getChanges().get(1);
+        assertEquals(ChangeLogEntry.Operation.UPSERT, updated.getOperation());
+        assertEquals("CS101", ((CourseDTO) updated.getData()).getCourseCode());
+        assertFalse(feed.isHasMore());
+        assertTrue(feed.getNext().startsWith("13-"));
+    }
+
+    @Test
+    @DisplayName("Should stop a page at the first change that is too recent to be settled")
+    void getChanges_StopsAtUnsettledEntry() {
+        // Arrange
+        when(changeLogRepository.findByIdGreaterThanOrderByIdAsc(eq(10L), any(Pageable.class))).thenReturn(List.of(
+                entry(11L, ChangeLogEntry.EntityType.USER, 5L, ChangeLogEntry.Operation.DELETE, now.minusMinutes(1)),
+                entry(12L, ChangeLogEntry.EntityType.USER, 6L, ChangeLogEntry.Operation.DELETE, now.minusSeconds(1)),
+                entry(13L, ChangeLogEntry.EntityType.USER, 7L, ChangeLogEntry.Operation.DELETE, now.minusMinutes(2))));
+
+        // Act
+        ChangeFeedDTO feed = changeFeedService.getChanges(token(10L, now.minusMinutes(10)), 2);
+
+        // Assert
+        assertEquals(List.of(11L), feed.getChanges().stream().map(ChangeDTO::getSeq).toList());
+        assertFalse(feed.isHasMore());
+        assertTrue(feed.getNext().startsWith("11-"));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Should hand out the last settled position when called without a token")
+    void getChanges_NoTokenReturnsHead() {
+        // Arrange
+        when(changeLogRepository.findFirstByChangedAtLessThanEqualOrderByIdDesc(now.minusSeconds(5)))
+                .thenReturn(Optional.of(entry(42L, ChangeLogEntry.EntityType.USER, 1L,
+                        ChangeLogEntry.Operation.UPSERT, now.minusMinutes(1))));
+
+        // Act
+        ChangeFeedDTO feed = changeFeedService.getChanges(null, 10);
+
+        // Assert
+        assertTrue(feed.getChanges().isEmpty());
+        assertEquals(token(42L, now.minusSeconds(5)), feed.getNext());
+        verify(changeLogRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should refuse tokens older than the retention and malformed tokens")
+    void getChanges_RejectsExpiredAndInvalidTokens() {
+        // Act & Assert
+        assertThrows(ChangeTokenExpiredException.class,
+                () -> changeFeedService.getChanges(token(10L, now.minusDays(31)), 10));
+        assertThrows(IllegalArgumentException.class, () -> changeFeedService.getChanges("abc", 10));
+        verify(changeLogRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+    }
+
+    private static ChangeLogEntry entry(Long id, ChangeLogEntry.EntityType type, Long entityId,
+                                        ChangeLogEntry.Operation operation, LocalDateTime changedAt) {
+        ChangeLogEntry entry = new ChangeLogEntry();
+        entry.setId(id);
+        entry.setEntityType(type);
+        entry.setEntityId(entityId);
+        entry.setOperation(operation);
+        entry.setChangedAt(changedAt);
+        return entry;
+    }
+
+    private static String token(long id, LocalDateTime caughtUpTo) {
+        return id + "-" + caughtUpTo.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.model.AuditEntry;
+import com.example.sepm_assignment.model.Enrollment;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import com.example.sepm_assignment.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for CourseEventHub
+ * Tests coalescing of update bursts, downsampling and dropping of slow subscribers
+ * Follows AAA (Arrange-Act-Assert) pattern
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("CourseEventHub Unit Tests")
+class CourseEventHubTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private final AtomicLong enrolled = new AtomicLong(3);
+    private final List<Runnable> pendingSends = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(courseRepository.findCapacities(anyCollection())).thenAnswer(inv -> rows(new Object[]{10L, 30}));
+        when(enrollmentRepository.countByCourseIdInAndStatusNot(anyCollection(), eq(Enrollment.EnrollmentStatus.DROPPED)))
+                .thenAnswer(inv -> rows(new Object[]{10L, enrolled.get()}));
+        when(userRepository.findFullNames(anyCollection())).thenAnswer(inv -> rows(new Object[]{1L, "Alice"}));
+    }
+
+    @Test
+    @DisplayName("Should answer a burst for many subscribers with one round of queries")
+    void tick_CoalescesBurst() throws Exception {
+        // Arrange
+        CourseEventHub hub = hub(10, 32, Runnable::run);
+        SseEmitter student = mock(SseEmitter.class);
+        SseEmitter teacher = mock(SseEmitter.class);
+        hub.subscribe(10L, false, student);
+        hub.subscribe(10L, true, teacher);
+        for (long id = 1; id <= 5; id++) {
+            hub.onEnrollmentChanged(new EnrollmentAuditEvent(AuditEntry.Action.ENROLLED, id, id, 10L, null));
+        }
+
+        // Act
+        hub.tick();
+
+        // Assert
+        verify(courseRepository, times(1)).findCapacities(anyCollection());
+        verify(enrollmentRepository, times(1)).countByCourseIdInAndStatusNot(anyCollection(), any());
+        verify(userRepository, times(1)).findFullNames(anyCollection());
+        assertEquals(List.of("seats"), sentEvents(student));
+        assertEquals(List.of("seats", "roster"), sentEvents(teacher));
+    }
+
+    @Test
+    @DisplayName("Should keep only the newest seat count for a subscriber that is not reading")
+    void offer_DownsamplesSeatCounts() throws Exception {
+        // Arrange
+        CourseEventHub hub = hub(10, 2, pendingSends::add);
+        SseEmitter student = mock(SseEmitter.class);
+        hub.subscribe(10L, false, student);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            enrolled.incrementAndGet();
+            hub.onEnrollmentChanged(new EnrollmentAuditEvent(AuditEntry.Action.ENROLLED, 1L, 1L, 10L, null));
+            hub.tick();
+        }
+        pendingSends.forEach(Runnable::run);
+
+        // Assert
+        verify(student, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(student, never()).complete();
+        assertEquals(1, hub.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("Should disconnect a subscriber whose roster events overflow its queue")
+    void offer_DropsSlowSubscriber() {
+        // Arrange
+        CourseEventHub hub = hub(10, 2, pendingSends::add);
+        SseEmitter teacher = mock(SseEmitter.class);
+        hub.subscribe(10L, true, teacher);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            hub.onEnrollmentChanged(new EnrollmentAuditEvent(AuditEntry.Action.GRADE_CHANGED, 1L, 1L, 10L, "1.0 -> 2.0"));
+            hub.tick();
+        }
+
+        // Assert
+        verify(teacher).complete();
+        assertEquals(0, hub.getSubscriberCount());
+        assertEquals(1.0, meterRegistry.get("course_events.dropped").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should refuse subscribers beyond the limit")
+    void subscribe_RejectsOverLimit() {
+        // Arrange
+        CourseEventHub hub = hub(1, 32, Runnable::run);
+
+        // Act
+        boolean first = hub.subscribe(10L, false, mock(SseEmitter.class)).isPresent();
+        boolean second = hub.subscribe(10L, false, mock(SseEmitter.class)).isPresent();
+
+        // Assert
+        assertTrue(first);
+        assertFalse(second);
+        assertEquals(1.0, meterRegistry.get("course_events.rejected").counter().count());
+    }
+
+    private CourseEventHub hub(int maxSubscribers, int queueCapacity, Executor senders) {
+        return new CourseEventHub(courseRepository, enrollmentRepository, userRepository, meterRegistry,
+                Duration.ofMillis(500), Duration.ofMinutes(5), Duration.ofMinutes(5), maxSubscribers, queueCapacity,
+                Duration.ofMinutes(30), senders);
+    }
+
+    private static List<String> sentEvents(SseEmitter emitter) throws Exception {
+        ArgumentCaptor<SseEmitter.SseEventBuilder> events = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+        verify(emitter, atLeast(0)).send(events.capture());
+        return events.getAllValues().stream()
+                .map(event -> event.build().stream().map(part -> String.valueOf(part.getData())).collect(Collectors.joining()))
+                .map(text -> text.substring("event:".length(), text.indexOf('\n')))
+                .toList();
+    }
+
+    private static List<Object[]> rows(Object[] row) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(row);
+        return rows;
+    }
+}
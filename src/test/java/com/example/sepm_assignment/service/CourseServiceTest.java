@@ -1,5 +1,6 @@
 package com.example.sepm_assignment.service;
 
+import com.example.sepm_assignment.config.CacheConfig;
 import com.example.sepm_assignment.dto.CourseDTO;
 import com.example.sepm_assignment.model.Course;
 import com.example.sepm_assignment.model.Enrollment;
@@ -13,8 +14,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -41,6 +45,12 @@ class CourseServiceTest {
     @Mock
     private EnrollmentRepository enrollmentRepository;
 
+    @Spy
+    private TermService termService = new TermService("2026-spring");
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CourseService courseService;
 
@@ -65,6 +75,7 @@ class CourseServiceTest {
         testCourse.setCourseName("Introduction to Computer Science");
         testCourse.setDescription("Basic CS concepts");
         testCourse.setCredits(3);
+        testCourse.setTerm("2026-spring");
         testCourse.setTeacher(testTeacher);
 
         courseDTO = new CourseDTO();
@@ -89,6 +100,7 @@ class CourseServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals("CS101", result.getCourseCode());
+        verify(courseRepository).save(argThat(course -> "2026-spring".equals(course.getTerm())));
         verify(courseRepository, times(1)).existsByCourseCode("CS102");
         verify(userRepository, times(1)).findById(1L);
         verify(courseRepository, times(1)).save(any(Course.class));
@@ -199,6 +211,23 @@ class CourseServiceTest {
         verify(courseRepository, times(1)).findAll();
     }
 
+    @Test
+    @DisplayName("Should hide the courses of a deleted teacher")
+    void getAllCourses_DeletedTeacher_CourseHidden() {
+        // Arrange
+        testTeacher.setDeletedAt(LocalDateTime.now());
+        when(courseRepository.findAll()).thenReturn(List.of(testCourse));
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(testCourse));
+
+        // Act
+        List<CourseDTO> results = courseService.getAllCourses();
+
+        // Assert
+        assertTrue(results.isEmpty());
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> courseService.getCourseById(1L));
+        assertEquals("Course not found", exception.getMessage());
+    }
+
     @Test
     @DisplayName("Should get courses by teacher ID successfully")
     void getCoursesByTeacher_Success() {
@@ -230,6 +259,22 @@ class CourseServiceTest {
         assertNotNull(result);
         verify(courseRepository, times(1)).findById(1L);
         verify(courseRepository, times(1)).save(testCourse);
+        verify(eventPublisher).publishEvent(CacheInvalidationEvent.of(CacheConfig.COURSES, 1L));
+        verify(eventPublisher).publishEvent(CacheInvalidationEvent.all(CacheConfig.COURSE_LIST));
+    }
+
+    @Test
+    @DisplayName("Should not move a course with enrollments to another term")
+    void updateCourse_TermChangeWithEnrollments_ThrowsException() {
+        // Arrange
+        courseDTO.setTerm("2026-Fall");
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(testCourse));
+        when(enrollmentRepository.existsByCourseIdAndTerm(1L, "2026-spring")).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> courseService.updateCourse(1L, courseDTO));
+        assertEquals("2026-spring", testCourse.getTerm());
+        verify(courseRepository, never()).save(any(Course.class));
     }
 
     @Test
@@ -253,8 +298,8 @@ class CourseServiceTest {
     void deleteCourse_Success() {
         // Arrange
         when(courseRepository.findById(1L)).thenReturn(Optional.of(testCourse));
-        when(enrollmentRepository.findByCourseId(1L)).thenReturn(Arrays.asList(new Enrollment()));
-        doNothing().when(enrollmentRepository).deleteByCourseId(1L);
+        when(enrollmentRepository.findByCourseIdAndTerm(1L, "2026-spring")).thenReturn(Arrays.asList(new Enrollment()));
+        doNothing().when(enrollmentRepository).deleteByCourseIdAndTerm(1L, "2026-spring");
         doNothing().when(courseRepository).delete(testCourse);
 
         // Act
@@ -262,8 +307,8 @@ class CourseServiceTest {
 
         // Assert
         verify(courseRepository, times(1)).findById(1L);
-        verify(enrollmentRepository, times(1)).findByCourseId(1L);
-        verify(enrollmentRepository, times(1)).deleteByCourseId(1L);
+        verify(enrollmentRepository, times(1)).findByCourseIdAndTerm(1L, "2026-spring");
+        verify(enrollmentRepository, times(1)).deleteByCourseIdAndTerm(1L, "2026-spring");
         verify(courseRepository, times(1)).delete(testCourse);
     }
 
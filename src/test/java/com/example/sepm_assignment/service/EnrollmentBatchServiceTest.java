@@ -0,0 +1,153 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.dto.EnrollmentDTO;
+import com.example.sepm_assignment.dto.EnrollmentUpdateRequest;
+import com.example.sepm_assignment.dto.EnrollmentUpdateResult;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Enrollment;
+import com.example.sepm_assignment.model.User;
+import com.example.sepm_assignment.repository.ChangeLogRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for EnrollmentBatchService
+ * Tests that a batch of grade and status changes is written at once with a result per operation
+ * Follows AAA (Arrange-Act-Assert) pattern
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("EnrollmentBatchService Unit Tests")
+class EnrollmentBatchServiceTest {
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+
+    @Mock
+    private EnrollmentService enrollmentService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private EnrollmentBatchService enrollmentBatchService;
+
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        course = new Course();
+        course.setId(10L);
+        when(enrollmentService.convertToDTO(any(Enrollment.class))).thenAnswer(inv -> {
+            EnrollmentDTO dto = new EnrollmentDTO();
+            dto.setId(inv.<Enrollment>getArgument(0).getId());
+            return dto;
+        });
+    }
+
+    @Test
+    @DisplayName("Should write all changes in one batch and report each operation")
+    @SuppressWarnings("unchecked")
+    void updateEnrollments_OneBatchWithPerItemResults() {
+        // Arrange
+        when(enrollmentRepository.findByIdIn(anyCollection())).thenReturn(List.of(enrollment(1L, 101L), enrollment(2L, 102L)));
+        List<EnrollmentUpdateRequest> operations = List.of(
+                new EnrollmentUpdateRequest(1L, 3.5, null),
+                new EnrollmentUpdateRequest(99L, 2.0, null),
+                new EnrollmentUpdateRequest(2L, null, null),
+                new EnrollmentUpdateRequest(2L, 1.0, Enrollment.EnrollmentStatus.COMPLETED),
+                new EnrollmentUpdateRequest(1L, 4.0, null));
+
+        // Act
+        List<EnrollmentUpdateResult> results = enrollmentBatchService.updateEnrollments(operations);
+
+        // Assert
+        assertEquals(List.of(true, false, false, true, true), results.stream().map(EnrollmentUpdateResult::isSuccess).toList());
+        assertEquals("Enrollment not found", results.get(1).getError());
+        assertEquals("Nothing to update", results.get(2).getError());
+        assertEquals(4.0, results.get(0).getEnrollment().getGrade());
+        assertEquals(Enrollment.EnrollmentStatus.COMPLETED, results.get(3).getEnrollment().getStatus());
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), rows.capture());
+        assertEquals(2, rows.getValue().size());
+        // Only the changed columns; the status of enrollment 1 is left as it is in the table
+        assertArrayEquals(new Object[]{4.0, null}, Arrays.copyOf(rows.getValue().get(0), 2));
+        assertEquals("2026-spring", rows.getValue().get(0)[4]);
+        var order = inOrder(enrollmentRepository);
+        order.verify(enrollmentRepository).lockByIdIn(argThat(ids -> ids.containsAll(List.of(1L, 2L, 99L))));
+        order.verify(enrollmentRepository).findByIdIn(anyCollection());
+        verify(changeLogRepository).recordEnrollmentsUpserted(argThat(ids -> ids.containsAll(List.of(1L, 2L))), any());
+        verify(enrollmentRepository, times(1)).findByIdIn(anyCollection());
+        verify(eventPublisher, times(4)).publishEvent(any(EnrollmentAuditEvent.class));
+        verify(eventPublisher, times(2)).publishEvent(any(CacheInvalidationEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should start one waitlist promotion per course when students are dropped")
+    void updateEnrollments_DropReleasesSeatsOncePerCourse() {
+        // Arrange
+        when(enrollmentRepository.findByIdIn(anyCollection())).thenReturn(List.of(enrollment(1L, 101L), enrollment(2L, 102L)));
+
+        // Act
+        enrollmentBatchService.updateEnrollments(List.of(
+                new EnrollmentUpdateRequest(1L, null, Enrollment.EnrollmentStatus.DROPPED),
+                new EnrollmentUpdateRequest(2L, null, Enrollment.EnrollmentStatus.DROPPED)));
+
+        // Assert
+        verify(eventPublisher, times(1)).publishEvent(any(SeatReleasedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should reject an oversized batch and write nothing for a batch with no valid operation")
+    void updateEnrollments_LimitsAndEmptyBatches() {
+        // Arrange
+        List<EnrollmentUpdateRequest> tooMany = new ArrayList<>(Collections.nCopies(
+                EnrollmentBatchService.MAX_OPERATIONS + 1, new EnrollmentUpdateRequest(1L, 1.0, null)));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> enrollmentBatchService.updateEnrollments(tooMany));
+        List<EnrollmentUpdateResult> results = enrollmentBatchService.updateEnrollments(
+                List.of(new EnrollmentUpdateRequest(null, 1.0, null)));
+        assertFalse(results.get(0).isSuccess());
+        verifyNoInteractions(jdbcTemplate, changeLogRepository);
+    }
+
+    private Enrollment enrollment(Long id, Long studentId) {
+        User student = new User();
+        student.setId(studentId);
+        Enrollment enrollment = new Enrollment();
+        enrollment.setId(id);
+        enrollment.setStudent(student);
+        enrollment.setCourse(course);
+        enrollment.setStatus(Enrollment.EnrollmentStatus.ACTIVE);
+        enrollment.setTerm("2026-spring");
+        return enrollment;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Enrollment;
+import com.example.sepm_assignment.model.User;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import com.example.sepm_assignment.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration Tests for term-scoped seat and duplicate checks in group-committed enrollments
+ * Uses H2 in-memory database
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("EnrollmentGroupCommitter Term Integration Tests")
+class EnrollmentGroupCommitterTermTest {
+
+    @Autowired
+    private EnrollmentGroupCommitter committer;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    private User returning;
+    private User newcomer;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        returning = student("gc_ret_");
+        newcomer = student("gc_new_");
+        course = new Course();
+        course.setCourseCode("GCTERM-" + System.nanoTime());
+        course.setCourseName("Group Commit Terms");
+        course.setCredits(3);
+        course.setCapacity(1);
+        course.setTerm("2026-spring");
+        course = courseRepository.save(course);
+
+        // Taken when the course last ran
+        Enrollment previous = new Enrollment();
+        previous.setStudent(returning);
+        previous.setCourse(course);
+        previous.setStatus(Enrollment.EnrollmentStatus.ACTIVE);
+        previous.setTerm("2025-fall");
+        enrollmentRepository.save(previous);
+    }
+
+    @AfterEach
+    void tearDown() {
+        enrollmentRepository.deleteAll(enrollmentRepository.findByCourseId(course.getId()));
+        courseRepository.delete(course);
+        userRepository.deleteAll(List.of(returning, newcomer));
+    }
+
+    @Test
+    @DisplayName("Should ignore last term's enrollments when checking duplicates and seats in a batch")
+    void commit_IgnoresPreviousTerm() {
+        // Arrange
+        List<EnrollmentGroupCommitter.PendingEnrollment> batch = List.of(
+                new EnrollmentGroupCommitter.PendingEnrollment(returning.getId(), course.getId(),
+                        SecurityContextHolder.createEmptyContext(), new CompletableFuture<>()),
+                new EnrollmentGroupCommitter.PendingEnrollment(newcomer.getId(), course.getId(),
+                        SecurityContextHolder.createEmptyContext(), new CompletableFuture<>()));
+
+        // Act
+        committer.commit(batch);
+
+        // Assert
+        assertEquals("2026-spring", batch.get(0).result().join().getTerm());
+        CompletionException full = assertThrows(CompletionException.class, () -> batch.get(1).result().join());
+        assertInstanceOf(CourseFullException.class, full.getCause());
+        List<Object[]> taken = enrollmentRepository.countByCourseIdInAndStatusNot(
+                List.of(course.getId()), Enrollment.EnrollmentStatus.DROPPED);
+        assertEquals(1L, taken.get(0)[1]);
+    }
+
+    private User student(String prefix) {
+        User user = new User();
+        user.setUsername(prefix + System.nanoTime() % 100_000);
+        user.setPassword("password");
+        user.setEmail(user.getUsername() + "@example.com");
+        user.setFullName("Group Commit Student");
+        user.setRole(User.Role.STUDENT);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,300 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.dto.EnrollmentDTO;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Enrollment;
+import com.example.sepm_assignment.model.User;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import com.example.sepm_assignment.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for EnrollmentGroupCommitter
+ * Tests per-request outcomes of a batch, the constraint fallback and the worker batching
+ * Follows AAA (Arrange-Act-Assert) pattern
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("EnrollmentGroupCommitter Unit Tests")
+class EnrollmentGroupCommitterTest {
+
+    @Mock
+    private EnrollmentService enrollmentService;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EnrollmentGroupCommitter committer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(transactionTemplate.execute(any(TransactionCallback.class))).thenAnswer(inv ->
+                inv.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
+        when(userRepository.findAllById(anyIterable())).thenAnswer(inv -> {
+            List<User> users = new ArrayList<>();
+            for (Long id : inv.<Iterable<Long>>getArgument(0)) {
+                users.add(user(id, id == 99L ? User.Role.TEACHER : User.Role.STUDENT));
+            }
+            return users;
+        });
+        when(courseRepository.findByIdIn(anyCollection())).thenAnswer(inv -> {
+            List<Course> courses = new ArrayList<>();
+            for (Long id : inv.<Iterable<Long>>getArgument(0)) {
+                courses.add(course(id));
+            }
+            return courses;
+        });
+        when(enrollmentService.convertToDTO(any(Enrollment.class))).thenAnswer(inv -> {
+            Enrollment enrollment = inv.getArgument(0);
+            EnrollmentDTO dto = new EnrollmentDTO();
+            dto.setStudentId(enrollment.getStudent().getId());
+            dto.setCourseId(enrollment.getCourse().getId());
+            return dto;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (committer != null) {
+            committer.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should commit a batch in one transaction and give each request its own outcome")
+    @SuppressWarnings("unchecked")
+    void commit_PerRequestOutcomes() {
+        // Arrange
+        committer = committer(true, 1, Duration.ofMillis(5));
+        List<Object[]> existing = new ArrayList<>();
+        existing.add(new Object[]{2L, 10L});
+        when(enrollmentRepository.findStudentCoursePairs(anyCollection(), anyCollection())).thenReturn(existing);
+        List<EnrollmentGroupCommitter.PendingEnrollment> batch = List.of(
+                pending(1L, 10L), pending(1L, 10L), pending(2L, 10L), pending(99L, 10L), pending(3L, 11L));
+
+        // Act
+        committer.commit(batch);
+
+        // Assert
+        assertEquals(1L, batch.get(0).result().join().getStudentId());
+        assertEquals("Student already enrolled in this course", failure(batch.get(1)));
+        assertEquals("Student already enrolled in this course", failure(batch.get(2)));
+        assertEquals("User is not a student", failure(batch.get(3)));
+        assertEquals(11L, batch.get(4).result().join().getCourseId());
+        ArgumentCaptor<List<Enrollment>> saved = ArgumentCaptor.forClass(List.class);
+        verify(enrollmentRepository, times(1)).saveAllAndFlush(saved.capture());
+        assertEquals(2, saved.getValue().size());
+        verify(transactionTemplate, times(1)).execute(any(TransactionCallback.class));
+        verify(enrollmentService, never()).enrollStudent(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should refuse enrollment in a course whose teacher was deleted")
+    void commit_ClosedCourseNotFound() {
+        // Arrange
+        committer = committer(true, 1, Duration.ofMillis(5));
+        List<EnrollmentGroupCommitter.PendingEnrollment> batch = List.of(pending(1L, 12L), pending(2L, 10L));
+
+        // Act
+        committer.commit(batch);
+
+        // Assert
+        assertEquals("Course not found", failure(batch.get(0)));
+        assertEquals(10L, batch.get(1).result().join().getCourseId());
+    }
+
+    @Test
+    @DisplayName("Should report a full course to both copies of a double-submit, not a duplicate to the second")
+    void commit_DoubleSubmitForFullCourse() {
+        // Arrange
+        committer = committer(true, 1, Duration.ofMillis(5));
+        List<EnrollmentGroupCommitter.PendingEnrollment> batch = List.of(pending(1L, 13L), pending(1L, 13L));
+
+        // Act
+        committer.commit(batch);
+
+        // Assert
+        for (EnrollmentGroupCommitter.PendingEnrollment pending : batch) {
+            CompletionException full = assertThrows(CompletionException.class, () -> pending.result().join());
+            assertInstanceOf(CourseFullException.class, full.getCause());
+        }
+        verify(enrollmentRepository).saveAllAndFlush(List.of());
+    }
+
+    @Test
+    @DisplayName("Should audit each enrollment as the user who submitted it, not the worker thread")
+    void commit_AuditsSubmittingUser() {
+        // Arrange
+        committer = committer(true, 1, Duration.ofMillis(5));
+        SecurityContext submitter = SecurityContextHolder.createEmptyContext();
+        submitter.setAuthentication(new UsernamePasswordAuthenticationToken(
+                "student1", null, List.of(new SimpleGrantedAuthority("ROLE_STUDENT"))));
+        List<EnrollmentGroupCommitter.PendingEnrollment> batch = List.of(
+                new EnrollmentGroupCommitter.PendingEnrollment(1L, 10L, submitter, new CompletableFuture<>()),
+                pending(2L, 10L));
+
+        // Act
+        committer.commit(batch);
+
+        // Assert
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, atLeastOnce()).publishEvent(events.capture());
+        assertEquals(List.of("student1", EnrollmentAuditEvent.SYSTEM_ACTOR), events.getAllValues().stream()
+                .filter(EnrollmentAuditEvent.class::isInstance)
+                .map(event -> ((EnrollmentAuditEvent) event).actor())
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Should retry each request on its own when the batch hits a constraint")
+    void commit_ConstraintFallsBackToSingleEnrollments() {
+        // Arrange
+        committer = committer(true, 1, Duration.ofMillis(5));
+        when(enrollmentRepository.saveAllAndFlush(anyList())).thenThrow(new DataIntegrityViolationException("dup"));
+        EnrollmentDTO enrolled = new EnrollmentDTO();
+        when(enrollmentService.enrollStudent(1L, 10L)).thenReturn(enrolled);
+        when(enrollmentService.enrollStudent(2L, 10L)).thenThrow(new RuntimeException("Student already enrolled in this course"));
+        List<EnrollmentGroupCommitter.PendingEnrollment> batch = List.of(pending(1L, 10L), pending(2L, 10L));
+
+        // Act
+        committer.commit(batch);
+
+        // Assert
+        assertSame(enrolled, batch.get(0).result().join());
+        assertEquals("Student already enrolled in this course", failure(batch.get(1)));
+    }
+
+    @Test
+    @DisplayName("Should call the service directly when group commit is off")
+    void enroll_DisabledDelegates() {
+        // Arrange
+        committer = committer(false, 1, Duration.ofMillis(5));
+        EnrollmentDTO enrolled = new EnrollmentDTO();
+        when(enrollmentService.enrollStudent(1L, 10L)).thenReturn(enrolled);
+
+        // Act
+        EnrollmentDTO result = committer.enroll(1L, 10L);
+
+        // Assert
+        assertSame(enrolled, result);
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    @DisplayName("Should gather concurrent callers into shared batches")
+    void enroll_ConcurrentCallersShareBatches() throws Exception {
+        // Arrange
+        committer = committer(true, 1, Duration.ofMillis(200));
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        List<Future<EnrollmentDTO>> results = new ArrayList<>();
+
+        // Act
+        for (long student = 1; student <= 8; student++) {
+            long studentId = student;
+            results.add(callers.submit(() -> committer.enroll(studentId, 10L)));
+        }
+        for (Future<EnrollmentDTO> result : results) {
+            result.get();
+        }
+        callers.shutdown();
+
+        // Assert
+        double batches = meterRegistry.get("enrollment.group_commit.batch_size").summary().count();
+        assertTrue(batches < 8, "expected fewer batches than requests, got " + batches);
+        assertEquals(8.0, meterRegistry.get("enrollment.group_commit.batch_size").summary().totalAmount());
+    }
+
+    private EnrollmentGroupCommitter committer(boolean enabled, int workers, Duration maxWait) {
+        EnrollmentGroupCommitter created = new EnrollmentGroupCommitter(enrollmentService, enrollmentRepository,
+                userRepository, courseRepository, waitlistService, transactionTemplate, eventPublisher, meterRegistry,
+                enabled, 64, maxWait, workers, 100, Duration.ofSeconds(10));
+        created.start();
+        return created;
+    }
+
+    private static EnrollmentGroupCommitter.PendingEnrollment pending(Long studentId, Long courseId) {
+        return new EnrollmentGroupCommitter.PendingEnrollment(studentId, courseId,
+                SecurityContextHolder.createEmptyContext(), new CompletableFuture<>());
+    }
+
+    private static String failure(EnrollmentGroupCommitter.PendingEnrollment pending) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> pending.result().get());
+        return e.getCause().getMessage();
+    }
+
+    private static User user(Long id, User.Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setRole(role);
+        return user;
+    }
+
+    private static Course course(Long id) {
+        Course course = new Course();
+        course.setId(id);
+        if (id == 13L) {
+            // No free seats
+            course.setCapacity(0);
+        }
+        if (id == 12L) {
+            // Taught by a deleted teacher
+            User teacher = user(98L, User.Role.TEACHER);
+            teacher.setDeletedAt(LocalDateTime.now());
+            course.setTeacher(teacher);
+        }
+        return course;
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.sepm_assignment.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for EnrollmentPartitionService
+ * Tests the conversion of enrollments to term partitions, new term partitions and archiving
+ * Follows AAA (Arrange-Act-Assert) pattern
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("EnrollmentPartitionService Unit Tests")
+class EnrollmentPartitionServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final TermService termService = new TermService("2026-fall");
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any(Consumer.class));
+        when(jdbcTemplate.queryForList(startsWith("SELECT c.relname"), eq(String.class)))
+                .thenReturn(List.of("enrollments_2026_fall", EnrollmentPartitionService.DEFAULT_PARTITION));
+        when(jdbcTemplate.queryForList(startsWith("SELECT DISTINCT term FROM enrollments_default"), eq(String.class)))
+                .thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("Should convert the plain table into term partitions in one transaction when asked")
+    void convert_ConvertsPlainTable() {
+        // Arrange
+        when(jdbcTemplate.queryForList(contains("relkind"), eq(String.class))).thenReturn(List.of("r"));
+        when(jdbcTemplate.queryForList(startsWith("SELECT DISTINCT term FROM enrollments_unpartitioned"), eq(String.class)))
+                .thenReturn(List.of("2026-fall", "Legacy Term"));
+
+        // Act
+        service(true).convert();
+
+        // Assert
+        ArgumentCaptor<String> ddl = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, atLeastOnce()).execute(ddl.capture());
+        List<String> statements = ddl.getAllValues();
+        assertEquals("ALTER TABLE enrollments RENAME TO enrollments_unpartitioned", statements.get(0));
+        assertTrue(statements.contains(
+                "CREATE TABLE enrollments (LIKE enrollments_unpartitioned INCLUDING DEFAULTS) PARTITION BY LIST (term)"));
+        assertTrue(statements.contains(
+                "CREATE TABLE enrollments_2026_fall PARTITION OF enrollments FOR VALUES IN ('2026-fall')"));
+        assertTrue(statements.stream().noneMatch(sql -> sql.contains("Legacy Term")));
+        assertEquals("DROP TABLE enrollments_unpartitioned", statements.get(statements.size() - 1));
+        verify(jdbcTemplate).update("INSERT INTO enrollments SELECT * FROM enrollments_unpartitioned");
+        verify(transactionTemplate, times(1)).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Should leave a plain table alone on scheduled checks and at startup unless opted in")
+    void maintain_NeverConvertsUnannounced() {
+        // Arrange
+        when(jdbcTemplate.queryForList(contains("relkind"), eq(String.class))).thenReturn(List.of("r"));
+        EnrollmentPartitionService service = service(true);
+
+        // Act
+        service.maintain();
+        service.convertOnStartup();
+
+        // Assert
+        verify(jdbcTemplate, never()).execute(anyString());
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+        new EnrollmentPartitionService(jdbcTemplate, transactionTemplate, termService, true, true, true).convertOnStartup();
+        verify(jdbcTemplate).execute("ALTER TABLE enrollments RENAME TO enrollments_unpartitioned");
+    }
+
+    @Test
+    @DisplayName("Should refuse to convert a table that is already partitioned")
+    void convert_RefusesPartitionedTable() {
+        // Arrange
+        when(jdbcTemplate.queryForList(contains("relkind"), eq(String.class))).thenReturn(List.of("p"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> service(true).convert());
+        assertThrows(IllegalStateException.class, () -> service(false).convert());
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("Should give a new term its own partition and move its rows out of the default partition")
+    void maintain_AddsPartitionForNewTerm() {
+        // Arrange
+        when(jdbcTemplate.queryForList(contains("relkind"), eq(String.class))).thenReturn(List.of("p"));
+        when(jdbcTemplate.queryForList(startsWith("SELECT DISTINCT term FROM enrollments_default"), eq(String.class)))
+                .thenReturn(List.of("2027-spring"));
+        when(jdbcTemplate.update(startsWith("WITH moved AS"), eq("2027-spring"))).thenReturn(2);
+
+        // Act
+        service(true).maintain();
+
+        // Assert
+        var order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).execute("CREATE TABLE enrollments_2027_spring (LIKE enrollments INCLUDING DEFAULTS)");
+        order.verify(jdbcTemplate).execute("LOCK TABLE enrollments_default IN EXCLUSIVE MODE");
+        order.verify(jdbcTemplate).update("WITH moved AS (DELETE FROM enrollments_default WHERE term = ? RETURNING *) "
+                + "INSERT INTO enrollments_2027_spring SELECT * FROM moved", "2027-spring");
+        order.verify(jdbcTemplate).execute("ALTER TABLE enrollments ATTACH PARTITION enrollments_2027_spring FOR VALUES IN ('2027-spring')");
+        verify(jdbcTemplate, never()).execute(contains("enrollments_2026_fall"));
+        verify(jdbcTemplate, never()).execute(contains("RENAME TO enrollments_unpartitioned"));
+    }
+
+    @Test
+    @DisplayName("Should not lose an enrollment inserted into the default partition while rows move")
+    void maintain_MoveKeepsConcurrentInsert() {
+        // Arrange: default partition rows as terms; another transaction inserts right after the move
+        List<String> defaultRows = new ArrayList<>(List.of("2027-spring", "2027-spring"));
+        List<String> partitionRows = new ArrayList<>();
+        AtomicBoolean inserted = new AtomicBoolean();
+        when(jdbcTemplate.queryForList(contains("relkind"), eq(String.class))).thenReturn(List.of("p"));
+        when(jdbcTemplate.queryForList(startsWith("SELECT DISTINCT term FROM enrollments_default"), eq(String.class)))
+                .thenReturn(List.of("2027-spring"));
+        when(jdbcTemplate.update(anyString(), eq("2027-spring"))).thenAnswer(inv -> {
+            String sql = inv.getArgument(0);
+            int count = 0;
+            if (sql.contains("DELETE FROM enrollments_default")) {
+                count = (int) defaultRows.stream().filter("2027-spring"::equals).count();
+                defaultRows.removeIf("2027-spring"::equals);
+                if (sql.contains("INSERT INTO enrollments_2027_spring")) {
+                    partitionRows.addAll(Collections.nCopies(count, "2027-spring"));
+                }
+            } else if (sql.startsWith("INSERT INTO enrollments_2027_spring")) {
+                count = (int) defaultRows.stream().filter("2027-spring"::equals).count();
+                partitionRows.addAll(Collections.nCopies(count, "2027-spring"));
+            }
+            if (inserted.compareAndSet(false, true)) {
+                defaultRows.add("2027-spring");
+            }
+            return count;
+        });
+
+        // Act
+        service(true).maintain();
+
+        // Assert
+        assertEquals(2, partitionRows.size());
+        assertEquals(3, defaultRows.size() + partitionRows.size());
+    }
+
+    @Test
+    @DisplayName("Should archive a past term and refuse the current term or a non-PostgreSQL database")
+    void archive_MovesAndDetachesPastTerm() {
+        // Arrange
+        when(jdbcTemplate.queryForList(startsWith("SELECT c.relname"), eq(String.class)))
+                .thenReturn(List.of("enrollments_2025_fall", "enrollments_2026_fall"));
+        EnrollmentPartitionService service = service(true);
+
+        // Act
+        service.archive("2025-Fall", "cold_storage", true);
+
+        // Assert
+        verify(jdbcTemplate).execute("ALTER TABLE enrollments_2025_fall SET TABLESPACE cold_storage");
+        verify(jdbcTemplate).execute("ALTER TABLE enrollments DETACH PARTITION enrollments_2025_fall");
+        verify(jdbcTemplate).execute("ALTER TABLE enrollments_2025_fall RENAME TO enrollments_2025_fall_detached");
+        assertThrows(IllegalStateException.class, () -> service.archive("2026-fall", null, true));
+        assertThrows(IllegalArgumentException.class, () -> service.archive("2025-fall", "cold; DROP", false));
+        assertThrows(IllegalArgumentException.class, () -> service.archive("2024-fall", null, true));
+        assertThrows(IllegalStateException.class, () -> service(false).archive("2025-fall", null, true));
+    }
+
+    private EnrollmentPartitionService service(boolean postgres) {
+        return new EnrollmentPartitionService(jdbcTemplate, transactionTemplate, termService, true, false, postgres);
+    }
+}
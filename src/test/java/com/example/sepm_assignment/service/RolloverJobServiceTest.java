@@ -0,0 +1,188 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.config.WorkloadClass;
+import com.example.sepm_assignment.config.WorkloadContext;
+import com.example.sepm_assignment.config.WorkloadProperties;
+import com.example.sepm_assignment.dto.RolloverStatusDTO;
+import com.example.sepm_assignment.model.Enrollment;
+import com.example.sepm_assignment.model.JobCheckpoint;
+import com.example.sepm_assignment.repository.ChangeLogRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import com.example.sepm_assignment.repository.JobCheckpointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for RolloverJobService
+ * Tests partitioning, chunked processing, checkpoint resume and stopping of the rollover job
+ * Follows AAA (Arrange-Act-Assert) pattern
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("RolloverJobService Unit Tests")
+class RolloverJobServiceTest {
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+
+    @Mock
+    private JobCheckpointRepository checkpointRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private final List<JobCheckpoint> checkpoints = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(transactionTemplate.execute(any())).thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(checkpointRepository.findByJobNameOrderByPartitionIndex(anyString())).thenAnswer(inv -> List.copyOf(checkpoints));
+        when(checkpointRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<JobCheckpoint> saved = inv.getArgument(0);
+            for (JobCheckpoint checkpoint : saved) {
+                checkpoint.setId((long) checkpoints.size() + 1);
+                checkpoints.add(checkpoint);
+            }
+            return saved;
+        });
+        when(checkpointRepository.findByIdForUpdate(anyLong()))
+                .thenAnswer(inv -> Optional.of(checkpoints.get(inv.<Long>getArgument(0).intValue() - 1)));
+        // Every key in the chunk is a graded active enrollment
+        when(enrollmentRepository.findGradedIdsInRange(anyLong(), anyLong(), anyString(), any())).thenAnswer(inv ->
+                LongStream.rangeClosed(inv.<Long>getArgument(0) + 1, inv.<Long>getArgument(1)).boxed().toList());
+        when(enrollmentRepository.updateGradedStatus(anyCollection(), anyString(), any(), any(), any())).thenAnswer(inv -> inv.<List<Long>>getArgument(0).size());
+    }
+
+    @Test
+    @DisplayName("Should split the key range into partitions and complete them chunk by chunk")
+    void start_PartitionsAndProcessesChunks() {
+        // Arrange
+        when(enrollmentRepository.findIdRange("2026-spring")).thenReturn(List.<Object[]>of(new Object[]{1L, 10L}));
+        RolloverJobService service = service(2, 3, Runnable::run);
+
+        // Act
+        RolloverStatusDTO status = service.start("2026-spring");
+
+        // Assert
+        assertEquals("COMPLETED", status.getState());
+        assertEquals(2, status.getPartitions());
+        assertEquals(10, status.getRowsUpdated());
+        assertEquals(100.0, status.getPercentDone());
+        assertEquals(List.of(5L, 10L), checkpoints.stream().map(JobCheckpoint::getRangeEnd).toList());
+        // (0,3] (3,5] and (5,8] (8,10]
+        verify(enrollmentRepository, times(4)).updateGradedStatus(anyCollection(), anyString(), any(), any(), any());
+        verify(changeLogRepository, times(4)).recordEnrollmentsUpserted(anyCollection(), any());
+        assertEquals(10.0, meterRegistry.get("rollover.rows").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should resume after the last committed chunk and not rerun a finished term")
+    void start_ResumesFromCheckpoint() {
+        // Arrange
+        checkpoints.add(checkpoint(1L, 0, 0, 5, 5));
+        checkpoints.add(checkpoint(2L, 1, 5, 10, 8));
+        RolloverJobService service = service(2, 3, Runnable::run);
+
+        // Act
+        RolloverStatusDTO status = service.start("2026-spring");
+        service.start(" 2026-Spring");
+
+        // Assert
+        assertEquals("COMPLETED", status.getState());
+        verify(enrollmentRepository, never()).findIdRange(anyString());
+        verify(enrollmentRepository, times(1)).findGradedIdsInRange(8L, 10L, "2026-spring", Enrollment.EnrollmentStatus.ACTIVE);
+        verify(enrollmentRepository, times(1)).updateGradedStatus(anyCollection(), anyString(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should stop between chunks and leave the rest for a later start")
+    void stop_LeavesTermIncomplete() {
+        // Arrange
+        when(enrollmentRepository.findIdRange("2026-spring")).thenReturn(List.<Object[]>of(new Object[]{1L, 10L}));
+        List<Runnable> queued = new ArrayList<>();
+        RolloverJobService service = service(2, 3, queued::add);
+
+        // Act
+        RolloverStatusDTO running = service.start("2026-spring");
+        service.stop();
+        queued.forEach(Runnable::run);
+
+        // Assert
+        assertEquals("RUNNING", running.getState());
+        assertEquals("STOPPED", service.getStatus("2026-spring").getState());
+        verify(enrollmentRepository, never()).updateGradedStatus(anyCollection(), anyString(), any(), any(), any());
+        assertThrows(IllegalStateException.class, service::stop);
+    }
+
+    @Test
+    @DisplayName("Should run partitions on the batch pool with no more workers than it has connections")
+    void start_RunsOnBatchPool() {
+        // Arrange
+        when(enrollmentRepository.findIdRange("2026-spring")).thenReturn(List.<Object[]>of(new Object[]{1L, 10L}));
+        List<WorkloadClass> workloads = new ArrayList<>();
+        when(enrollmentRepository.findGradedIdsInRange(anyLong(), anyLong(), anyString(), any())).thenAnswer(inv -> {
+            workloads.add(WorkloadContext.current());
+            return List.of();
+        });
+        WorkloadProperties properties = new WorkloadProperties();
+        properties.bulkhead(WorkloadClass.BATCH).setPoolSize(3);
+
+        // Act
+        service(2, 5, Runnable::run).start("2026-spring");
+
+        // Assert
+        assertEquals(List.of(WorkloadClass.BATCH, WorkloadClass.BATCH), workloads);
+        assertEquals(3, RolloverJobService.workerThreads(8, properties));
+        assertEquals(2, RolloverJobService.workerThreads(2, properties));
+        properties.setEnabled(false);
+        assertEquals(8, RolloverJobService.workerThreads(8, properties));
+    }
+
+    private RolloverJobService service(int partitions, long chunkSize, Executor workers) {
+        return new RolloverJobService(enrollmentRepository, changeLogRepository, checkpointRepository,
+                transactionTemplate, eventPublisher, meterRegistry, partitions, chunkSize, Duration.ZERO, workers);
+    }
+
+    private static JobCheckpoint checkpoint(Long id, int index, long start, long end, long last) {
+        JobCheckpoint checkpoint = new JobCheckpoint();
+        checkpoint.setId(id);
+        checkpoint.setJobName(RolloverJobService.JOB_PREFIX + "2026-spring");
+        checkpoint.setPartitionIndex(index);
+        checkpoint.setRangeStart(start);
+        checkpoint.setRangeEnd(end);
+        checkpoint.setLastProcessedId(last);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        return checkpoint;
+    }
+}
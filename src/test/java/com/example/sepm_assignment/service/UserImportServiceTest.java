@@ -0,0 +1,182 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.dto.UserImportResult;
+import com.example.sepm_assignment.repository.ChangeLogRepository;
+import com.example.sepm_assignment.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for UserImportService
+ * Tests CSV parsing, validation and batching with mocked dependencies
+ * Follows AAA (Arrange-Act-Assert) pattern
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("UserImportService Unit Tests")
+class UserImportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private UserImportService userImportService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        userImportService = new UserImportService(userRepository, changeLogRepository, passwordEncoder, jdbcTemplate,
+                transactionTemplate, 2, 2);
+        when(passwordEncoder.encode(anyString())).thenAnswer(inv -> "hashed-" + inv.getArgument(0));
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(Set.of());
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+        doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any(Consumer.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userImportService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should import valid rows in batches with hashed passwords")
+    @SuppressWarnings("unchecked")
+    void importUsers_Success() throws Exception {
+        // Arrange
+        InputStream csv = csv(
+                "username,password,email,fullName,role",
+                "alice,secret1,alice@example.com,Alice A,STUDENT",
+                "bob,secret2,bob@example.com,\"Bob, Jr.\",teacher",
+                "carol,secret3,carol@example.com,Carol C,");
+
+        // Act
+        UserImportResult result = userImportService.importUsers(csv);
+
+        // Assert
+        assertEquals(3, result.getTotalRows());
+        assertEquals(3, result.getImported());
+        assertEquals(0, result.getFailed());
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), rows.capture());
+        Object[] bob = rows.getAllValues().get(0).get(1);
+        assertEquals("hashed-secret2", bob[1]);
+        assertEquals("Bob, Jr.", bob[3]);
+        assertEquals("TEACHER", bob[4]);
+        assertEquals("STUDENT", rows.getAllValues().get(1).get(0)[4]);
+    }
+
+    @Test
+    @DisplayName("Should report invalid, duplicate and existing rows without inserting them")
+    void importUsers_RejectsBadRows() throws Exception {
+        // Arrange
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(Set.of("taken"));
+        InputStream csv = csv(
+                "username,password,email,fullName,role",
+                "ok_user,secret1,ok@example.com,Ok User,STUDENT",
+                "x,secret1,x@example.com,Too Short,STUDENT",
+                "ok_user,secret1,other@example.com,Dup User,STUDENT",
+                "taken,secret1,taken@example.com,Taken User,STUDENT",
+                "weird,secret1,weird@example.com,Weird Role,JANITOR");
+
+        // Act
+        UserImportResult result = userImportService.importUsers(csv);
+
+        // Assert
+        assertEquals(5, result.getTotalRows());
+        assertEquals(1, result.getImported());
+        assertEquals(4, result.getFailed());
+        assertEquals(List.of(3, 4, 5, 6), result.getErrors().stream().map(UserImportResult.RowError::getRow).toList());
+        assertEquals("Unknown role: JANITOR", result.getErrors().get(3).getMessage());
+        verify(passwordEncoder, times(1)).encode(anyString());
+    }
+
+    @Test
+    @DisplayName("Should fall back to row-by-row inserts when a batch hits a constraint")
+    void importUsers_BatchConflictFallsBackToSingleRows() throws Exception {
+        // Arrange
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new DataIntegrityViolationException("dup"));
+        when(jdbcTemplate.update(anyString(), any(Object[].class)))
+                .thenReturn(1)
+                .thenThrow(new DataIntegrityViolationException("dup"));
+        InputStream csv = csv(
+                "username,password,email,fullName,role",
+                "alice,secret1,alice@example.com,Alice A,STUDENT",
+                "bob,secret2,bob@example.com,Bob B,STUDENT");
+
+        // Act
+        UserImportResult result = userImportService.importUsers(csv);
+
+        // Assert
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals("bob", result.getErrors().get(0).getUsername());
+    }
+
+    @Test
+    @DisplayName("Should accept a header that starts with a byte order mark")
+    void importUsers_HeaderWithBom() throws Exception {
+        // Arrange
+        InputStream csv = csv(
+                "\uFEFFusername,password,email,fullName,role",
+                "alice,secret1,alice@example.com,Alice A,STUDENT");
+
+        // Act
+        UserImportResult result = userImportService.importUsers(csv);
+
+        // Assert
+        assertEquals(1, result.getImported());
+    }
+
+    @Test
+    @DisplayName("Should reject a file with the wrong header")
+    void importUsers_BadHeader() {
+        // Arrange
+        InputStream csv = csv("name,pass", "alice,secret1");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> userImportService.importUsers(csv));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static InputStream csv(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
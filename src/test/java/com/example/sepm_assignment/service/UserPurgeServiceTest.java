@@ -0,0 +1,171 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.model.Enrollment;
+import com.example.sepm_assignment.model.User;
+import com.example.sepm_assignment.repository.ChangeLogRepository;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import com.example.sepm_assignment.repository.UserRepository;
+import com.example.sepm_assignment.repository.WaitlistRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for UserPurgeService
+ * Tests the chunked removal of a soft-deleted user's enrollments, taught courses and user row
+ * Follows AAA (Arrange-Act-Assert) pattern
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("UserPurgeService Unit Tests")
+class UserPurgeServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private WaitlistRepository waitlistRepository;
+
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+
+    @Mock
+    private WaitlistService waitlistService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserPurgeService purgeService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(transactionTemplate.execute(any())).thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        user = new User();
+        user.setId(7L);
+        user.setDeletedAt(LocalDateTime.now());
+        when(userRepository.findByIdForUpdate(7L)).thenAnswer(inv -> Optional.ofNullable(user));
+        when(userRepository.deleteWithoutCascade(7L)).thenAnswer(inv -> {
+            user = null;
+            return 1;
+        });
+        when(enrollmentRepository.deleteByIdIn(anyCollection())).thenAnswer(inv -> inv.<Collection<?>>getArgument(0).size());
+        purgeService = new UserPurgeService(userRepository, enrollmentRepository, courseRepository, waitlistRepository,
+                changeLogRepository, waitlistService, transactionTemplate, eventPublisher, meterRegistry, 2,
+                Duration.ZERO, Duration.ofMinutes(15));
+    }
+
+    @Test
+    @DisplayName("Should remove a student's enrollments in chunks before the user row")
+    void purge_StudentInChunks() {
+        // Arrange
+        List<Object[]> remaining = new ArrayList<>(List.of(
+                new Object[]{1L, 10L, Enrollment.EnrollmentStatus.ACTIVE},
+                new Object[]{2L, 11L, Enrollment.EnrollmentStatus.DROPPED},
+                new Object[]{3L, 12L, Enrollment.EnrollmentStatus.COMPLETED}));
+        when(enrollmentRepository.findChunkByStudentId(eq(7L), any(Pageable.class))).thenAnswer(inv -> {
+            int size = inv.<Pageable>getArgument(1).getPageSize();
+            List<Object[]> chunk = new ArrayList<>(remaining.subList(0, Math.min(size, remaining.size())));
+            remaining.removeAll(chunk);
+            return chunk;
+        });
+        when(courseRepository.findIdsByTeacherId(7L)).thenReturn(List.of());
+        when(waitlistRepository.deleteByStudentId(7L)).thenReturn(1, 0);
+
+        // Act
+        long removed = purgeService.purge(7L);
+
+        // Assert
+        assertEquals(5, removed);
+        verify(enrollmentRepository).deleteByIdIn(List.of(1L, 2L));
+        verify(enrollmentRepository).deleteByIdIn(List.of(3L));
+        verify(changeLogRepository).recordEnrollmentsDeleted(eq(List.of(1L, 2L)), any());
+        verify(eventPublisher).publishEvent(new SeatReleasedEvent(10L));
+        verify(eventPublisher, never()).publishEvent(new SeatReleasedEvent(11L));
+        verify(eventPublisher).publishEvent(new SeatReleasedEvent(12L));
+        verify(changeLogRepository).recordUsersDeleted(eq(List.of(7L)), any(LocalDateTime.class));
+        verify(userRepository).deleteWithoutCascade(7L);
+        verify(waitlistService).forgetStudent(7L);
+        assertEquals(5.0, meterRegistry.counter("users.purge.rows").count());
+    }
+
+    @Test
+    @DisplayName("Should empty each taught course before removing the course and then the teacher")
+    void purge_TeacherCourses() {
+        // Arrange
+        List<Long> courses = new ArrayList<>(List.of(20L));
+        List<Long> courseEnrollments = new ArrayList<>(List.of(100L, 101L, 102L));
+        when(enrollmentRepository.findChunkByStudentId(eq(7L), any(Pageable.class))).thenReturn(List.of());
+        when(courseRepository.findIdsByTeacherId(7L)).thenAnswer(inv -> List.copyOf(courses));
+        when(enrollmentRepository.findIdsByCourseId(eq(20L), any(Pageable.class))).thenAnswer(inv -> {
+            List<Long> chunk = new ArrayList<>(courseEnrollments.subList(0, Math.min(2, courseEnrollments.size())));
+            courseEnrollments.removeAll(chunk);
+            return chunk;
+        });
+        when(courseRepository.deleteWithoutCascade(20L)).thenAnswer(inv -> {
+            courses.clear();
+            return 1;
+        });
+
+        // Act
+        long removed = purgeService.purge(7L);
+
+        // Assert
+        assertEquals(5, removed);
+        var order = inOrder(enrollmentRepository, changeLogRepository, courseRepository, userRepository);
+        order.verify(enrollmentRepository).deleteByIdIn(List.of(100L, 101L));
+        order.verify(enrollmentRepository).deleteByIdIn(List.of(102L));
+        order.verify(changeLogRepository).recordCoursesDeleted(eq(List.of(20L)), any());
+        order.verify(courseRepository).deleteWithoutCascade(20L);
+        order.verify(userRepository).deleteWithoutCascade(7L);
+        verify(waitlistRepository).deleteByCourseId(20L);
+    }
+
+    @Test
+    @DisplayName("Should leave a user that is not deleted alone")
+    void purge_NotDeleted_DoesNothing() {
+        // Arrange
+        user.setDeletedAt(null);
+
+        // Act
+        long removed = purgeService.purge(7L);
+
+        // Assert
+        assertEquals(0, removed);
+        verify(enrollmentRepository, never()).deleteByIdIn(anyCollection());
+        verify(userRepository, never()).deleteWithoutCascade(anyLong());
+    }
+}
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Arrays;
@@ -37,6 +38,12 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApiTokenService apiTokenService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -204,16 +211,24 @@ class UserServiceTest {
     }
 
     @Test
-    @DisplayName("Should delete user successfully")
+    @DisplayName("Should soft-delete user and leave the purge to the background job")
     void deleteUser_Success() {
         // Arrange
-        doNothing().when(userRepository).deleteById(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(apiTokenService.revokeTokens(1L)).thenReturn(1_704_103_200L);
 
         // Act
         userService.deleteUser(1L);
 
         // Assert
-        verify(userRepository, times(1)).deleteById(1L);
+        assertTrue(testUser.isDeleted());
+        assertFalse(testUser.isEnabled());
+        verify(userRepository, times(1)).save(testUser);
+        verify(userRepository, never()).deleteById(any());
+        verify(apiTokenService, times(1)).revokeTokens(1L);
+        assertEquals(1_704_103_200L, testUser.getTokensRevokedBefore());
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        assertThrows(RuntimeException.class, () -> userService.getUserById(1L));
     }
 
     @Test
@@ -232,6 +247,7 @@ class UserServiceTest {
         verify(userRepository, times(1)).findById(1L);
         verify(userRepository, times(1)).save(testUser);
         assertEquals(!initialStatus, testUser.isEnabled());
+        verify(apiTokenService, times(1)).revokeTokens(1L);
     }
 
     @Test
@@ -0,0 +1,192 @@
+package com.example.sepm_assignment.service;
+
+import com.example.sepm_assignment.dto.WaitlistPositionDTO;
+import com.example.sepm_assignment.model.Course;
+import com.example.sepm_assignment.model.Enrollment;
+import com.example.sepm_assignment.model.User;
+import com.example.sepm_assignment.model.WaitlistEntry;
+import com.example.sepm_assignment.repository.CourseRepository;
+import com.example.sepm_assignment.repository.EnrollmentRepository;
+import com.example.sepm_assignment.repository.UserRepository;
+import com.example.sepm_assignment.repository.WaitlistRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests for WaitlistService
+ * Tests queue positions and FIFO promotion from the waitlist table into free seats with mocked repositories
+ * Follows AAA (Arrange-Act-Assert) pattern
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("WaitlistService Unit Tests")
+class WaitlistServiceTest {
+
+    @Mock
+    private WaitlistRepository waitlistRepository;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private WaitlistService waitlistService;
+    private Course course;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        waitlistService = new WaitlistService(waitlistRepository, enrollmentRepository, userRepository,
+                courseRepository, transactionTemplate, eventPublisher, new SimpleMeterRegistry());
+        when(transactionTemplate.execute(any(TransactionCallback.class))).thenAnswer(inv ->
+                inv.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
+        doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any(Consumer.class));
+
+        course = new Course();
+        course.setId(10L);
+        course.setCourseCode("CS101");
+        course.setCourseName("Introduction to Programming");
+        course.setCapacity(2);
+        course.setTerm("2026-spring");
+        when(courseRepository.findById(10L)).thenReturn(Optional.of(course));
+        when(courseRepository.findByIdForUpdate(10L)).thenReturn(Optional.of(course));
+        when(userRepository.findById(anyLong())).thenAnswer(inv -> Optional.of(student(inv.getArgument(0))));
+        when(userRepository.getReferenceById(anyLong())).thenAnswer(inv -> student(inv.getArgument(0)));
+        when(waitlistRepository.deleteByStudentIdAndCourseId(anyLong(), eq(10L))).thenReturn(1);
+    }
+
+    @Test
+    @DisplayName("Should answer positions in joining order and keep a student's place on a repeat join")
+    void join_PositionsInOrder() {
+        // Act
+        WaitlistPositionDTO first = waitlistService.join(1L, 10L);
+        WaitlistPositionDTO second = waitlistService.join(2L, 10L);
+        when(waitlistRepository.existsByStudentIdAndCourseId(1L, 10L)).thenReturn(true);
+        WaitlistPositionDTO again = waitlistService.join(1L, 10L);
+
+        // Assert
+        assertEquals(1, first.getPosition());
+        assertEquals(2, second.getPosition());
+        assertEquals(1, again.getPosition());
+        assertEquals("CS101", second.getCourseCode());
+        verify(waitlistRepository, times(2)).saveAndFlush(any(WaitlistEntry.class));
+        verify(eventPublisher, times(3)).publishEvent(new SeatReleasedEvent(10L));
+    }
+
+    @Test
+    @DisplayName("Should promote from the head of the queue only into free seats")
+    void promote_FillsFreeSeatsInOrder() {
+        // Arrange
+        waitlistService.join(1L, 10L);
+        waitlistService.join(2L, 10L);
+        waitlistService.join(3L, 10L);
+        waiting(1L, 2L, 3L);
+        when(enrollmentRepository.countByCourseIdAndTermAndStatusNot(10L, "2026-spring", Enrollment.EnrollmentStatus.DROPPED)).thenReturn(0L);
+        // Student 1 left the waitlist on another request; their row is already gone
+        when(waitlistRepository.deleteByStudentIdAndCourseId(1L, 10L)).thenReturn(0);
+
+        // Act
+        int promoted = waitlistService.promote(10L);
+
+        // Assert
+        assertEquals(2, promoted);
+        ArgumentCaptor<Enrollment> saved = ArgumentCaptor.forClass(Enrollment.class);
+        verify(enrollmentRepository, times(2)).save(saved.capture());
+        assertEquals(List.of(2L, 3L), saved.getAllValues().stream().map(e -> e.getStudent().getId()).toList());
+        assertEquals(0, waitlistService.getPosition(3L, 10L));
+    }
+
+    @Test
+    @DisplayName("Should promote and report waiters from the table when they joined on another node")
+    void promote_EntriesFromOtherNode() {
+        // Arrange: nothing joined through this node
+        waiting(4L, 5L);
+        when(enrollmentRepository.countByCourseIdAndTermAndStatusNot(10L, "2026-spring", Enrollment.EnrollmentStatus.DROPPED)).thenReturn(1L);
+
+        // Act
+        boolean waitingBefore = waitlistService.hasWaitingStudents(10L);
+        int promoted = waitlistService.promote(10L);
+
+        // Assert
+        assertTrue(waitingBefore);
+        assertEquals(1, promoted);
+        ArgumentCaptor<Enrollment> saved = ArgumentCaptor.forClass(Enrollment.class);
+        verify(enrollmentRepository).save(saved.capture());
+        assertEquals(4L, saved.getValue().getStudent().getId());
+        verify(waitlistRepository, never()).deleteByStudentIdAndCourseId(5L, 10L);
+    }
+
+    @Test
+    @DisplayName("Should not lock the course when nobody waits for it")
+    void promote_NobodyWaiting() {
+        // Act
+        int promoted = waitlistService.promote(10L);
+
+        // Assert
+        assertEquals(0, promoted);
+        assertFalse(waitlistService.hasWaitingStudents(10L));
+        verify(courseRepository, never()).findByIdForUpdate(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should leave the queue untouched when the course is still full")
+    void promote_NoFreeSeat() {
+        // Arrange
+        waitlistService.join(1L, 10L);
+        waiting(1L);
+        when(enrollmentRepository.countByCourseIdAndTermAndStatusNot(10L, "2026-spring", Enrollment.EnrollmentStatus.DROPPED)).thenReturn(2L);
+
+        // Act
+        int promoted = waitlistService.promote(10L);
+
+        // Assert
+        assertEquals(0, promoted);
+        assertEquals(1, waitlistService.getPosition(1L, 10L));
+        verify(enrollmentRepository, never()).save(any(Enrollment.class));
+    }
+
+    private void waiting(Long... studentIds) {
+        when(waitlistRepository.existsByCourseId(10L)).thenReturn(true);
+        when(waitlistRepository.findStudentIdsByCourseId(10L)).thenReturn(List.of(studentIds));
+    }
+
+    private static User student(Long id) {
+        User student = new User();
+        student.setId(id);
+        student.setRole(User.Role.STUDENT);
+        return student;
+    }
+}